@@ -0,0 +1,10 @@
+package com.greentrade.greentrade.analytics;
+
+public enum AnalyticsDimension {
+    SELLER,
+    BUYER,
+    PRODUCT,
+    STATUS,
+    DAY,
+    MONTH
+}
@@ -0,0 +1,65 @@
+package com.greentrade.greentrade.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filter and grouping of a query on the {@link TransactionColumnStore}. Empty
+ * filter sets and null dates mean "no restriction".
+ */
+public class AnalyticsQuery {
+
+    private final List<AnalyticsDimension> groupBy;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Set<String> statuses;
+    private final Set<Long> sellerIds;
+    private final Set<Long> buyerIds;
+    private final Set<Long> productIds;
+    private final int limit;
+
+    public AnalyticsQuery(List<AnalyticsDimension> groupBy, LocalDate from, LocalDate to, Set<String> statuses,
+            Set<Long> sellerIds, Set<Long> buyerIds, Set<Long> productIds, int limit) {
+        this.groupBy = groupBy != null ? List.copyOf(groupBy) : List.of();
+        this.from = from;
+        this.to = to;
+        this.statuses = statuses != null ? Set.copyOf(statuses) : Set.of();
+        this.sellerIds = sellerIds != null ? Set.copyOf(sellerIds) : Set.of();
+        this.buyerIds = buyerIds != null ? Set.copyOf(buyerIds) : Set.of();
+        this.productIds = productIds != null ? Set.copyOf(productIds) : Set.of();
+        this.limit = limit;
+    }
+
+    public List<AnalyticsDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Set<String> getStatuses() {
+        return statuses;
+    }
+
+    public Set<Long> getSellerIds() {
+        return sellerIds;
+    }
+
+    public Set<Long> getBuyerIds() {
+        return buyerIds;
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,63 @@
+package com.greentrade.greentrade.analytics;
+
+import java.util.List;
+
+/**
+ * Outcome of a query on the {@link TransactionColumnStore}. Amounts are in cents.
+ */
+public class AnalyticsResult {
+
+    private final long scannedRows;
+    private final long matchedRows;
+    private final long totalGroups;
+    private final List<Group> groups;
+
+    public AnalyticsResult(long scannedRows, long matchedRows, long totalGroups, List<Group> groups) {
+        this.scannedRows = scannedRows;
+        this.matchedRows = matchedRows;
+        this.totalGroups = totalGroups;
+        this.groups = groups;
+    }
+
+    public long getScannedRows() {
+        return scannedRows;
+    }
+
+    public long getMatchedRows() {
+        return matchedRows;
+    }
+
+    public long getTotalGroups() {
+        return totalGroups;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public static class Group {
+
+        // One value per grouping dimension, in the order of the query
+        private final List<Object> keys;
+        private final long count;
+        private final long amountCents;
+
+        public Group(List<Object> keys, long count, long amountCents) {
+            this.keys = keys;
+            this.count = count;
+            this.amountCents = amountCents;
+        }
+
+        public List<Object> getKeys() {
+            return keys;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getAmountCents() {
+            return amountCents;
+        }
+    }
+}
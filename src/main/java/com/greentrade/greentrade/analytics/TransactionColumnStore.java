@@ -0,0 +1,545 @@
+package com.greentrade.greentrade.analytics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Copy of the transactions in primitive column arrays for ad-hoc analytics.
+ *
+ * Every attribute lives in its own array: amounts as long cents, dates as epoch
+ * days and months, and buyer, seller, product and status as small dictionary
+ * codes. A query first narrows each chunk of rows to a selection vector, one
+ * column at a time, and then aggregates the selected rows into a primitive hash
+ * table keyed on the packed group codes. Chunks are scanned in parallel.
+ *
+ * Writers (appends, status changes and removals) take the write lock; queries share the
+ * read lock, so they see a consistent set of rows.
+ */
+public class TransactionColumnStore {
+
+    public static final List<String> STATUSES = List.of("PENDING", "PROCESSING", "COMPLETED", "CANCELLED", "REFUNDED");
+    static final String OTHER_STATUS = "OTHER";
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    private static final int ALL_STATUSES = (1 << (STATUSES.size() + 1)) - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ForkJoinPool scanPool;
+    private Columns columns = new Columns(); // guarded by lock
+
+    public TransactionColumnStore(int parallelism) {
+        this.scanPool = new ForkJoinPool(Math.max(parallelism, 1));
+    }
+
+    public static Columns newColumns() {
+        return new Columns();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void append(long transactionId, long amountCents, LocalDate day, String status,
+            Long buyerId, Long sellerId, Long productId) {
+        lock.writeLock().lock();
+        try {
+            columns.append(transactionId, amountCents, day, status, buyerId, sellerId, productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatus(long transactionId, String status) {
+        lock.writeLock().lock();
+        try {
+            columns.updateStatus(transactionId, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long transactionId) {
+        lock.writeLock().lock();
+        try {
+            columns.remove(transactionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps in freshly loaded columns. {@code catchUp} runs against the new columns
+     * under the write lock, before any other writer or query can see them.
+     */
+    public void replace(Columns loaded, Consumer<Columns> catchUp) {
+        lock.writeLock().lock();
+        try {
+            catchUp.accept(loaded);
+            columns = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    public AnalyticsResult query(AnalyticsQuery query) {
+        lock.readLock().lock();
+        try {
+            Columns snapshot = columns;
+            Filter filter = Filter.of(query, snapshot);
+            KeyEncoder encoder = KeyEncoder.of(query.getGroupBy(), snapshot);
+            int size = snapshot.size;
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+            GroupTable merged = chunks == 0 ? new GroupTable() : scanPool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> scanChunk(snapshot, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE),
+                            filter, encoder))
+                    .reduce(GroupTable::mergeFrom)
+                    .orElseGet(GroupTable::new))
+                    .join();
+
+            return toResult(merged, snapshot, encoder, query, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static GroupTable scanChunk(Columns c, int from, int to, Filter filter, KeyEncoder encoder) {
+        int[] selection = new int[to - from];
+        int selected = 0;
+
+        // Date range; every other filter works on the rows that survived this one
+        int fromDay = filter.fromDay;
+        int toDay = filter.toDay;
+        int[] days = c.epochDays;
+        for (int row = from; row < to; row++) {
+            int day = days[row];
+            if (day >= fromDay && day <= toDay) {
+                selection[selected++] = row;
+            }
+        }
+
+        if (filter.statusMask != ALL_STATUSES) {
+            byte[] statuses = c.statuses;
+            int mask = filter.statusMask;
+            int kept = 0;
+            for (int i = 0; i < selected; i++) {
+                int row = selection[i];
+                if ((mask & (1 << statuses[row])) != 0) {
+                    selection[kept++] = row;
+                }
+            }
+            selected = kept;
+        }
+        selected = keepCodes(selection, selected, c.sellers, filter.sellerCodes);
+        selected = keepCodes(selection, selected, c.buyers, filter.buyerCodes);
+        selected = keepCodes(selection, selected, c.products, filter.productCodes);
+
+        GroupTable table = new GroupTable();
+        long[] amounts = c.amountCents;
+        for (int i = 0; i < selected; i++) {
+            int row = selection[i];
+            table.add(encoder.key(c, row), amounts[row]);
+        }
+        return table;
+    }
+
+    private static int keepCodes(int[] selection, int selected, int[] column, boolean[] allowed) {
+        if (allowed == null) {
+            return selected;
+        }
+        int kept = 0;
+        for (int i = 0; i < selected; i++) {
+            int row = selection[i];
+            int code = column[row];
+            if (code < allowed.length && allowed[code]) {
+                selection[kept++] = row;
+            }
+        }
+        return kept;
+    }
+
+    private static AnalyticsResult toResult(GroupTable table, Columns c, KeyEncoder encoder, AnalyticsQuery query, int scanned) {
+        List<AnalyticsResult.Group> groups = new ArrayList<>(table.size);
+        long matched = 0;
+        for (int slot = 0; slot < table.keys.length; slot++) {
+            if (!table.used[slot]) {
+                continue;
+            }
+            matched += table.counts[slot];
+            groups.add(new AnalyticsResult.Group(encoder.decode(c, table.keys[slot]), table.counts[slot], table.sums[slot]));
+        }
+        groups.sort(Comparator.comparingLong(AnalyticsResult.Group::getAmountCents).reversed());
+        int limit = query.getLimit() > 0 ? Math.min(query.getLimit(), groups.size()) : groups.size();
+        return new AnalyticsResult(scanned, matched, groups.size(), new ArrayList<>(groups.subList(0, limit)));
+    }
+
+    static int statusCode(String status) {
+        int index = status == null ? -1 : STATUSES.indexOf(status.toUpperCase());
+        return index >= 0 ? index : STATUSES.size();
+    }
+
+    static int monthIndex(LocalDate day) {
+        return day.getYear() * 12 + day.getMonthValue() - 1;
+    }
+
+    /**
+     * The column arrays and dictionaries. Only modified by one thread at a time:
+     * the loader before it is published, afterwards under the write lock.
+     */
+    public static final class Columns {
+
+        private long[] transactionIds = new long[1024];
+        private long[] amountCents = new long[1024];
+        private int[] epochDays = new int[1024];
+        private int[] months = new int[1024];
+        private int[] buyers = new int[1024];
+        private int[] sellers = new int[1024];
+        private int[] products = new int[1024];
+        private byte[] statuses = new byte[1024];
+        private int size;
+
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+
+        private final IdDictionary buyerDictionary = new IdDictionary();
+        private final IdDictionary sellerDictionary = new IdDictionary();
+        private final IdDictionary productDictionary = new IdDictionary();
+        private final Map<Long, Integer> rowByTransactionId = new HashMap<>();
+
+        private Columns() {
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Adds a transaction; a transaction that is already present is left alone.
+         */
+        public void append(long transactionId, long cents, LocalDate day, String status,
+                Long buyerId, Long sellerId, Long productId) {
+            if (rowByTransactionId.containsKey(transactionId)) {
+                return;
+            }
+            ensureCapacity(size + 1);
+            int epochDay = (int) day.toEpochDay();
+            transactionIds[size] = transactionId;
+            amountCents[size] = cents;
+            epochDays[size] = epochDay;
+            months[size] = monthIndex(day);
+            buyers[size] = buyerDictionary.encode(buyerId);
+            sellers[size] = sellerDictionary.encode(sellerId);
+            products[size] = productDictionary.encode(productId);
+            statuses[size] = (byte) statusCode(status);
+            rowByTransactionId.put(transactionId, size);
+            minDay = Math.min(minDay, epochDay);
+            maxDay = Math.max(maxDay, epochDay);
+            size++;
+        }
+
+        public void updateStatus(long transactionId, String status) {
+            Integer row = rowByTransactionId.get(transactionId);
+            if (row != null) {
+                statuses[row] = (byte) statusCode(status);
+            }
+        }
+
+        /**
+         * Moves the last row into the place of the removed one, so the columns stay
+         * dense. Dictionary codes and the day range are kept; they only ever widen.
+         */
+        public void remove(long transactionId) {
+            Integer row = rowByTransactionId.remove(transactionId);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                transactionIds[row] = transactionIds[last];
+                amountCents[row] = amountCents[last];
+                epochDays[row] = epochDays[last];
+                months[row] = months[last];
+                buyers[row] = buyers[last];
+                sellers[row] = sellers[last];
+                products[row] = products[last];
+                statuses[row] = statuses[last];
+                rowByTransactionId.put(transactionIds[row], row);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= transactionIds.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, transactionIds.length * 2);
+            transactionIds = Arrays.copyOf(transactionIds, newCapacity);
+            amountCents = Arrays.copyOf(amountCents, newCapacity);
+            epochDays = Arrays.copyOf(epochDays, newCapacity);
+            months = Arrays.copyOf(months, newCapacity);
+            buyers = Arrays.copyOf(buyers, newCapacity);
+            sellers = Arrays.copyOf(sellers, newCapacity);
+            products = Arrays.copyOf(products, newCapacity);
+            statuses = Arrays.copyOf(statuses, newCapacity);
+        }
+    }
+
+    /**
+     * Maps entity ids to dense int codes. A missing id (e.g. a transaction without
+     * seller) is stored as id 0.
+     */
+    static final class IdDictionary {
+
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] ids = new long[64];
+
+        int encode(Long id) {
+            long key = id != null ? id : 0L;
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            int newCode = codes.size();
+            if (newCode == ids.length) {
+                ids = Arrays.copyOf(ids, newCode * 2);
+            }
+            ids[newCode] = key;
+            codes.put(key, newCode);
+            return newCode;
+        }
+
+        boolean[] allowed(Collection<Long> allowedIds) {
+            if (allowedIds.isEmpty()) {
+                return null;
+            }
+            boolean[] allowed = new boolean[codes.size()];
+            for (Long id : allowedIds) {
+                Integer code = codes.get(id);
+                if (code != null) {
+                    allowed[code] = true;
+                }
+            }
+            return allowed;
+        }
+
+        long decode(int code) {
+            return ids[code];
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+
+    private static final class Filter {
+
+        private int fromDay = Integer.MIN_VALUE;
+        private int toDay = Integer.MAX_VALUE;
+        private int statusMask = ALL_STATUSES;
+        private boolean[] sellerCodes;
+        private boolean[] buyerCodes;
+        private boolean[] productCodes;
+
+        static Filter of(AnalyticsQuery query, Columns c) {
+            Filter filter = new Filter();
+            if (query.getFrom() != null) {
+                filter.fromDay = (int) query.getFrom().toEpochDay();
+            }
+            if (query.getTo() != null) {
+                filter.toDay = (int) query.getTo().toEpochDay();
+            }
+            if (!query.getStatuses().isEmpty()) {
+                filter.statusMask = 0;
+                for (String status : query.getStatuses()) {
+                    filter.statusMask |= 1 << statusCode(status);
+                }
+            }
+            filter.sellerCodes = c.sellerDictionary.allowed(query.getSellerIds());
+            filter.buyerCodes = c.buyerDictionary.allowed(query.getBuyerIds());
+            filter.productCodes = c.productDictionary.allowed(query.getProductIds());
+            return filter;
+        }
+    }
+
+    /**
+     * Packs the codes of the grouping dimensions into one long, mixed radix with the
+     * cardinality of each dimension.
+     */
+    private static final class KeyEncoder {
+
+        private final AnalyticsDimension[] dimensions;
+        private final long[] multipliers;
+        private final int[] cardinalities;
+        private final int[] offsets;
+
+        private KeyEncoder(AnalyticsDimension[] dimensions) {
+            this.dimensions = dimensions;
+            this.multipliers = new long[dimensions.length];
+            this.cardinalities = new int[dimensions.length];
+            this.offsets = new int[dimensions.length];
+        }
+
+        static KeyEncoder of(List<AnalyticsDimension> groupBy, Columns c) {
+            KeyEncoder encoder = new KeyEncoder(groupBy.toArray(AnalyticsDimension[]::new));
+            long multiplier = 1;
+            for (int d = 0; d < encoder.dimensions.length; d++) {
+                int cardinality;
+                int offset = 0;
+                switch (encoder.dimensions[d]) {
+                    case SELLER -> cardinality = c.sellerDictionary.size();
+                    case BUYER -> cardinality = c.buyerDictionary.size();
+                    case PRODUCT -> cardinality = c.productDictionary.size();
+                    case STATUS -> cardinality = STATUSES.size() + 1;
+                    case DAY -> {
+                        offset = c.size == 0 ? 0 : c.minDay;
+                        cardinality = c.size == 0 ? 1 : c.maxDay - c.minDay + 1;
+                    }
+                    case MONTH -> {
+                        offset = c.size == 0 ? 0 : monthIndex(LocalDate.ofEpochDay(c.minDay));
+                        cardinality = c.size == 0 ? 1 : monthIndex(LocalDate.ofEpochDay(c.maxDay)) - offset + 1;
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported dimension: " + encoder.dimensions[d]);
+                }
+                cardinality = Math.max(cardinality, 1);
+                encoder.multipliers[d] = multiplier;
+                encoder.cardinalities[d] = cardinality;
+                encoder.offsets[d] = offset;
+                try {
+                    multiplier = Math.multiplyExact(multiplier, (long) cardinality);
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Too many groups for dimensions " + groupBy);
+                }
+            }
+            return encoder;
+        }
+
+        long key(Columns c, int row) {
+            long key = 0;
+            for (int d = 0; d < dimensions.length; d++) {
+                key += (code(c, row, dimensions[d]) - offsets[d]) * multipliers[d];
+            }
+            return key;
+        }
+
+        List<Object> decode(Columns c, long key) {
+            List<Object> values = new ArrayList<>(dimensions.length);
+            for (int d = 0; d < dimensions.length; d++) {
+                int code = (int) ((key / multipliers[d]) % cardinalities[d]) + offsets[d];
+                values.add(switch (dimensions[d]) {
+                    case SELLER -> c.sellerDictionary.decode(code);
+                    case BUYER -> c.buyerDictionary.decode(code);
+                    case PRODUCT -> c.productDictionary.decode(code);
+                    case STATUS -> code < STATUSES.size() ? STATUSES.get(code) : OTHER_STATUS;
+                    case DAY -> LocalDate.ofEpochDay(code);
+                    case MONTH -> YearMonth.of(code / 12, code % 12 + 1);
+                });
+            }
+            return values;
+        }
+
+        private static long code(Columns c, int row, AnalyticsDimension dimension) {
+            return switch (dimension) {
+                case SELLER -> c.sellers[row];
+                case BUYER -> c.buyers[row];
+                case PRODUCT -> c.products[row];
+                case STATUS -> c.statuses[row];
+                case DAY -> c.epochDays[row];
+                case MONTH -> c.months[row];
+            };
+        }
+    }
+
+    /**
+     * Open addressing hash table from packed group key to count and sum, without
+     * boxing.
+     */
+    static final class GroupTable {
+
+        private long[] keys = new long[64];
+        private long[] counts = new long[64];
+        private long[] sums = new long[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        void add(long key, long amount) {
+            add(key, 1, amount);
+        }
+
+        GroupTable mergeFrom(GroupTable other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.used[slot]) {
+                    add(other.keys[slot], other.counts[slot], other.sums[slot]);
+                }
+            }
+            return this;
+        }
+
+        private void add(long key, long count, long amount) {
+            int slot = slotOf(key, keys.length);
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    counts[slot] += count;
+                    sums[slot] += amount;
+                    grow();
+                    return;
+                }
+            }
+            counts[slot] += count;
+            sums[slot] += amount;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldSums = sums;
+            boolean[] oldUsed = used;
+            int capacity = oldKeys.length * 2;
+            keys = new long[capacity];
+            counts = new long[capacity];
+            sums = new long[capacity];
+            used = new boolean[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slotOf(oldKeys[i], capacity);
+                    while (used[slot]) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                    sums[slot] = oldSums[i];
+                }
+            }
+        }
+
+        private static int slotOf(long key, int capacity) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & (capacity - 1);
+        }
+    }
+}
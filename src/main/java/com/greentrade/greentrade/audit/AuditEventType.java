@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.audit;
+
+public enum AuditEventType {
+    CREATED((byte) 1),
+    STATUS_CHANGED((byte) 2);
+
+    private final byte code;
+
+    AuditEventType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static AuditEventType fromCode(byte code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
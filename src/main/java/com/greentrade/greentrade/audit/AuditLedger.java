@@ -0,0 +1,481 @@
+package com.greentrade.greentrade.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, hash-chained ledger of transaction events in memory-mapped
+ * segment files.
+ *
+ * Records have a fixed size, so the slot of a record follows from its sequence:
+ * a writer claims the next sequence with a single atomic increment and fills its
+ * slot without taking a lock. Records are then chained in sequence order. Each
+ * one stores the SHA-256 of the previous record's hash and its own body, so
+ * changing, removing or reordering a record breaks every hash after it. A writer
+ * only waits for its predecessor to be chained, which is one hash away.
+ *
+ * Segments are preallocated files named after their first sequence; the next one
+ * is mapped when the current one is full. After a crash the last segment is
+ * checked and slots that were claimed but never chained are wiped.
+ */
+public class AuditLedger implements Closeable {
+
+    public static final int RECORD_SIZE = 128;
+
+    // Record layout, all numbers big-endian
+    private static final int SEQUENCE = 0;
+    private static final int RECORDED_AT = 8;
+    private static final int TRANSACTION_ID = 16;
+    private static final int BUYER_ID = 24;
+    private static final int PRODUCT_ID = 32;
+    private static final int SELLER_ID = 40;
+    private static final int AMOUNT_CENTS = 48;
+    private static final int TYPE = 56;
+    private static final int PREVIOUS_STATUS = 64;
+    private static final int NEW_STATUS = 80;
+    private static final int STATUS_LENGTH = 16;
+    private static final int HASH = 96;
+    private static final int HASH_LENGTH = 32;
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLedger.class);
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int READ_BUFFER_RECORDS = 512;
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>(); // by first sequence
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(AuditLedger::sha256);
+    private final AtomicLong nextSequence;
+
+    private volatile long chainedSequence;
+    private byte[] lastHash; // written by the thread that chains a record, published through chainedSequence
+    private volatile boolean failed;
+    private volatile boolean closed;
+
+    public AuditLedger(Path directory, int recordsPerSegment) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = Math.min(Math.max(recordsPerSegment, 1), Integer.MAX_VALUE / RECORD_SIZE);
+        Files.createDirectories(directory);
+        this.nextSequence = new AtomicLong(recover() + 1);
+    }
+
+    /**
+     * Appends a record and chains it to the previous one.
+     *
+     * @return the sequence of the record
+     */
+    public long append(AuditEventType type, long transactionId, Long buyerId, Long productId, Long sellerId,
+            long amountCents, String previousStatus, String newStatus) {
+        ensureWritable();
+        long sequence = nextSequence.getAndIncrement();
+
+        Segment segment;
+        try {
+            segment = segmentOf(sequence);
+        } catch (IOException | RuntimeException e) {
+            // The slot can never be chained, so nothing after it can be either
+            failed = true;
+            throw new IllegalStateException("Could not map the audit ledger segment for record " + sequence, e);
+        }
+
+        ByteBuffer slot = segment.slot(sequence);
+        slot.putLong(SEQUENCE, sequence);
+        slot.putLong(RECORDED_AT, System.currentTimeMillis());
+        slot.putLong(TRANSACTION_ID, transactionId);
+        slot.putLong(BUYER_ID, buyerId != null ? buyerId : 0);
+        slot.putLong(PRODUCT_ID, productId != null ? productId : 0);
+        slot.putLong(SELLER_ID, sellerId != null ? sellerId : 0);
+        slot.putLong(AMOUNT_CENTS, amountCents);
+        slot.put(TYPE, type.getCode());
+        putStatus(slot, PREVIOUS_STATUS, previousStatus);
+        putStatus(slot, NEW_STATUS, newStatus);
+
+        awaitChained(sequence - 1);
+        byte[] hash = hashOf(digests.get(), lastHash, slot);
+        slot.put(HASH, hash);
+        lastHash = hash;
+        chainedSequence = sequence;
+
+        if (sequence == segment.firstSequence) {
+            releaseSegmentsBefore(sequence);
+        }
+        return sequence;
+    }
+
+    public long getLastSequence() {
+        return chainedSequence;
+    }
+
+    /**
+     * Flushes the mapped segments to disk. Without it, records survive a crash of
+     * the application but not of the machine.
+     */
+    public void force() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Reads the ledger from the first record up to the last chained one, checking
+     * the sequence and hash of every record, and hands each verified record to the
+     * consumer. Reading stops at the first record that does not match.
+     */
+    public AuditVerification scan(Consumer<AuditRecord> consumer) throws IOException {
+        long last = chainedSequence;
+        long expected = 1;
+        long records = 0;
+        byte[] previousHash = new byte[HASH_LENGTH];
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_RECORDS * RECORD_SIZE);
+
+        for (Path file : listSegments()) {
+            long firstSequence = firstSequenceOf(file);
+            if (firstSequence > last) {
+                break;
+            }
+            if (firstSequence != expected) {
+                return broken(records, expected, "Segment " + file.getFileName() + " starts at record " + firstSequence);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long position = 0;
+                while (expected <= last) {
+                    int read = readFully(channel, buffer, position);
+                    if (read < RECORD_SIZE) {
+                        break;
+                    }
+                    position += read;
+                    for (int offset = 0; offset + RECORD_SIZE <= read && expected <= last; offset += RECORD_SIZE) {
+                        ByteBuffer slot = buffer.slice(offset, RECORD_SIZE);
+                        if (slot.getLong(SEQUENCE) != expected) {
+                            return broken(records, expected, "Record " + expected + " is missing or out of order");
+                        }
+                        byte[] hash = hashOf(digest, previousHash, slot);
+                        if (!Arrays.equals(hash, storedHash(slot))) {
+                            return broken(records, expected, "Record " + expected + " does not match its hash");
+                        }
+                        consumer.accept(toRecord(slot));
+                        previousHash = hash;
+                        records++;
+                        expected++;
+                    }
+                }
+            }
+        }
+        if (expected <= last) {
+            return broken(records, expected, "Records " + expected + " to " + last + " are missing");
+        }
+        return new AuditVerification(records, last, true, null, null);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private void ensureWritable() {
+        if (closed || failed) {
+            throw new IllegalStateException("The audit ledger is not writable");
+        }
+    }
+
+    private void awaitChained(long sequence) {
+        int spins = 0;
+        while (chainedSequence != sequence) {
+            if (failed || closed) {
+                throw new IllegalStateException("The audit ledger is not writable");
+            }
+            if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private Segment segmentOf(long sequence) throws IOException {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(sequence);
+        if (entry != null && entry.getValue().contains(sequence)) {
+            return entry.getValue();
+        }
+        // Only taken on rollover
+        synchronized (segments) {
+            entry = segments.floorEntry(sequence);
+            if (entry != null && entry.getValue().contains(sequence)) {
+                return entry.getValue();
+            }
+            Map.Entry<Long, Segment> lastEntry = segments.lastEntry();
+            long firstSequence = lastEntry != null
+                    ? lastEntry.getValue().firstSequence + lastEntry.getValue().capacity
+                    : chainedSequence + 1;
+            while (true) {
+                Segment segment = Segment.map(directory.resolve(segmentName(firstSequence)), firstSequence,
+                        recordsPerSegment);
+                segments.put(firstSequence, segment);
+                if (segment.contains(sequence)) {
+                    return segment;
+                }
+                firstSequence += recordsPerSegment;
+            }
+        }
+    }
+
+    private void releaseSegmentsBefore(long sequence) {
+        for (Segment segment : segments.headMap(sequence).values()) {
+            segment.close();
+            segments.remove(segment.firstSequence);
+        }
+    }
+
+    /**
+     * Finds the last chained record and maps its segment.
+     *
+     * @return the sequence of the last chained record, 0 for an empty ledger
+     */
+    private long recover() throws IOException {
+        List<Path> files = listSegments();
+        MessageDigest digest = sha256();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Path file = files.get(i);
+            long firstSequence = firstSequenceOf(file);
+            int capacity = (int) (Files.size(file) / RECORD_SIZE);
+            byte[] hash = i > 0 ? readLastHash(files.get(i - 1)) : new byte[HASH_LENGTH];
+
+            Segment segment = Segment.map(file, firstSequence, capacity);
+            int chained = 0;
+            while (chained < capacity) {
+                ByteBuffer slot = segment.slot(firstSequence + chained);
+                if (slot.getLong(SEQUENCE) != firstSequence + chained
+                        || !Arrays.equals(hashOf(digest, hash, slot), storedHash(slot))) {
+                    break;
+                }
+                hash = storedHash(slot);
+                chained++;
+            }
+            wipeUnchained(file, segment, chained);
+
+            if (chained > 0 || i == 0) {
+                segments.put(firstSequence, segment);
+                lastHash = hash;
+                chainedSequence = firstSequence + chained - 1;
+                return chainedSequence;
+            }
+            // Created on rollover but nothing was chained into it
+            segment.close();
+            Files.delete(file);
+        }
+        lastHash = new byte[HASH_LENGTH];
+        chainedSequence = 0;
+        return 0;
+    }
+
+    private void wipeUnchained(Path file, Segment segment, int chained) throws IOException {
+        int used = chained;
+        for (int i = chained; i < segment.capacity; i++) {
+            if (!isEmpty(segment.slot(segment.firstSequence + i))) {
+                used = i + 1;
+            }
+        }
+        if (used == chained) {
+            return;
+        }
+        // Keep what was there, in case it was not a crash
+        Path copy = file.resolveSibling(file.getFileName() + ".unchained-" + System.currentTimeMillis());
+        segment.buffer.force();
+        Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+        logger.warn("Wiped {} unchained audit ledger slots after record {}, the segment was copied to {}",
+                used - chained, segment.firstSequence + chained - 1, copy);
+
+        byte[] zeros = new byte[RECORD_SIZE];
+        for (int i = chained; i < used; i++) {
+            segment.slot(segment.firstSequence + i).put(0, zeros);
+        }
+        segment.buffer.force();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(files::add);
+        }
+        // Names are zero padded, so the name order is the sequence order
+        files.sort(null);
+        return files;
+    }
+
+    private static String segmentName(long firstSequence) {
+        return SEGMENT_PREFIX + String.format("%019d", firstSequence) + SEGMENT_SUFFIX;
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] readLastHash(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer hash = ByteBuffer.allocate(HASH_LENGTH);
+            readFully(channel, hash, channel.size() - RECORD_SIZE + HASH);
+            return hash.array();
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    private static byte[] hashOf(MessageDigest digest, byte[] previousHash, ByteBuffer slot) {
+        digest.reset();
+        digest.update(previousHash);
+        digest.update(slot.slice(0, HASH));
+        return digest.digest();
+    }
+
+    private static byte[] storedHash(ByteBuffer slot) {
+        byte[] hash = new byte[HASH_LENGTH];
+        slot.get(HASH, hash);
+        return hash;
+    }
+
+    private static boolean isEmpty(ByteBuffer slot) {
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            if (slot.getLong(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void putStatus(ByteBuffer slot, int offset, String status) {
+        byte[] field = new byte[STATUS_LENGTH];
+        if (status != null) {
+            byte[] bytes = status.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(bytes, 0, field, 0, Math.min(bytes.length, STATUS_LENGTH));
+        }
+        slot.put(offset, field);
+    }
+
+    private static String getStatus(ByteBuffer slot, int offset) {
+        byte[] field = new byte[STATUS_LENGTH];
+        slot.get(offset, field);
+        int length = 0;
+        while (length < STATUS_LENGTH && field[length] != 0) {
+            length++;
+        }
+        return length > 0 ? new String(field, 0, length, StandardCharsets.US_ASCII) : null;
+    }
+
+    private static AuditRecord toRecord(ByteBuffer slot) {
+        return new AuditRecord(
+                slot.getLong(SEQUENCE),
+                Instant.ofEpochMilli(slot.getLong(RECORDED_AT)),
+                AuditEventType.fromCode(slot.get(TYPE)),
+                slot.getLong(TRANSACTION_ID),
+                nullIfZero(slot.getLong(BUYER_ID)),
+                nullIfZero(slot.getLong(PRODUCT_ID)),
+                nullIfZero(slot.getLong(SELLER_ID)),
+                slot.getLong(AMOUNT_CENTS),
+                getStatus(slot, PREVIOUS_STATUS),
+                getStatus(slot, NEW_STATUS));
+    }
+
+    private static Long nullIfZero(long id) {
+        return id != 0 ? id : null;
+    }
+
+    private static AuditVerification broken(long records, long sequence, String message) {
+        return new AuditVerification(records, sequence - 1, false, sequence, message);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Segment {
+
+        private final long firstSequence;
+        private final int capacity;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long firstSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.capacity = capacity;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Maps the file, growing it to the full segment size when it is new.
+         */
+        static Segment map(Path file, long firstSequence, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+                return new Segment(firstSequence, capacity, channel, buffer);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        boolean contains(long sequence) {
+            return sequence >= firstSequence && sequence < firstSequence + capacity;
+        }
+
+        ByteBuffer slot(long sequence) {
+            return buffer.slice((int) (sequence - firstSequence) * RECORD_SIZE, RECORD_SIZE);
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Could not close audit ledger segment {}", firstSequence, e);
+            }
+        }
+    }
+}
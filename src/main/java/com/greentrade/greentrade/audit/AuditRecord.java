@@ -0,0 +1,75 @@
+package com.greentrade.greentrade.audit;
+
+import java.time.Instant;
+
+/**
+ * One entry of the {@link AuditLedger} as read back from disk. Ids that were not
+ * known when the entry was written are null.
+ */
+public class AuditRecord {
+
+    private final long sequence;
+    private final Instant recordedAt;
+    private final AuditEventType type;
+    private final long transactionId;
+    private final Long buyerId;
+    private final Long productId;
+    private final Long sellerId;
+    private final long amountCents;
+    private final String previousStatus;
+    private final String newStatus;
+
+    public AuditRecord(long sequence, Instant recordedAt, AuditEventType type, long transactionId, Long buyerId,
+            Long productId, Long sellerId, long amountCents, String previousStatus, String newStatus) {
+        this.sequence = sequence;
+        this.recordedAt = recordedAt;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.buyerId = buyerId;
+        this.productId = productId;
+        this.sellerId = sellerId;
+        this.amountCents = amountCents;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public AuditEventType getType() {
+        return type;
+    }
+
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getBuyerId() {
+        return buyerId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+}
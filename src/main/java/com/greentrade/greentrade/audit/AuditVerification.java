@@ -0,0 +1,42 @@
+package com.greentrade.greentrade.audit;
+
+/**
+ * Outcome of reading the {@link AuditLedger} from the first record. When the chain
+ * is broken, {@code brokenAtSequence} is the first record that does not match.
+ */
+public class AuditVerification {
+
+    private final long records;
+    private final long lastSequence;
+    private final boolean valid;
+    private final Long brokenAtSequence;
+    private final String message;
+
+    public AuditVerification(long records, long lastSequence, boolean valid, Long brokenAtSequence, String message) {
+        this.records = records;
+        this.lastSequence = lastSequence;
+        this.valid = valid;
+        this.brokenAtSequence = brokenAtSequence;
+        this.message = message;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public Long getBrokenAtSequence() {
+        return brokenAtSequence;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsConfig {
+    private boolean enabled = true; // load the transactions into the column store at startup
+    private int parallelism = 0; // scan threads, 0 means one per processor
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,36 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditConfig {
+    private boolean enabled = true;
+    private String directory = "./audit";
+    private int recordsPerSegment = 524288; // 64 MB segment files of 128 byte records
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getRecordsPerSegment() {
+        return recordsPerSegment;
+    }
+
+    public void setRecordsPerSegment(int recordsPerSegment) {
+        this.recordsPerSegment = recordsPerSegment;
+    }
+}
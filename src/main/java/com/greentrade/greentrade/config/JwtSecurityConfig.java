@@ -2,6 +2,7 @@ package com.greentrade.greentrade.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,6 +13,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.greentrade.greentrade.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(
@@ -36,6 +39,9 @@ public class JwtSecurityConfig {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches finish a request that was authorized already (message streams, exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
@@ -46,6 +52,15 @@ public class JwtSecurityConfig {
                 .requestMatchers("/api/verifications/*/review").hasRole("ADMIN")
                 .requestMatchers("/api/verifications/products/*/submit").hasRole("SELLER")
                 .requestMatchers("/api/transactions/buyer/**").hasRole("BUYER")
+                .requestMatchers("/api/transactions/status-counts", "/api/transactions/status-durations").hasRole("ADMIN")
+                .requestMatchers("/api/reports/seller-statement").hasAnyRole("SELLER", "ADMIN")
+                .requestMatchers("/api/analytics/**").hasRole("ADMIN")
+                .requestMatchers("/api/webhooks/**").hasRole("ADMIN")
+                .requestMatchers("/api/settlements/**").hasRole("ADMIN")
+                .requestMatchers("/api/audit/**").hasRole("ADMIN")
+                // Sending and inspecting announcements is for admins; marking one as read is for everyone
+                .requestMatchers(HttpMethod.POST, "/api/announcements").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/announcements/*").hasRole("ADMIN")
                 
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
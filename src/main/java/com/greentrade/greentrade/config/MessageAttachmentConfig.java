@@ -0,0 +1,48 @@
+package com.greentrade.greentrade.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "messages.attachments")
+public class MessageAttachmentConfig {
+    private List<String> allowedExtensions = new ArrayList<>(List.of("pdf", "jpg", "jpeg", "png", "csv", "xlsx", "docx", "txt"));
+    private long maxFileSize = 10 * 1024 * 1024; // bytes per attachment; the upload stops as soon as it goes over
+    private int maxPerMessage = 10;
+    private int cleanupBatchSize = 500; // attachments of deleted messages removed per batch
+
+    public List<String> getAllowedExtensions() {
+        return allowedExtensions;
+    }
+
+    public void setAllowedExtensions(List<String> allowedExtensions) {
+        this.allowedExtensions = allowedExtensions;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxPerMessage() {
+        return maxPerMessage;
+    }
+
+    public void setMaxPerMessage(int maxPerMessage) {
+        this.maxPerMessage = maxPerMessage;
+    }
+
+    public int getCleanupBatchSize() {
+        return cleanupBatchSize;
+    }
+
+    public void setCleanupBatchSize(int cleanupBatchSize) {
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+}
@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "messages.retention")
+public class MessageRetentionConfig {
+    private boolean enabled = true;
+    private int readRetentionMonths = 12; // read messages older than this are deleted; unread ones are kept
+    private int chunkSize = 5000; // ids per delete, each in its own transaction
+    private long pauseMillis = 200; // pause between chunks, so locks and WAL are spread out
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getReadRetentionMonths() {
+        return readRetentionMonths;
+    }
+
+    public void setReadRetentionMonths(int readRetentionMonths) {
+        this.readRetentionMonths = readRetentionMonths;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public void setPauseMillis(long pauseMillis) {
+        this.pauseMillis = pauseMillis;
+    }
+}
@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "messages.search")
+public class MessageSearchConfig {
+    private boolean fullTextEnabled = true; // false searches with LIKE, for databases without the tsvector column
+    private int maxQueryLength = 200; // longer search terms are rejected
+
+    public boolean isFullTextEnabled() {
+        return fullTextEnabled;
+    }
+
+    public void setFullTextEnabled(boolean fullTextEnabled) {
+        this.fullTextEnabled = fullTextEnabled;
+    }
+
+    public int getMaxQueryLength() {
+        return maxQueryLength;
+    }
+
+    public void setMaxQueryLength(int maxQueryLength) {
+        this.maxQueryLength = maxQueryLength;
+    }
+}
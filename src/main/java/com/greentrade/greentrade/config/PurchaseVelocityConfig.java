@@ -0,0 +1,63 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transactions.velocity")
+public class PurchaseVelocityConfig {
+    private boolean enabled = true;
+    private int buyerLimit = 10; // purchases per buyer per window
+    private int productLimit = 300; // units per product per window
+    private long windowMillis = 60000;
+    private int shards = 16;
+    private int maxKeysPerShard = 4096; // least recently used keys are evicted beyond this
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBuyerLimit() {
+        return buyerLimit;
+    }
+
+    public void setBuyerLimit(int buyerLimit) {
+        this.buyerLimit = buyerLimit;
+    }
+
+    public int getProductLimit() {
+        return productLimit;
+    }
+
+    public void setProductLimit(int productLimit) {
+        this.productLimit = productLimit;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public int getMaxKeysPerShard() {
+        return maxKeysPerShard;
+    }
+
+    public void setMaxKeysPerShard(int maxKeysPerShard) {
+        this.maxKeysPerShard = maxKeysPerShard;
+    }
+}
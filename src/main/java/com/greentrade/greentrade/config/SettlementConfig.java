@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "settlement")
+public class SettlementConfig {
+    private boolean enabled = true;
+    private int parallelism = 4; // workers of the fork-join pool, each holds a database connection while settling
+    private int sellersPerBatch = 100; // sellers settled and committed together
+    private int fetchSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getSellersPerBatch() {
+        return sellersPerBatch;
+    }
+
+    public void setSellersPerBatch(int sellersPerBatch) {
+        this.sellersPerBatch = sellersPerBatch;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+}
@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "products.stock.reservation")
+public class StockReservationConfig {
+    private boolean bufferEnabled = false;
+    private int blockSize = 20; // units claimed from the database per refill
+    private int stripes = 4;
+    private long idleFlushMillis = 5000; // unused allotments are returned to the database after this
+
+    public boolean isBufferEnabled() {
+        return bufferEnabled;
+    }
+
+    public void setBufferEnabled(boolean bufferEnabled) {
+        this.bufferEnabled = bufferEnabled;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public long getIdleFlushMillis() {
+        return idleFlushMillis;
+    }
+
+    public void setIdleFlushMillis(long idleFlushMillis) {
+        this.idleFlushMillis = idleFlushMillis;
+    }
+}
@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transactions.history")
+public class TransactionHistoryConfig {
+    private boolean snapshotsEnabled = true;
+    private long snapshotLagMillis = 60000; // changes younger than this may not be committed yet
+
+    public boolean isSnapshotsEnabled() {
+        return snapshotsEnabled;
+    }
+
+    public void setSnapshotsEnabled(boolean snapshotsEnabled) {
+        this.snapshotsEnabled = snapshotsEnabled;
+    }
+
+    public long getSnapshotLagMillis() {
+        return snapshotLagMillis;
+    }
+
+    public void setSnapshotLagMillis(long snapshotLagMillis) {
+        this.snapshotLagMillis = snapshotLagMillis;
+    }
+}
@@ -0,0 +1,36 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transactions.partitioning")
+public class TransactionPartitionConfig {
+    private boolean enabled = false;
+    private int hotMonths = 12; // months (including the current one) kept in the live table
+    private int monthsAhead = 2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getHotMonths() {
+        return hotMonths;
+    }
+
+    public void setHotMonths(int hotMonths) {
+        this.hotMonths = hotMonths;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+}
@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "messages.unread")
+public class UnreadMessageCounterConfig {
+    private long cacheTtlMillis = 30000; // bounds how stale a count can be after a change on another instance
+    private int maxCachedUsers = 100000;
+    private boolean reconcileEnabled = true;
+    private int reconcileBatchSize = 1000; // counters locked and recounted per transaction
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public void setCacheTtlMillis(long cacheTtlMillis) {
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public int getMaxCachedUsers() {
+        return maxCachedUsers;
+    }
+
+    public void setMaxCachedUsers(int maxCachedUsers) {
+        this.maxCachedUsers = maxCachedUsers;
+    }
+
+    public boolean isReconcileEnabled() {
+        return reconcileEnabled;
+    }
+
+    public void setReconcileEnabled(boolean reconcileEnabled) {
+        this.reconcileEnabled = reconcileEnabled;
+    }
+
+    public int getReconcileBatchSize() {
+        return reconcileBatchSize;
+    }
+
+    public void setReconcileBatchSize(int reconcileBatchSize) {
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+}
@@ -0,0 +1,117 @@
+package com.greentrade.greentrade.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "webhooks")
+public class WebhookConfig {
+    private boolean dispatcherEnabled = true;
+    private int poolSize = 4;
+    private int queueCapacity = 100;
+    private int maxConcurrentPerEndpoint = 2; // deliveries in flight to one subscription
+    private int batchSize = 50;
+    private int maxAttempts = 10; // a delivery is marked FAILED after this many attempts
+    private long initialBackoffMillis = 1000;
+    private long maxBackoffMillis = 3600000;
+    private long connectTimeoutMillis = 2000;
+    private long requestTimeoutMillis = 5000;
+    private long leaseMillis = 60000; // a claimed delivery is retried after this if its worker never reports back
+    private int retentionDays = 14; // delivered and failed deliveries are kept this long
+
+    public boolean isDispatcherEnabled() {
+        return dispatcherEnabled;
+    }
+
+    public void setDispatcherEnabled(boolean dispatcherEnabled) {
+        this.dispatcherEnabled = dispatcherEnabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxConcurrentPerEndpoint() {
+        return maxConcurrentPerEndpoint;
+    }
+
+    public void setMaxConcurrentPerEndpoint(int maxConcurrentPerEndpoint) {
+        this.maxConcurrentPerEndpoint = maxConcurrentPerEndpoint;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public void setLeaseMillis(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+}
@@ -0,0 +1,77 @@
+package com.greentrade.greentrade.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.greentrade.greentrade.dto.analytics.AnalyticsStoreStatus;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsRequest;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsResponse;
+import com.greentrade.greentrade.services.TransactionAnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "API endpoints for ad-hoc transaction analytics")
+public class AnalyticsController {
+
+    private final TransactionAnalyticsService analyticsService;
+
+    @Autowired
+    public AnalyticsController(TransactionAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Operation(
+        summary = "Query transactions",
+        description = "Filters transactions and groups them by up to three dimensions, returning count and amount per group"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Query successfully executed"),
+        @ApiResponse(responseCode = "400", description = "Invalid query")
+    })
+    @PostMapping("/transactions/query")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TransactionAnalyticsResponse> queryTransactions(
+            @Parameter(description = "Filters and dimensions of the query", required = true)
+            @Valid @RequestBody TransactionAnalyticsRequest request) {
+        try {
+            return ResponseEntity.ok(analyticsService.query(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get analytics store status",
+        description = "Returns the number of loaded transactions and whether a reload is running"
+    )
+    @ApiResponse(responseCode = "200", description = "Status successfully retrieved")
+    @GetMapping("/transactions/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AnalyticsStoreStatus> getStatus() {
+        return ResponseEntity.ok(analyticsService.getStatus());
+    }
+
+    @Operation(
+        summary = "Reload analytics store",
+        description = "Reads all transactions from the database again and replaces the in-memory columns"
+    )
+    @ApiResponse(responseCode = "200", description = "Store successfully reloaded")
+    @PostMapping("/transactions/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AnalyticsStoreStatus> reload() {
+        return ResponseEntity.ok(analyticsService.reload());
+    }
+}
@@ -0,0 +1,71 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.announcement.AnnouncementCreateRequest;
+import com.greentrade.greentrade.dto.announcement.AnnouncementResponse;
+import com.greentrade.greentrade.services.AnnouncementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/announcements")
+@Tag(name = "Announcements", description = "API endpoints for announcements from admins to all users")
+public class AnnouncementController {
+
+    private final AnnouncementService announcementService;
+
+    @Autowired
+    public AnnouncementController(AnnouncementService announcementService) {
+        this.announcementService = announcementService;
+    }
+
+    @Operation(
+        summary = "Send an announcement",
+        description = "Stored once and shown in the inbox of every user with the audience role, or of everyone without one"
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<AnnouncementResponse> createAnnouncement(
+            @Valid @RequestBody AnnouncementCreateRequest request,
+            Principal principal) {
+        AnnouncementResponse announcement = announcementService.createAnnouncement(request, principal.getName());
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(announcement.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(announcement);
+    }
+
+    @Operation(summary = "Get an announcement with the number of users that read it")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<AnnouncementResponse> getAnnouncement(@PathVariable Long id) {
+        return ResponseEntity.ok(announcementService.getAnnouncement(id));
+    }
+
+    @Operation(summary = "Mark an announcement as read for the signed in user")
+    @PutMapping("/{id}/mark-read")
+    public ResponseEntity<Void> markAsRead(@PathVariable Long id, Principal principal) {
+        announcementService.markAsRead(id, principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
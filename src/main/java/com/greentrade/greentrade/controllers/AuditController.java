@@ -0,0 +1,63 @@
+package com.greentrade.greentrade.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.greentrade.greentrade.dto.audit.AuditRecordResponse;
+import com.greentrade.greentrade.dto.audit.AuditVerificationResponse;
+import com.greentrade.greentrade.services.AuditService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/audit")
+@Tag(name = "Audit", description = "API endpoints for the tamper-evident transaction audit ledger")
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Autowired
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @Operation(
+        summary = "Verify the audit ledger",
+        description = "Reads the whole ledger and checks the sequence and hash chain of every record"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ledger verified, see valid for the outcome"),
+        @ApiResponse(responseCode = "503", description = "Audit ledger is not enabled")
+    })
+    @GetMapping("/verify")
+    public ResponseEntity<AuditVerificationResponse> verify() {
+        return ResponseEntity.ok(auditService.verify());
+    }
+
+    @Operation(
+        summary = "Get the audit history of a transaction",
+        description = "Replays the ledger and returns every recorded event of the transaction, oldest first"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "History successfully retrieved"),
+        @ApiResponse(responseCode = "503", description = "Audit ledger is not enabled")
+    })
+    @GetMapping("/transactions/{id}")
+    public ResponseEntity<List<AuditRecordResponse>> getTransactionHistory(
+            @Parameter(description = "ID of the transaction", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(auditService.getTransactionHistory(id));
+    }
+}
@@ -0,0 +1,92 @@
+package com.greentrade.greentrade.controllers;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.greentrade.greentrade.dto.conversation.ConversationPage;
+import com.greentrade.greentrade.dto.conversation.ConversationResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.services.ConversationService;
+import com.greentrade.greentrade.services.MessageService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/conversations")
+@Tag(name = "Conversations", description = "API endpoints for the conversations of the signed in user")
+public class ConversationController {
+
+    private final ConversationService conversationService;
+    private final MessageService messageService;
+
+    @Autowired
+    public ConversationController(ConversationService conversationService, MessageService messageService) {
+        this.conversationService = conversationService;
+        this.messageService = messageService;
+    }
+
+    @Operation(
+        summary = "Get my conversations",
+        description = "Most recently active first, with the last message and the unread count. "
+                + "The X-Next-Cursor header holds the cursor for the next page as long as there is one"
+    )
+    @GetMapping
+    public ResponseEntity<List<ConversationResponse>> getConversations(
+            Principal principal,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = messageService.getUserIdByEmail(principal.getName());
+            ConversationPage page = conversationService.getConversations(userId, before, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(MessageController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getConversations());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    @Operation(
+        summary = "Get the messages of a conversation",
+        description = "Newest first. The X-Next-Cursor header holds the cursor for the next page as long as there is one"
+    )
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<List<MessageResponse>> getConversationMessages(
+            Principal principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = messageService.getUserIdByEmail(principal.getName());
+            MessagePage page = messageService.getConversationMessages(id, userId, before, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(MessageController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getMessages());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (ConversationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
+import com.greentrade.greentrade.services.MessageAttachmentService;
+import com.greentrade.greentrade.services.MessageAttachmentService.AttachmentDownload;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/messages/{messageId}/attachments")
+@Tag(name = "Message attachments", description = "API endpoints for files attached to messages")
+public class MessageAttachmentController {
+
+    private final MessageAttachmentService attachmentService;
+
+    @Autowired
+    public MessageAttachmentController(MessageAttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    @Operation(
+        summary = "Attach a file to a message",
+        description = "Only the sender can attach files. The file is streamed to storage and refused as soon as it goes over the maximum size"
+    )
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MessageAttachmentResponse> addAttachment(
+            @PathVariable Long messageId,
+            @RequestParam("file") MultipartFile file,
+            Principal principal) {
+        MessageAttachmentResponse attachment = attachmentService.addAttachment(messageId, file, principal.getName());
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(attachment.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(attachment);
+    }
+
+    @Operation(summary = "Get the attachments of a message, without their content")
+    @GetMapping
+    public ResponseEntity<List<MessageAttachmentResponse>> getAttachments(
+            @PathVariable Long messageId,
+            Principal principal) {
+        return ResponseEntity.ok(attachmentService.getAttachments(messageId, principal.getName()));
+    }
+
+    @Operation(
+        summary = "Download an attachment",
+        description = "Streams the content of the file; only the sender and the receiver of the message can download it"
+    )
+    @GetMapping("/{attachmentId}")
+    public ResponseEntity<Resource> downloadAttachment(
+            @PathVariable Long messageId,
+            @PathVariable Long attachmentId,
+            Principal principal) {
+        AttachmentDownload download = attachmentService.loadAttachment(messageId, attachmentId, principal.getName());
+        MessageAttachmentResponse attachment = download.attachment();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(attachment.getContentType()))
+                .contentLength(attachment.getSize())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(attachment.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(download.resource());
+    }
+}
@@ -1,9 +1,12 @@
 package com.greentrade.greentrade.controllers;
 
 import java.net.URI;
+import java.security.Principal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +15,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.greentrade.greentrade.dto.message.MessageCreateRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
 import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.dto.message.UnreadCountResponse;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.messaging.MessageStreamRegistry;
 import com.greentrade.greentrade.services.MessageService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,11 +39,15 @@ import jakarta.validation.Valid;
 @Tag(name = "Messages", description = "API endpoints for managing messages between users")
 public class MessageController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MessageService messageService;
+    private final MessageStreamRegistry messageStreamRegistry;
 
     @Autowired
-    public MessageController(MessageService messageService) {
+    public MessageController(MessageService messageService, MessageStreamRegistry messageStreamRegistry) {
         this.messageService = messageService;
+        this.messageStreamRegistry = messageStreamRegistry;
     }
 
     @Operation(summary = "Get all messages")
@@ -41,6 +56,39 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getAllMessages());
     }
 
+    @Operation(
+        summary = "Stream new messages",
+        description = "Server-Sent Events stream that pushes every message the signed in user receives as a 'message' event"
+    )
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessages(Principal principal) {
+        try {
+            Long userId = messageService.getUserIdByEmail(principal.getName());
+            return ResponseEntity.ok(messageStreamRegistry.connect(userId));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    @Operation(
+        summary = "Search my messages",
+        description = "Full-text search over the subject and content of the messages the signed in user sent or received"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<MessageResponse>> searchMessages(
+            Principal principal,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = messageService.getUserIdByEmail(principal.getName());
+            return ResponseEntity.ok(messageService.searchMessages(userId, q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     @Operation(summary = "Get a specific message")
     @GetMapping("/{id}")
     public ResponseEntity<MessageResponse> getMessageById(@PathVariable Long id) {
@@ -74,6 +122,19 @@ public class MessageController {
         }
     }
 
+    @Operation(
+        summary = "Mark many messages as read",
+        description = "Marks a list of messages, or every message from a sender to a receiver, as read in one update"
+    )
+    @PostMapping("/mark-read")
+    public ResponseEntity<MessageMarkReadResponse> markManyAsRead(@Valid @RequestBody MessageMarkReadRequest request) {
+        try {
+            return ResponseEntity.ok(messageService.markManyAsRead(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Delete a message")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMessage(@PathVariable Long id) {
@@ -85,23 +146,37 @@ public class MessageController {
         }
     }
 
-    @Operation(summary = "Get received messages for a user")
+    @Operation(
+        summary = "Get received messages for a user",
+        description = "Newest first. The X-Next-Cursor header holds the cursor for the next page as long as there is one"
+    )
     @GetMapping("/received/{userId}")
-    public ResponseEntity<List<MessageResponse>> getReceivedMessagesForUser(@PathVariable Long userId) {
+    public ResponseEntity<List<MessageResponse>> getReceivedMessagesForUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<MessageResponse> messages = messageService.getReceivedMessagesForUser(userId);
-            return ResponseEntity.ok(messages);
+            return toPageResponse(messageService.getReceivedMessagesForUser(userId, before, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Get sent messages from a user")
+    @Operation(
+        summary = "Get sent messages from a user",
+        description = "Newest first. The X-Next-Cursor header holds the cursor for the next page as long as there is one"
+    )
     @GetMapping("/sent/{userId}")
-    public ResponseEntity<List<MessageResponse>> getSentMessagesByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<MessageResponse>> getSentMessagesByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<MessageResponse> messages = messageService.getSentMessagesByUser(userId);
-            return ResponseEntity.ok(messages);
+            return toPageResponse(messageService.getSentMessagesByUser(userId, before, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -117,4 +192,22 @@ public class MessageController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @Operation(summary = "Get the number of unread messages for a user")
+    @GetMapping("/unread/{userId}/count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(messageService.getUnreadCount(userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static ResponseEntity<List<MessageResponse>> toPageResponse(MessagePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getMessages());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.order.OrderCreateRequest;
+import com.greentrade.greentrade.dto.order.OrderResponse;
+import com.greentrade.greentrade.services.OrderService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/orders")
+@Tag(name = "Orders", description = "API endpoints for buying several products at once")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @Operation(
+        summary = "Place an order",
+        description = "Creates a transaction for every line of the order in one go"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Order successfully created"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "404", description = "Buyer or product not found"),
+        @ApiResponse(responseCode = "409", description = "A product is out of stock"),
+        @ApiResponse(responseCode = "429", description = "Too many purchases by the buyer or of a product")
+    })
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(
+            @Parameter(description = "Buyer and order lines", required = true)
+            @Valid @RequestBody OrderCreateRequest request) {
+        try {
+            OrderResponse order = orderService.createOrder(request);
+
+            URI location = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(order.getId())
+                    .toUri();
+
+            return ResponseEntity.created(location).body(order);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get an order",
+        description = "Returns an order with its transactions"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order found"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrder(
+            @Parameter(description = "ID of the order", required = true)
+            @PathVariable Long id) {
+        return new ResponseEntity<>(orderService.getOrder(id), HttpStatus.OK);
+    }
+}
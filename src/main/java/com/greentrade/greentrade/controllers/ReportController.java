@@ -0,0 +1,108 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.report.ReportJobResponse;
+import com.greentrade.greentrade.dto.report.SellerStatementRequest;
+import com.greentrade.greentrade.services.ReportJobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/reports")
+@Tag(name = "Reports", description = "API endpoints for generating reports in the background")
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+
+    @Autowired
+    public ReportController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @Operation(
+        summary = "Request a seller statement",
+        description = "Starts generating the monthly statement of a seller and returns the job to poll"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Report job accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "403", description = "Statement of another seller"),
+        @ApiResponse(responseCode = "404", description = "Seller not found"),
+        @ApiResponse(responseCode = "503", description = "Too many reports are being generated")
+    })
+    @PostMapping("/seller-statement")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<ReportJobResponse> requestSellerStatement(
+            @Parameter(description = "Seller and month of the statement", required = true)
+            @Valid @RequestBody SellerStatementRequest request,
+            Principal principal) {
+        ReportJobResponse job = reportJobService.submitSellerStatement(request, principal.getName());
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/reports/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(
+        summary = "Get a report job",
+        description = "Returns the status and progress of a report job"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Report job found"),
+        @ApiResponse(responseCode = "404", description = "Report job not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponse> getReportJob(
+            @Parameter(description = "ID of the report job", required = true)
+            @PathVariable Long id,
+            Principal principal) {
+        return new ResponseEntity<>(reportJobService.getJob(id, principal.getName()), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Download a report",
+        description = "Downloads the file of a completed report job"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Report successfully downloaded"),
+        @ApiResponse(responseCode = "404", description = "Report job not found"),
+        @ApiResponse(responseCode = "409", description = "Report is not completed")
+    })
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadReport(
+            @Parameter(description = "ID of the report job", required = true)
+            @PathVariable Long id,
+            Principal principal) {
+        Resource resource = reportJobService.loadReport(id, principal.getName());
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-" + id + ".csv\"")
+                .body(resource);
+    }
+}
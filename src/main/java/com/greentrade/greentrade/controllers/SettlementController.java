@@ -0,0 +1,87 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.settlement.SettlementResponse;
+import com.greentrade.greentrade.dto.settlement.SettlementRunResponse;
+import com.greentrade.greentrade.services.SettlementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/settlements")
+@Tag(name = "Settlements", description = "API endpoints for seller payouts")
+@PreAuthorize("hasRole('ADMIN')")
+public class SettlementController {
+
+    private final SettlementService settlementService;
+
+    @Autowired
+    public SettlementController(SettlementService settlementService) {
+        this.settlementService = settlementService;
+    }
+
+    @Operation(
+        summary = "Start a settlement run",
+        description = "Settles all completed transactions dated before today in the background, "
+            + "or resumes the run that was interrupted, and returns the run to poll"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Settlement run started"),
+        @ApiResponse(responseCode = "409", description = "A settlement run is already in progress")
+    })
+    @PostMapping("/runs")
+    public ResponseEntity<SettlementRunResponse> startRun() {
+        SettlementRunResponse run = settlementService.startRun();
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(run.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(run);
+    }
+
+    @Operation(
+        summary = "Get a settlement run",
+        description = "Returns the status, progress and totals of a settlement run"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Settlement run found"),
+        @ApiResponse(responseCode = "404", description = "Settlement run not found")
+    })
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<SettlementRunResponse> getRun(
+            @Parameter(description = "ID of the settlement run", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(settlementService.getRun(id));
+    }
+
+    @Operation(
+        summary = "Get settlements of a seller",
+        description = "Returns the last 50 payouts of a seller"
+    )
+    @ApiResponse(responseCode = "200", description = "Settlements successfully retrieved")
+    @GetMapping("/sellers/{sellerId}")
+    public ResponseEntity<List<SettlementResponse>> getSellerSettlements(
+            @Parameter(description = "ID of the seller", required = true)
+            @PathVariable Long sellerId) {
+        return ResponseEntity.ok(settlementService.getSellerSettlements(sellerId));
+    }
+}
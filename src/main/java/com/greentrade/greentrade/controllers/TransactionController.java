@@ -1,16 +1,21 @@
 package com.greentrade.greentrade.controllers;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -18,11 +23,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusRequest;
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusResponse;
 import com.greentrade.greentrade.dto.transaction.TransactionCreateRequest;
+import com.greentrade.greentrade.dto.transaction.TransactionMetricsResponse;
 import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusAtResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusChangeResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusCountsResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusDurationResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionTimeInStatusResponse;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+import com.greentrade.greentrade.metrics.TransactionMetrics;
+import com.greentrade.greentrade.services.TransactionExportService;
 import com.greentrade.greentrade.services.TransactionService;
+import com.greentrade.greentrade.services.TransactionStatusHistoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,10 +58,20 @@ import jakarta.validation.Valid;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionMetrics transactionMetrics;
+    private final TransactionStatusHistoryService statusHistoryService;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(
+            TransactionService transactionService,
+            TransactionExportService transactionExportService,
+            TransactionMetrics transactionMetrics,
+            TransactionStatusHistoryService statusHistoryService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionMetrics = transactionMetrics;
+        this.statusHistoryService = statusHistoryService;
     }
 
     @Operation(
@@ -61,6 +90,18 @@ public class TransactionController {
         return new ResponseEntity<>(transactionService.getAllTransactions(), HttpStatus.OK);
     }
 
+    @Operation(
+        summary = "Get live transaction volume",
+        description = "Returns count and amount per status over the last minute, hour and 24 hours, without querying the database"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Metrics successfully retrieved")
+    })
+    @GetMapping("/metrics")
+    public ResponseEntity<TransactionMetricsResponse> getTransactionMetrics() {
+        return new ResponseEntity<>(transactionMetrics.snapshot(), HttpStatus.OK);
+    }
+
     @Operation(
         summary = "Get a specific transaction",
         description = "Retrieves a specific transaction based on its ID"
@@ -83,7 +124,9 @@ public class TransactionController {
     )
     @ApiResponses({
         @ApiResponse(responseCode = "201", description = "Transaction successfully created"),
-        @ApiResponse(responseCode = "400", description = "Invalid input data")
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "409", description = "Product is out of stock"),
+        @ApiResponse(responseCode = "429", description = "Too many purchases by the buyer or of the product")
     })
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
@@ -101,11 +144,110 @@ public class TransactionController {
             return ResponseEntity.created(location).body(newTransaction);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (PurchaseVelocityExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @Operation(
+        summary = "Get the status history of a transaction",
+        description = "Lists every status change of a transaction, oldest first, with who made it and how long the previous status lasted"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "History successfully retrieved"),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TransactionStatusChangeResponse>> getTransactionHistory(
+            @Parameter(description = "ID of the transaction", required = true)
+            @PathVariable Long id) {
+        return new ResponseEntity<>(statusHistoryService.getHistory(id), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Get the status of a transaction at a point in time",
+        description = "Returns the status the transaction had at the given time, or no status when it did not exist yet"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status successfully retrieved"),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    @GetMapping("/{id}/status-at")
+    public ResponseEntity<TransactionStatusAtResponse> getTransactionStatusAt(
+            @Parameter(description = "ID of the transaction", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Point in time (ISO format)", required = true, example = "2024-06-01T12:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return new ResponseEntity<>(statusHistoryService.getStatusAt(id, at), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Get the time a transaction spent in a status",
+        description = "Adds up every period the transaction was in the status, including the current one"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Time successfully calculated"),
+        @ApiResponse(responseCode = "400", description = "Invalid status"),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    @GetMapping("/{id}/time-in-status")
+    public ResponseEntity<TransactionTimeInStatusResponse> getTransactionTimeInStatus(
+            @Parameter(description = "ID of the transaction", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Status to measure", required = true, example = "PROCESSING")
+            @RequestParam String status) {
+        try {
+            return new ResponseEntity<>(statusHistoryService.getTimeInStatus(id, status), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get the number of transactions per status at a point in time",
+        description = "Starts from the nearest status snapshot and applies the status changes between the snapshot and the given time"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Counts successfully retrieved")
+    })
+    @GetMapping("/status-counts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TransactionStatusCountsResponse> getTransactionStatusCounts(
+            @Parameter(description = "Point in time (ISO format)", required = true, example = "2024-06-01T12:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return new ResponseEntity<>(statusHistoryService.getStatusCounts(at), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Get how long transactions stayed in a status",
+        description = "Average and longest time in the status, over the transactions that left it during the period"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Durations successfully calculated"),
+        @ApiResponse(responseCode = "400", description = "Invalid status or period")
+    })
+    @GetMapping("/status-durations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TransactionStatusDurationResponse> getTransactionStatusDurations(
+            @Parameter(description = "Status to measure", required = true, example = "PROCESSING")
+            @RequestParam String status,
+            @Parameter(description = "Start date and time (ISO format)", required = true, example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End date and time (ISO format)", required = true, example = "2024-12-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return new ResponseEntity<>(statusHistoryService.getStatusDurations(status, from, to), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(
         summary = "Update the status of a transaction",
         description = "Updates the status of an existing transaction"
@@ -128,6 +270,27 @@ public class TransactionController {
         }
     }
 
+    @Operation(
+        summary = "Update the status of many transactions",
+        description = "Moves a list of transactions to a new status in one request and reports the outcome per transaction"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statuses processed, see the per-transaction results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<TransactionBulkStatusResponse> bulkUpdateTransactionStatus(
+            @Parameter(description = "Transaction IDs and target status", required = true)
+            @Valid @RequestBody TransactionBulkStatusRequest request) {
+        try {
+            TransactionBulkStatusResponse response = transactionService.bulkUpdateTransactionStatus(
+                    request.getIds(), request.getStatus());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(
         summary = "Delete a transaction",
         description = "Deletes a transaction from the system"
@@ -197,4 +360,38 @@ public class TransactionController {
         List<TransactionResponse> transactions = transactionService.getTransactionsBetweenDates(start, end);
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    @Operation(
+        summary = "Export transactions of a period as CSV",
+        description = "Streams all transactions between two dates (inclusive) as CSV, optionally gzip-compressed"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "CSV export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid period")
+    })
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsCsv(
+            @Parameter(description = "First day of the period (ISO format)", required = true, example = "2024-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the period (ISO format)", required = true, example = "2024-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Compress the export with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            transactionExportService.validatePeriod(from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = "transactions-" + from + "-" + to + (gzip ? ".csv.gz" : ".csv");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        StreamingResponseBody body = outputStream -> transactionExportService.writeCsv(from, to, gzip, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,107 @@
+package com.greentrade.greentrade.controllers;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.greentrade.greentrade.dto.webhook.WebhookDeliveryResponse;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionRequest;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionResponse;
+import com.greentrade.greentrade.services.WebhookSubscriptionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@Tag(name = "Webhooks", description = "API endpoints for webhook subscriptions on transaction status changes")
+@PreAuthorize("hasRole('ADMIN')")
+public class WebhookController {
+
+    private final WebhookSubscriptionService subscriptionService;
+
+    @Autowired
+    public WebhookController(WebhookSubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    @Operation(
+        summary = "Create a webhook subscription",
+        description = "Registers an endpoint that receives a signed POST for every transaction status change. "
+            + "The signing secret is only returned in this response."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Subscription successfully created"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PostMapping
+    public ResponseEntity<WebhookSubscriptionResponse> createSubscription(
+            @Parameter(description = "Endpoint and optional secret", required = true)
+            @Valid @RequestBody WebhookSubscriptionRequest request,
+            Principal principal) {
+        WebhookSubscriptionResponse subscription = subscriptionService.createSubscription(
+                request, principal != null ? principal.getName() : null);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(subscription.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(subscription);
+    }
+
+    @Operation(summary = "Get all webhook subscriptions")
+    @ApiResponse(responseCode = "200", description = "Subscriptions successfully retrieved")
+    @GetMapping
+    public ResponseEntity<List<WebhookSubscriptionResponse>> getSubscriptions() {
+        return ResponseEntity.ok(subscriptionService.getSubscriptions());
+    }
+
+    @Operation(
+        summary = "Deactivate a webhook subscription",
+        description = "Stops all further deliveries to the endpoint"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Subscription deactivated"),
+        @ApiResponse(responseCode = "404", description = "Subscription not found")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivateSubscription(
+            @Parameter(description = "ID of the subscription", required = true)
+            @PathVariable Long id) {
+        subscriptionService.deactivateSubscription(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+        summary = "Get recent deliveries",
+        description = "Returns the last 50 deliveries to a subscription with their status and last error"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Deliveries successfully retrieved"),
+        @ApiResponse(responseCode = "404", description = "Subscription not found")
+    })
+    @GetMapping("/{id}/deliveries")
+    public ResponseEntity<List<WebhookDeliveryResponse>> getRecentDeliveries(
+            @Parameter(description = "ID of the subscription", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(subscriptionService.getRecentDeliveries(id));
+    }
+}
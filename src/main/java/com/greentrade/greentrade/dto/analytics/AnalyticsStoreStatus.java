@@ -0,0 +1,18 @@
+package com.greentrade.greentrade.dto.analytics;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsStoreStatus {
+    private int rows;
+    private boolean loading;
+    private LocalDateTime loadedAt;
+}
@@ -0,0 +1,20 @@
+package com.greentrade.greentrade.dto.analytics;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAnalyticsGroup {
+    private Map<String, Object> keys;
+    private long count;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+}
@@ -0,0 +1,40 @@
+package com.greentrade.greentrade.dto.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.greentrade.greentrade.analytics.AnalyticsDimension;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAnalyticsRequest {
+    @Size(max = 3, message = "At most 3 dimensions can be grouped on")
+    private List<AnalyticsDimension> groupBy;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private List<String> statuses;
+
+    private List<Long> sellerIds;
+
+    private List<Long> buyerIds;
+
+    private List<Long> productIds;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 10000, message = "Limit cannot be more than 10000")
+    private Integer limit;
+}
@@ -0,0 +1,20 @@
+package com.greentrade.greentrade.dto.analytics;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAnalyticsResponse {
+    private long scannedRows;
+    private long matchedRows;
+    private long totalGroups;
+    private long tookMillis;
+    private List<TransactionAnalyticsGroup> groups;
+}
@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.dto.announcement;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import com.greentrade.greentrade.models.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementCreateRequest {
+    private Role audience; // empty for every user
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 100, message = "Subject cannot be longer than 100 characters")
+    private String subject;
+
+    @NotBlank(message = "Content is required")
+    @Size(max = 2000, message = "Content cannot be longer than 2000 characters")
+    private String content;
+}
@@ -0,0 +1,24 @@
+package com.greentrade.greentrade.dto.announcement;
+
+import java.time.LocalDateTime;
+
+import com.greentrade.greentrade.models.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementResponse {
+    private Long id;
+    private Long senderId;
+    private Role audience;
+    private String subject;
+    private String content;
+    private LocalDateTime createdAt;
+    private long readCount;
+}
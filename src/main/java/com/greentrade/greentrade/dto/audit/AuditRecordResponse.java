@@ -0,0 +1,28 @@
+package com.greentrade.greentrade.dto.audit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.greentrade.greentrade.audit.AuditEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRecordResponse {
+    private long sequence;
+    private LocalDateTime recordedAt;
+    private AuditEventType type;
+    private long transactionId;
+    private Long buyerId;
+    private Long productId;
+    private Long sellerId;
+    private BigDecimal amount;
+    private String previousStatus;
+    private String newStatus;
+}
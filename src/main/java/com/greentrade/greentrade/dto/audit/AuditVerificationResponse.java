@@ -0,0 +1,22 @@
+package com.greentrade.greentrade.dto.audit;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditVerificationResponse {
+    private boolean valid;
+    private long records;
+    private long lastSequence;
+    private Long brokenAtSequence;
+    private String message;
+    private long tookMillis;
+    private LocalDateTime verifiedAt;
+}
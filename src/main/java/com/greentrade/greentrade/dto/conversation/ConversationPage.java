@@ -0,0 +1,17 @@
+package com.greentrade.greentrade.dto.conversation;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationPage {
+    private List<ConversationResponse> conversations;
+    private String nextCursor; // null on the last page
+}
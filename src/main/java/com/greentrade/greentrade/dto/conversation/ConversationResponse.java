@@ -0,0 +1,22 @@
+package com.greentrade.greentrade.dto.conversation;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationResponse {
+    private Long id;
+    private Long otherUserId;
+    private LocalDateTime lastMessageAt;
+    private Long lastMessageId;
+    private Long lastSenderId;
+    private String lastSnippet;
+    private long unreadCount;
+}
@@ -0,0 +1,21 @@
+package com.greentrade.greentrade.dto.message;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageAttachmentResponse {
+    private Long id;
+    private Long messageId;
+    private String fileName;
+    private String contentType;
+    private long size;
+    private LocalDateTime createdAt;
+}
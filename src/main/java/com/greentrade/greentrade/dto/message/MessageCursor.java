@@ -0,0 +1,38 @@
+package com.greentrade.greentrade.dto.message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an inbox, outbox or conversation list: the timestamp and id of the
+ * last entry of a page. Clients get it as an opaque string and pass it back to
+ * get the page after it.
+ */
+public record MessageCursor(LocalDateTime timestamp, Long id) {
+
+    private static final char SEPARATOR = '~';
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the cursor was not created by {@link #encode()}
+     */
+    public static MessageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid message cursor: " + cursor);
+            }
+            return new MessageCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid message cursor: " + cursor, e);
+        }
+    }
+}
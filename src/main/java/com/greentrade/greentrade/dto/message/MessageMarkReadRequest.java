@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.dto.message;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Either a list of message IDs or a conversation: everything the sender sent to
+ * the receiver.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageMarkReadRequest {
+    @Size(max = 1000, message = "No more than 1000 messages can be marked at once")
+    private List<Long> ids;
+
+    private Long senderId;
+
+    private Long receiverId;
+}
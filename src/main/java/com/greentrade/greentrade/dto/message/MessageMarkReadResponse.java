@@ -0,0 +1,14 @@
+package com.greentrade.greentrade.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageMarkReadResponse {
+    private int updated; // messages that went from unread to read
+}
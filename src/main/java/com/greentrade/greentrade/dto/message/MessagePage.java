@@ -0,0 +1,17 @@
+package com.greentrade.greentrade.dto.message;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessagePage {
+    private List<MessageResponse> messages;
+    private String nextCursor; // null on the last page
+}
@@ -1,6 +1,7 @@
 package com.greentrade.greentrade.dto.message;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,4 +20,8 @@ public class MessageResponse {
     private String content;
     private LocalDateTime timestamp;
     private boolean read;
+    private Long conversationId;
+    private boolean announcement; // an admin announcement merged into the inbox; its id is the announcement id
+    private int attachmentCount;
+    private List<MessageAttachmentResponse> attachments; // metadata only, set when attachmentCount > 0; content via the download endpoint
 }
\ No newline at end of file
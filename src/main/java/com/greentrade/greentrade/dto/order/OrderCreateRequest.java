@@ -0,0 +1,26 @@
+package com.greentrade.greentrade.dto.order;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreateRequest {
+    @NotNull(message = "Buyer ID is required")
+    private Long buyerId;
+
+    @NotEmpty(message = "An order needs at least one line")
+    @Size(max = 100, message = "An order cannot have more than 100 lines")
+    private List<@Valid OrderLineRequest> lines;
+}
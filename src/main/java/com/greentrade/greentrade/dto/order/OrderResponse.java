@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.dto.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderResponse {
+    private Long id;
+    private Long buyerId;
+    private BigDecimal totalAmount;
+    private String status;
+    private LocalDateTime createdAt;
+    private List<TransactionResponse> transactions;
+}
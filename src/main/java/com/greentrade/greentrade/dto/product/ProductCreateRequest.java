@@ -36,6 +36,9 @@ public class ProductCreateRequest {
 
     private String sustainabilityCertificate;
 
+    @Min(value = 0, message = "Stock quantity cannot be negative")
+    private Integer stockQuantity;
+
     @NotNull(message = "Seller ID is required")
     private Long sellerId;
 }
\ No newline at end of file
@@ -18,5 +18,6 @@ public class ProductResponse {
     private BigDecimal price;
     private Integer sustainabilityScore;
     private String sustainabilityCertificate;
+    private Integer stockQuantity;
     private Long sellerId;
 }
\ No newline at end of file
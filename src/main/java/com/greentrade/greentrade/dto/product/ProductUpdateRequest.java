@@ -33,6 +33,9 @@ public class ProductUpdateRequest {
     private Integer sustainabilityScore;
 
     private String sustainabilityCertificate;
+
+    @Min(value = 0, message = "Stock quantity cannot be negative")
+    private Integer stockQuantity;
     
     private Long sellerId;
 }
\ No newline at end of file
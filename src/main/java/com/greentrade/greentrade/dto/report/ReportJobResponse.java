@@ -0,0 +1,31 @@
+package com.greentrade.greentrade.dto.report;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.greentrade.greentrade.models.ReportJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private Long id;
+    private String type;
+    private ReportJobStatus status;
+    private Long sellerId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Long totalRows;
+    private long processedRows;
+    private int progressPercent;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
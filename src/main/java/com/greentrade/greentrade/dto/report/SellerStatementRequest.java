@@ -0,0 +1,22 @@
+package com.greentrade.greentrade.dto.report;
+
+import java.time.YearMonth;
+
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerStatementRequest {
+    @NotNull(message = "Seller ID is required")
+    private Long sellerId;
+
+    @NotNull(message = "Month is required")
+    private YearMonth month;
+}
@@ -0,0 +1,22 @@
+package com.greentrade.greentrade.dto.settlement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementResponse {
+    private Long id;
+    private Long runId;
+    private Long sellerId;
+    private long transactionCount;
+    private BigDecimal payout;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.greentrade.greentrade.dto.settlement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.greentrade.greentrade.models.SettlementRunStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRunResponse {
+    private Long id;
+    private SettlementRunStatus status;
+    private LocalDateTime cutoff;
+    private int sellerCount;
+    private int settledSellers;
+    private int failedSellers;
+    private long transactionCount;
+    private BigDecimal totalPayout;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
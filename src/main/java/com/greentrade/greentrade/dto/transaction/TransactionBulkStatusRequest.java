@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBulkStatusRequest {
+    @NotEmpty(message = "At least one transaction ID is required")
+    @Size(max = 10000, message = "No more than 10000 transactions can be updated at once")
+    private List<Long> ids;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
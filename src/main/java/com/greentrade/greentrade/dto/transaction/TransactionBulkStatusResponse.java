@@ -0,0 +1,19 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBulkStatusResponse {
+    private String status;
+    private int requested;
+    private int updated;
+    private List<TransactionStatusOutcome> results;
+}
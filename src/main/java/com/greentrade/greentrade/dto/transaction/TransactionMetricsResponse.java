@@ -0,0 +1,17 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMetricsResponse {
+    // Window label (1m, 1h, 24h) -> status -> volume
+    private Map<String, Map<String, TransactionVolume>> windows;
+}
@@ -16,6 +16,8 @@ public class TransactionResponse {
     private Long id;
     private Long buyerId;
     private Long productId;
+    private Long sellerId;
+    private Long orderId;
     private BigDecimal amount;
     private LocalDateTime date;
     private String status;
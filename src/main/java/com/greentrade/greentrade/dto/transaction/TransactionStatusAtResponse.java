@@ -0,0 +1,18 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatusAtResponse {
+    private Long transactionId;
+    private LocalDateTime at;
+    private String status; // null when the transaction did not exist yet
+}
@@ -0,0 +1,21 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatusChangeResponse {
+    private Long transactionId;
+    private String previousStatus;
+    private String newStatus;
+    private LocalDateTime changedAt;
+    private String changedBy;
+    private Long previousStatusMillis;
+}
@@ -0,0 +1,20 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatusCountsResponse {
+    private LocalDateTime at;
+    private Map<String, Long> counts;
+    private LocalDateTime snapshotTakenAt; // null when computed from the live table
+    private long changesApplied;
+}
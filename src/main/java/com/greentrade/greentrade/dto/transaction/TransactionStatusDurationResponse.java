@@ -0,0 +1,21 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatusDurationResponse {
+    private String status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long transitions;
+    private long averageMillis;
+    private long maxMillis;
+}
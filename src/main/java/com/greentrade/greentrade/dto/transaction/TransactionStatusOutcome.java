@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatusOutcome {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        INVALID_TRANSITION,
+        NOT_FOUND
+    }
+
+    private Long id;
+    private Outcome outcome;
+    private String previousStatus;
+    private String status;
+}
@@ -0,0 +1,18 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTimeInStatusResponse {
+    private Long transactionId;
+    private String status;
+    private long millis;
+    private int periods;
+    private boolean current;
+}
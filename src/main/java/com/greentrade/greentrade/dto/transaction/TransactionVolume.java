@@ -0,0 +1,17 @@
+package com.greentrade.greentrade.dto.transaction;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionVolume {
+    private long count;
+    private BigDecimal amount;
+}
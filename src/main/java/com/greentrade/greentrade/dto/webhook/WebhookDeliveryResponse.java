@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.dto.webhook;
+
+import java.time.LocalDateTime;
+
+import com.greentrade.greentrade.models.WebhookDeliveryStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDeliveryResponse {
+    private Long id;
+    private String eventType;
+    private Long transactionId;
+    private WebhookDeliveryStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private Integer lastStatusCode;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime deliveredAt;
+}
@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.dto.webhook;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookSubscriptionRequest {
+    @NotBlank(message = "URL is required")
+    @Size(max = 2000, message = "URL cannot be longer than 2000 characters")
+    @Pattern(regexp = "^https?://.+", message = "URL must start with http:// or https://")
+    private String url;
+
+    // Generated when left empty
+    @Size(min = 16, max = 200, message = "Secret must be between 16 and 200 characters")
+    private String secret;
+}
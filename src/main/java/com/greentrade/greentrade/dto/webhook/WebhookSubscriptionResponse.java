@@ -0,0 +1,22 @@
+package com.greentrade.greentrade.dto.webhook;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookSubscriptionResponse {
+    private Long id;
+    private String url;
+    private boolean active;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    // Only returned when the subscription is created
+    private String secret;
+}
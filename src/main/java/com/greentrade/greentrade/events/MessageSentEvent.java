@@ -0,0 +1,19 @@
+package com.greentrade.greentrade.events;
+
+import com.greentrade.greentrade.dto.message.MessageResponse;
+
+/**
+ * Published by MessageService when a message has been stored.
+ */
+public class MessageSentEvent {
+
+    private final MessageResponse message;
+
+    public MessageSentEvent(MessageResponse message) {
+        this.message = message;
+    }
+
+    public MessageResponse getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,57 @@
+package com.greentrade.greentrade.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by TransactionService when a transaction has been stored.
+ */
+public class TransactionCreatedEvent {
+
+    private final Long transactionId;
+    private final Long buyerId;
+    private final Long productId;
+    private final Long sellerId;
+    private final BigDecimal amount;
+    private final String status;
+    private final LocalDateTime date;
+
+    public TransactionCreatedEvent(Long transactionId, Long buyerId, Long productId, Long sellerId,
+            BigDecimal amount, String status, LocalDateTime date) {
+        this.transactionId = transactionId;
+        this.buyerId = buyerId;
+        this.productId = productId;
+        this.sellerId = sellerId;
+        this.amount = amount;
+        this.status = status;
+        this.date = date;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getBuyerId() {
+        return buyerId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+}
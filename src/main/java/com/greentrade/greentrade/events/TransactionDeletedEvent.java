@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TransactionService when a transaction has been deleted.
+ */
+public class TransactionDeletedEvent {
+
+    private final Long transactionId;
+    private final LocalDateTime deletedAt;
+
+    public TransactionDeletedEvent(Long transactionId, LocalDateTime deletedAt) {
+        this.transactionId = transactionId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.greentrade.greentrade.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by TransactionService for every transaction whose status changed,
+ * including the ones changed by a bulk update.
+ */
+public class TransactionStatusChangedEvent {
+
+    private final Long transactionId;
+    private final Long buyerId;
+    private final Long productId;
+    private final BigDecimal amount;
+    private final String previousStatus;
+    private final String newStatus;
+    private final LocalDateTime changedAt;
+
+    public TransactionStatusChangedEvent(Long transactionId, Long buyerId, Long productId, BigDecimal amount,
+            String previousStatus, String newStatus, LocalDateTime changedAt) {
+        this.transactionId = transactionId;
+        this.buyerId = buyerId;
+        this.productId = productId;
+        this.amount = amount;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getBuyerId() {
+        return buyerId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
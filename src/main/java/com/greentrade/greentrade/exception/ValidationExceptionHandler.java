@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,17 +12,33 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.greentrade.greentrade.exception.announcement.AnnouncementNotFoundException;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotAllowedException;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotFoundException;
+import com.greentrade.greentrade.exception.audit.AuditLedgerUnavailableException;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
 import com.greentrade.greentrade.exception.file.FileStorageException;
 import com.greentrade.greentrade.exception.file.InvalidFileException;
+import com.greentrade.greentrade.exception.order.OrderNotFoundException;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
 import com.greentrade.greentrade.exception.product.InvalidProductDataException;
 import com.greentrade.greentrade.exception.product.ProductNotFoundException;
+import com.greentrade.greentrade.exception.report.ReportJobNotFoundException;
+import com.greentrade.greentrade.exception.report.ReportNotAllowedException;
+import com.greentrade.greentrade.exception.report.ReportNotReadyException;
+import com.greentrade.greentrade.exception.report.ReportQueueFullException;
 import com.greentrade.greentrade.exception.security.InvalidCredentialsException;
 import com.greentrade.greentrade.exception.security.SecurityException;
 import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.exception.settlement.SettlementRunInProgressException;
+import com.greentrade.greentrade.exception.settlement.SettlementRunNotFoundException;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+import com.greentrade.greentrade.exception.transaction.TransactionNotFoundException;
 import com.greentrade.greentrade.exception.verification.DuplicateVerificationException;
 import com.greentrade.greentrade.exception.verification.InvalidVerificationStatusException;
 import com.greentrade.greentrade.exception.verification.ProductVerificationException;
 import com.greentrade.greentrade.exception.verification.VerificationNotFoundException;
+import com.greentrade.greentrade.exception.webhook.WebhookSubscriptionNotFoundException;
 
 @ControllerAdvice
 public class ValidationExceptionHandler {
@@ -55,6 +72,16 @@ public class ValidationExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(InsufficientStockException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InvalidProductDataException.class)
     public ResponseEntity<ErrorResponse> handleInvalidProductDataException(InvalidProductDataException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -158,6 +185,159 @@ public class ValidationExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    // Report exceptions
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobNotFoundException(ReportJobNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ReportNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleReportNotReadyException(ReportNotReadyException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ReportNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleReportNotAllowedException(ReportNotAllowedException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.FORBIDDEN.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ReportQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleReportQueueFullException(ReportQueueFullException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleOrderNotFoundException(OrderNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(WebhookSubscriptionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWebhookSubscriptionNotFoundException(WebhookSubscriptionNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TransactionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTransactionNotFoundException(TransactionNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AnnouncementNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAnnouncementNotFoundException(AnnouncementNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AttachmentNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAttachmentNotFoundException(AttachmentNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AttachmentNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleAttachmentNotAllowedException(AttachmentNotAllowedException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.FORBIDDEN.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ConversationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleConversationNotFoundException(ConversationNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SettlementRunNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSettlementRunNotFoundException(SettlementRunNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SettlementRunInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleSettlementRunInProgressException(SettlementRunInProgressException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(AuditLedgerUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleAuditLedgerUnavailableException(AuditLedgerUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(PurchaseVelocityExceededException.class)
+    public ResponseEntity<ErrorResponse> handlePurchaseVelocityExceededException(PurchaseVelocityExceededException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
     // General exception handler for unexpected errors
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.announcement;
+
+public class AnnouncementException extends RuntimeException {
+    public AnnouncementException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.announcement;
+
+public class AnnouncementNotFoundException extends AnnouncementException {
+    public AnnouncementNotFoundException(Long id) {
+        super("Announcement not found with ID: " + id);
+    }
+}
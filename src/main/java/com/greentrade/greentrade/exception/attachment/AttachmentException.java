@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.attachment;
+
+public class AttachmentException extends RuntimeException {
+    public AttachmentException(String message) {
+        super(message);
+    }
+}
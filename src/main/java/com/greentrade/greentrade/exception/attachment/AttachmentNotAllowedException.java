@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.attachment;
+
+public class AttachmentNotAllowedException extends AttachmentException {
+    public AttachmentNotAllowedException(Long messageId) {
+        super("Only the sender can add attachments to message " + messageId);
+    }
+}
@@ -0,0 +1,18 @@
+package com.greentrade.greentrade.exception.attachment;
+
+public class AttachmentNotFoundException extends AttachmentException {
+    public AttachmentNotFoundException(Long id) {
+        super("Attachment not found with ID: " + id);
+    }
+
+    private AttachmentNotFoundException(String message) {
+        super(message);
+    }
+
+    /**
+     * The message does not exist, or the user is neither its sender nor its receiver.
+     */
+    public static AttachmentNotFoundException messageNotFound(Long messageId) {
+        return new AttachmentNotFoundException("Message not found with ID: " + messageId);
+    }
+}
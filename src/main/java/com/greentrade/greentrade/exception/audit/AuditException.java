@@ -0,0 +1,11 @@
+package com.greentrade.greentrade.exception.audit;
+
+public class AuditException extends RuntimeException {
+    public AuditException(String message) {
+        super(message);
+    }
+
+    public AuditException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.greentrade.greentrade.exception.audit;
+
+public class AuditLedgerUnavailableException extends AuditException {
+    public AuditLedgerUnavailableException() {
+        super("The audit ledger is not enabled");
+    }
+
+    public AuditLedgerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.conversation;
+
+public class ConversationException extends RuntimeException {
+    public ConversationException(String message) {
+        super(message);
+    }
+}
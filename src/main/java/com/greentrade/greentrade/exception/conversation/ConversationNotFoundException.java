@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.conversation;
+
+public class ConversationNotFoundException extends ConversationException {
+    public ConversationNotFoundException(Long id) {
+        super("Conversation not found with ID: " + id);
+    }
+}
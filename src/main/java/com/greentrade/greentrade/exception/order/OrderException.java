@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.order;
+
+public class OrderException extends RuntimeException {
+    public OrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.order;
+
+public class OrderNotFoundException extends OrderException {
+    public OrderNotFoundException(Long id) {
+        super("Order not found with ID: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.product;
+
+public class InsufficientStockException extends ProductException {
+    public InsufficientStockException(Long productId) {
+        super("Insufficient stock for product with ID: " + productId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.report;
+
+public class ReportException extends RuntimeException {
+    public ReportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.report;
+
+public class ReportJobNotFoundException extends ReportException {
+    public ReportJobNotFoundException(Long id) {
+        super("Report job not found with ID: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.report;
+
+public class ReportNotAllowedException extends ReportException {
+    public ReportNotAllowedException(Long sellerId) {
+        super("Only the seller or an admin can request the statement of seller " + sellerId);
+    }
+}
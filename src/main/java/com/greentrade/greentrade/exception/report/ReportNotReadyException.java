@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.report;
+
+public class ReportNotReadyException extends ReportException {
+    public ReportNotReadyException(Long id, String status) {
+        super("Report " + id + " is not available for download (status " + status + ")");
+    }
+}
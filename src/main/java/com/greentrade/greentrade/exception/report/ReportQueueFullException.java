@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.report;
+
+public class ReportQueueFullException extends ReportException {
+    public ReportQueueFullException() {
+        super("Too many reports are being generated, please try again later");
+    }
+}
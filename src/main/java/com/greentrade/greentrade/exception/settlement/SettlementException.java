@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.settlement;
+
+public class SettlementException extends RuntimeException {
+    public SettlementException(String message) {
+        super(message);
+    }
+}
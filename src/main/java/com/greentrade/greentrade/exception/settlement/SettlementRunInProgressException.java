@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.settlement;
+
+public class SettlementRunInProgressException extends SettlementException {
+    public SettlementRunInProgressException() {
+        super("A settlement run is already in progress");
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.settlement;
+
+public class SettlementRunNotFoundException extends SettlementException {
+    public SettlementRunNotFoundException(Long id) {
+        super("Settlement run not found with ID: " + id);
+    }
+}
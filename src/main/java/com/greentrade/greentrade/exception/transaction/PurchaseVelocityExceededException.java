@@ -0,0 +1,15 @@
+package com.greentrade.greentrade.exception.transaction;
+
+public class PurchaseVelocityExceededException extends TransactionException {
+
+    private final long retryAfterSeconds;
+
+    public PurchaseVelocityExceededException(String subject, Long id, long retryAfterSeconds) {
+        super("Too many purchases for " + subject + " with ID: " + id + ", please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
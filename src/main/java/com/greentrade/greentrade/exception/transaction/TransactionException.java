@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.transaction;
+
+public class TransactionException extends RuntimeException {
+    public TransactionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.transaction;
+
+public class TransactionNotFoundException extends TransactionException {
+    public TransactionNotFoundException(Long id) {
+        super("Transaction not found with ID: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.webhook;
+
+public class WebhookException extends RuntimeException {
+    public WebhookException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.exception.webhook;
+
+public class WebhookSubscriptionNotFoundException extends WebhookException {
+    public WebhookSubscriptionNotFoundException(Long id) {
+        super("Webhook subscription not found with ID: " + id);
+    }
+}
@@ -0,0 +1,65 @@
+package com.greentrade.greentrade.mappers;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.announcement.AnnouncementCreateRequest;
+import com.greentrade.greentrade.dto.announcement.AnnouncementResponse;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.models.Announcement;
+
+@Component
+public class AnnouncementMapper {
+
+    public AnnouncementResponse toResponse(Announcement announcement, long readCount) {
+        if (announcement == null) {
+            return null;
+        }
+
+        return AnnouncementResponse.builder()
+                .id(announcement.getId())
+                .senderId(announcement.getSenderId())
+                .audience(announcement.getAudience())
+                .subject(announcement.getSubject())
+                .content(announcement.getContent())
+                .createdAt(announcement.getCreatedAt())
+                .readCount(readCount)
+                .build();
+    }
+
+    /**
+     * The announcement as it shows up in the inbox of one user.
+     */
+    public MessageResponse toMessageResponse(Announcement announcement, Long receiverId, boolean read) {
+        if (announcement == null) {
+            return null;
+        }
+
+        return MessageResponse.builder()
+                .id(announcement.getId())
+                .senderId(announcement.getSenderId())
+                .receiverId(receiverId)
+                .subject(announcement.getSubject())
+                .content(announcement.getContent())
+                .timestamp(announcement.getCreatedAt())
+                .read(read)
+                .announcement(true)
+                .build();
+    }
+
+    public Announcement createRequestToEntity(AnnouncementCreateRequest request, Long senderId) {
+        if (request == null) {
+            return null;
+        }
+
+        Announcement announcement = new Announcement();
+        announcement.setSenderId(senderId);
+        announcement.setAudience(request.getAudience());
+        announcement.setSubject(request.getSubject());
+        announcement.setContent(request.getContent());
+        announcement.setCreatedAt(LocalDateTime.now());
+
+        return announcement;
+    }
+}
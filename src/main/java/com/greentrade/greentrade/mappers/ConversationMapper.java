@@ -0,0 +1,26 @@
+package com.greentrade.greentrade.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.conversation.ConversationResponse;
+import com.greentrade.greentrade.repositories.ConversationParticipantRepository.ConversationView;
+
+@Component
+public class ConversationMapper {
+
+    public ConversationResponse toResponse(ConversationView conversation) {
+        if (conversation == null) {
+            return null;
+        }
+
+        return ConversationResponse.builder()
+                .id(conversation.getId())
+                .otherUserId(conversation.getOtherUserId())
+                .lastMessageAt(conversation.getLastMessageAt())
+                .lastMessageId(conversation.getLastMessageId())
+                .lastSenderId(conversation.getLastSenderId())
+                .lastSnippet(conversation.getLastSnippet())
+                .unreadCount(conversation.getUnreadCount())
+                .build();
+    }
+}
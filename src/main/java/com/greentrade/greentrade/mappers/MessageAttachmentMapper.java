@@ -0,0 +1,25 @@
+package com.greentrade.greentrade.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
+import com.greentrade.greentrade.models.MessageAttachment;
+
+@Component
+public class MessageAttachmentMapper {
+
+    public MessageAttachmentResponse toResponse(MessageAttachment attachment) {
+        if (attachment == null) {
+            return null;
+        }
+
+        return MessageAttachmentResponse.builder()
+                .id(attachment.getId())
+                .messageId(attachment.getMessageId())
+                .fileName(attachment.getFileName())
+                .contentType(attachment.getContentType())
+                .size(attachment.getSize())
+                .createdAt(attachment.getCreatedAt())
+                .build();
+    }
+}
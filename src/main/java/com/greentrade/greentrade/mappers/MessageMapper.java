@@ -8,6 +8,7 @@ import com.greentrade.greentrade.dto.message.MessageCreateRequest;
 import com.greentrade.greentrade.dto.message.MessageResponse;
 import com.greentrade.greentrade.models.Message;
 import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.MessageRepository.MessageView;
 
 @Component
 public class MessageMapper {
@@ -25,9 +26,29 @@ public class MessageMapper {
                 .content(message.getContent())
                 .timestamp(message.getTimestamp())
                 .read(message.isRead())
+                .conversationId(message.getConversationId())
+                .attachmentCount(message.getAttachmentCount())
                 .build();
     }
     
+    public MessageResponse toResponse(MessageView message) {
+        if (message == null) {
+            return null;
+        }
+
+        return MessageResponse.builder()
+                .id(message.getId())
+                .senderId(message.getSenderId())
+                .receiverId(message.getReceiverId())
+                .subject(message.getSubject())
+                .content(message.getContent())
+                .timestamp(message.getTimestamp())
+                .read(message.isRead())
+                .conversationId(message.getConversationId())
+                .attachmentCount(message.getAttachmentCount())
+                .build();
+    }
+
     public Message createRequestToEntity(MessageCreateRequest request, User sender, User receiver) {
         if (request == null) {
             return null;
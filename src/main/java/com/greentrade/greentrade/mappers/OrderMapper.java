@@ -0,0 +1,28 @@
+package com.greentrade.greentrade.mappers;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.order.OrderResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.models.Order;
+
+@Component
+public class OrderMapper {
+
+    public OrderResponse toResponse(Order order, List<TransactionResponse> transactions) {
+        if (order == null) {
+            return null;
+        }
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .buyerId(order.getBuyer().getId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .transactions(transactions)
+                .build();
+    }
+}
@@ -23,6 +23,7 @@ public class ProductMapper {
                 .price(product.getPrice())
                 .sustainabilityScore(product.getSustainabilityScore())
                 .sustainabilityCertificate(product.getSustainabilityCertificate())
+                .stockQuantity(product.getStockQuantity())
                 .sellerId(product.getSeller() != null ? product.getSeller().getId() : null)
                 .build();
     }
@@ -38,6 +39,7 @@ public class ProductMapper {
         product.setPrice(request.getPrice());
         product.setSustainabilityScore(request.getSustainabilityScore());
         product.setSustainabilityCertificate(request.getSustainabilityCertificate());
+        product.setStockQuantity(request.getStockQuantity());
         product.setSeller(seller);
         
         return product;
@@ -53,6 +55,9 @@ public class ProductMapper {
         product.setPrice(request.getPrice());
         product.setSustainabilityScore(request.getSustainabilityScore());
         product.setSustainabilityCertificate(request.getSustainabilityCertificate());
+        if (request.getStockQuantity() != null) {
+            product.setStockQuantity(request.getStockQuantity());
+        }
         if (seller != null) {
             product.setSeller(seller);
         }
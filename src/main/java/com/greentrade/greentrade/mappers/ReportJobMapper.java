@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.report.ReportJobResponse;
+import com.greentrade.greentrade.models.ReportJob;
+import com.greentrade.greentrade.models.ReportJobStatus;
+
+@Component
+public class ReportJobMapper {
+
+    public ReportJobResponse toResponse(ReportJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .sellerId(job.getSellerId())
+                .periodStart(job.getPeriodStart())
+                .periodEnd(job.getPeriodEnd())
+                .totalRows(job.getTotalRows())
+                .processedRows(job.getProcessedRows())
+                .progressPercent(progressPercent(job))
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    private int progressPercent(ReportJob job) {
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            return 100;
+        }
+        Long total = job.getTotalRows();
+        if (total == null || total == 0) {
+            return 0;
+        }
+        // The summary sections still have to be written after the last row
+        return (int) Math.min(99, job.getProcessedRows() * 100 / total);
+    }
+}
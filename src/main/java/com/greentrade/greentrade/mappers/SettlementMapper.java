@@ -0,0 +1,49 @@
+package com.greentrade.greentrade.mappers;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.settlement.SettlementResponse;
+import com.greentrade.greentrade.dto.settlement.SettlementRunResponse;
+import com.greentrade.greentrade.models.Settlement;
+import com.greentrade.greentrade.models.SettlementRun;
+
+@Component
+public class SettlementMapper {
+
+    public SettlementRunResponse toResponse(SettlementRun run) {
+        if (run == null) {
+            return null;
+        }
+
+        return SettlementRunResponse.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .cutoff(run.getCutoff())
+                .sellerCount(run.getSellerCount())
+                .settledSellers(run.getSettledSellers())
+                .failedSellers(run.getFailedSellers())
+                .transactionCount(run.getTransactionCount())
+                .totalPayout(BigDecimal.valueOf(run.getTotalPayoutCents(), 2))
+                .errorMessage(run.getErrorMessage())
+                .startedAt(run.getStartedAt())
+                .completedAt(run.getCompletedAt())
+                .build();
+    }
+
+    public SettlementResponse toResponse(Settlement settlement) {
+        if (settlement == null) {
+            return null;
+        }
+
+        return SettlementResponse.builder()
+                .id(settlement.getId())
+                .runId(settlement.getRunId())
+                .sellerId(settlement.getSellerId())
+                .transactionCount(settlement.getTransactionCount())
+                .payout(BigDecimal.valueOf(settlement.getPayoutCents(), 2))
+                .createdAt(settlement.getCreatedAt())
+                .build();
+    }
+}
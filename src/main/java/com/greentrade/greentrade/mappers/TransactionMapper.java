@@ -22,6 +22,8 @@ public class TransactionMapper {
                 .id(transaction.getId())
                 .buyerId(transaction.getBuyer().getId())
                 .productId(transaction.getProduct().getId())
+                .sellerId(transaction.getSeller() != null ? transaction.getSeller().getId() : null)
+                .orderId(transaction.getOrderId())
                 .amount(transaction.getAmount())
                 .date(transaction.getDate())
                 .status(transaction.getStatus())
@@ -33,13 +35,7 @@ public class TransactionMapper {
             return null;
         }
         
-        Transaction transaction = new Transaction();
-        transaction.setBuyer(buyer);
-        transaction.setProduct(product);
-        transaction.setAmount(request.getAmount());
-        transaction.setDate(LocalDateTime.now());
-        transaction.setStatus("PENDING");
-        
-        return transaction;
+        // The constructor copies the seller of the product
+        return new Transaction(buyer, product, request.getAmount(), LocalDateTime.now(), "PENDING");
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.greentrade.greentrade.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.dto.webhook.WebhookDeliveryResponse;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionResponse;
+import com.greentrade.greentrade.models.WebhookDelivery;
+import com.greentrade.greentrade.models.WebhookSubscription;
+
+@Component
+public class WebhookMapper {
+
+    public WebhookSubscriptionResponse toResponse(WebhookSubscription subscription) {
+        if (subscription == null) {
+            return null;
+        }
+
+        return WebhookSubscriptionResponse.builder()
+                .id(subscription.getId())
+                .url(subscription.getUrl())
+                .active(subscription.isActive())
+                .createdBy(subscription.getCreatedBy())
+                .createdAt(subscription.getCreatedAt())
+                .build();
+    }
+
+    public WebhookDeliveryResponse toResponse(WebhookDelivery delivery) {
+        if (delivery == null) {
+            return null;
+        }
+
+        return WebhookDeliveryResponse.builder()
+                .id(delivery.getId())
+                .eventType(delivery.getEventType())
+                .transactionId(delivery.getTransactionId())
+                .status(delivery.getStatus())
+                .attempts(delivery.getAttempts())
+                .nextAttemptAt(delivery.getNextAttemptAt())
+                .lastStatusCode(delivery.getLastStatusCode())
+                .lastError(delivery.getLastError())
+                .createdAt(delivery.getCreatedAt())
+                .deliveredAt(delivery.getDeliveredAt())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.greentrade.greentrade.messaging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.greentrade.greentrade.config.MessageStreamConfig;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.events.MessageSentEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes new messages to the Server-Sent Events connections of their receiver.
+ *
+ * An open connection is only an emitter in a map: the request runs async, so no
+ * thread waits while it is idle. Events go through a small buffer per connection
+ * and are written by a virtual thread that exists only while the buffer is being
+ * drained, so tens of thousands of idle connections cost no threads. A connection
+ * whose buffer fills up is closed instead of slowing down the others; the client
+ * reconnects and catches up from its inbox. Heartbeats keep proxies from closing
+ * idle connections and find the ones whose client is gone.
+ */
+@Component
+public class MessageStreamRegistry {
+
+    static final String MESSAGE_EVENT = "message";
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageStreamRegistry.class);
+
+    private final MessageStreamConfig streamConfig;
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("message-stream-", 1).factory());
+
+    public MessageStreamRegistry(MessageStreamConfig streamConfig) {
+        this.streamConfig = streamConfig;
+    }
+
+    /**
+     * Opens a stream for the user. Events are only pushed from now on.
+     */
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamConfig.getTimeoutMillis());
+        Connection connection = new Connection(userId, emitter, Math.max(streamConfig.getBufferSize(), 1));
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> {
+            remove(connection);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(connection));
+
+        List<Connection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, userConnections) -> {
+            List<Connection> updated = userConnections != null ? userConnections : new CopyOnWriteArrayList<>();
+            updated.add(connection);
+            while (updated.size() > Math.max(streamConfig.getMaxConnectionsPerUser(), 1)) {
+                evicted.add(updated.remove(0));
+            }
+            return updated;
+        });
+        evicted.forEach(this::close);
+
+        // Flushes the response headers, so the client sees the stream as open right away
+        deliver(connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        MessageResponse message = event.getMessage();
+        List<Connection> receiverConnections = connections.get(message.getReceiverId());
+        if (receiverConnections == null) {
+            return;
+        }
+        for (Connection connection : receiverConnections) {
+            // A builder is consumed by sending it, so every connection gets its own
+            deliver(connection, SseEmitter.event()
+                    .id(String.valueOf(message.getId()))
+                    .name(MESSAGE_EVENT)
+                    .data(message, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${messages.stream.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                deliver(connection, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int connectionCount() {
+        int count = 0;
+        for (List<Connection> userConnections : connections.values()) {
+            count += userConnections.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (List<Connection> userConnections : connections.values()) {
+            userConnections.forEach(this::close);
+        }
+        connections.clear();
+    }
+
+    private void deliver(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (!connection.buffer.offer(event)) {
+            logger.debug("Closing message stream of user {}, it is not keeping up", connection.userId);
+            close(connection);
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining.set(false);  // Shutting down
+            }
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                while ((event = connection.buffer.poll()) != null) {
+                    connection.emitter.send(event);
+                }
+                connection.draining.set(false);
+                // An event offered after the last poll but before the reset would otherwise wait for the next one
+                if (connection.buffer.isEmpty() || !connection.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone or the emitter completed; the container finishes the request
+            remove(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        try {
+            connection.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Completed already
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        connection.buffer.clear();
+    }
+
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.greentrade.greentrade.messaging;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.config.ReadReceiptBufferConfig;
+
+/**
+ * Read marks that are accepted but not written yet.
+ *
+ * MessageService adds a message here instead of updating it, and writes what
+ * is pending with one batched update per flush. Until then the message is
+ * still unread in the database, so everything that serves read state checks
+ * here first: a user sees their own mark right away. The buffer lives in the
+ * memory of one instance; marks still pending when it stops are flushed on
+ * shutdown, and at most max-pending marks wait at a time.
+ */
+@Component
+public class ReadReceiptBuffer {
+
+    private static final Long NO_CONVERSATION = 0L;
+
+    private final ReadReceiptBufferConfig config;
+    private final Map<Long, Long> receiverByMessage = new ConcurrentHashMap<>();
+    // receiver -> (message -> conversation); inner maps only change inside compute on their receiver
+    private final Map<Long, Map<Long, Long>> pendingByReceiver = new ConcurrentHashMap<>();
+
+    public ReadReceiptBuffer(ReadReceiptBufferConfig config) {
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Accepts a read mark for an unread message.
+     *
+     * @return false when the buffer is full; the caller writes the mark itself
+     */
+    public boolean add(Long messageId, Long receiverId, Long conversationId) {
+        if (receiverByMessage.containsKey(messageId)) {
+            return true;
+        }
+        if (receiverByMessage.size() >= config.getMaxPending()) {
+            return false;
+        }
+        pendingByReceiver.compute(receiverId, (id, reads) -> {
+            Map<Long, Long> pending = reads != null ? reads : new ConcurrentHashMap<>();
+            pending.put(messageId, conversationId != null ? conversationId : NO_CONVERSATION);
+            return pending;
+        });
+        receiverByMessage.putIfAbsent(messageId, receiverId);
+        return true;
+    }
+
+    public boolean isPending(Long messageId) {
+        return receiverByMessage.containsKey(messageId);
+    }
+
+    public boolean hasPending() {
+        return !receiverByMessage.isEmpty();
+    }
+
+    public int size() {
+        return receiverByMessage.size();
+    }
+
+    /**
+     * Number of messages of the receiver that are read but still unread in the database.
+     */
+    public int pendingFor(Long receiverId) {
+        Map<Long, Long> pending = pendingByReceiver.get(receiverId);
+        return pending != null ? pending.size() : 0;
+    }
+
+    /**
+     * Pending read marks of the receiver per conversation.
+     */
+    public Map<Long, Integer> pendingPerConversation(Long receiverId) {
+        Map<Long, Long> pending = pendingByReceiver.get(receiverId);
+        if (pending == null) {
+            return Map.of();
+        }
+        Map<Long, Integer> perConversation = new HashMap<>();
+        for (Long conversationId : pending.values()) {
+            if (!NO_CONVERSATION.equals(conversationId)) {
+                perConversation.merge(conversationId, 1, Integer::sum);
+            }
+        }
+        return perConversation;
+    }
+
+    /**
+     * Up to {@code max} pending message ids. They stay pending until {@link #flushed}
+     * is called, so reads keep seeing them while the update commits.
+     */
+    public List<Long> pendingIds(int max) {
+        List<Long> ids = new ArrayList<>(Math.min(max, receiverByMessage.size()));
+        for (Long id : receiverByMessage.keySet()) {
+            if (ids.size() >= max) {
+                break;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Forgets marks whose update has committed.
+     */
+    public void flushed(Collection<Long> messageIds) {
+        for (Long messageId : messageIds) {
+            Long receiverId = receiverByMessage.remove(messageId);
+            if (receiverId != null) {
+                pendingByReceiver.computeIfPresent(receiverId, (id, reads) -> {
+                    reads.remove(messageId);
+                    return reads.isEmpty() ? null : reads;
+                });
+            }
+        }
+    }
+}
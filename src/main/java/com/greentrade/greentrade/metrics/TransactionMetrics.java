@@ -0,0 +1,221 @@
+package com.greentrade.greentrade.metrics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.greentrade.greentrade.dto.transaction.TransactionMetricsResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionVolume;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process transaction volume over the last minute, hour and day, per status.
+ * Every committed create or status change is added to time-bucketed ring buffers
+ * of LongAdders, so recording costs a few uncontended increments and reading never
+ * touches the database. Amounts are kept as long cents. Counts are approximate at
+ * bucket boundaries: a bucket is reused once its time slot has passed.
+ */
+@Component
+public class TransactionMetrics {
+
+    public static final List<String> STATUSES = List.of("PENDING", "PROCESSING", "COMPLETED", "CANCELLED", "REFUNDED");
+
+    public enum Window {
+        LAST_MINUTE("1m", 60, 1_000L),
+        LAST_HOUR("1h", 60, 60_000L),
+        LAST_DAY("24h", 96, 900_000L);
+
+        private final String label;
+        private final int buckets;
+        private final long bucketMillis;
+
+        Window(String label, int buckets, long bucketMillis) {
+            this.label = label;
+            this.buckets = buckets;
+            this.bucketMillis = bucketMillis;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final RollingWindow[] windows = new RollingWindow[Window.values().length];
+
+    @Autowired
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::currentTimeMillis);
+    }
+
+    TransactionMetrics(MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            windows[window.ordinal()] = new RollingWindow(window.buckets, window.bucketMillis);
+        }
+        registerGauges(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        record(event.getStatus(), event.getAmount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        record(event.getNewStatus(), event.getAmount());
+    }
+
+    public void record(String status, BigDecimal amount) {
+        int statusIndex = statusIndex(status);
+        if (statusIndex < 0) {
+            return;
+        }
+        long cents = toCents(amount);
+        long now = clock.getAsLong();
+        for (RollingWindow window : windows) {
+            window.add(statusIndex, cents, now);
+        }
+    }
+
+    public long count(Window window, String status) {
+        int statusIndex = statusIndex(status);
+        return statusIndex < 0 ? 0 : windows[window.ordinal()].count(statusIndex, clock.getAsLong());
+    }
+
+    public long amountCents(Window window, String status) {
+        int statusIndex = statusIndex(status);
+        return statusIndex < 0 ? 0 : windows[window.ordinal()].cents(statusIndex, clock.getAsLong());
+    }
+
+    public TransactionMetricsResponse snapshot() {
+        Map<String, Map<String, TransactionVolume>> volumes = new LinkedHashMap<>();
+        for (Window window : Window.values()) {
+            Map<String, TransactionVolume> byStatus = new LinkedHashMap<>();
+            for (String status : STATUSES) {
+                byStatus.put(status, TransactionVolume.builder()
+                        .count(count(window, status))
+                        .amount(BigDecimal.valueOf(amountCents(window, status), 2))
+                        .build());
+            }
+            volumes.put(window.getLabel(), byStatus);
+        }
+        return TransactionMetricsResponse.builder()
+                .windows(volumes)
+                .build();
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry) {
+        for (Window window : Window.values()) {
+            for (String status : STATUSES) {
+                Gauge.builder("greentrade.transactions.count", this, metrics -> metrics.count(window, status))
+                        .description("Transactions that reached the status within the window")
+                        .tag("window", window.getLabel())
+                        .tag("status", status)
+                        .register(meterRegistry);
+                Gauge.builder("greentrade.transactions.amount", this, metrics -> metrics.amountCents(window, status) / 100.0)
+                        .description("Amount of the transactions that reached the status within the window")
+                        .tag("window", window.getLabel())
+                        .tag("status", status)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private static int statusIndex(String status) {
+        return status == null ? -1 : STATUSES.indexOf(status.toUpperCase());
+    }
+
+    static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Ring of buckets covering {@code buckets * bucketMillis}. A bucket carries the
+     * time slot it was last used for; a writer that finds an older slot claims the
+     * bucket with a CAS and clears it.
+     */
+    static final class RollingWindow {
+
+        private final long bucketMillis;
+        private final Bucket[] buckets;
+
+        RollingWindow(int bucketCount, long bucketMillis) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = new Bucket[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        void add(int statusIndex, long cents, long nowMillis) {
+            long slot = nowMillis / bucketMillis;
+            Bucket bucket = buckets[(int) (slot % buckets.length)];
+            bucket.moveTo(slot);
+            bucket.counts[statusIndex].increment();
+            bucket.cents[statusIndex].add(cents);
+        }
+
+        long count(int statusIndex, long nowMillis) {
+            long oldestSlot = nowMillis / bucketMillis - buckets.length + 1;
+            long total = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.slot.get() >= oldestSlot) {
+                    total += bucket.counts[statusIndex].sum();
+                }
+            }
+            return total;
+        }
+
+        long cents(int statusIndex, long nowMillis) {
+            long oldestSlot = nowMillis / bucketMillis - buckets.length + 1;
+            long total = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.slot.get() >= oldestSlot) {
+                    total += bucket.cents[statusIndex].sum();
+                }
+            }
+            return total;
+        }
+    }
+
+    static final class Bucket {
+
+        private final AtomicLong slot = new AtomicLong(-1);
+        private final LongAdder[] counts = new LongAdder[STATUSES.size()];
+        private final LongAdder[] cents = new LongAdder[STATUSES.size()];
+
+        Bucket() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+                cents[i] = new LongAdder();
+            }
+        }
+
+        void moveTo(long targetSlot) {
+            long current = slot.get();
+            if (current < targetSlot && slot.compareAndSet(current, targetSlot)) {
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i].reset();
+                    cents[i].reset();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A message from an admin to every user with a role, or to everyone when the
+ * audience is empty. It is stored once and merged into each inbox when it is
+ * read; who has read it is kept in {@link AnnouncementReadChunk} bitmaps.
+ */
+@Entity
+@Table(name = "announcements", indexes = {
+    @Index(name = "ix_announcements_created", columnList = "created_at, id")
+})
+public class Announcement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    @Enumerated(EnumType.STRING)
+    private Role audience; // null for everyone
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Announcement() {}
+
+    public Announcement(Long senderId, Role audience, String subject, String content, LocalDateTime createdAt) {
+        this.senderId = senderId;
+        this.audience = audience;
+        this.subject = subject;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public boolean isVisibleTo(Role role) {
+        return audience == null || audience == role;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSenderId() {
+        return senderId;
+    }
+
+    public void setSenderId(Long senderId) {
+        this.senderId = senderId;
+    }
+
+    public Role getAudience() {
+        return audience;
+    }
+
+    public void setAudience(Role audience) {
+        this.audience = audience;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
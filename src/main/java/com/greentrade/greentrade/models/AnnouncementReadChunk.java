@@ -0,0 +1,103 @@
+package com.greentrade.greentrade.models;
+
+import java.util.BitSet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Read markers of one announcement for a block of {@link #USERS_PER_CHUNK} user
+ * ids: bit {@code userId % USERS_PER_CHUNK} of chunk {@code userId / USERS_PER_CHUNK}
+ * is set once the user has read it. 100,000 users fit in 13 rows of at most 1 KB.
+ */
+@Entity
+@Table(name = "announcement_read_chunks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_announcement_read_chunks", columnNames = {"announcement_id", "chunk_index"})
+})
+public class AnnouncementReadChunk {
+
+    public static final int USERS_PER_CHUNK = 8192;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(nullable = false, length = USERS_PER_CHUNK / 8)
+    private byte[] bits;
+
+    // Constructors
+    public AnnouncementReadChunk() {}
+
+    public static int chunkOf(Long userId) {
+        return (int) (userId / USERS_PER_CHUNK);
+    }
+
+    public static int bitOf(Long userId) {
+        return (int) (userId % USERS_PER_CHUNK);
+    }
+
+    public boolean isRead(Long userId) {
+        return BitSet.valueOf(bits).get(bitOf(userId));
+    }
+
+    /**
+     * @return false when the user had already read it
+     */
+    public boolean markRead(Long userId) {
+        BitSet read = BitSet.valueOf(bits);
+        if (read.get(bitOf(userId))) {
+            return false;
+        }
+        read.set(bitOf(userId));
+        bits = read.toByteArray();
+        return true;
+    }
+
+    public int readCount() {
+        return BitSet.valueOf(bits).cardinality();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAnnouncementId() {
+        return announcementId;
+    }
+
+    public void setAnnouncementId(Long announcementId) {
+        this.announcementId = announcementId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(int chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public byte[] getBits() {
+        return bits;
+    }
+
+    public void setBits(byte[] bits) {
+        this.bits = bits;
+    }
+}
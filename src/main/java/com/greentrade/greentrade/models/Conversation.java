@@ -0,0 +1,129 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * The messages between two users. The participants are stored lowest ID first,
+ * so a pair has exactly one conversation. The last message is copied in, so a
+ * conversation list does not have to look at the messages.
+ */
+@Entity
+@Table(name = "conversations",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversations_participants", columnNames = {"participant_low_id", "participant_high_id"})
+    },
+    indexes = {
+        @Index(name = "ix_conversations_last_message", columnList = "last_message_id")
+    })
+public class Conversation {
+
+    public static final int SNIPPET_LENGTH = 140;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "participant_low_id", nullable = false)
+    private Long participantLowId;
+
+    @Column(name = "participant_high_id", nullable = false)
+    private Long participantHighId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    @Column(name = "last_snippet", length = SNIPPET_LENGTH)
+    private String lastSnippet;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Conversation() {}
+
+    public Conversation(Long participantLowId, Long participantHighId, LocalDateTime createdAt) {
+        this.participantLowId = participantLowId;
+        this.participantHighId = participantHighId;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getParticipantLowId() {
+        return participantLowId;
+    }
+
+    public void setParticipantLowId(Long participantLowId) {
+        this.participantLowId = participantLowId;
+    }
+
+    public Long getParticipantHighId() {
+        return participantHighId;
+    }
+
+    public void setParticipantHighId(Long participantHighId) {
+        this.participantHighId = participantHighId;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public void setLastMessageId(Long lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+
+    public Long getLastSenderId() {
+        return lastSenderId;
+    }
+
+    public void setLastSenderId(Long lastSenderId) {
+        this.lastSenderId = lastSenderId;
+    }
+
+    public String getLastSnippet() {
+        return lastSnippet;
+    }
+
+    public void setLastSnippet(String lastSnippet) {
+        this.lastSnippet = lastSnippet;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
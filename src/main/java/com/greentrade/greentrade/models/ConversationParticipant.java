@@ -0,0 +1,108 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One user's side of a conversation: when it was last active and how many of
+ * its messages the user has not read. The conversation list of a user is a range
+ * of the (user_id, last_message_at, conversation_id) index.
+ */
+@Entity
+@Table(name = "conversation_participants",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversation_participants", columnNames = {"conversation_id", "user_id"})
+    },
+    indexes = {
+        @Index(name = "ix_conversation_participants_activity", columnList = "user_id, last_message_at, conversation_id")
+    })
+public class ConversationParticipant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Long conversationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "other_user_id", nullable = false)
+    private Long otherUserId;
+
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    // Constructors
+    public ConversationParticipant() {}
+
+    public ConversationParticipant(Long conversationId, Long userId, Long otherUserId,
+            LocalDateTime lastMessageAt, long unreadCount) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+        this.otherUserId = otherUserId;
+        this.lastMessageAt = lastMessageAt;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getOtherUserId() {
+        return otherUserId;
+    }
+
+    public void setOtherUserId(Long otherUserId) {
+        this.otherUserId = otherUserId;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
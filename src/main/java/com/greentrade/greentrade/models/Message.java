@@ -7,12 +7,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "ix_messages_receiver_timestamp", columnList = "receiver_id, timestamp, id"),
+    @Index(name = "ix_messages_sender_timestamp", columnList = "sender_id, timestamp, id"),
+    @Index(name = "ix_messages_receiver_read", columnList = "receiver_id, read"),
+    @Index(name = "ix_messages_conversation_timestamp", columnList = "conversation_id, timestamp, id")
+})
 public class Message {
 
     @Id
@@ -39,6 +45,14 @@ public class Message {
     @Column(nullable = false)
     private boolean read;
 
+    // Null for messages sent before conversations existed, until the backfill reaches them
+    @Column(name = "conversation_id")
+    private Long conversationId;
+
+    // Kept on the message so inbox pages only look up attachments when there are any
+    @Column(name = "attachment_count", nullable = false, columnDefinition = "integer default 0")
+    private int attachmentCount;
+
     // Constructors
     public Message() {}
 
@@ -107,4 +121,20 @@ public class Message {
     public void setRead(boolean read) {
         this.read = read;
     }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public int getAttachmentCount() {
+        return attachmentCount;
+    }
+
+    public void setAttachmentCount(int attachmentCount) {
+        this.attachmentCount = attachmentCount;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -17,6 +19,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "products")
+@DynamicUpdate // a product edit must not write back a stale stock_quantity
 public class Product {
 
     @Id
@@ -38,6 +41,10 @@ public class Product {
     @Column(name = "sustainability_certificate")
     private String sustainabilityCertificate;
 
+    // null means stock is not tracked for this product
+    @Column(name = "stock_quantity")
+    private Integer stockQuantity;
+
     @ManyToOne
     @JoinColumn(name = "seller_id", nullable = false)
     private User seller;
@@ -106,6 +113,14 @@ public class Product {
         this.sustainabilityCertificate = sustainabilityCertificate;
     }
 
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
     public User getSeller() {
         return seller;
     }
@@ -0,0 +1,8 @@
+package com.greentrade.greentrade.models;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,151 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "settlement_runs")
+public class SettlementRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SettlementRunStatus status = SettlementRunStatus.RUNNING;
+
+    // Completed transactions dated before the cutoff are settled by this run
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(name = "seller_count", nullable = false)
+    private int sellerCount;
+
+    // Progress counters, updated in the same database transaction as the settlements they count
+    @Column(name = "settled_sellers", nullable = false)
+    private int settledSellers;
+
+    @Column(name = "failed_sellers", nullable = false)
+    private int failedSellers;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "total_payout_cents", nullable = false)
+    private long totalPayoutCents;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public SettlementRun() {}
+
+    public SettlementRun(LocalDateTime cutoff, LocalDateTime startedAt) {
+        this.cutoff = cutoff;
+        this.startedAt = startedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SettlementRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SettlementRunStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public int getSellerCount() {
+        return sellerCount;
+    }
+
+    public void setSellerCount(int sellerCount) {
+        this.sellerCount = sellerCount;
+    }
+
+    public int getSettledSellers() {
+        return settledSellers;
+    }
+
+    public void setSettledSellers(int settledSellers) {
+        this.settledSellers = settledSellers;
+    }
+
+    public int getFailedSellers() {
+        return failedSellers;
+    }
+
+    public void setFailedSellers(int failedSellers) {
+        this.failedSellers = failedSellers;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getTotalPayoutCents() {
+        return totalPayoutCents;
+    }
+
+    public void setTotalPayoutCents(long totalPayoutCents) {
+        this.totalPayoutCents = totalPayoutCents;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.models;
+
+public enum SettlementRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
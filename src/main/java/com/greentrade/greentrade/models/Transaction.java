@@ -3,17 +3,25 @@ package com.greentrade.greentrade.models;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "ix_transactions_seller_date", columnList = "seller_id, date"),
+    @Index(name = "ix_transactions_order", columnList = "order_id")
+})
+@DynamicUpdate // a status change must not write back a stale settlement_id
 public class Transaction {
 
     @Id
@@ -28,6 +36,19 @@ public class Transaction {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Copy of product.seller at the time of purchase, so seller queries need no join
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seller_id")
+    private User seller;
+
+    // Set when the transaction is a line of an order
+    @Column(name = "order_id")
+    private Long orderId;
+
+    // Set when a completed transaction has been paid out to the seller, only by the settlement run
+    @Column(name = "settlement_id", updatable = false)
+    private Long settlementId;
+
     @Column(nullable = false)
     private BigDecimal amount;
 
@@ -43,6 +64,7 @@ public class Transaction {
     public Transaction(User buyer, Product product, BigDecimal amount, LocalDateTime date, String status) {
         this.buyer = buyer;
         this.product = product;
+        this.seller = product != null ? product.getSeller() : null;
         this.amount = amount;
         this.date = date;
         this.status = status;
@@ -73,6 +95,30 @@ public class Transaction {
         this.product = product;
     }
 
+    public User getSeller() {
+        return seller;
+    }
+
+    public void setSeller(User seller) {
+        this.seller = seller;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getSettlementId() {
+        return settlementId;
+    }
+
+    public void setSettlementId(Long settlementId) {
+        this.settlementId = settlementId;
+    }
+
     public BigDecimal getAmount() {
         return amount;
     }
@@ -0,0 +1,117 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One status change of a transaction. The creation of a transaction is recorded
+ * as a change without a previous status. Statuses are stored in upper case.
+ */
+@Entity
+@Table(name = "transaction_status_changes", indexes = {
+    @Index(name = "ix_status_changes_transaction", columnList = "transaction_id, changed_at"),
+    @Index(name = "ix_status_changes_changed_at", columnList = "changed_at"),
+    @Index(name = "ix_status_changes_previous_status", columnList = "previous_status, changed_at")
+})
+public class TransactionStatusChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "previous_status")
+    private String previousStatus;
+
+    @Column(name = "new_status", nullable = false)
+    private String newStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    // How long the transaction was in the previous status, so durations need no self-join
+    @Column(name = "previous_status_millis")
+    private Long previousStatusMillis;
+
+    // Constructors
+    public TransactionStatusChange() {}
+
+    public TransactionStatusChange(Long transactionId, String previousStatus, String newStatus,
+            LocalDateTime changedAt, String changedBy, Long previousStatusMillis) {
+        this.transactionId = transactionId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+        this.changedBy = changedBy;
+        this.previousStatusMillis = previousStatusMillis;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(String previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public void setNewStatus(String newStatus) {
+        this.newStatus = newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+
+    public Long getPreviousStatusMillis() {
+        return previousStatusMillis;
+    }
+
+    public void setPreviousStatusMillis(Long previousStatusMillis) {
+        this.previousStatusMillis = previousStatusMillis;
+    }
+}
@@ -0,0 +1,78 @@
+package com.greentrade.greentrade.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Number of transactions in a status at a point in time. Together with the
+ * status changes after (or before) it, a snapshot answers "how many transactions
+ * were in each status at time T" without replaying the whole history.
+ */
+@Entity
+@Table(name = "transaction_status_snapshots", indexes = {
+    @Index(name = "ix_status_snapshots_taken_at", columnList = "taken_at")
+})
+public class TransactionStatusSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Constructors
+    public TransactionStatusSnapshot() {}
+
+    public TransactionStatusSnapshot(LocalDateTime takenAt, String status, long transactionCount) {
+        this.takenAt = takenAt;
+        this.status = status;
+        this.transactionCount = transactionCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.greentrade.greentrade.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Number of unread messages of a user, kept up to date by MessageService so the
+ * unread badge does not have to count messages.
+ */
+@Entity
+@Table(name = "unread_message_counters")
+public class UnreadMessageCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    // Constructors
+    public UnreadMessageCounter() {}
+
+    public UnreadMessageCounter(Long userId, long unreadCount) {
+        this.userId = userId;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
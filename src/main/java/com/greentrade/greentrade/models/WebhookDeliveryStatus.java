@@ -0,0 +1,7 @@
+package com.greentrade.greentrade.models;
+
+public enum WebhookDeliveryStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
@@ -0,0 +1,80 @@
+package com.greentrade.greentrade.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.greentrade.greentrade.config.OutboxConfig;
+import com.greentrade.greentrade.models.OutboxEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends relayed events as JSON lines to a local file that downstream systems
+ * can tail. The file is forced to disk before a batch is marked as published.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxEventSink implements OutboxEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private FileChannel channel;
+
+    public FileOutboxEventSink(ObjectMapper objectMapper, OutboxConfig outboxConfig) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(outboxConfig.getFilePath()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public synchronized void publish(OutboxEvent event) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", event.getId());
+        line.put("aggregateType", event.getAggregateType());
+        line.put("aggregateId", event.getAggregateId());
+        line.put("eventType", event.getEventType());
+        line.put("createdAt", event.getCreatedAt().toString());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+
+        ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8));
+        FileChannel target = channel();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
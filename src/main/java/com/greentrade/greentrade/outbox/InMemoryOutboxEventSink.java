@@ -0,0 +1,33 @@
+package com.greentrade.greentrade.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.greentrade.greentrade.models.OutboxEvent;
+
+/**
+ * Keeps relayed events in memory, for tests and local development.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+    private final ConcurrentLinkedQueue<OutboxEvent> events = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(OutboxEvent event) {
+        events.add(event);
+    }
+
+    public List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.greentrade.greentrade.outbox;
+
+import java.io.IOException;
+
+import com.greentrade.greentrade.models.OutboxEvent;
+
+/**
+ * Destination of the events relayed from the outbox. Delivery is at least once:
+ * an event can be published again if the relay stops before marking it done.
+ */
+public interface OutboxEventSink {
+
+    void publish(OutboxEvent event) throws IOException;
+
+    /**
+     * Called after a batch, before the batch is marked as published.
+     */
+    default void flush() throws IOException {
+    }
+}
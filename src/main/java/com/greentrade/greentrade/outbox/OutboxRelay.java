@@ -0,0 +1,127 @@
+package com.greentrade.greentrade.outbox;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.OutboxConfig;
+import com.greentrade.greentrade.models.OutboxEvent;
+import com.greentrade.greentrade.repositories.OutboxEventRepository;
+
+/**
+ * Moves outbox rows to the configured sink in the background. Each batch is
+ * locked with SKIP LOCKED, so several instances can relay side by side without
+ * publishing the same row concurrently. When the sink fails the batch stops at
+ * that row and the rest waits for it, keeping events in order. A failed row is
+ * retried with a growing delay; after max-attempts failures it is parked, so
+ * one event that can never be published does not hold back the ones after it.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink sink;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventSink sink,
+            OutboxConfig outboxConfig,
+            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:1000}")
+    public void poll() {
+        if (!outboxConfig.isRelayEnabled()) {
+            return;
+        }
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == outboxConfig.getBatchSize());
+    }
+
+    /**
+     * Publishes one batch and returns the number of rows marked as published.
+     */
+    public int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockUnpublished(outboxConfig.getBatchSize());
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> published = new ArrayList<>(batch.size());
+            try {
+                for (OutboxEvent event : batch) {
+                    if (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now)) {
+                        break;  // Still backing off; the events after it wait as well
+                    }
+                    try {
+                        sink.publish(event);
+                    } catch (IOException | RuntimeException e) {
+                        if (!recordFailure(event, e, now)) {
+                            break;
+                        }
+                        continue;  // Parked, so the events after it go on
+                    }
+                    published.add(event);
+                }
+                sink.flush();
+            } catch (IOException e) {
+                // Nothing of this batch is known to be durable; publish it again next time
+                logger.warn("Could not flush outbox sink: {}", e.getMessage());
+                status.setRollbackOnly();
+                return 0;
+            }
+
+            published.forEach(event -> event.setPublishedAt(now));
+            return published.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+    public void deletePublishedEvents() {
+        LocalDateTime before = LocalDateTime.now().minusDays(outboxConfig.getRetentionDays());
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Records a failed attempt and returns whether the event is parked.
+     */
+    private boolean recordFailure(OutboxEvent event, Exception e, LocalDateTime now) {
+        String message = String.valueOf(e.getMessage());
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (event.getAttempts() >= outboxConfig.getMaxAttempts()) {
+            event.setParkedAt(now);
+            logger.error("Parked outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(), message);
+            return true;
+        }
+        event.setNextAttemptAt(now.plusNanos(backoffMillis(event.getAttempts()) * 1_000_000));
+        logger.warn("Could not publish outbox event {} (attempt {}): {}", event.getId(), event.getAttempts(), message);
+        return false;
+    }
+
+    private long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(outboxConfig.getMaxBackoffMillis(), outboxConfig.getInitialBackoffMillis() << exponent);
+    }
+}
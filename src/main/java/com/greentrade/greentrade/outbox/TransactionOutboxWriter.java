@@ -0,0 +1,52 @@
+package com.greentrade.greentrade.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.models.OutboxEvent;
+import com.greentrade.greentrade.repositories.OutboxEventRepository;
+
+/**
+ * Stores transaction events in the outbox. Runs synchronously in the publishing
+ * transaction, so an event is stored if and only if the change it describes is
+ * committed.
+ */
+@Component
+public class TransactionOutboxWriter {
+
+    static final String AGGREGATE_TYPE = "Transaction";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionOutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        append(event.getTransactionId(), "TransactionCreated", event);
+    }
+
+    @EventListener
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        append(event.getTransactionId(), "TransactionStatusChanged", event);
+    }
+
+    private void append(Long transactionId, String eventType, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " for transaction " + transactionId, e);
+        }
+        outboxEventRepository.save(new OutboxEvent(AGGREGATE_TYPE, transactionId, eventType, payload, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.AnnouncementReadChunk;
+
+@Repository
+public interface AnnouncementReadChunkRepository extends JpaRepository<AnnouncementReadChunk, Long> {
+
+    List<AnnouncementReadChunk> findByAnnouncementIdInAndChunkIndex(Collection<Long> announcementIds, int chunkIndex);
+
+    List<AnnouncementReadChunk> findByAnnouncementId(Long announcementId);
+
+    // Of two users creating the same chunk, one inserts and the other waits for it and skips
+    @Modifying
+    @Query(value = "INSERT INTO announcement_read_chunks (announcement_id, chunk_index, bits) "
+            + "VALUES (:announcementId, :chunkIndex, :bits) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("announcementId") Long announcementId,
+            @Param("chunkIndex") int chunkIndex,
+            @Param("bits") byte[] bits);
+
+    // Setting a bit is read-modify-write, so users of the same chunk take turns
+    @Query(value = "SELECT * FROM announcement_read_chunks "
+            + "WHERE announcement_id = :announcementId AND chunk_index = :chunkIndex FOR UPDATE", nativeQuery = true)
+    Optional<AnnouncementReadChunk> lockChunk(
+            @Param("announcementId") Long announcementId,
+            @Param("chunkIndex") int chunkIndex);
+}
@@ -0,0 +1,32 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.Announcement;
+import com.greentrade.greentrade.models.Role;
+
+@Repository
+public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+
+    // Newest first from the (created_at, id) index, in the same order as the inbox they are merged into
+    String VISIBLE_TO = "SELECT a FROM Announcement a WHERE (a.audience IS NULL OR a.audience = :role) ";
+    String BEFORE_CURSOR = "AND (a.createdAt < :beforeTimestamp OR (a.createdAt = :beforeTimestamp AND a.id < :beforeId)) ";
+    String NEWEST_FIRST = "ORDER BY a.createdAt DESC, a.id DESC";
+
+    @Query(VISIBLE_TO + NEWEST_FIRST)
+    List<Announcement> findVisibleTo(@Param("role") Role role, Limit limit);
+
+    @Query(VISIBLE_TO + BEFORE_CURSOR + NEWEST_FIRST)
+    List<Announcement> findVisibleToBefore(
+            @Param("role") Role role,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+}
@@ -0,0 +1,78 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.ConversationParticipant;
+
+@Repository
+public interface ConversationParticipantRepository extends JpaRepository<ConversationParticipant, Long> {
+
+    Optional<ConversationParticipant> findByConversationIdAndUserId(Long conversationId, Long userId);
+
+    boolean existsByConversationIdAndUserId(Long conversationId, Long userId);
+
+    // Locked before a recount, so a concurrent read waits and the recount sees its result
+    @Query(value = "SELECT id FROM conversation_participants WHERE conversation_id = :conversationId FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockByConversationId(@Param("conversationId") Long conversationId);
+
+    // Last activity only moves forward, so a message that commits late does not move the conversation back
+    @Modifying
+    @Query("UPDATE ConversationParticipant p SET "
+            + "p.lastMessageAt = CASE WHEN p.lastMessageAt < :sentAt THEN :sentAt ELSE p.lastMessageAt END, "
+            + "p.unreadCount = p.unreadCount + :unreadDelta "
+            + "WHERE p.conversationId = :conversationId AND p.userId = :userId")
+    int recordMessage(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("unreadDelta") long unreadDelta);
+
+    // Never below zero: messages read before the backfill reached them were not counted
+    @Modifying
+    @Query("UPDATE ConversationParticipant p SET "
+            + "p.unreadCount = CASE WHEN p.unreadCount > :count THEN p.unreadCount - :count ELSE 0 END "
+            + "WHERE p.conversationId = :conversationId AND p.userId = :userId")
+    int subtractUnread(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("count") long count);
+
+    // The conversation list of a user, most recently active first, from the (user_id, last_message_at, conversation_id) index
+    String VIEW_COLUMNS = "SELECT p.conversationId AS id, p.otherUserId AS otherUserId, "
+            + "p.lastMessageAt AS lastMessageAt, p.unreadCount AS unreadCount, c.lastMessageId AS lastMessageId, "
+            + "c.lastSenderId AS lastSenderId, c.lastSnippet AS lastSnippet "
+            + "FROM ConversationParticipant p JOIN Conversation c ON c.id = p.conversationId ";
+    String BEFORE_CURSOR = "AND (p.lastMessageAt < :beforeTimestamp "
+            + "OR (p.lastMessageAt = :beforeTimestamp AND p.conversationId < :beforeId)) ";
+    String MOST_RECENT_FIRST = "ORDER BY p.lastMessageAt DESC, p.conversationId DESC";
+
+    @Query(VIEW_COLUMNS + "WHERE p.userId = :userId " + MOST_RECENT_FIRST)
+    List<ConversationView> findForUser(@Param("userId") Long userId, Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE p.userId = :userId " + BEFORE_CURSOR + MOST_RECENT_FIRST)
+    List<ConversationView> findForUserBefore(
+            @Param("userId") Long userId,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    interface ConversationView {
+        Long getId();
+        Long getOtherUserId();
+        LocalDateTime getLastMessageAt();
+        long getUnreadCount();
+        Long getLastMessageId();
+        Long getLastSenderId();
+        String getLastSnippet();
+    }
+}
@@ -0,0 +1,28 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.Conversation;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    @Query("SELECT c.id FROM Conversation c WHERE c.participantLowId = :lowId AND c.participantHighId = :highId")
+    Optional<Long> findIdByParticipants(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+    // Serializes everything that changes the summary or the participants of one conversation
+    @Query(value = "SELECT id FROM conversations WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    // Of two concurrent first messages between a pair, one inserts and the other waits for it and skips
+    @Modifying
+    @Query(value = "INSERT INTO conversations (participant_low_id, participant_high_id, created_at) "
+            + "VALUES (:lowId, :highId, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("lowId") Long lowId, @Param("highId") Long highId);
+}
@@ -0,0 +1,27 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.MessageAttachment;
+
+@Repository
+public interface MessageAttachmentRepository extends JpaRepository<MessageAttachment, Long> {
+
+    List<MessageAttachment> findByMessageIdOrderById(Long messageId);
+
+    // Metadata for a page of messages in one query on the message_id index
+    List<MessageAttachment> findByMessageIdInOrderById(Collection<Long> messageIds);
+
+    Optional<MessageAttachment> findByIdAndMessageId(Long id, Long messageId);
+
+    // Attachments whose message was deleted or purged
+    @Query("SELECT a FROM MessageAttachment a WHERE NOT EXISTS (SELECT 1 FROM Message m WHERE m.id = a.messageId) ORDER BY a.id")
+    List<MessageAttachment> findOrphans(Limit limit);
+}
@@ -1,8 +1,15 @@
 package com.greentrade.greentrade.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.greentrade.greentrade.models.Message;
@@ -10,7 +17,129 @@ import com.greentrade.greentrade.models.User;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findBySender(User sender);
-    List<Message> findByReceiver(User receiver);
     List<Message> findByReceiverAndReadIsFalse(User receiver);
-}
\ No newline at end of file
+    long countByReceiverIdAndReadIsFalse(Long receiverId);
+
+    @Query("SELECT m.receiver.id FROM Message m WHERE m.id = :id")
+    Long findReceiverIdById(@Param("id") Long id);
+
+    @Query("SELECT m.conversationId FROM Message m WHERE m.id = :id")
+    Long findConversationIdById(@Param("id") Long id);
+
+    @Query("SELECT m.sender.id AS senderId, m.receiver.id AS receiverId, m.attachmentCount AS attachmentCount "
+            + "FROM Message m WHERE m.id = :id")
+    Optional<ParticipantsView> findParticipantsById(@Param("id") Long id);
+
+    long countByConversationIdAndReceiverIdAndReadIsFalse(Long conversationId, Long receiverId);
+
+    // Conditional, so of two concurrent requests only one sees the message go from unread to read or deleted
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true WHERE m.id = :id AND m.read = false")
+    int markReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.id = :id AND m.read = false")
+    int deleteIfUnread(@Param("id") Long id);
+
+    // Locks the unread ones, so a concurrent mark-read waits and then finds them read
+    @Query(value = "SELECT id AS id, receiver_id AS \"receiverId\", conversation_id AS \"conversationId\" FROM messages "
+            + "WHERE id IN (:ids) AND read = FALSE FOR UPDATE", nativeQuery = true)
+    List<UnreadView> lockUnreadByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true WHERE m.id IN :ids")
+    int markReadByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true "
+            + "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId AND m.read = false")
+    int markConversationRead(@Param("senderId") Long senderId, @Param("receiverId") Long receiverId);
+
+    // Conditional, so concurrent uploads cannot take a message over the maximum
+    @Modifying
+    @Query("UPDATE Message m SET m.attachmentCount = m.attachmentCount + 1 WHERE m.id = :id AND m.attachmentCount < :max")
+    int incrementAttachmentCount(@Param("id") Long id, @Param("max") int max);
+
+    // Inbox, outbox and conversation pages, newest first, read from the (owner, timestamp, id) indexes without loading users
+    String VIEW_COLUMNS = "SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, "
+            + "m.subject AS subject, m.content AS content, m.timestamp AS timestamp, m.read AS read, "
+            + "m.conversationId AS conversationId, m.attachmentCount AS attachmentCount FROM Message m ";
+    String BEFORE_CURSOR = "AND (m.timestamp < :beforeTimestamp OR (m.timestamp = :beforeTimestamp AND m.id < :beforeId)) ";
+    String NEWEST_FIRST = "ORDER BY m.timestamp DESC, m.id DESC";
+
+    @Query(VIEW_COLUMNS + "WHERE m.receiver.id = :userId " + NEWEST_FIRST)
+    List<MessageView> findReceived(@Param("userId") Long userId, Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE m.receiver.id = :userId " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<MessageView> findReceivedBefore(
+            @Param("userId") Long userId,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE m.sender.id = :userId " + NEWEST_FIRST)
+    List<MessageView> findSent(@Param("userId") Long userId, Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE m.sender.id = :userId " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<MessageView> findSentBefore(
+            @Param("userId") Long userId,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE m.conversationId = :conversationId " + NEWEST_FIRST)
+    List<MessageView> findInConversation(@Param("conversationId") Long conversationId, Limit limit);
+
+    @Query(VIEW_COLUMNS + "WHERE m.conversationId = :conversationId " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<MessageView> findInConversationBefore(
+            @Param("conversationId") Long conversationId,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    // Full-text search over the messages a user sent or received, best match first (PostgreSQL only)
+    @Query(value = "SELECT m.id AS id, m.sender_id AS \"senderId\", m.receiver_id AS \"receiverId\", "
+            + "m.subject AS subject, m.content AS content, m.timestamp AS timestamp, m.read AS read, "
+            + "m.conversation_id AS \"conversationId\", m.attachment_count AS \"attachmentCount\" "
+            + "FROM messages m, websearch_to_tsquery('simple', :query) q "
+            + "WHERE m.search_vector @@ q AND (m.receiver_id = :userId OR m.sender_id = :userId) "
+            + "ORDER BY ts_rank(m.search_vector, q) DESC, m.timestamp DESC, m.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<MessageView> searchFullText(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("limit") int limit);
+
+    // Fallback for databases without the search_vector column; the pattern is lower case, with a backslash as escape
+    @Query(VIEW_COLUMNS + "WHERE (m.receiver.id = :userId OR m.sender.id = :userId) "
+            + "AND (LOWER(m.subject) LIKE :pattern ESCAPE '\\' OR LOWER(m.content) LIKE :pattern ESCAPE '\\') "
+            + NEWEST_FIRST)
+    List<MessageView> searchContaining(
+            @Param("userId") Long userId,
+            @Param("pattern") String pattern,
+            Limit limit);
+
+    interface UnreadView {
+        Long getId();
+        Long getReceiverId();
+        Long getConversationId();
+    }
+
+    interface ParticipantsView {
+        Long getSenderId();
+        Long getReceiverId();
+        int getAttachmentCount();
+    }
+
+    interface MessageView {
+        Long getId();
+        Long getSenderId();
+        Long getReceiverId();
+        String getSubject();
+        String getContent();
+        LocalDateTime getTimestamp();
+        boolean isRead();
+        Long getConversationId();
+        int getAttachmentCount();
+    }
+}
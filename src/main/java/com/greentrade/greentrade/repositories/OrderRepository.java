@@ -0,0 +1,14 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.Order;
+import com.greentrade.greentrade.models.User;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    List<Order> findByBuyerOrderByCreatedAtDesc(User buyer);
+}
@@ -3,6 +3,9 @@ package com.greentrade.greentrade.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.greentrade.greentrade.models.Product;
@@ -16,5 +19,16 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByNameContainingIgnoreCase(String name);
     
     List<Product> findBySustainabilityScoreGreaterThanEqual(Integer score);
-    
+
+    // Single conditional decrement: returns 0 instead of overselling when stock is short
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity "
+            + "WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity "
+            + "WHERE p.id = :productId AND p.stockQuantity IS NOT NULL")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greentrade.greentrade.models.ReportJob;
+import com.greentrade.greentrade.models.ReportJobStatus;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.processedRows = :processedRows WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("processedRows") long processedRows);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.errorMessage = :message, j.completedAt = :now "
+            + "WHERE j.status IN :statuses")
+    int failAll(@Param("statuses") Collection<ReportJobStatus> statuses, @Param("failed") ReportJobStatus failed,
+            @Param("message") String message, @Param("now") LocalDateTime now);
+}
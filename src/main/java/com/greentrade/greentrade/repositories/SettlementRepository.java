@@ -0,0 +1,14 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.Settlement;
+
+@Repository
+public interface SettlementRepository extends JpaRepository<Settlement, Long> {
+
+    List<Settlement> findTop50BySellerIdOrderByIdDesc(Long sellerId);
+}
@@ -0,0 +1,15 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.SettlementRun;
+import com.greentrade.greentrade.models.SettlementRunStatus;
+
+@Repository
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, Long> {
+
+    Optional<SettlementRun> findFirstByStatusOrderByIdDesc(SettlementRunStatus status);
+}
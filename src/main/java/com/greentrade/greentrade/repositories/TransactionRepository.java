@@ -1,17 +1,45 @@
 package com.greentrade.greentrade.repositories;
 
-import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.greentrade.greentrade.models.Transaction;
 import com.greentrade.greentrade.models.User;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
     List<Transaction> findByBuyer(User buyer);
-    List<Transaction> findByProduct_Seller(User seller);
-    List<Transaction> findByDateBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+    // Served by ix_transactions_seller_date without touching products
+    List<Transaction> findBySellerOrderByDateDesc(User seller);
+    List<Transaction> findByOrderIdOrderByIdAsc(Long orderId);
+
+    /**
+     * Locks the given transactions and returns their current status, so a following
+     * set-based update can be classified per ID without loading the entities.
+     */
+    @Query(value = "SELECT id AS id, status AS status, amount AS amount, buyer_id AS \"buyerId\", product_id AS \"productId\" "
+            + "FROM transactions WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<StatusView> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :newStatus WHERE t.id IN :ids AND UPPER(t.status) IN :fromStatuses")
+    int updateStatusWhereStatusIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("fromStatuses") Collection<String> fromStatuses,
+            @Param("newStatus") String newStatus);
+
+    interface StatusView {
+        Long getId();
+        String getStatus();
+        BigDecimal getAmount();
+        Long getBuyerId();
+        Long getProductId();
+    }
+}
@@ -0,0 +1,28 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.greentrade.greentrade.models.Transaction;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Finds transactions in a date range. Ranges that reach back past the hot
+     * window also read the archived partitions.
+     */
+    List<Transaction> findByDateBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Finds a transaction in the live table and, when it is not there, in the
+     * archived partitions. Archived transactions are read-only.
+     */
+    Optional<Transaction> findByIdIncludingArchive(Long id);
+
+    /**
+     * Inserts new transactions with one JDBC batch and sets their generated IDs.
+     * The transactions are not attached to the persistence context.
+     */
+    void insertAll(List<Transaction> transactions);
+}
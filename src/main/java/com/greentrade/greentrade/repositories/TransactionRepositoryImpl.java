@@ -0,0 +1,125 @@
+package com.greentrade.greentrade.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.services.TransactionPartitionService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(buyer_id, product_id, seller_id, order_id, amount, date, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionPartitionService partitionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionRepositoryImpl(TransactionPartitionService partitionService, JdbcTemplate jdbcTemplate) {
+        this.partitionService = partitionService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Transaction> findByDateBetween(LocalDateTime start, LocalDateTime end) {
+        // Partition pruning keeps this to the partitions of the requested months
+        List<Transaction> transactions = new ArrayList<>(entityManager
+                .createQuery("SELECT t FROM Transaction t WHERE t.date BETWEEN :start AND :end", Transaction.class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getResultList());
+
+        if (partitionService.isEnabled() && start.isBefore(partitionService.getArchiveCutoff())) {
+            @SuppressWarnings("unchecked")
+            List<Transaction> archived = entityManager
+                    .createNativeQuery("SELECT * FROM " + TransactionPartitionService.ARCHIVE_TABLE
+                            + " WHERE \"date\" BETWEEN :start AND :end", Transaction.class)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultList();
+            transactions.addAll(archived);
+        }
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findByIdIncludingArchive(Long id) {
+        Transaction transaction = entityManager.find(Transaction.class, id);
+        if (transaction != null || !partitionService.isEnabled()) {
+            return Optional.ofNullable(transaction);
+        }
+
+        // Transactions of months past the hot window only live in the archive
+        @SuppressWarnings("unchecked")
+        List<Transaction> archived = entityManager
+                .createNativeQuery("SELECT * FROM " + TransactionPartitionService.ARCHIVE_TABLE
+                        + " WHERE id = :id", Transaction.class)
+                .setParameter("id", id)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+        return archived.stream().findFirst();
+    }
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        // Pending inserts (e.g. the order the rows point to) must reach the database first
+        entityManager.flush();
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction transaction = transactions.get(i);
+                        ps.setLong(1, transaction.getBuyer().getId());
+                        ps.setLong(2, transaction.getProduct().getId());
+                        setNullableLong(ps, 3, transaction.getSeller() != null ? transaction.getSeller().getId() : null);
+                        setNullableLong(ps, 4, transaction.getOrderId());
+                        ps.setBigDecimal(5, transaction.getAmount());
+                        ps.setObject(6, transaction.getDate());
+                        ps.setString(7, transaction.getStatus());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.TransactionStatusChange;
+
+@Repository
+public interface TransactionStatusChangeRepository extends JpaRepository<TransactionStatusChange, Long> {
+
+    List<TransactionStatusChange> findByTransactionIdOrderByChangedAtAscIdAsc(Long transactionId);
+
+    Optional<TransactionStatusChange> findFirstByTransactionIdOrderByChangedAtDescIdDesc(Long transactionId);
+
+    Optional<TransactionStatusChange> findFirstByTransactionIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(
+            Long transactionId, LocalDateTime at);
+
+    Optional<TransactionStatusChange> findFirstByTransactionIdAndChangedAtAfterOrderByChangedAtAscIdAsc(
+            Long transactionId, LocalDateTime at);
+
+    /**
+     * Number of changes per transition in {@code (from, to]}.
+     */
+    @Query("SELECT c.previousStatus AS previousStatus, c.newStatus AS newStatus, COUNT(c) AS changes "
+            + "FROM TransactionStatusChange c WHERE c.changedAt > :from AND c.changedAt <= :to "
+            + "GROUP BY c.previousStatus, c.newStatus")
+    List<TransitionCount> countTransitions(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Time spent in a status by the transactions that left it in {@code [from, to)}.
+     */
+    @Query("SELECT COUNT(c) AS transitions, SUM(c.previousStatusMillis) AS totalMillis, "
+            + "MAX(c.previousStatusMillis) AS maxMillis "
+            + "FROM TransactionStatusChange c WHERE c.previousStatus = :status "
+            + "AND c.changedAt >= :from AND c.changedAt < :to AND c.previousStatusMillis IS NOT NULL")
+    DurationView sumTimeInStatus(@Param("status") String status, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    interface TransitionCount {
+        String getPreviousStatus();
+        String getNewStatus();
+        long getChanges();
+    }
+
+    interface DurationView {
+        long getTransitions();
+        Long getTotalMillis();
+        Long getMaxMillis();
+    }
+}
@@ -0,0 +1,26 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.TransactionStatusSnapshot;
+
+@Repository
+public interface TransactionStatusSnapshotRepository extends JpaRepository<TransactionStatusSnapshot, Long> {
+
+    List<TransactionStatusSnapshot> findByTakenAt(LocalDateTime takenAt);
+
+    @Query("SELECT MAX(s.takenAt) FROM TransactionStatusSnapshot s")
+    LocalDateTime findLatestTakenAt();
+
+    @Query("SELECT MAX(s.takenAt) FROM TransactionStatusSnapshot s WHERE s.takenAt <= :at")
+    LocalDateTime findLatestTakenAtOnOrBefore(@Param("at") LocalDateTime at);
+
+    @Query("SELECT MIN(s.takenAt) FROM TransactionStatusSnapshot s WHERE s.takenAt >= :at")
+    LocalDateTime findEarliestTakenAtOnOrAfter(@Param("at") LocalDateTime at);
+}
@@ -0,0 +1,26 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.UnreadMessageCounter;
+
+@Repository
+public interface UnreadMessageCounterRepository extends JpaRepository<UnreadMessageCounter, Long> {
+
+    @Modifying
+    @Query("UPDATE UnreadMessageCounter c SET c.unreadCount = c.unreadCount + :delta WHERE c.userId = :userId")
+    int addToCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("SELECT c.unreadCount FROM UnreadMessageCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") Long userId);
+
+    // Serializes creating the counter of a user; the user row is locked because the counter row does not exist yet
+    @Query(value = "SELECT id FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockUser(@Param("userId") Long userId);
+}
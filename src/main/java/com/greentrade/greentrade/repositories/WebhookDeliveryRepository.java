@@ -0,0 +1,28 @@
+package com.greentrade.greentrade.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.WebhookDelivery;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    // Rows claimed by another dispatcher instance are skipped instead of waited for
+    @Query(value = "SELECT * FROM webhook_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<WebhookDelivery> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    List<WebhookDelivery> findTop50BySubscriptionIdOrderByIdDesc(Long subscriptionId);
+
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.status <> com.greentrade.greentrade.models.WebhookDeliveryStatus.PENDING "
+            + "AND d.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
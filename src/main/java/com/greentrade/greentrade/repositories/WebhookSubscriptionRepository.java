@@ -0,0 +1,13 @@
+package com.greentrade.greentrade.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.greentrade.greentrade.models.WebhookSubscription;
+
+@Repository
+public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, Long> {
+    List<WebhookSubscription> findByActiveTrue();
+}
@@ -0,0 +1,137 @@
+package com.greentrade.greentrade.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greentrade.greentrade.dto.announcement.AnnouncementCreateRequest;
+import com.greentrade.greentrade.dto.announcement.AnnouncementResponse;
+import com.greentrade.greentrade.dto.message.MessageCursor;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.exception.announcement.AnnouncementNotFoundException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.AnnouncementMapper;
+import com.greentrade.greentrade.models.Announcement;
+import com.greentrade.greentrade.models.AnnouncementReadChunk;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.AnnouncementReadChunkRepository;
+import com.greentrade.greentrade.repositories.AnnouncementRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+/**
+ * Admin announcements to every user, or every user with a role.
+ *
+ * Announcing is one insert however many users there are: nothing is copied into
+ * the inboxes. MessageService merges the visible announcements into the inbox
+ * page when it is read, and reading one sets the bit of the user in a bitmap
+ * chunk of the announcement. An inbox page needs one query for the
+ * announcements and one for the chunks of the user.
+ */
+@Service
+public class AnnouncementService {
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementReadChunkRepository chunkRepository;
+    private final UserRepository userRepository;
+    private final AnnouncementMapper announcementMapper;
+
+    @Autowired
+    public AnnouncementService(
+            AnnouncementRepository announcementRepository,
+            AnnouncementReadChunkRepository chunkRepository,
+            UserRepository userRepository,
+            AnnouncementMapper announcementMapper) {
+        this.announcementRepository = announcementRepository;
+        this.chunkRepository = chunkRepository;
+        this.userRepository = userRepository;
+        this.announcementMapper = announcementMapper;
+    }
+
+    /**
+     * @throws UserNotFoundException when no user has the email address of the sender
+     */
+    @Transactional
+    public AnnouncementResponse createAnnouncement(AnnouncementCreateRequest request, String senderEmail) {
+        User sender = findUserByEmail(senderEmail);
+        Announcement announcement = announcementRepository.save(
+                announcementMapper.createRequestToEntity(request, sender.getId()));
+        return announcementMapper.toResponse(announcement, 0);
+    }
+
+    public AnnouncementResponse getAnnouncement(Long id) {
+        Announcement announcement = findAnnouncementById(id);
+        long readCount = chunkRepository.findByAnnouncementId(id).stream()
+                .mapToLong(AnnouncementReadChunk::readCount)
+                .sum();
+        return announcementMapper.toResponse(announcement, readCount);
+    }
+
+    /**
+     * The announcements for the inbox of a user, newest first, as inbox entries
+     * with the read flag of the user.
+     */
+    public List<MessageResponse> getInboxAnnouncements(User user, MessageCursor before, int limit) {
+        List<Announcement> announcements = before == null
+                ? announcementRepository.findVisibleTo(user.getRole(), Limit.of(limit))
+                : announcementRepository.findVisibleToBefore(user.getRole(), before.timestamp(), before.id(),
+                        Limit.of(limit));
+        if (announcements.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, AnnouncementReadChunk> chunks = chunkRepository
+                .findByAnnouncementIdInAndChunkIndex(
+                        announcements.stream().map(Announcement::getId).toList(),
+                        AnnouncementReadChunk.chunkOf(user.getId()))
+                .stream()
+                .collect(Collectors.toMap(AnnouncementReadChunk::getAnnouncementId, Function.identity()));
+        return announcements.stream()
+                .map(announcement -> {
+                    AnnouncementReadChunk chunk = chunks.get(announcement.getId());
+                    return announcementMapper.toMessageResponse(announcement, user.getId(),
+                            chunk != null && chunk.isRead(user.getId()));
+                })
+                .toList();
+    }
+
+    /**
+     * @throws AnnouncementNotFoundException when there is no such announcement for the user
+     */
+    @Transactional
+    public void markAsRead(Long announcementId, String userEmail) {
+        User user = findUserByEmail(userEmail);
+        Long userId = user.getId();
+        Announcement announcement = findAnnouncementById(announcementId);
+        if (!announcement.isVisibleTo(user.getRole())) {
+            throw new AnnouncementNotFoundException(announcementId);
+        }
+
+        int chunkIndex = AnnouncementReadChunk.chunkOf(userId);
+        AnnouncementReadChunk chunk = chunkRepository.lockChunk(announcementId, chunkIndex)
+                .orElseGet(() -> {
+                    chunkRepository.insertIfAbsent(announcementId, chunkIndex, new byte[0]);
+                    return chunkRepository.lockChunk(announcementId, chunkIndex)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Read markers of announcement " + announcementId + " were not created"));
+                });
+        if (chunk.markRead(userId)) {
+            chunkRepository.save(chunk);
+        }
+    }
+
+    private User findUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+    }
+
+    private Announcement findAnnouncementById(Long id) {
+        return announcementRepository.findById(id)
+                .orElseThrow(() -> new AnnouncementNotFoundException(id));
+    }
+}
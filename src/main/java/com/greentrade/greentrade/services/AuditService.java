@@ -0,0 +1,159 @@
+package com.greentrade.greentrade.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.greentrade.greentrade.audit.AuditEventType;
+import com.greentrade.greentrade.audit.AuditLedger;
+import com.greentrade.greentrade.audit.AuditRecord;
+import com.greentrade.greentrade.audit.AuditVerification;
+import com.greentrade.greentrade.config.AuditConfig;
+import com.greentrade.greentrade.dto.audit.AuditRecordResponse;
+import com.greentrade.greentrade.dto.audit.AuditVerificationResponse;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.exception.audit.AuditLedgerUnavailableException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records every transaction create and status change in the {@link AuditLedger}
+ * instead of an audit table. Events are appended after commit, so a rolled back
+ * change never reaches the ledger. Verifying and reading history scan the
+ * ledger from the start, because only a full pass can check the hash chain.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private final AuditLedger ledger; // null when the ledger is disabled
+
+    public AuditService(AuditConfig auditConfig) {
+        if (!auditConfig.isEnabled()) {
+            this.ledger = null;
+            return;
+        }
+        try {
+            this.ledger = new AuditLedger(Path.of(auditConfig.getDirectory()), auditConfig.getRecordsPerSegment());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the audit ledger in " + auditConfig.getDirectory(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        append(AuditEventType.CREATED, event.getTransactionId(), event.getBuyerId(), event.getProductId(),
+                event.getSellerId(), event.getAmount(), null, event.getStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        append(AuditEventType.STATUS_CHANGED, event.getTransactionId(), event.getBuyerId(), event.getProductId(),
+                null, event.getAmount(), event.getPreviousStatus(), event.getNewStatus());
+    }
+
+    @Scheduled(fixedDelayString = "${audit.force-interval:1000}")
+    public void force() {
+        if (ledger != null) {
+            ledger.force();
+        }
+    }
+
+    public AuditVerificationResponse verify() {
+        long started = System.nanoTime();
+        AuditVerification verification = scan(record -> { });
+        return AuditVerificationResponse.builder()
+                .valid(verification.isValid())
+                .records(verification.getRecords())
+                .lastSequence(verification.getLastSequence())
+                .brokenAtSequence(verification.getBrokenAtSequence())
+                .message(verification.getMessage())
+                .tookMillis((System.nanoTime() - started) / 1_000_000)
+                .verifiedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Replays the ledger and returns the records of one transaction, oldest first.
+     * Only records up to a broken link are returned.
+     */
+    public List<AuditRecordResponse> getTransactionHistory(Long transactionId) {
+        List<AuditRecordResponse> history = new ArrayList<>();
+        AuditVerification verification = scan(record -> {
+            if (record.getTransactionId() == transactionId) {
+                history.add(toResponse(record));
+            }
+        });
+        if (!verification.isValid()) {
+            logger.warn("Audit history of transaction {} stops at broken record {}: {}",
+                    transactionId, verification.getBrokenAtSequence(), verification.getMessage());
+        }
+        return history;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ledger != null) {
+            ledger.close();
+        }
+    }
+
+    private void append(AuditEventType type, Long transactionId, Long buyerId, Long productId, Long sellerId,
+            BigDecimal amount, String previousStatus, String newStatus) {
+        if (ledger == null) {
+            return;
+        }
+        try {
+            ledger.append(type, transactionId, buyerId, productId, sellerId,
+                    amount != null ? toCents(amount) : 0, previousStatus, newStatus);
+        } catch (RuntimeException e) {
+            // The change is committed already; the gap shows up as a missing record
+            logger.error("Could not append {} of transaction {} to the audit ledger", type, transactionId, e);
+        }
+    }
+
+    private AuditVerification scan(Consumer<AuditRecord> consumer) {
+        if (ledger == null) {
+            throw new AuditLedgerUnavailableException();
+        }
+        try {
+            return ledger.scan(consumer);
+        } catch (IOException e) {
+            throw new AuditLedgerUnavailableException("Could not read the audit ledger", e);
+        }
+    }
+
+    private static AuditRecordResponse toResponse(AuditRecord record) {
+        return AuditRecordResponse.builder()
+                .sequence(record.getSequence())
+                .recordedAt(LocalDateTime.ofInstant(record.getRecordedAt(), ZoneId.systemDefault()))
+                .type(record.getType())
+                .transactionId(record.getTransactionId())
+                .buyerId(record.getBuyerId())
+                .productId(record.getProductId())
+                .sellerId(record.getSellerId())
+                .amount(BigDecimal.valueOf(record.getAmountCents(), 2))
+                .previousStatus(record.getPreviousStatus())
+                .newStatus(record.getNewStatus())
+                .build();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,95 @@
+package com.greentrade.greentrade.services;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Puts messages written before conversations existed into their conversation.
+ * Works in id ranges, each in its own transaction: a range creates the missing
+ * conversations and sets messages.conversation_id. The conversations that got
+ * messages are rebuilt afterwards, once each, so their summaries and unread
+ * counts include the old messages.
+ */
+@Service
+public class ConversationBackfillService {
+
+    static final int BATCH_SIZE = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationBackfillService.class);
+
+    private static final String LOW_ID = "LEAST(m.sender_id, m.receiver_id)";
+    private static final String HIGH_ID = "GREATEST(m.sender_id, m.receiver_id)";
+    private static final String CREATE_SQL = "INSERT INTO conversations (participant_low_id, participant_high_id, created_at) "
+            + "SELECT DISTINCT " + LOW_ID + ", " + HIGH_ID + ", LOCALTIMESTAMP FROM messages m "
+            + "WHERE m.id >= ? AND m.id < ? AND m.conversation_id IS NULL ON CONFLICT DO NOTHING";
+    private static final String ASSIGN_SQL = "UPDATE messages m SET conversation_id = "
+            + "(SELECT c.id FROM conversations c WHERE c.participant_low_id = " + LOW_ID
+            + " AND c.participant_high_id = " + HIGH_ID + ") "
+            + "WHERE m.id >= ? AND m.id < ? AND m.conversation_id IS NULL";
+    private static final String TOUCHED_SQL = "SELECT DISTINCT c.id FROM messages m JOIN conversations c "
+            + "ON c.participant_low_id = " + LOW_ID + " AND c.participant_high_id = " + HIGH_ID + " "
+            + "WHERE m.id >= ? AND m.id < ? AND m.conversation_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConversationService conversationService;
+
+    public ConversationBackfillService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ConversationService conversationService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.conversationService = conversationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        long assigned = backfill();
+        if (assigned > 0) {
+            logger.info("Backfilled conversation_id on {} messages", assigned);
+        }
+    }
+
+    long backfill() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM messages WHERE conversation_id IS NULL");
+        if (range.get("min_id") == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+
+        Set<Long> touched = new TreeSet<>();
+        long assigned = 0;
+        for (long from = minId; from <= maxId; from += BATCH_SIZE) {
+            long lower = from;
+            Integer rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(CREATE_SQL, lower, lower + BATCH_SIZE);
+                touched.addAll(jdbcTemplate.queryForList(TOUCHED_SQL, Long.class, lower, lower + BATCH_SIZE));
+                return jdbcTemplate.update(ASSIGN_SQL, lower, lower + BATCH_SIZE);
+            });
+            assigned += rows != null ? rows : 0;
+        }
+
+        // One short transaction per conversation, so live messages wait for one lock at a time
+        for (Long conversationId : touched) {
+            try {
+                conversationService.rebuild(conversationId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not rebuild conversation {}", conversationId, e);
+            }
+        }
+        return assigned;
+    }
+}
@@ -0,0 +1,274 @@
+package com.greentrade.greentrade.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greentrade.greentrade.dto.conversation.ConversationPage;
+import com.greentrade.greentrade.dto.conversation.ConversationResponse;
+import com.greentrade.greentrade.dto.message.MessageCursor;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.ConversationMapper;
+import com.greentrade.greentrade.messaging.ReadReceiptBuffer;
+import com.greentrade.greentrade.models.Conversation;
+import com.greentrade.greentrade.models.ConversationParticipant;
+import com.greentrade.greentrade.models.Message;
+import com.greentrade.greentrade.repositories.ConversationParticipantRepository;
+import com.greentrade.greentrade.repositories.ConversationParticipantRepository.ConversationView;
+import com.greentrade.greentrade.repositories.ConversationRepository;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.MessageView;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+/**
+ * Groups the messages between two users into a conversation and keeps its
+ * summary up to date: the last message on the conversation, and the last
+ * activity and unread count of each user on their participant row.
+ *
+ * MessageService calls in within the transaction of the message change. Every
+ * change to a conversation first locks its row, so messages that are sent at
+ * the same time update the summary one after the other, and the unread counts
+ * only change with atomic updates. A conversation list is then one range of
+ * the participant index, joined to the conversations for the snippet.
+ */
+@Service
+public class ConversationService {
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationParticipantRepository participantRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final ConversationMapper conversationMapper;
+    private final ReadReceiptBuffer readReceipts;
+
+    @Autowired
+    public ConversationService(
+            ConversationRepository conversationRepository,
+            ConversationParticipantRepository participantRepository,
+            MessageRepository messageRepository,
+            UserRepository userRepository,
+            ConversationMapper conversationMapper,
+            ReadReceiptBuffer readReceipts) {
+        this.conversationRepository = conversationRepository;
+        this.participantRepository = participantRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.conversationMapper = conversationMapper;
+        this.readReceipts = readReceipts;
+    }
+
+    /**
+     * Adds a saved message to the conversation of its sender and receiver,
+     * creating the conversation on the first message between them.
+     *
+     * @return the id of the conversation, which is also set on the message
+     */
+    @Transactional
+    public Long recordMessage(Message message) {
+        Long senderId = message.getSender().getId();
+        Long receiverId = message.getReceiver().getId();
+        Long conversationId = findOrCreate(Math.min(senderId, receiverId), Math.max(senderId, receiverId));
+        Conversation conversation = lock(conversationId);
+
+        if (isAfterLastMessage(conversation, message)) {
+            conversation.setLastMessageId(message.getId());
+            conversation.setLastMessageAt(message.getTimestamp());
+            conversation.setLastSenderId(senderId);
+            conversation.setLastSnippet(snippet(message.getContent()));
+        }
+        recordForParticipant(conversationId, receiverId, senderId, message, 1);
+        if (!senderId.equals(receiverId)) {
+            recordForParticipant(conversationId, senderId, receiverId, message, 0);
+        }
+        message.setConversationId(conversationId);
+        return conversationId;
+    }
+
+    /**
+     * Lowers the unread count of a participant after messages of the conversation
+     * were read or deleted while still unread.
+     */
+    @Transactional
+    public void removeUnread(Long conversationId, Long userId, long count) {
+        if (count > 0) {
+            participantRepository.subtractUnread(conversationId, userId, count);
+        }
+    }
+
+    /**
+     * Lowers the unread count of the receiver after messages from the sender were read.
+     */
+    @Transactional
+    public void removeUnreadFrom(Long senderId, Long receiverId, long count) {
+        if (count > 0) {
+            conversationRepository.findIdByParticipants(Math.min(senderId, receiverId), Math.max(senderId, receiverId))
+                    .ifPresent(conversationId -> participantRepository.subtractUnread(conversationId, receiverId, count));
+        }
+    }
+
+    /**
+     * Moves the summary back to the message before it when the last message of
+     * the conversation was deleted.
+     */
+    @Transactional
+    public void messageDeleted(Long conversationId, Long messageId) {
+        Conversation conversation = lock(conversationId);
+        if (messageId.equals(conversation.getLastMessageId())) {
+            refreshLastMessage(conversation);
+        }
+    }
+
+    /**
+     * Recounts a conversation from its messages: the last message, the missing
+     * participant rows and the unread count of each participant. Used for
+     * conversations that got messages from the backfill.
+     */
+    @Transactional
+    public void rebuild(Long conversationId) {
+        Conversation conversation = lock(conversationId);
+        refreshLastMessage(conversation);
+        participantRepository.lockByConversationId(conversationId);
+
+        Long lowId = conversation.getParticipantLowId();
+        Long highId = conversation.getParticipantHighId();
+        rebuildParticipant(conversation, lowId, highId);
+        if (!lowId.equals(highId)) {
+            rebuildParticipant(conversation, highId, lowId);
+        }
+    }
+
+    /**
+     * A page of the conversations of a user, most recently active first. Pass the
+     * cursor of the previous page as {@code before} to get the next one.
+     */
+    public ConversationPage getConversations(Long userId, String before, Integer limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        int pageSize = MessageService.pageSize(limit);
+        List<ConversationView> conversations;
+        if (before == null) {
+            conversations = participantRepository.findForUser(userId, Limit.of(pageSize + 1));
+        } else {
+            MessageCursor cursor = MessageCursor.decode(before);
+            conversations = participantRepository.findForUserBefore(userId, cursor.timestamp(), cursor.id(),
+                    Limit.of(pageSize + 1));
+        }
+
+        // One extra row tells whether there is a next page
+        boolean hasMore = conversations.size() > pageSize;
+        List<ConversationView> page = hasMore ? conversations.subList(0, pageSize) : conversations;
+        String nextCursor = null;
+        if (hasMore) {
+            ConversationView last = page.get(page.size() - 1);
+            nextCursor = new MessageCursor(last.getLastMessageAt(), last.getId()).encode();
+        }
+        // Buffered read marks are not on the participant rows yet
+        Map<Long, Integer> pendingReads = readReceipts.pendingPerConversation(userId);
+        return ConversationPage.builder()
+                .conversations(page.stream()
+                        .map(conversationMapper::toResponse)
+                        .map(response -> withPendingReads(response, pendingReads))
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * @throws ConversationNotFoundException when the user does not take part in the conversation
+     */
+    public void requireParticipant(Long conversationId, Long userId) {
+        if (!participantRepository.existsByConversationIdAndUserId(conversationId, userId)) {
+            throw new ConversationNotFoundException(conversationId);
+        }
+    }
+
+    private static ConversationResponse withPendingReads(ConversationResponse response, Map<Long, Integer> pendingReads) {
+        Integer pending = response != null ? pendingReads.get(response.getId()) : null;
+        if (pending != null) {
+            response.setUnreadCount(Math.max(response.getUnreadCount() - pending, 0));
+        }
+        return response;
+    }
+
+    static String snippet(String content) {
+        if (content == null) {
+            return null;
+        }
+        String snippet = content.strip();
+        if (snippet.length() <= Conversation.SNIPPET_LENGTH) {
+            return snippet;
+        }
+        int end = Conversation.SNIPPET_LENGTH;
+        if (Character.isHighSurrogate(snippet.charAt(end - 1))) {
+            end--;  // Do not split a character in two
+        }
+        return snippet.substring(0, end);
+    }
+
+    private Long findOrCreate(Long lowId, Long highId) {
+        return conversationRepository.findIdByParticipants(lowId, highId)
+                .orElseGet(() -> {
+                    conversationRepository.insertIfAbsent(lowId, highId);
+                    return conversationRepository.findIdByParticipants(lowId, highId)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Conversation of users " + lowId + " and " + highId + " was not created"));
+                });
+    }
+
+    private Conversation lock(Long conversationId) {
+        conversationRepository.lockById(conversationId);
+        return conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new ConversationNotFoundException(conversationId));
+    }
+
+    private void recordForParticipant(Long conversationId, Long userId, Long otherUserId, Message message, long unread) {
+        if (participantRepository.recordMessage(conversationId, userId, message.getTimestamp(), unread) == 0) {
+            // Conversations created by the backfill get their participants on the first new message or the rebuild
+            participantRepository.save(new ConversationParticipant(
+                    conversationId, userId, otherUserId, message.getTimestamp(), unread));
+        }
+    }
+
+    private void rebuildParticipant(Conversation conversation, Long userId, Long otherUserId) {
+        long unread = messageRepository.countByConversationIdAndReceiverIdAndReadIsFalse(conversation.getId(), userId);
+        ConversationParticipant participant = participantRepository
+                .findByConversationIdAndUserId(conversation.getId(), userId)
+                .orElse(null);
+        if (participant == null) {
+            if (conversation.getLastMessageAt() == null) {
+                return;  // Nothing to list
+            }
+            participant = new ConversationParticipant(conversation.getId(), userId, otherUserId,
+                    conversation.getLastMessageAt(), unread);
+        } else {
+            participant.setUnreadCount(unread);
+            if (conversation.getLastMessageAt() != null) {
+                participant.setLastMessageAt(conversation.getLastMessageAt());
+            }
+        }
+        participantRepository.save(participant);
+    }
+
+    private void refreshLastMessage(Conversation conversation) {
+        List<MessageView> latest = messageRepository.findInConversation(conversation.getId(), Limit.of(1));
+        MessageView last = latest.isEmpty() ? null : latest.get(0);
+        conversation.setLastMessageId(last != null ? last.getId() : null);
+        conversation.setLastMessageAt(last != null ? last.getTimestamp() : null);
+        conversation.setLastSenderId(last != null ? last.getSenderId() : null);
+        conversation.setLastSnippet(last != null ? snippet(last.getContent()) : null);
+    }
+
+    private static boolean isAfterLastMessage(Conversation conversation, Message message) {
+        if (conversation.getLastMessageAt() == null) {
+            return true;
+        }
+        int compared = message.getTimestamp().compareTo(conversation.getLastMessageAt());
+        return compared > 0 || (compared == 0 && message.getId() > conversation.getLastMessageId());
+    }
+}
@@ -1,6 +1,8 @@
 package com.greentrade.greentrade.services;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
@@ -26,6 +28,20 @@ import com.greentrade.greentrade.exception.file.InvalidFileException;
 @Service
 public class FileStorageService {
 
+    /**
+     * Writes the content of a file that is generated by the application itself.
+     */
+    @FunctionalInterface
+    public interface FileContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * A stored file: its unique name in the storage and the number of bytes written.
+     */
+    public record StoredFile(String fileName, long size) {
+    }
+
     private final Path fileStorageLocation;
     private final FileValidationConfig fileValidationConfig;
 
@@ -63,6 +79,79 @@ public class FileStorageService {
         }
     }    
     
+    /**
+     * Stores a generated file under a new unique name. The content is written to a
+     * temporary file first, so a half-written file is never visible under its name.
+     */
+    public String storeGeneratedFile(@NonNull String extension, @NonNull FileContentWriter contentWriter) {
+        String fileName = UUID.randomUUID().toString() + "." + extension;
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
+        Path tempLocation = this.fileStorageLocation.resolve(fileName + ".part");
+
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempLocation)) {
+                contentWriter.writeTo(outputStream);
+            }
+            Files.move(tempLocation, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            return fileName;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tempLocation);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new FileStorageException("Kon bestand " + fileName + " niet opslaan", e);
+        }
+    }
+
+    /**
+     * Copies a stream to a new file under a unique name, a buffer at a time, so the
+     * content is never held in memory as a whole. The copy stops as soon as it
+     * goes over {@code maxSize}; like {@link #storeGeneratedFile} it goes to a
+     * temporary file first, so nothing is left behind when it is refused.
+     *
+     * @throws InvalidFileException when the stream is empty or larger than {@code maxSize}
+     */
+    public StoredFile storeStream(@NonNull InputStream inputStream, @NonNull String extension, long maxSize) {
+        String fileName = UUID.randomUUID().toString() + "." + extension;
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
+        Path tempLocation = this.fileStorageLocation.resolve(fileName + ".part");
+
+        try {
+            long size = 0;
+            try (InputStream in = inputStream; OutputStream outputStream = Files.newOutputStream(tempLocation)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw InvalidFileException.tooLarge(maxSize);
+                    }
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new InvalidFileException("Kan geen leeg bestand opslaan");
+            }
+            Files.move(tempLocation, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredFile(fileName, size);
+        } catch (IOException e) {
+            deleteQuietly(tempLocation, e);
+            throw new FileStorageException("Kon bestand " + fileName + " niet opslaan", e);
+        } catch (InvalidFileException e) {
+            deleteQuietly(tempLocation, e);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path, Exception cause) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException suppressed) {
+            cause.addSuppressed(suppressed);
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         // Null check for the file object itself
         if (file == null) {
@@ -0,0 +1,245 @@
+package com.greentrade.greentrade.services;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.greentrade.greentrade.config.MessageAttachmentConfig;
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotAllowedException;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotFoundException;
+import com.greentrade.greentrade.exception.file.FileStorageException;
+import com.greentrade.greentrade.exception.file.InvalidFileException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.MessageAttachmentMapper;
+import com.greentrade.greentrade.models.MessageAttachment;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.MessageAttachmentRepository;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.ParticipantsView;
+import com.greentrade.greentrade.repositories.UserRepository;
+import com.greentrade.greentrade.services.FileStorageService.StoredFile;
+
+/**
+ * Files attached to messages, stored through {@link FileStorageService}.
+ *
+ * An upload is streamed from the multipart part to the upload directory and
+ * stops as soon as it goes over max-file-size; only then is a short transaction
+ * opened to count it on the message and save its metadata, so no transaction
+ * waits on a slow upload. Messages only carry the metadata, and inbox pages only
+ * look it up for messages whose attachment count is above zero. The content is
+ * opened when it is downloaded. Attachments of deleted or purged messages are
+ * removed by a nightly sweep.
+ */
+@Service
+public class MessageAttachmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageAttachmentService.class);
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final MessageAttachmentRepository attachmentRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final MessageAttachmentMapper attachmentMapper;
+    private final MessageAttachmentConfig attachmentConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public MessageAttachmentService(
+            MessageAttachmentRepository attachmentRepository,
+            MessageRepository messageRepository,
+            UserRepository userRepository,
+            FileStorageService fileStorageService,
+            MessageAttachmentMapper attachmentMapper,
+            MessageAttachmentConfig attachmentConfig,
+            PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.fileStorageService = fileStorageService;
+        this.attachmentMapper = attachmentMapper;
+        this.attachmentConfig = attachmentConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds a file to a message of the uploader.
+     *
+     * @throws AttachmentNotAllowedException when the uploader did not send the message
+     * @throws InvalidFileException when the file is empty, too large, of a type that is not allowed,
+     *         or the message has max-per-message attachments already
+     */
+    public MessageAttachmentResponse addAttachment(Long messageId, MultipartFile file, String uploaderEmail) {
+        Long uploaderId = findUserId(uploaderEmail);
+        ParticipantsView message = findVisibleMessage(messageId, uploaderId);
+        if (!message.getSenderId().equals(uploaderId)) {
+            throw new AttachmentNotAllowedException(messageId);
+        }
+        int maxPerMessage = attachmentConfig.getMaxPerMessage();
+        if (message.getAttachmentCount() >= maxPerMessage) {
+            throw tooManyAttachments(maxPerMessage);
+        }
+        String fileName = validate(file);
+
+        StoredFile stored;
+        try {
+            stored = fileStorageService.storeStream(file.getInputStream(), extensionOf(fileName),
+                    attachmentConfig.getMaxFileSize());
+        } catch (IOException e) {
+            throw new FileStorageException("Kon bestand " + fileName + " niet lezen", e);
+        }
+
+        try {
+            MessageAttachment attachment = transactionTemplate.execute(status -> {
+                if (messageRepository.incrementAttachmentCount(messageId, maxPerMessage) == 0) {
+                    throw tooManyAttachments(maxPerMessage);
+                }
+                return attachmentRepository.save(new MessageAttachment(messageId, fileName, stored.fileName(),
+                        contentTypeOf(fileName), stored.size(), LocalDateTime.now()));
+            });
+            return attachmentMapper.toResponse(attachment);
+        } catch (RuntimeException e) {
+            deleteStoredFile(stored.fileName());
+            throw e;
+        }
+    }
+
+    /**
+     * @throws AttachmentNotFoundException when the user is neither the sender nor the receiver of the message
+     */
+    public List<MessageAttachmentResponse> getAttachments(Long messageId, String userEmail) {
+        findVisibleMessage(messageId, findUserId(userEmail));
+        return attachmentRepository.findByMessageIdOrderById(messageId).stream()
+                .map(attachmentMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Attachment metadata of several messages, per message id, with one query.
+     */
+    public Map<Long, List<MessageAttachmentResponse>> getAttachmentsByMessage(Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Map.of();
+        }
+        return attachmentRepository.findByMessageIdInOrderById(messageIds).stream()
+                .map(attachmentMapper::toResponse)
+                .collect(Collectors.groupingBy(MessageAttachmentResponse::getMessageId));
+    }
+
+    /**
+     * An attachment with its content as a resource that is only opened when it is written out.
+     *
+     * @throws AttachmentNotFoundException when the attachment or its file does not exist, or the user
+     *         is neither the sender nor the receiver of the message
+     */
+    public AttachmentDownload loadAttachment(Long messageId, Long attachmentId, String userEmail) {
+        findVisibleMessage(messageId, findUserId(userEmail));
+        MessageAttachment attachment = attachmentRepository.findByIdAndMessageId(attachmentId, messageId)
+                .orElseThrow(() -> new AttachmentNotFoundException(attachmentId));
+        try {
+            Resource resource = fileStorageService.loadFileAsResource(attachment.getStoredName());
+            return new AttachmentDownload(attachmentMapper.toResponse(attachment), resource);
+        } catch (FileStorageException e) {
+            logger.warn("File {} of attachment {} is missing", attachment.getStoredName(), attachmentId, e);
+            throw new AttachmentNotFoundException(attachmentId);
+        }
+    }
+
+    /**
+     * Removes the attachments whose message no longer exists, files first, so a
+     * sweep that stops halfway leaves rows that the next one finds again.
+     *
+     * @return the number of removed attachments
+     */
+    @Scheduled(cron = "${messages.attachments.cleanup-cron:0 0 5 * * *}")
+    public int deleteOrphans() {
+        int batchSize = Math.max(attachmentConfig.getCleanupBatchSize(), 1);
+        int deleted = 0;
+        List<MessageAttachment> orphans;
+        do {
+            orphans = attachmentRepository.findOrphans(Limit.of(batchSize));
+            orphans.forEach(attachment -> deleteStoredFile(attachment.getStoredName()));
+            attachmentRepository.deleteAllInBatch(orphans);
+            deleted += orphans.size();
+        } while (orphans.size() == batchSize);
+        if (deleted > 0) {
+            logger.info("Deleted {} attachments of deleted messages", deleted);
+        }
+        return deleted;
+    }
+
+    private String validate(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidFileException("Kan geen leeg bestand opslaan");
+        }
+        fileStorageService.validateFileType(file, attachmentConfig.getAllowedExtensions().toArray(String[]::new));
+        // Checked again while streaming; this turns away what is known to be too large before it is written
+        if (file.getSize() > attachmentConfig.getMaxFileSize()) {
+            throw InvalidFileException.tooLarge(attachmentConfig.getMaxFileSize());
+        }
+        String fileName = StringUtils.getFilename(StringUtils.cleanPath(file.getOriginalFilename()));
+        if (fileName == null || fileName.isBlank() || fileName.contains("..") || fileName.length() > MAX_FILE_NAME_LENGTH) {
+            throw new InvalidFileException("Bestandsnaam is ongeldig: " + fileName);
+        }
+        return fileName;
+    }
+
+    private ParticipantsView findVisibleMessage(Long messageId, Long userId) {
+        ParticipantsView message = messageRepository.findParticipantsById(messageId)
+                .orElseThrow(() -> AttachmentNotFoundException.messageNotFound(messageId));
+        if (!message.getSenderId().equals(userId) && !message.getReceiverId().equals(userId)) {
+            throw AttachmentNotFoundException.messageNotFound(messageId);
+        }
+        return message;
+    }
+
+    private Long findUserId(String email) {
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException(email));
+    }
+
+    private void deleteStoredFile(String storedName) {
+        try {
+            fileStorageService.deleteFile(storedName);
+        } catch (FileStorageException e) {
+            logger.warn("Could not delete attachment file {}", storedName, e);
+        }
+    }
+
+    private static InvalidFileException tooManyAttachments(int maxPerMessage) {
+        return new InvalidFileException("A message can have at most " + maxPerMessage + " attachments");
+    }
+
+    private static String extensionOf(String fileName) {
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    static String contentTypeOf(String fileName) {
+        return MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    /**
+     * The metadata of an attachment and its content.
+     */
+    public record AttachmentDownload(MessageAttachmentResponse attachment, Resource resource) {
+    }
+}
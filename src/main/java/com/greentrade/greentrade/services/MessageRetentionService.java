@@ -0,0 +1,163 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.MessageRetentionConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Deletes read messages once they are older than the retention period.
+ *
+ * The purge walks the id range of the expired messages in chunks, each deleted
+ * in its own short transaction with a pause after it, so no delete holds locks
+ * for long and the WAL is written in small steps. Only rows of messages are
+ * deleted: users and everything else that references them stay. Unread
+ * counters are not affected because only read messages go; conversations whose
+ * last message was purged get the message before it as their summary.
+ */
+@Service
+public class MessageRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRetentionService.class);
+
+    private static final String RANGE_SQL = "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM messages "
+            + "WHERE read = TRUE AND timestamp < ?";
+    private static final String DELETE_SQL = "DELETE FROM messages "
+            + "WHERE id >= ? AND id < ? AND read = TRUE AND timestamp < ?";
+    // Uses the last_message_id index, so only conversations whose summary points into the chunk are checked
+    private static final String STALE_CONVERSATIONS_SQL = "SELECT c.id, c.last_message_id FROM conversations c "
+            + "WHERE c.last_message_id >= ? AND c.last_message_id < ? "
+            + "AND NOT EXISTS (SELECT 1 FROM messages m WHERE m.id = c.last_message_id)";
+
+    private final MessageRetentionConfig retentionConfig;
+    private final ConversationService conversationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter purgedMessages;
+    private final Counter purgedChunks;
+    private final Timer purgeTimer;
+
+    public MessageRetentionService(
+            MessageRetentionConfig retentionConfig,
+            ConversationService conversationService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.retentionConfig = retentionConfig;
+        this.conversationService = conversationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedMessages = Counter.builder("greentrade.messages.purged")
+                .description("Read messages deleted by the retention job")
+                .register(meterRegistry);
+        this.purgedChunks = Counter.builder("greentrade.messages.purge.chunks")
+                .description("Id-range chunks deleted by the retention job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("greentrade.messages.purge.duration")
+                .description("Duration of a retention run, pauses included")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${messages.retention.cron:0 30 4 * * *}")
+    public void purgeNightly() {
+        if (retentionConfig.isEnabled()) {
+            purge();
+        }
+    }
+
+    /**
+     * Deletes the read messages that are older than the retention period.
+     *
+     * @return the number of deleted messages, 0 when a purge is already running
+     */
+    public long purge() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Skipping message purge, a purge is still running");
+            return 0;
+        }
+        long started = System.nanoTime();
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMonths(Math.max(retentionConfig.getReadRetentionMonths(), 1));
+            long deleted = purgeBefore(cutoff);
+            if (deleted > 0) {
+                logger.info("Purged {} read messages from before {} in {} ms", deleted, cutoff,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+            return deleted;
+        } finally {
+            purgeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+
+    long purgeBefore(LocalDateTime cutoff) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(RANGE_SQL, cutoff);
+        if (range.get("min_id") == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        int chunkSize = Math.max(retentionConfig.getChunkSize(), 1);
+
+        long deleted = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long lower = from;
+            long upper = from + chunkSize;
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(DELETE_SQL, lower, upper, cutoff));
+            int chunkDeleted = rows != null ? rows : 0;
+            deleted += chunkDeleted;
+            purgedMessages.increment(chunkDeleted);
+            purgedChunks.increment();
+            if (chunkDeleted > 0) {
+                refreshConversations(lower, upper);
+            }
+            if (upper <= maxId && !pause()) {
+                logger.warn("Message purge interrupted after {} messages", deleted);
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    private void refreshConversations(long lower, long upper) {
+        List<Map<String, Object>> stale = jdbcTemplate.queryForList(STALE_CONVERSATIONS_SQL, lower, upper);
+        for (Map<String, Object> conversation : stale) {
+            Long conversationId = ((Number) conversation.get("id")).longValue();
+            Long lastMessageId = ((Number) conversation.get("last_message_id")).longValue();
+            try {
+                conversationService.messageDeleted(conversationId, lastMessageId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not refresh conversation {} after the purge", conversationId, e);
+            }
+        }
+    }
+
+    private boolean pause() {
+        if (retentionConfig.getPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(retentionConfig.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
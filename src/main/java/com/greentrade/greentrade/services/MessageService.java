@@ -1,95 +1,460 @@
 package com.greentrade.greentrade.services;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.greentrade.greentrade.config.MessageSearchConfig;
+import com.greentrade.greentrade.config.ReadReceiptBufferConfig;
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
 import com.greentrade.greentrade.dto.message.MessageCreateRequest;
+import com.greentrade.greentrade.dto.message.MessageCursor;
+import com.greentrade.greentrade.dto.message.MessageMarkReadRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
 import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.dto.message.UnreadCountResponse;
+import com.greentrade.greentrade.events.MessageSentEvent;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
 import com.greentrade.greentrade.exception.security.UserNotFoundException;
 import com.greentrade.greentrade.mappers.MessageMapper;
+import com.greentrade.greentrade.messaging.ReadReceiptBuffer;
 import com.greentrade.greentrade.models.Message;
 import com.greentrade.greentrade.models.User;
 import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.MessageView;
+import com.greentrade.greentrade.repositories.MessageRepository.UnreadView;
 import com.greentrade.greentrade.repositories.UserRepository;
 
+import jakarta.annotation.PreDestroy;
+
 @Service
 public class MessageService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
+
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final MessageMapper messageMapper;
+    private final UnreadMessageCounterService unreadCounters;
+    private final ConversationService conversationService;
+    private final AnnouncementService announcementService;
+    private final MessageAttachmentService attachmentService;
+    private final ReadReceiptBuffer readReceipts;
+    private final ReadReceiptBufferConfig readBufferConfig;
+    private final MessageSearchConfig searchConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public MessageService(
             MessageRepository messageRepository, 
             UserRepository userRepository,
-            MessageMapper messageMapper) {
+            MessageMapper messageMapper,
+            UnreadMessageCounterService unreadCounters,
+            ConversationService conversationService,
+            AnnouncementService announcementService,
+            MessageAttachmentService attachmentService,
+            ReadReceiptBuffer readReceipts,
+            ReadReceiptBufferConfig readBufferConfig,
+            MessageSearchConfig searchConfig,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
         this.messageRepository = messageRepository;
         this.userRepository = userRepository;
         this.messageMapper = messageMapper;
+        this.unreadCounters = unreadCounters;
+        this.conversationService = conversationService;
+        this.announcementService = announcementService;
+        this.attachmentService = attachmentService;
+        this.readReceipts = readReceipts;
+        this.readBufferConfig = readBufferConfig;
+        this.searchConfig = searchConfig;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<MessageResponse> getAllMessages() {
-        return messageRepository.findAll().stream()
+        return withAttachments(messageRepository.findAll().stream()
                 .map(messageMapper::toResponse)
-                .collect(Collectors.toList());
+                .map(this::withPendingRead)
+                .collect(Collectors.toList()));
     }
 
     public Optional<MessageResponse> getMessageById(Long id) {
         return messageRepository.findById(id)
-                .map(messageMapper::toResponse);
+                .map(messageMapper::toResponse)
+                .map(this::withPendingRead)
+                .map(response -> withAttachments(List.of(response)).get(0));
     }
 
+    @Transactional
     public MessageResponse sendMessage(MessageCreateRequest request) {
         User sender = findUserById(request.getSenderId());
         User receiver = findUserById(request.getReceiverId());
         
         Message message = messageMapper.createRequestToEntity(request, sender, receiver);
         Message savedMessage = messageRepository.save(message);
+        unreadCounters.increment(receiver.getId());
+        conversationService.recordMessage(savedMessage);
         
-        return messageMapper.toResponse(savedMessage);
+        MessageResponse response = messageMapper.toResponse(savedMessage);
+        eventPublisher.publishEvent(new MessageSentEvent(response));
+        return response;
     }
 
+    /**
+     * Marks a message as read. With the read buffer enabled the mark is only
+     * accepted here and written by the next {@link #flushReadReceipts()}.
+     */
+    @Transactional
     public MessageResponse markAsRead(Long id) {
         Message message = findMessageById(id);
+        if (!message.isRead() && readReceipts.isEnabled()
+                && readReceipts.add(id, message.getReceiver().getId(), message.getConversationId())) {
+            // The entity stays unread, so the transaction does not write it
+            MessageResponse response = messageMapper.toResponse(message);
+            response.setRead(true);
+            return response;
+        }
+        if (!message.isRead() && messageRepository.markReadIfUnread(id) > 0) {
+            unreadCounters.decrement(message.getReceiver().getId());
+            if (message.getConversationId() != null) {
+                conversationService.removeUnread(message.getConversationId(), message.getReceiver().getId(), 1);
+            }
+        }
         message.setRead(true);
         
         Message updatedMessage = messageRepository.save(message);
         return messageMapper.toResponse(updatedMessage);
     }
 
+    /**
+     * Marks a list of messages, or a whole conversation, as read with one update
+     * and lowers the unread counters by the messages that were still unread.
+     */
+    @Transactional
+    public MessageMarkReadResponse markManyAsRead(MessageMarkReadRequest request) {
+        int updated;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            if (request.getSenderId() != null || request.getReceiverId() != null) {
+                throw new IllegalArgumentException("Give either message IDs or a conversation, not both");
+            }
+            updated = markIdsAsRead(request.getIds());
+        } else if (request.getSenderId() != null && request.getReceiverId() != null) {
+            updated = messageRepository.markConversationRead(request.getSenderId(), request.getReceiverId());
+            unreadCounters.decrement(request.getReceiverId(), updated);
+            conversationService.removeUnreadFrom(request.getSenderId(), request.getReceiverId(), updated);
+        } else {
+            throw new IllegalArgumentException("Message IDs or a sender and receiver are required");
+        }
+        return MessageMarkReadResponse.builder()
+                .updated(updated)
+                .build();
+    }
+
+    @Transactional
     public void deleteMessage(Long id) {
         if (!messageRepository.existsById(id)) {
             throw new RuntimeException("Message not found with id: " + id);
         }
-        messageRepository.deleteById(id);
+        Long receiverId = messageRepository.findReceiverIdById(id);
+        Long conversationId = messageRepository.findConversationIdById(id);
+        if (receiverId != null && messageRepository.deleteIfUnread(id) > 0) {
+            unreadCounters.decrement(receiverId);
+            if (conversationId != null) {
+                conversationService.removeUnread(conversationId, receiverId, 1);
+            }
+        } else {
+            messageRepository.deleteById(id);
+        }
+        if (conversationId != null) {
+            conversationService.messageDeleted(conversationId, id);
+        }
+    }
+
+    /**
+     * Writes the buffered read marks in batches, each with one update in its own
+     * transaction. A batch that fails stays pending and is tried again on the next run.
+     *
+     * @return the number of marks written
+     */
+    @Scheduled(fixedDelayString = "${messages.read-buffer.flush-interval-millis:250}")
+    public int flushReadReceipts() {
+        int flushed = 0;
+        List<Long> ids;
+        while (!(ids = readReceipts.pendingIds(Math.max(readBufferConfig.getMaxBatchSize(), 1))).isEmpty()) {
+            List<Long> batch = ids;
+            try {
+                transactionTemplate.executeWithoutResult(status -> markIdsAsRead(batch));
+            } catch (RuntimeException e) {
+                logger.warn("Could not write {} buffered read marks, retrying on the next flush", batch.size(), e);
+                break;
+            }
+            // Only now, so reads see the marks until the update has committed
+            readReceipts.flushed(batch);
+            flushed += batch.size();
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushReadReceipts();
+    }
+
+    /**
+     * Number of unread messages of a user, for the unread badge. Served from the
+     * counter cache instead of loading the messages, minus the buffered read marks.
+     */
+    public UnreadCountResponse getUnreadCount(Long userId) {
+        UnreadCountResponse count = unreadCounters.getUnreadCount(userId);
+        int pending = readReceipts.pendingFor(userId);
+        if (pending == 0) {
+            return count;
+        }
+        return new UnreadCountResponse(userId, Math.max(count.getUnreadCount() - pending, 0));
     }
     
-    public List<MessageResponse> getReceivedMessagesForUser(Long userId) {
+    /**
+     * A page of the messages a user received, newest first, with the
+     * announcements for the user merged in. Pass the cursor of the previous page
+     * as {@code before} to get the next one.
+     */
+    public MessagePage getReceivedMessagesForUser(Long userId, String before, Integer limit) {
         User receiver = findUserById(userId);
-        return messageRepository.findByReceiver(receiver).stream()
-            .map(messageMapper::toResponse)
-            .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        MessageCursor cursor = before == null ? null : MessageCursor.decode(before);
+        // One extra row tells whether there is a next page
+        List<MessageView> messages = cursor == null
+                ? messageRepository.findReceived(userId, Limit.of(pageSize + 1))
+                : findReceivedBefore(userId, cursor, pageSize + 1);
+        List<MessageResponse> announcements = announcementService.getInboxAnnouncements(receiver, cursor, pageSize + 1);
+        return toInboxPage(messages, announcements, pageSize);
     }
-    
-    public List<MessageResponse> getSentMessagesByUser(Long userId) {
-        User sender = findUserById(userId);
-        return messageRepository.findBySender(sender).stream()
-            .map(messageMapper::toResponse)
-            .collect(Collectors.toList());
+
+    /**
+     * A page of the messages a user sent, newest first.
+     */
+    public MessagePage getSentMessagesByUser(Long userId, String before, Integer limit) {
+        requireUser(userId);
+        int pageSize = pageSize(limit);
+        List<MessageView> messages = before == null
+                ? messageRepository.findSent(userId, Limit.of(pageSize + 1))
+                : findSentBefore(userId, MessageCursor.decode(before), pageSize + 1);
+        return toPage(messages, pageSize);
     }
     
+    /**
+     * A page of the messages of a conversation, newest first, for one of its participants.
+     *
+     * @throws ConversationNotFoundException when the user does not take part in the conversation
+     */
+    public MessagePage getConversationMessages(Long conversationId, Long userId, String before, Integer limit) {
+        conversationService.requireParticipant(conversationId, userId);
+        int pageSize = pageSize(limit);
+        List<MessageView> messages;
+        if (before == null) {
+            messages = messageRepository.findInConversation(conversationId, Limit.of(pageSize + 1));
+        } else {
+            MessageCursor cursor = MessageCursor.decode(before);
+            messages = messageRepository.findInConversationBefore(conversationId, cursor.timestamp(), cursor.id(),
+                    Limit.of(pageSize + 1));
+        }
+        return toPage(messages, pageSize);
+    }
+
+    /**
+     * Searches the subject and content of the messages a user sent or received.
+     * Full-text results come best match first; the LIKE fallback returns the
+     * newest matches first.
+     */
+    public List<MessageResponse> searchMessages(Long userId, String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (query.length() > searchConfig.getMaxQueryLength()) {
+            throw new IllegalArgumentException("Search query can be at most " + searchConfig.getMaxQueryLength() + " characters");
+        }
+        int pageSize = pageSize(limit);
+        List<MessageView> messages = searchConfig.isFullTextEnabled()
+                ? messageRepository.searchFullText(userId, query.strip(), pageSize)
+                : messageRepository.searchContaining(userId, likePattern(query), Limit.of(pageSize));
+        return withAttachments(messages.stream()
+                .map(messageMapper::toResponse)
+                .map(this::withPendingRead)
+                .toList());
+    }
+
     public List<MessageResponse> getUnreadMessagesForUser(Long userId) {
         User receiver = findUserById(userId);
-        return messageRepository.findByReceiverAndReadIsFalse(receiver).stream()
+        return withAttachments(messageRepository.findByReceiverAndReadIsFalse(receiver).stream()
+                .filter(message -> !readReceipts.isPending(message.getId()))
                 .map(messageMapper::toResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
         
+    /**
+     * @throws UserNotFoundException when no user has the email address
+     */
+    public Long getUserIdByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException(email));
+    }
+
+    private int markIdsAsRead(List<Long> ids) {
+        List<UnreadView> unread = messageRepository.lockUnreadByIdIn(ids);
+        if (unread.isEmpty()) {
+            return 0;
+        }
+        int updated = messageRepository.markReadByIdIn(unread.stream().map(UnreadView::getId).toList());
+        Map<Long, Long> readPerReceiver = unread.stream()
+                .collect(Collectors.groupingBy(UnreadView::getReceiverId, Collectors.counting()));
+        readPerReceiver.forEach(unreadCounters::decrement);
+
+        // Messages from before conversations existed are counted by the backfill instead
+        unread.stream()
+                .filter(message -> message.getConversationId() != null)
+                .collect(Collectors.groupingBy(message -> List.of(message.getConversationId(), message.getReceiverId()),
+                        Collectors.counting()))
+                .forEach((conversationAndReceiver, read) -> conversationService.removeUnread(
+                        conversationAndReceiver.get(0), conversationAndReceiver.get(1), read));
+        return updated;
+    }
+
+    private List<MessageView> findReceivedBefore(Long userId, MessageCursor cursor, int limit) {
+        return messageRepository.findReceivedBefore(userId, cursor.timestamp(), cursor.id(), Limit.of(limit));
+    }
+
+    private List<MessageView> findSentBefore(Long userId, MessageCursor cursor, int limit) {
+        return messageRepository.findSentBefore(userId, cursor.timestamp(), cursor.id(), Limit.of(limit));
+    }
+
+    /**
+     * Merges two newest-first lists into one page, as if the inbox were one list.
+     */
+    private MessagePage toInboxPage(List<MessageView> messages, List<MessageResponse> announcements, int pageSize) {
+        if (announcements.isEmpty()) {
+            return toPage(messages, pageSize);
+        }
+        List<MessageResponse> page = new ArrayList<>(pageSize);
+        MessageCursor last = null;
+        int nextMessage = 0;
+        int nextAnnouncement = 0;
+        while (page.size() < pageSize && (nextMessage < messages.size() || nextAnnouncement < announcements.size())) {
+            MessageView message = nextMessage < messages.size() ? messages.get(nextMessage) : null;
+            MessageResponse announcement = nextAnnouncement < announcements.size() ? announcements.get(nextAnnouncement) : null;
+            if (announcement == null || (message != null && isNewer(message.getTimestamp(), message.getId(),
+                    announcement.getTimestamp(), announcement.getId()))) {
+                page.add(withPendingRead(messageMapper.toResponse(message)));
+                last = new MessageCursor(message.getTimestamp(), message.getId());
+                nextMessage++;
+            } else {
+                page.add(announcement);
+                last = new MessageCursor(announcement.getTimestamp(), announcement.getId());
+                nextAnnouncement++;
+            }
+        }
+        boolean hasMore = nextMessage < messages.size() || nextAnnouncement < announcements.size();
+        return MessagePage.builder()
+                .messages(withAttachments(page))
+                .nextCursor(hasMore ? last.encode() : null)
+                .build();
+    }
+
+    private static boolean isNewer(LocalDateTime timestamp, Long id, LocalDateTime otherTimestamp, Long otherId) {
+        int compared = timestamp.compareTo(otherTimestamp);
+        return compared > 0 || (compared == 0 && id > otherId);
+    }
+
+    private MessagePage toPage(List<MessageView> messages, int pageSize) {
+        boolean hasMore = messages.size() > pageSize;
+        List<MessageView> page = hasMore ? messages.subList(0, pageSize) : messages;
+        String nextCursor = null;
+        if (hasMore) {
+            MessageView last = page.get(page.size() - 1);
+            nextCursor = new MessageCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return MessagePage.builder()
+                .messages(withAttachments(page.stream().map(messageMapper::toResponse).map(this::withPendingRead).toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Shows a message whose read mark is still buffered as read.
+     */
+    private MessageResponse withPendingRead(MessageResponse response) {
+        if (response != null && !response.isRead() && readReceipts.isPending(response.getId())) {
+            response.setRead(true);
+        }
+        return response;
+    }
+
+    /**
+     * Adds the attachment metadata to the messages that have attachments, with
+     * one query for all of them and none when no message has any.
+     */
+    private List<MessageResponse> withAttachments(List<MessageResponse> responses) {
+        List<Long> ids = responses.stream()
+                .filter(response -> response != null && response.getAttachmentCount() > 0)
+                .map(MessageResponse::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return responses;
+        }
+        Map<Long, List<MessageAttachmentResponse>> attachments = attachmentService.getAttachmentsByMessage(ids);
+        for (MessageResponse response : responses) {
+            if (response != null && response.getAttachmentCount() > 0) {
+                response.setAttachments(attachments.getOrDefault(response.getId(), List.of()));
+            }
+        }
+        return responses;
+    }
+
+    static String likePattern(String query) {
+        String escaped = query.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
     private User findUserById(Long userId) {
         return userRepository.findById(userId)
             .orElseThrow(() -> new UserNotFoundException(userId));
@@ -0,0 +1,164 @@
+package com.greentrade.greentrade.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greentrade.greentrade.dto.order.OrderCreateRequest;
+import com.greentrade.greentrade.dto.order.OrderLineRequest;
+import com.greentrade.greentrade.dto.order.OrderResponse;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.exception.order.OrderNotFoundException;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.exception.product.ProductNotFoundException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.OrderMapper;
+import com.greentrade.greentrade.mappers.TransactionMapper;
+import com.greentrade.greentrade.models.Order;
+import com.greentrade.greentrade.models.Product;
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.OrderRepository;
+import com.greentrade.greentrade.repositories.ProductRepository;
+import com.greentrade.greentrade.repositories.TransactionRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+/**
+ * Checks out several products at once. All lines of an order become transactions
+ * in one database transaction: the products are read with one IN query, stock is
+ * reserved once per product, after all of them were found, and the transaction
+ * rows are written as one JDBC batch.
+ */
+@Service
+public class OrderService {
+
+    private static final String INITIAL_STATUS = "PENDING";
+
+    private final OrderRepository orderRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionMapper transactionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
+    private final PurchaseVelocityLimiter velocityLimiter;
+
+    @Autowired
+    public OrderService(
+            OrderRepository orderRepository,
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            OrderMapper orderMapper,
+            TransactionMapper transactionMapper,
+            ApplicationEventPublisher eventPublisher,
+            StockReservationService stockReservationService,
+            PurchaseVelocityLimiter velocityLimiter) {
+        this.orderRepository = orderRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.orderMapper = orderMapper;
+        this.transactionMapper = transactionMapper;
+        this.eventPublisher = eventPublisher;
+        this.stockReservationService = stockReservationService;
+        this.velocityLimiter = velocityLimiter;
+    }
+
+    @Transactional
+    public OrderResponse createOrder(OrderCreateRequest request) {
+        validateOrder(request);
+
+        // Units per product, in the order the products first appear
+        Map<Long, Integer> quantities = request.getLines().stream()
+                .collect(Collectors.toMap(OrderLineRequest::getProductId, line -> 1, Integer::sum, LinkedHashMap::new));
+
+        // Every unit counts towards the limits, also when the order is rejected further on
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            velocityLimiter.checkPurchase(request.getBuyerId(), entry.getKey(), entry.getValue());
+        }
+
+        User buyer = userRepository.findById(request.getBuyerId())
+                .orElseThrow(() -> new UserNotFoundException(request.getBuyerId()));
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!stockReservationService.reserve(products.get(entry.getKey()), entry.getValue())) {
+                throw new InsufficientStockException(entry.getKey());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal totalAmount = request.getLines().stream()
+                .map(OrderLineRequest::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Order order = orderRepository.save(new Order(buyer, totalAmount, request.getLines().size(), INITIAL_STATUS, now));
+
+        List<Transaction> transactions = new ArrayList<>(request.getLines().size());
+        for (OrderLineRequest line : request.getLines()) {
+            Transaction transaction = new Transaction(buyer, products.get(line.getProductId()), line.getAmount(), now, INITIAL_STATUS);
+            transaction.setOrderId(order.getId());
+            transactions.add(transaction);
+        }
+        transactionRepository.insertAll(transactions);
+        transactions.forEach(this::publishCreated);
+
+        return orderMapper.toResponse(order, transactions.stream()
+                .map(transactionMapper::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(Long id) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException(id));
+        return orderMapper.toResponse(order, transactionRepository.findByOrderIdOrderByIdAsc(id).stream()
+                .map(transactionMapper::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    private void validateOrder(OrderCreateRequest request) {
+        if (request.getBuyerId() == null) {
+            throw new IllegalArgumentException("Buyer ID is required");
+        }
+        if (request.getLines() == null || request.getLines().isEmpty()) {
+            throw new IllegalArgumentException("An order needs at least one line");
+        }
+        for (OrderLineRequest line : request.getLines()) {
+            if (line.getProductId() == null) {
+                throw new IllegalArgumentException("Product ID is required");
+            }
+            if (line.getAmount() == null || line.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Amount must be greater than 0");
+            }
+        }
+    }
+
+    private void publishCreated(Transaction transaction) {
+        eventPublisher.publishEvent(new TransactionCreatedEvent(
+                transaction.getId(),
+                transaction.getBuyer().getId(),
+                transaction.getProduct().getId(),
+                transaction.getSeller() != null ? transaction.getSeller().getId() : null,
+                transaction.getAmount(),
+                transaction.getStatus(),
+                transaction.getDate()));
+    }
+}
@@ -0,0 +1,226 @@
+package com.greentrade.greentrade.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.greentrade.greentrade.config.PurchaseVelocityConfig;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+
+/**
+ * Limits how many purchases a buyer, and a product, can get per sliding window,
+ * so bursts of automated purchases are turned away before they reach the
+ * database.
+ *
+ * Each counter keeps the count of the current and the previous fixed window and
+ * estimates the sliding count by weighting the previous one with the part of it
+ * that still overlaps. Counters are spread over shards, each with its own lock and
+ * a bounded LRU map, so a check is one hash, one short critical section and no
+ * allocation for known keys. Keys that have not been used for two windows are
+ * swept; under memory pressure the least recently used are evicted first.
+ */
+@Service
+public class PurchaseVelocityLimiter {
+
+    private final PurchaseVelocityConfig velocityConfig;
+    private final LongSupplier clock;
+    private final SlidingWindowCounter buyers;
+    private final SlidingWindowCounter products;
+
+    @Autowired
+    public PurchaseVelocityLimiter(PurchaseVelocityConfig velocityConfig) {
+        this(velocityConfig, System::currentTimeMillis);
+    }
+
+    PurchaseVelocityLimiter(PurchaseVelocityConfig velocityConfig, LongSupplier clock) {
+        this.velocityConfig = velocityConfig;
+        this.clock = clock;
+        this.buyers = new SlidingWindowCounter(velocityConfig.getWindowMillis(),
+                velocityConfig.getShards(), velocityConfig.getMaxKeysPerShard());
+        this.products = new SlidingWindowCounter(velocityConfig.getWindowMillis(),
+                velocityConfig.getShards(), velocityConfig.getMaxKeysPerShard());
+    }
+
+    /**
+     * Counts a purchase attempt of the buyer for one unit of the product.
+     *
+     * @throws PurchaseVelocityExceededException when the buyer or the product is over its limit
+     */
+    public void checkPurchase(Long buyerId, Long productId) {
+        checkPurchase(buyerId, productId, 1);
+    }
+
+    /**
+     * Counts a purchase attempt of the buyer for a number of units of the product.
+     * The buyer is charged once per purchase, the product once per unit, so a
+     * large quantity cannot get past the product limit in a single purchase.
+     *
+     * @throws PurchaseVelocityExceededException when the buyer or the product is over its limit
+     */
+    public void checkPurchase(Long buyerId, Long productId, int units) {
+        if (!velocityConfig.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long waitMillis = buyers.tryAcquire(buyerId, velocityConfig.getBuyerLimit(), 1, now);
+        if (waitMillis > 0) {
+            throw new PurchaseVelocityExceededException("buyer", buyerId, toSeconds(waitMillis));
+        }
+        waitMillis = products.tryAcquire(productId, velocityConfig.getProductLimit(), units, now);
+        if (waitMillis > 0) {
+            buyers.release(buyerId, 1);  // The attempt did not count against the buyer
+            throw new PurchaseVelocityExceededException("product", productId, toSeconds(waitMillis));
+        }
+    }
+
+    /**
+     * Takes back a purchase attempt that was counted but did not lead to a purchase,
+     * so failed attempts do not use up the allowance of the buyer and the product.
+     */
+    public void releasePurchase(Long buyerId, Long productId) {
+        releasePurchase(buyerId, productId, 1);
+    }
+
+    public void releasePurchase(Long buyerId, Long productId, int units) {
+        if (!velocityConfig.isEnabled()) {
+            return;
+        }
+        buyers.release(buyerId, 1);
+        products.release(productId, units);
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.velocity.sweep-interval:60000}")
+    public void evictIdleKeys() {
+        long now = clock.getAsLong();
+        buyers.evictIdle(now);
+        products.evictIdle(now);
+    }
+
+    int trackedKeys() {
+        return buyers.size() + products.size();
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    static final class SlidingWindowCounter {
+
+        private final long windowMillis;
+        private final Shard[] shards;
+
+        SlidingWindowCounter(long windowMillis, int shardCount, int maxKeysPerShard) {
+            this.windowMillis = Math.max(windowMillis, 1);
+            this.shards = new Shard[Math.max(shardCount, 1)];
+            for (int i = 0; i < shards.length; i++) {
+                shards[i] = new Shard(Math.max(maxKeysPerShard, 1));
+            }
+        }
+
+        /**
+         * Counts a number of events for the key unless that would exceed the limit.
+         *
+         * @return 0 when counted, otherwise the milliseconds until the current window rolls over
+         */
+        long tryAcquire(Long key, int limit, int permits, long now) {
+            Shard shard = shardOf(key);
+            synchronized (shard) {
+                Window window = shard.windows.get(key);
+                if (window == null) {
+                    window = new Window(now);
+                    shard.windows.put(key, window);
+                }
+                window.roll(now, windowMillis);
+                window.lastUsed = now;
+
+                // previous * (remaining overlap / window) + current + permits > limit, in integer math
+                long elapsed = now - window.start;
+                if (window.previous * (windowMillis - elapsed) + (window.current + permits) * windowMillis
+                        > (long) limit * windowMillis) {
+                    return Math.max(windowMillis - elapsed, 1);
+                }
+                window.current += permits;
+                return 0;
+            }
+        }
+
+        void release(Long key, int permits) {
+            Shard shard = shardOf(key);
+            synchronized (shard) {
+                Window window = shard.windows.get(key);
+                if (window != null) {
+                    window.current = Math.max(window.current - permits, 0);
+                }
+            }
+        }
+
+        void evictIdle(long now) {
+            long idleBefore = now - 2 * windowMillis;
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    // Access order: the least recently used keys come first
+                    Iterator<Window> windows = shard.windows.values().iterator();
+                    while (windows.hasNext() && windows.next().lastUsed <= idleBefore) {
+                        windows.remove();
+                    }
+                }
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    size += shard.windows.size();
+                }
+            }
+            return size;
+        }
+
+        private Shard shardOf(Long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return shards[Math.floorMod((int) (mixed ^ (mixed >>> 32)), shards.length)];
+        }
+    }
+
+    private static final class Shard {
+
+        private final Map<Long, Window> windows; // guarded by this
+
+        Shard(int maxKeys) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static final class Window {
+
+        private long start;
+        private long current;
+        private long previous;
+        private long lastUsed;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        void roll(long now, long windowMillis) {
+            long passed = now - start;
+            if (passed < windowMillis) {
+                return;
+            }
+            previous = passed < 2 * windowMillis ? current : 0;
+            current = 0;
+            start = now - passed % windowMillis;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.ReportConfig;
+import com.greentrade.greentrade.dto.report.ReportJobResponse;
+import com.greentrade.greentrade.dto.report.SellerStatementRequest;
+import com.greentrade.greentrade.exception.report.ReportJobNotFoundException;
+import com.greentrade.greentrade.exception.report.ReportNotAllowedException;
+import com.greentrade.greentrade.exception.report.ReportNotReadyException;
+import com.greentrade.greentrade.exception.report.ReportQueueFullException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.ReportJobMapper;
+import com.greentrade.greentrade.models.ReportJob;
+import com.greentrade.greentrade.models.ReportJobStatus;
+import com.greentrade.greentrade.models.Role;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.ReportJobRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs report jobs outside the request thread. Jobs are executed by a small fixed
+ * pool with a bounded queue; when the queue is full a request is refused rather
+ * than left waiting. Progress is written to the job row while the report is being
+ * generated, and the finished file is kept by FileStorageService.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserRepository userRepository;
+    private final SellerStatementService sellerStatementService;
+    private final FileStorageService fileStorageService;
+    private final ReportJobMapper reportJobMapper;
+    private final ReportConfig reportConfig;
+    private final TransactionTemplate separateTransaction;
+    private final ThreadPoolExecutor executor;
+
+    public ReportJobService(
+            ReportJobRepository reportJobRepository,
+            UserRepository userRepository,
+            SellerStatementService sellerStatementService,
+            FileStorageService fileStorageService,
+            ReportJobMapper reportJobMapper,
+            ReportConfig reportConfig,
+            PlatformTransactionManager transactionManager) {
+        this.reportJobRepository = reportJobRepository;
+        this.userRepository = userRepository;
+        this.sellerStatementService = sellerStatementService;
+        this.fileStorageService = fileStorageService;
+        this.reportJobMapper = reportJobMapper;
+        this.reportConfig = reportConfig;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                reportConfig.getPoolSize(), reportConfig.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(reportConfig.getQueueCapacity(), 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @throws ReportNotAllowedException when a seller asks for the statement of another seller
+     */
+    public ReportJobResponse submitSellerStatement(SellerStatementRequest request, String requestedBy) {
+        if (request.getSellerId() == null || request.getMonth() == null) {
+            throw new IllegalArgumentException("Seller ID and month are required");
+        }
+        User requester = findUserByEmail(requestedBy);
+        if (requester.getRole() != Role.ROLE_ADMIN && !requester.getId().equals(request.getSellerId())) {
+            throw new ReportNotAllowedException(request.getSellerId());
+        }
+        if (!userRepository.existsById(request.getSellerId())) {
+            throw new UserNotFoundException(request.getSellerId());
+        }
+
+        ReportJob job = reportJobRepository.save(new ReportJob(
+                ReportJob.SELLER_STATEMENT,
+                request.getSellerId(),
+                request.getMonth().atDay(1),
+                request.getMonth().atEndOfMonth(),
+                requestedBy));
+
+        Long jobId = job.getId();
+        try {
+            executor.execute(() -> runSellerStatement(jobId));
+        } catch (RejectedExecutionException e) {
+            markFailed(job, "Report queue is full");
+            throw new ReportQueueFullException();
+        }
+        return reportJobMapper.toResponse(job);
+    }
+
+    /**
+     * @throws ReportJobNotFoundException when there is no such job for the user
+     */
+    public ReportJobResponse getJob(Long id, String userEmail) {
+        return reportJobMapper.toResponse(findVisibleJob(id, userEmail));
+    }
+
+    /**
+     * @throws ReportJobNotFoundException when there is no such job for the user
+     */
+    public Resource loadReport(Long id, String userEmail) {
+        ReportJob job = findVisibleJob(id, userEmail);
+        if (job.getStatus() != ReportJobStatus.COMPLETED || job.getFileName() == null) {
+            throw new ReportNotReadyException(id, job.getStatus().name());
+        }
+        return fileStorageService.loadFileAsResource(job.getFileName());
+    }
+
+    /**
+     * Jobs that were queued or running when the application stopped will never finish.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int failed = reportJobRepository.failAll(
+                List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING),
+                ReportJobStatus.FAILED,
+                "Interrupted by an application restart",
+                LocalDateTime.now());
+        if (failed > 0) {
+            logger.info("Marked {} interrupted report jobs as failed", failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void runSellerStatement(Long jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotalRows(sellerStatementService.countTransactions(job));
+            job = reportJobRepository.save(job);
+
+            ReportJob runningJob = job;
+            long[] written = new long[1];
+            String fileName = fileStorageService.storeGeneratedFile("csv", outputStream ->
+                    written[0] = sellerStatementService.writeStatement(
+                            runningJob, outputStream, reportConfig.getProgressInterval(),
+                            processed -> separateTransaction.executeWithoutResult(
+                                    status -> reportJobRepository.updateProgress(jobId, processed))));
+
+            job.setFileName(fileName);
+            job.setProcessedRows(written[0]);
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+        } catch (RuntimeException e) {
+            logger.error("Report job {} failed", jobId, e);
+            markFailed(job, e.getMessage());
+        }
+    }
+
+    private void markFailed(ReportJob job, String message) {
+        String error = String.valueOf(message);
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setErrorMessage(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        job.setCompletedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+
+    /**
+     * A job is only visible to the user who requested it, the seller it is about and admins.
+     */
+    private ReportJob findVisibleJob(Long id, String userEmail) {
+        ReportJob job = reportJobRepository.findById(id)
+                .orElseThrow(() -> new ReportJobNotFoundException(id));
+        User user = findUserByEmail(userEmail);
+        if (user.getRole() != Role.ROLE_ADMIN
+                && !user.getEmail().equals(job.getRequestedBy())
+                && !user.getId().equals(job.getSellerId())) {
+            throw new ReportJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    private User findUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+    }
+}
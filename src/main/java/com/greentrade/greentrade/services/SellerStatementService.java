@@ -0,0 +1,221 @@
+package com.greentrade.greentrade.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.models.ReportJob;
+
+/**
+ * Computes the monthly statement of a seller: every transaction of the period,
+ * a summary per product including its reviews, and totals per status. The
+ * transactions are read with a forward-only cursor and written as they arrive,
+ * so only the per-product totals are kept in memory.
+ */
+@Service
+public class SellerStatementService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String TRANSACTION_COLUMNS =
+            "SELECT t.id, t.date, t.status, t.amount, t.buyer_id, t.product_id, p.name AS product_name ";
+
+    private static final String TRANSACTION_FILTER =
+            "JOIN products p ON p.id = t.product_id "
+            + "WHERE t.seller_id = ? AND t.date >= ? AND t.date < ? "
+            + "ORDER BY t.date, t.id";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionPartitionService partitionService;
+
+    public SellerStatementService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            TransactionPartitionService partitionService) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partitionService = partitionService;
+    }
+
+    public long countTransactions(ReportJob job) {
+        LocalDateTime start = job.getPeriodStart().atStartOfDay();
+        LocalDateTime end = job.getPeriodEnd().plusDays(1).atStartOfDay();
+        Long count = cursorJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + transactionSource(start) + " t "
+                        + "WHERE t.seller_id = ? AND t.date >= ? AND t.date < ?",
+                Long.class, job.getSellerId(), start, end);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Writes the statement as CSV and reports the number of transactions written
+     * every {@code progressInterval} rows.
+     *
+     * @return the number of transactions in the statement
+     */
+    public long writeStatement(ReportJob job, OutputStream outputStream, int progressInterval, LongConsumer progress)
+            throws IOException {
+        LocalDateTime start = job.getPeriodStart().atStartOfDay();
+        LocalDateTime end = job.getPeriodEnd().plusDays(1).atStartOfDay();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        writer.write("# Seller statement\n");
+        writer.write("seller_id," + job.getSellerId() + "\n");
+        writer.write("period," + job.getPeriodStart() + "," + job.getPeriodEnd() + "\n\n");
+
+        Map<Long, ProductTotals> products = loadProducts(job.getSellerId());
+        Map<String, StatusTotals> statuses = new TreeMap<>();
+        long[] rows = new long[1];
+        int interval = Math.max(progressInterval, 1);
+
+        writer.write("# Transactions\n");
+        writer.write("transaction_id,date,status,product_id,product_name,buyer_id,amount\n");
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(
+                    TRANSACTION_COLUMNS + "FROM " + transactionSource(start) + " t " + TRANSACTION_FILTER,
+                    (RowCallbackHandler) rs -> {
+                        writeTransaction(rs, writer, products, statuses);
+                        if (++rows[0] % interval == 0) {
+                            progress.accept(rows[0]);
+                        }
+                    },
+                    job.getSellerId(), start, end));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        progress.accept(rows[0]);
+
+        addReviews(job.getSellerId(), start, end, products);
+
+        writer.write("\n# Products\n");
+        writer.write("product_id,product_name,transactions,completed_amount,refunded_amount,reviews,average_score\n");
+        for (Map.Entry<Long, ProductTotals> entry : products.entrySet()) {
+            ProductTotals totals = entry.getValue();
+            writer.write(entry.getKey() + "," + TransactionExportService.escape(totals.name) + ","
+                    + totals.transactions + "," + totals.completedAmount.toPlainString() + ","
+                    + totals.refundedAmount.toPlainString() + "," + totals.reviews + ","
+                    + (totals.reviews > 0 ? totals.averageScore.toPlainString() : "") + "\n");
+        }
+
+        writer.write("\n# Totals\n");
+        writer.write("status,transactions,amount\n");
+        for (Map.Entry<String, StatusTotals> entry : statuses.entrySet()) {
+            writer.write(TransactionExportService.escape(entry.getKey()) + "," + entry.getValue().transactions + ","
+                    + entry.getValue().amount.toPlainString() + "\n");
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    private Map<Long, ProductTotals> loadProducts(Long sellerId) {
+        Map<Long, ProductTotals> products = new LinkedHashMap<>();
+        cursorJdbcTemplate.query("SELECT id, name FROM products WHERE seller_id = ? ORDER BY id",
+                (RowCallbackHandler) rs -> products.put(rs.getLong("id"), new ProductTotals(rs.getString("name"))),
+                sellerId);
+        return products;
+    }
+
+    private void addReviews(Long sellerId, LocalDateTime start, LocalDateTime end, Map<Long, ProductTotals> products) {
+        cursorJdbcTemplate.query(
+                "SELECT r.product_id, COUNT(*) AS reviews, AVG(CAST(r.score AS DECIMAL(10, 4))) AS average_score "
+                        + "FROM reviews r JOIN products p ON p.id = r.product_id "
+                        + "WHERE p.seller_id = ? AND r.date >= ? AND r.date < ? "
+                        + "GROUP BY r.product_id",
+                (RowCallbackHandler) rs -> {
+                    ProductTotals totals = products.get(rs.getLong("product_id"));
+                    if (totals != null) {
+                        totals.reviews = rs.getLong("reviews");
+                        totals.averageScore = rs.getBigDecimal("average_score").setScale(2, RoundingMode.HALF_UP);
+                    }
+                },
+                sellerId, start, end);
+    }
+
+    private void writeTransaction(ResultSet rs, Writer writer, Map<Long, ProductTotals> products,
+            Map<String, StatusTotals> statuses) throws SQLException {
+        long productId = rs.getLong("product_id");
+        String productName = rs.getString("product_name");
+        String status = rs.getString("status");
+        BigDecimal amount = rs.getBigDecimal("amount");
+
+        ProductTotals productTotals = products.computeIfAbsent(productId, id -> new ProductTotals(productName));
+        productTotals.transactions++;
+        if ("COMPLETED".equalsIgnoreCase(status)) {
+            productTotals.completedAmount = productTotals.completedAmount.add(amount);
+        } else if ("REFUNDED".equalsIgnoreCase(status)) {
+            productTotals.refundedAmount = productTotals.refundedAmount.add(amount);
+        }
+        StatusTotals statusTotals = statuses.computeIfAbsent(status, key -> new StatusTotals());
+        statusTotals.transactions++;
+        statusTotals.amount = statusTotals.amount.add(amount);
+
+        try {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(rs.getTimestamp("date").toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(TransactionExportService.escape(status));
+            writer.write(',');
+            writer.write(Long.toString(productId));
+            writer.write(',');
+            writer.write(TransactionExportService.escape(productName));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("buyer_id")));
+            writer.write(',');
+            writer.write(amount.toPlainString());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String transactionSource(LocalDateTime start) {
+        if (partitionService.isEnabled() && start.isBefore(partitionService.getArchiveCutoff())) {
+            return "(SELECT * FROM transactions UNION ALL SELECT * FROM " + TransactionPartitionService.ARCHIVE_TABLE + ")";
+        }
+        return "transactions";
+    }
+
+    private static final class ProductTotals {
+        private final String name;
+        private long transactions;
+        private BigDecimal completedAmount = BigDecimal.ZERO;
+        private BigDecimal refundedAmount = BigDecimal.ZERO;
+        private long reviews;
+        private BigDecimal averageScore = BigDecimal.ZERO;
+
+        private ProductTotals(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class StatusTotals {
+        private long transactions;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
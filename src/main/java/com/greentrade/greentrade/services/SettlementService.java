@@ -0,0 +1,202 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.greentrade.greentrade.config.SettlementConfig;
+import com.greentrade.greentrade.dto.settlement.SettlementResponse;
+import com.greentrade.greentrade.dto.settlement.SettlementRunResponse;
+import com.greentrade.greentrade.exception.settlement.SettlementRunInProgressException;
+import com.greentrade.greentrade.exception.settlement.SettlementRunNotFoundException;
+import com.greentrade.greentrade.mappers.SettlementMapper;
+import com.greentrade.greentrade.models.SettlementRun;
+import com.greentrade.greentrade.models.SettlementRunStatus;
+import com.greentrade.greentrade.repositories.SettlementRepository;
+import com.greentrade.greentrade.repositories.SettlementRunRepository;
+import com.greentrade.greentrade.settlement.SellerSettlementTask;
+import com.greentrade.greentrade.settlement.SettlementBatchProcessor;
+import com.greentrade.greentrade.settlement.SettlementTotals;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pays out completed transactions to their sellers. A run settles everything
+ * dated before its cutoff: the sellers with unsettled transactions are split
+ * over a fork-join pool and settled in batches that each commit on their own.
+ * Settled transactions carry their settlement, so a run that was interrupted
+ * is resumed with the sellers that are still open instead of starting over.
+ */
+@Service
+public class SettlementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SettlementService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Live table only: a month is not archived while it has completed transactions that were not settled
+    private static final String OPEN_SELLERS_SQL = "SELECT DISTINCT seller_id FROM transactions "
+            + "WHERE UPPER(status) = 'COMPLETED' AND settlement_id IS NULL AND date < ? AND seller_id IS NOT NULL "
+            + "ORDER BY seller_id";
+
+    private final SettlementRunRepository runRepository;
+    private final SettlementRepository settlementRepository;
+    private final SettlementBatchProcessor batchProcessor;
+    private final SettlementMapper settlementMapper;
+    private final SettlementConfig settlementConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SettlementService(
+            SettlementRunRepository runRepository,
+            SettlementRepository settlementRepository,
+            SettlementBatchProcessor batchProcessor,
+            SettlementMapper settlementMapper,
+            SettlementConfig settlementConfig,
+            JdbcTemplate jdbcTemplate) {
+        this.runRepository = runRepository;
+        this.settlementRepository = settlementRepository;
+        this.batchProcessor = batchProcessor;
+        this.settlementMapper = settlementMapper;
+        this.settlementConfig = settlementConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(Math.max(settlementConfig.getParallelism(), 1),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("settlement-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null, false);
+    }
+
+    @Scheduled(cron = "${settlement.cron:0 30 1 * * *}")
+    public void runNightly() {
+        if (!settlementConfig.isEnabled()) {
+            return;
+        }
+        try {
+            startRun();
+        } catch (SettlementRunInProgressException e) {
+            logger.info("Skipping nightly settlement, a run is still in progress");
+        }
+    }
+
+    /**
+     * A run that was still running when the application stopped is picked up where it was.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (settlementConfig.isEnabled() && runRepository.findFirstByStatusOrderByIdDesc(SettlementRunStatus.RUNNING).isPresent()) {
+            startRun();
+        }
+    }
+
+    /**
+     * Starts settling in the background, resuming the open run if there is one.
+     *
+     * @throws SettlementRunInProgressException when this instance is already settling
+     */
+    public SettlementRunResponse startRun() {
+        if (!running.compareAndSet(false, true)) {
+            throw new SettlementRunInProgressException();
+        }
+        try {
+            SettlementRun run = runRepository.findFirstByStatusOrderByIdDesc(SettlementRunStatus.RUNNING)
+                    .orElseGet(() -> runRepository.save(
+                            new SettlementRun(LocalDate.now().atStartOfDay(), LocalDateTime.now())));
+            if (run.getSettledSellers() > 0) {
+                logger.info("Resuming settlement run {} after {} settled sellers", run.getId(), run.getSettledSellers());
+            }
+            Long runId = run.getId();
+            LocalDateTime cutoff = run.getCutoff();
+            pool.execute(() -> execute(runId, cutoff));
+            return settlementMapper.toResponse(run);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public SettlementRunResponse getRun(Long id) {
+        return settlementMapper.toResponse(findRun(id));
+    }
+
+    public List<SettlementResponse> getSellerSettlements(Long sellerId) {
+        return settlementRepository.findTop50BySellerIdOrderByIdDesc(sellerId).stream()
+                .map(settlementMapper::toResponse)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    void execute(Long runId, LocalDateTime cutoff) {
+        try {
+            long[] sellerIds = jdbcTemplate.queryForList(OPEN_SELLERS_SQL, Long.class, cutoff).stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+
+            SettlementRun run = findRun(runId);
+            run.setSellerCount(run.getSettledSellers() + sellerIds.length);
+            run.setFailedSellers(0);
+            runRepository.save(run);
+
+            long started = System.nanoTime();
+            // Already on a pool thread, so the task forks into the same pool
+            SettlementTotals totals = new SellerSettlementTask(sellerIds, settlementConfig.getSellersPerBatch(),
+                    batch -> batchProcessor.settle(runId, cutoff, batch)).invoke();
+
+            // The batches updated the counters in the database
+            run = findRun(runId);
+            run.setFailedSellers(totals.failedSellers());
+            run.setStatus(totals.failedSellers() > 0 ? SettlementRunStatus.FAILED : SettlementRunStatus.COMPLETED);
+            if (totals.failedSellers() > 0) {
+                run.setErrorMessage(totals.failedSellers() + " sellers could not be settled and stay open for the next run");
+            }
+            run.setCompletedAt(LocalDateTime.now());
+            runRepository.save(run);
+            logger.info("Settlement run {} settled {} sellers and {} transactions in {} ms ({} failed)",
+                    runId, totals.settledSellers(), totals.transactions(),
+                    (System.nanoTime() - started) / 1_000_000, totals.failedSellers());
+        } catch (RuntimeException e) {
+            logger.error("Settlement run {} failed", runId, e);
+            markFailed(runId, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void markFailed(Long runId, String message) {
+        try {
+            runRepository.findById(runId).ifPresent(run -> {
+                String error = String.valueOf(message);
+                run.setStatus(SettlementRunStatus.FAILED);
+                run.setErrorMessage(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                run.setCompletedAt(LocalDateTime.now());
+                runRepository.save(run);
+            });
+        } catch (RuntimeException e) {
+            // Left RUNNING, so it is resumed on the next start
+            logger.warn("Could not mark settlement run {} as failed", runId, e);
+        }
+    }
+
+    private SettlementRun findRun(Long id) {
+        return runRepository.findById(id)
+                .orElseThrow(() -> new SettlementRunNotFoundException(id));
+    }
+}
@@ -0,0 +1,235 @@
+package com.greentrade.greentrade.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.StockReservationConfig;
+import com.greentrade.greentrade.models.Product;
+import com.greentrade.greentrade.repositories.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reserves product stock for purchases.
+ *
+ * By default every reservation is one conditional decrement on the product row,
+ * which never oversells but makes concurrent buyers of the same product queue on
+ * that row. With the buffer enabled, units are claimed from the database in blocks
+ * and handed out from striped in-memory counters, so a flash sale touches the row
+ * once per block. Leftover units go back to the database when an allotment has been
+ * idle for a while and on shutdown; after a crash they are lost, which under-reports
+ * stock but never oversells it.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ProductRepository productRepository;
+    private final StockReservationConfig reservationConfig;
+    private final TransactionTemplate separateTransaction;
+    private final Map<Long, Allotment> allotments = new ConcurrentHashMap<>();
+
+    public StockReservationService(
+            ProductRepository productRepository,
+            StockReservationConfig reservationConfig,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.reservationConfig = reservationConfig;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes {@code quantity} units of the product. Must run inside the transaction
+     * that records the purchase; if it rolls back, buffered units are handed back.
+     *
+     * @return false when there is not enough stock
+     */
+    public boolean reserve(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        if (product.getStockQuantity() == null) {
+            return true;  // Stock is not tracked for this product
+        }
+        if (!reservationConfig.isBufferEnabled()) {
+            return productRepository.decrementStock(product.getId(), quantity) == 1;
+        }
+
+        Long productId = product.getId();
+        while (true) {
+            Allotment allotment = allotments.computeIfAbsent(productId, id -> new Allotment(reservationConfig.getStripes()));
+            allotment.touch();
+            if (allotment.tryTake(quantity)) {
+                releaseOnRollback(productId, quantity);
+                return true;
+            }
+            synchronized (allotment) {
+                if (allotment.retired) {
+                    continue;  // Flushed in the meantime; use the replacement
+                }
+                if (allotment.tryTake(quantity)) {
+                    releaseOnRollback(productId, quantity);
+                    return true;
+                }
+                int claimed = claimFromDatabase(productId, quantity);
+                if (claimed == 0) {
+                    return false;
+                }
+                allotment.give(claimed - quantity);
+                releaseOnRollback(productId, quantity);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns buffered units of allotments that were not used recently.
+     */
+    @Scheduled(fixedDelayString = "${products.stock.reservation.flush-interval:5000}")
+    public void flushIdleAllotments() {
+        long idleSince = System.currentTimeMillis() - reservationConfig.getIdleFlushMillis();
+        allotments.forEach((productId, allotment) -> {
+            if (allotment.lastUsed <= idleSince) {
+                flush(productId, allotment);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        allotments.forEach(this::flush);
+    }
+
+    int bufferedUnits(Long productId) {
+        Allotment allotment = allotments.get(productId);
+        return allotment == null ? 0 : allotment.available();
+    }
+
+    private int claimFromDatabase(Long productId, int quantity) {
+        // Own transaction, so the product row is only locked for the claim itself
+        int block = Math.max(reservationConfig.getBlockSize(), quantity);
+        Integer claimed = separateTransaction.execute(status -> {
+            if (productRepository.decrementStock(productId, block) == 1) {
+                return block;
+            }
+            // Less than a block left: take just what this purchase needs
+            return productRepository.decrementStock(productId, quantity) == 1 ? quantity : 0;
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private void flush(Long productId, Allotment allotment) {
+        int leftover;
+        synchronized (allotment) {
+            allotment.retired = true;
+            allotments.remove(productId, allotment);
+            leftover = allotment.drain();
+        }
+        if (leftover > 0) {
+            separateTransaction.executeWithoutResult(status -> productRepository.incrementStock(productId, leftover));
+            logger.debug("Returned {} buffered units of product {} to stock", leftover, productId);
+        }
+    }
+
+    private void releaseOnRollback(Long productId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    giveBack(productId, quantity);
+                }
+            }
+        });
+    }
+
+    private void giveBack(Long productId, int quantity) {
+        while (true) {
+            Allotment allotment = allotments.computeIfAbsent(productId, id -> new Allotment(reservationConfig.getStripes()));
+            synchronized (allotment) {
+                if (!allotment.retired) {
+                    allotment.give(quantity);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Units of one product that were claimed from the database but not sold yet,
+     * spread over a few counters so concurrent buyers rarely retry the same CAS.
+     */
+    static final class Allotment {
+
+        private final AtomicInteger[] stripes;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private boolean retired; // guarded by this
+
+        Allotment(int stripeCount) {
+            stripes = new AtomicInteger[Math.max(stripeCount, 1)];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new AtomicInteger();
+            }
+        }
+
+        void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        boolean tryTake(int quantity) {
+            int start = homeStripe();
+            for (int i = 0; i < stripes.length; i++) {
+                AtomicInteger stripe = stripes[(start + i) % stripes.length];
+                int available = stripe.get();
+                while (available >= quantity) {
+                    if (stripe.compareAndSet(available, available - quantity)) {
+                        return true;
+                    }
+                    available = stripe.get();
+                }
+            }
+            return false;
+        }
+
+        void give(int quantity) {
+            if (quantity > 0) {
+                stripes[homeStripe()].addAndGet(quantity);
+            }
+        }
+
+        int drain() {
+            int total = 0;
+            for (AtomicInteger stripe : stripes) {
+                total += stripe.getAndSet(0);
+            }
+            return total;
+        }
+
+        int available() {
+            int total = 0;
+            for (AtomicInteger stripe : stripes) {
+                total += stripe.get();
+            }
+            return total;
+        }
+
+        private int homeStripe() {
+            return (int) (Thread.currentThread().threadId() % stripes.length);
+        }
+    }
+}
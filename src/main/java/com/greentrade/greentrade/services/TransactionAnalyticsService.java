@@ -0,0 +1,250 @@
+package com.greentrade.greentrade.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.analytics.AnalyticsDimension;
+import com.greentrade.greentrade.analytics.AnalyticsQuery;
+import com.greentrade.greentrade.analytics.AnalyticsResult;
+import com.greentrade.greentrade.analytics.TransactionColumnStore;
+import com.greentrade.greentrade.config.AnalyticsConfig;
+import com.greentrade.greentrade.dto.analytics.AnalyticsStoreStatus;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsGroup;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsRequest;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsResponse;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionDeletedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Answers admin analytics queries from an in-memory {@link TransactionColumnStore}
+ * instead of the database. The store is loaded once at startup and then kept up
+ * to date from the events TransactionService publishes after commit. Events that
+ * arrive while a (re)load is running are replayed on the loaded columns, so none
+ * are lost to the swap.
+ */
+@Service
+public class TransactionAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAnalyticsService.class);
+    private static final int FETCH_SIZE = 5000;
+    private static final int DEFAULT_LIMIT = 1000;
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionPartitionService partitionService;
+    private final AnalyticsConfig analyticsConfig;
+    private final TransactionColumnStore store;
+
+    private final Object pendingLock = new Object();
+    private List<Object> pendingEvents; // guarded by pendingLock, non-null while loading
+    private volatile LocalDateTime loadedAt;
+
+    public TransactionAnalyticsService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            TransactionPartitionService partitionService,
+            AnalyticsConfig analyticsConfig) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partitionService = partitionService;
+        this.analyticsConfig = analyticsConfig;
+        int parallelism = analyticsConfig.getParallelism() > 0
+                ? analyticsConfig.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.store = new TransactionColumnStore(parallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (analyticsConfig.isEnabled()) {
+            reload();
+        }
+    }
+
+    /**
+     * Reads all transactions into new columns and swaps them in.
+     */
+    public synchronized AnalyticsStoreStatus reload() {
+        synchronized (pendingLock) {
+            pendingEvents = new ArrayList<>();
+        }
+
+        TransactionColumnStore.Columns loaded = TransactionColumnStore.newColumns();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(
+                    "SELECT id, amount, date, status, buyer_id, seller_id, product_id FROM " + transactionSource(),
+                    (RowCallbackHandler) rs -> loaded.append(
+                            rs.getLong("id"),
+                            toCents(rs.getBigDecimal("amount")),
+                            rs.getTimestamp("date").toLocalDateTime().toLocalDate(),
+                            rs.getString("status"),
+                            rs.getObject("buyer_id", Long.class),
+                            rs.getObject("seller_id", Long.class),
+                            rs.getObject("product_id", Long.class))));
+        } catch (RuntimeException e) {
+            synchronized (pendingLock) {
+                pendingEvents = null;
+            }
+            throw e;
+        }
+
+        store.replace(loaded, columns -> {
+            synchronized (pendingLock) {
+                for (Object event : pendingEvents) {
+                    apply(columns, event);
+                }
+                pendingEvents = null;
+            }
+        });
+        loadedAt = LocalDateTime.now();
+        logger.info("Loaded {} transactions into the analytics store", loaded.size());
+        return getStatus();
+    }
+
+    public AnalyticsStoreStatus getStatus() {
+        boolean loading;
+        synchronized (pendingLock) {
+            loading = pendingEvents != null;
+        }
+        return AnalyticsStoreStatus.builder()
+                .rows(store.size())
+                .loading(loading)
+                .loadedAt(loadedAt)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionDeleted(TransactionDeletedEvent event) {
+        onEvent(event);
+    }
+
+    public TransactionAnalyticsResponse query(TransactionAnalyticsRequest request) {
+        if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        List<AnalyticsDimension> groupBy = request.getGroupBy() != null ? request.getGroupBy() : List.of();
+        if (new HashSet<>(groupBy).size() != groupBy.size()) {
+            throw new IllegalArgumentException("A dimension can only be grouped on once");
+        }
+
+        AnalyticsQuery query = new AnalyticsQuery(
+                groupBy,
+                request.getFrom(),
+                request.getTo(),
+                request.getStatuses() != null ? new HashSet<>(request.getStatuses()) : null,
+                request.getSellerIds() != null ? new HashSet<>(request.getSellerIds()) : null,
+                request.getBuyerIds() != null ? new HashSet<>(request.getBuyerIds()) : null,
+                request.getProductIds() != null ? new HashSet<>(request.getProductIds()) : null,
+                request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT);
+
+        long started = System.nanoTime();
+        AnalyticsResult result = store.query(query);
+        long tookMillis = (System.nanoTime() - started) / 1_000_000;
+
+        List<TransactionAnalyticsGroup> groups = new ArrayList<>(result.getGroups().size());
+        for (AnalyticsResult.Group group : result.getGroups()) {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int d = 0; d < groupBy.size(); d++) {
+                keys.put(groupBy.get(d).name().toLowerCase(), group.getKeys().get(d));
+            }
+            BigDecimal total = BigDecimal.valueOf(group.getAmountCents(), 2);
+            groups.add(TransactionAnalyticsGroup.builder()
+                    .keys(keys)
+                    .count(group.getCount())
+                    .totalAmount(total)
+                    .averageAmount(group.getCount() > 0
+                            ? total.divide(BigDecimal.valueOf(group.getCount()), 2, RoundingMode.HALF_UP)
+                            : BigDecimal.ZERO)
+                    .build());
+        }
+
+        return TransactionAnalyticsResponse.builder()
+                .scannedRows(result.getScannedRows())
+                .matchedRows(result.getMatchedRows())
+                .totalGroups(result.getTotalGroups())
+                .tookMillis(tookMillis)
+                .groups(groups)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        store.shutdown();
+    }
+
+    private void onEvent(Object event) {
+        synchronized (pendingLock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        }
+        // Applying an event twice is harmless: appends skip known ids, statuses are overwritten
+        // and removing an unknown id does nothing
+        if (event instanceof TransactionCreatedEvent created) {
+            store.append(created.getTransactionId(), toCents(created.getAmount()),
+                    created.getDate().toLocalDate(), created.getStatus(),
+                    created.getBuyerId(), created.getSellerId(), created.getProductId());
+        } else if (event instanceof TransactionStatusChangedEvent changed) {
+            store.updateStatus(changed.getTransactionId(), changed.getNewStatus());
+        } else if (event instanceof TransactionDeletedEvent deleted) {
+            store.remove(deleted.getTransactionId());
+        }
+    }
+
+    private static void apply(TransactionColumnStore.Columns columns, Object event) {
+        if (event instanceof TransactionCreatedEvent created) {
+            columns.append(created.getTransactionId(), toCents(created.getAmount()),
+                    created.getDate().toLocalDate(), created.getStatus(),
+                    created.getBuyerId(), created.getSellerId(), created.getProductId());
+        } else if (event instanceof TransactionStatusChangedEvent changed) {
+            columns.updateStatus(changed.getTransactionId(), changed.getNewStatus());
+        } else if (event instanceof TransactionDeletedEvent deleted) {
+            columns.remove(deleted.getTransactionId());
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private String transactionSource() {
+        if (partitionService.isEnabled()) {
+            return "(SELECT * FROM transactions UNION ALL SELECT * FROM " + TransactionPartitionService.ARCHIVE_TABLE + ") t";
+        }
+        return "transactions";
+    }
+}
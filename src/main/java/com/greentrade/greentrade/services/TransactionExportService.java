@@ -0,0 +1,151 @@
+package com.greentrade.greentrade.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams transactions of a period as CSV for bookkeeping. Rows are read with a
+ * forward-only cursor and written straight to the response, so memory use does
+ * not depend on the size of the period.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER =
+            "transaction_id,date,status,amount,buyer_id,buyer_name,buyer_email,product_id,product_name,seller_id,seller_name";
+
+    private static final String EXPORT_COLUMNS =
+            "SELECT t.id, t.date, t.status, t.amount, "
+            + "b.id AS buyer_id, b.name AS buyer_name, b.email AS buyer_email, "
+            + "p.id AS product_id, p.name AS product_name, "
+            + "s.id AS seller_id, s.name AS seller_name ";
+
+    private static final String EXPORT_JOINS =
+            "JOIN users b ON b.id = t.buyer_id "
+            + "JOIN products p ON p.id = t.product_id "
+            + "JOIN users s ON s.id = t.seller_id "
+            + "WHERE t.date >= ? AND t.date < ? "
+            + "ORDER BY t.date, t.id";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionPartitionService partitionService;
+
+    public TransactionExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            TransactionPartitionService partitionService) {
+        // PostgreSQL only streams with a fetch size inside a transaction
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partitionService = partitionService;
+    }
+
+    public void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and end dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
+
+    /**
+     * Writes all transactions from {@code from} up to and including {@code to} as CSV.
+     */
+    public void writeCsv(LocalDate from, LocalDate to, boolean gzip, OutputStream outputStream) throws IOException {
+        validatePeriod(from, to);
+
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(exportQuery(start), (RowCallbackHandler) rs -> writeRow(rs, writer), start, end));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+    }
+
+    private String exportQuery(LocalDateTime start) {
+        if (partitionService.isEnabled() && start.isBefore(partitionService.getArchiveCutoff())) {
+            return EXPORT_COLUMNS
+                    + "FROM (SELECT * FROM transactions UNION ALL SELECT * FROM "
+                    + TransactionPartitionService.ARCHIVE_TABLE + ") t "
+                    + EXPORT_JOINS;
+        }
+        return EXPORT_COLUMNS + "FROM transactions t " + EXPORT_JOINS;
+    }
+
+    private void writeRow(ResultSet rs, Writer writer) throws SQLException {
+        try {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(rs.getTimestamp("date").toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(escape(rs.getString("status")));
+            writer.write(',');
+            writer.write(rs.getBigDecimal("amount").toPlainString());
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("buyer_id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("buyer_name")));
+            writer.write(',');
+            writer.write(escape(rs.getString("buyer_email")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("product_id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("product_name")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("seller_id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("seller_name")));
+            writer.write('\n');
+        } catch (IOException e) {
+            // Client went away; stop reading the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,177 @@
+package com.greentrade.greentrade.services;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.TransactionPartitionConfig;
+
+/**
+ * Maintains the monthly partitions of the transactions table (PostgreSQL only).
+ * Upcoming months get their own partition ahead of time; months older than the
+ * hot window are detached and moved to the archive schema once every completed
+ * transaction in them has been settled, because settlement runs only read the
+ * live table.
+ */
+@Service
+public class TransactionPartitionService {
+
+    public static final String ARCHIVE_TABLE = "archive.transactions";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+    private static final String PARTITION_PREFIX = "transactions_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPartitionConfig partitionConfig;
+
+    public TransactionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TransactionPartitionConfig partitionConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionConfig = partitionConfig;
+    }
+
+    public boolean isEnabled() {
+        return partitionConfig.isEnabled();
+    }
+
+    /**
+     * Start of the oldest month that is still kept in the live table. Older rows
+     * may live in the archive schema.
+     */
+    public LocalDateTime getArchiveCutoff() {
+        return oldestHotMonth().atDay(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializePartitions() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${transactions.partitioning.maintenance-cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        if (!partitionConfig.isEnabled()) {
+            return;
+        }
+
+        YearMonth oldestHotMonth = oldestHotMonth();
+        YearMonth lastMonth = YearMonth.now().plusMonths(partitionConfig.getMonthsAhead());
+        for (YearMonth month = oldestHotMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            ensurePartition(month);
+        }
+
+        // Rows that predate the partitions (e.g. imported data) first get a partition of their own
+        List<Date> defaultMonths = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', \"date\") AS date) FROM transactions_default WHERE \"date\" < ?",
+                Date.class, getArchiveCutoff());
+        for (Date month : defaultMonths) {
+            ensurePartition(YearMonth.from(month.toLocalDate()));
+        }
+
+        for (String partition : listPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestHotMonth)) {
+                archivePartition(partition, month);
+            }
+        }
+    }
+
+    /**
+     * Creates the partition for the given month. Rows of that month that were stored
+     * in the default partition are moved into the new partition.
+     */
+    public void ensurePartition(YearMonth month) {
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String bounds = "FOR VALUES FROM ('" + from.toLocalDate() + "') TO ('" + to.toLocalDate() + "')";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean hasDefaultRows = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM transactions_default WHERE \"date\" >= ? AND \"date\" < ?)",
+                    Boolean.class, from, to);
+
+            if (Boolean.TRUE.equals(hasDefaultRows)) {
+                // A partition cannot be added while the default partition holds rows for its range
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION transactions_default");
+                jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF transactions " + bounds);
+                jdbcTemplate.update("INSERT INTO " + partition
+                        + " SELECT * FROM transactions_default WHERE \"date\" >= ? AND \"date\" < ?", from, to);
+                jdbcTemplate.update("DELETE FROM transactions_default WHERE \"date\" >= ? AND \"date\" < ?", from, to);
+                jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION transactions_default DEFAULT");
+            } else {
+                jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF transactions " + bounds);
+            }
+        });
+        logger.info("Created transaction partition {}", partition);
+    }
+
+    private void archivePartition(String partition, YearMonth month) {
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+
+        Boolean archived = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+            // Checked after the detach, which locks the partition, so nothing can complete in between
+            Boolean unsettled = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition
+                    + " WHERE UPPER(status) = 'COMPLETED' AND settlement_id IS NULL AND seller_id IS NOT NULL)",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(unsettled)) {
+                status.setRollbackOnly();
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA archive");
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " ATTACH PARTITION archive." + partition + " " + bounds);
+            return true;
+        });
+        if (Boolean.TRUE.equals(archived)) {
+            logger.info("Moved transaction partition {} to the archive schema", partition);
+        } else {
+            logger.info("Keeping transaction partition {} until its completed transactions are settled", partition);
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits "
+                        + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                        + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                        + "WHERE parent.oid = to_regclass('transactions')",
+                String.class);
+    }
+
+    private YearMonth oldestHotMonth() {
+        return YearMonth.now().minusMonths(Math.max(partitionConfig.getHotMonths(), 1) - 1L);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,76 @@
+package com.greentrade.greentrade.services;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills transactions.seller_id for rows written before the column existed, copying
+ * the seller of the product. Runs in id ranges, each in its own transaction, so
+ * a large table is never locked as a whole.
+ *
+ * Only needed once for a database that was kept across the upgrade (ddl-auto
+ * update or none); with ddl-auto=create every row gets its seller when it is
+ * written, so it is off unless transactions.seller-backfill.enabled is set.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.seller-backfill.enabled", havingValue = "true")
+public class TransactionSellerBackfillService {
+
+    static final int BATCH_SIZE = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSellerBackfillService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPartitionService partitionService;
+
+    public TransactionSellerBackfillService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TransactionPartitionService partitionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionService = partitionService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        long updated = backfill("transactions");
+        if (partitionService.isEnabled()) {
+            updated += backfill(TransactionPartitionService.ARCHIVE_TABLE);
+        }
+        if (updated > 0) {
+            logger.info("Backfilled seller_id on {} transactions", updated);
+        }
+    }
+
+    long backfill(String table) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + table + " WHERE seller_id IS NULL");
+        if (range.get("min_id") == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+
+        String sql = "UPDATE " + table + " t SET seller_id = "
+                + "(SELECT p.seller_id FROM products p WHERE p.id = t.product_id) "
+                + "WHERE t.id >= ? AND t.id < ? AND t.seller_id IS NULL";
+        long updated = 0;
+        for (long from = minId; from <= maxId; from += BATCH_SIZE) {
+            long lower = from;
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, lower, lower + BATCH_SIZE));
+            updated += rows != null ? rows : 0;
+        }
+        return updated;
+    }
+}
@@ -2,14 +2,28 @@ package com.greentrade.greentrade.services;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusResponse;
 import com.greentrade.greentrade.dto.transaction.TransactionCreateRequest;
 import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusOutcome;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusOutcome.Outcome;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionDeletedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
 import com.greentrade.greentrade.exception.product.ProductNotFoundException;
 import com.greentrade.greentrade.exception.security.UserNotFoundException;
 import com.greentrade.greentrade.mappers.TransactionMapper;
@@ -23,21 +37,38 @@ import com.greentrade.greentrade.repositories.UserRepository;
 @Service
 public class TransactionService {
 
+    static final int BULK_STATUS_CHUNK_SIZE = 500;
+
+    // Allowed status transitions, used to guard set-based status updates
+    private static final Map<String, Set<String>> STATUS_TRANSITIONS = Map.of(
+            "PENDING", Set.of("PROCESSING", "CANCELLED"),
+            "PROCESSING", Set.of("COMPLETED", "CANCELLED"),
+            "COMPLETED", Set.of("REFUNDED"));
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final TransactionMapper transactionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
+    private final PurchaseVelocityLimiter velocityLimiter;
 
     @Autowired
     public TransactionService(
             TransactionRepository transactionRepository, 
             UserRepository userRepository, 
             ProductRepository productRepository,
-            TransactionMapper transactionMapper) {
+            TransactionMapper transactionMapper,
+            ApplicationEventPublisher eventPublisher,
+            StockReservationService stockReservationService,
+            PurchaseVelocityLimiter velocityLimiter) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.transactionMapper = transactionMapper;
+        this.eventPublisher = eventPublisher;
+        this.stockReservationService = stockReservationService;
+        this.velocityLimiter = velocityLimiter;
     }
 
     public List<TransactionResponse> getAllTransactions() {
@@ -47,7 +78,7 @@ public class TransactionService {
     }
 
     public TransactionResponse getTransactionById(Long id) {
-        return transactionRepository.findById(id)
+        return transactionRepository.findByIdIncludingArchive(id)
                 .map(transactionMapper::toResponse)
                 .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
     }
@@ -61,7 +92,7 @@ public class TransactionService {
 
     public List<TransactionResponse> getTransactionsBySeller(Long sellerId) {
         User seller = findUserById(sellerId);
-        return transactionRepository.findByProduct_Seller(seller).stream()
+        return transactionRepository.findBySellerOrderByDateDesc(seller).stream()
                 .map(transactionMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -73,38 +104,95 @@ public class TransactionService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public TransactionResponse createTransaction(TransactionCreateRequest request) {
         validateTransactionAmount(request);
+        velocityLimiter.checkPurchase(request.getBuyerId(), request.getProductId());
 
         try {
             User buyer = findUserById(request.getBuyerId());
             Product product = findProductById(request.getProductId());
+            if (!stockReservationService.reserve(product, 1)) {
+                throw new InsufficientStockException(product.getId());
+            }
             
             Transaction transaction = transactionMapper.createRequestToEntity(request, buyer, product);
             Transaction savedTransaction = transactionRepository.save(transaction);
+            publishCreated(savedTransaction);
             
             return transactionMapper.toResponse(savedTransaction);
-        } catch (IllegalArgumentException e) {
-            throw e;  // Re-throw validation errors
+        } catch (IllegalArgumentException | InsufficientStockException e) {
+            throw e;  // Re-throw validation errors; the attempt still counts
+        } catch (UserNotFoundException | ProductNotFoundException e) {
+            throw new RuntimeException("Failed to create transaction: " + e.getMessage());
         } catch (Exception e) {
+            // Not the buyer's doing, so give the attempt back
+            velocityLimiter.releasePurchase(request.getBuyerId(), request.getProductId());
             throw new RuntimeException("Failed to create transaction: " + e.getMessage());
         }
     }
 
+    @Transactional
     public TransactionResponse updateTransactionStatus(Long id, String newStatus) {
         validateTransactionStatus(newStatus);
         
         Transaction transaction = findTransactionById(id);
+        String previousStatus = transaction.getStatus();
         transaction.setStatus(newStatus);
         
-        return transactionMapper.toResponse(transactionRepository.save(transaction));
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        if (!newStatus.equals(previousStatus)) {
+            eventPublisher.publishEvent(new TransactionStatusChangedEvent(
+                    savedTransaction.getId(),
+                    savedTransaction.getBuyer().getId(),
+                    savedTransaction.getProduct().getId(),
+                    savedTransaction.getAmount(),
+                    previousStatus,
+                    newStatus,
+                    LocalDateTime.now()));
+        }
+        return transactionMapper.toResponse(savedTransaction);
     }
 
+    @Transactional
+    public TransactionBulkStatusResponse bulkUpdateTransactionStatus(List<Long> ids, String newStatus) {
+        validateTransactionStatus(newStatus);
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction ID is required");
+        }
+
+        String targetStatus = newStatus.toUpperCase();
+        List<String> sourceStatuses = sourceStatusesFor(targetStatus);
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<TransactionStatusOutcome> results = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += BULK_STATUS_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_STATUS_CHUNK_SIZE, distinctIds.size()));
+            results.addAll(updateStatusChunk(chunk, targetStatus, sourceStatuses));
+        }
+
+        int updated = (int) results.stream()
+                .filter(result -> result.getOutcome() == Outcome.UPDATED)
+                .count();
+
+        return TransactionBulkStatusResponse.builder()
+                .status(targetStatus)
+                .requested(distinctIds.size())
+                .updated(updated)
+                .results(results)
+                .build();
+    }
+
+    @Transactional
     public void deleteTransaction(Long id) {
         if (!transactionRepository.existsById(id)) {
             throw new RuntimeException("Transaction not found with id: " + id);
         }
         transactionRepository.deleteById(id);
+        eventPublisher.publishEvent(new TransactionDeletedEvent(id, LocalDateTime.now()));
     }
     
     private void validateTransactionAmount(TransactionCreateRequest request) {
@@ -135,6 +223,65 @@ public class TransactionService {
         }
     }
     
+    private List<TransactionStatusOutcome> updateStatusChunk(List<Long> chunk, String targetStatus, List<String> sourceStatuses) {
+        // The rows stay locked until commit, so the statuses read here are the ones the update sees
+        Map<Long, TransactionRepository.StatusView> lockedRows = new HashMap<>();
+        for (TransactionRepository.StatusView view : transactionRepository.lockStatusesByIdIn(chunk)) {
+            lockedRows.put(view.getId(), view);
+        }
+
+        if (!sourceStatuses.isEmpty()) {
+            transactionRepository.updateStatusWhereStatusIn(chunk, sourceStatuses, targetStatus);
+        }
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<TransactionStatusOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (Long id : chunk) {
+            TransactionRepository.StatusView row = lockedRows.get(id);
+            String previousStatus = row != null ? row.getStatus() : null;
+            Outcome outcome;
+            String status = previousStatus;
+            if (previousStatus == null) {
+                outcome = Outcome.NOT_FOUND;
+            } else if (previousStatus.equalsIgnoreCase(targetStatus)) {
+                outcome = Outcome.UNCHANGED;
+            } else if (sourceStatuses.contains(previousStatus.toUpperCase())) {
+                outcome = Outcome.UPDATED;
+                status = targetStatus;
+                eventPublisher.publishEvent(new TransactionStatusChangedEvent(
+                        id, row.getBuyerId(), row.getProductId(), row.getAmount(),
+                        previousStatus, targetStatus, changedAt));
+            } else {
+                outcome = Outcome.INVALID_TRANSITION;
+            }
+            outcomes.add(TransactionStatusOutcome.builder()
+                    .id(id)
+                    .outcome(outcome)
+                    .previousStatus(previousStatus)
+                    .status(status)
+                    .build());
+        }
+        return outcomes;
+    }
+
+    private void publishCreated(Transaction transaction) {
+        eventPublisher.publishEvent(new TransactionCreatedEvent(
+                transaction.getId(),
+                transaction.getBuyer().getId(),
+                transaction.getProduct().getId(),
+                transaction.getSeller() != null ? transaction.getSeller().getId() : null,
+                transaction.getAmount(),
+                transaction.getStatus(),
+                transaction.getDate()));
+    }
+
+    private List<String> sourceStatusesFor(String targetStatus) {
+        return STATUS_TRANSITIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(targetStatus))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+    
     private User findUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
@@ -0,0 +1,378 @@
+package com.greentrade.greentrade.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.TransactionHistoryConfig;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusAtResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusChangeResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusCountsResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusDurationResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionTimeInStatusResponse;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.exception.transaction.TransactionNotFoundException;
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.models.TransactionStatusChange;
+import com.greentrade.greentrade.models.TransactionStatusSnapshot;
+import com.greentrade.greentrade.repositories.TransactionRepository;
+import com.greentrade.greentrade.repositories.TransactionStatusChangeRepository;
+import com.greentrade.greentrade.repositories.TransactionStatusSnapshotRepository;
+
+/**
+ * Keeps the status history of transactions next to the current status on
+ * {@link Transaction}. Every create and status change is written as a row in the
+ * same database transaction as the change itself, together with who made it and
+ * how long the previous status lasted.
+ *
+ * Fleet-wide questions ("how many transactions were PROCESSING at T") start from
+ * the nearest hourly snapshot of the counts per status and only apply the changes
+ * between the snapshot and T, so they read an indexed range of the change table
+ * instead of the whole history.
+ */
+@Service
+public class TransactionStatusHistoryService {
+
+    static final String SYSTEM_ACTOR = "system";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatusHistoryService.class);
+
+    private final TransactionStatusChangeRepository changeRepository;
+    private final TransactionStatusSnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionPartitionService partitionService;
+    private final TransactionHistoryConfig historyConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionStatusHistoryService(
+            TransactionStatusChangeRepository changeRepository,
+            TransactionStatusSnapshotRepository snapshotRepository,
+            TransactionRepository transactionRepository,
+            TransactionPartitionService partitionService,
+            TransactionHistoryConfig historyConfig,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.changeRepository = changeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.partitionService = partitionService;
+        this.historyConfig = historyConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        changeRepository.save(new TransactionStatusChange(event.getTransactionId(), null,
+                normalize(event.getStatus()), event.getDate(), currentActor(), null));
+    }
+
+    @EventListener
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        Long transactionId = event.getTransactionId();
+        // Transactions from before the history was kept have no creation row; their date is the best start
+        LocalDateTime enteredAt = changeRepository.findFirstByTransactionIdOrderByChangedAtDescIdDesc(transactionId)
+                .map(TransactionStatusChange::getChangedAt)
+                .orElseGet(() -> transactionRepository.findById(transactionId).map(Transaction::getDate).orElse(null));
+        Long previousStatusMillis = enteredAt != null
+                ? Math.max(Duration.between(enteredAt, event.getChangedAt()).toMillis(), 0)
+                : null;
+        changeRepository.save(new TransactionStatusChange(transactionId, normalize(event.getPreviousStatus()),
+                normalize(event.getNewStatus()), event.getChangedAt(), currentActor(), previousStatusMillis));
+    }
+
+    /**
+     * The recorded changes of a transaction, oldest first.
+     *
+     * @throws TransactionNotFoundException when the transaction has no history and does not exist
+     */
+    public List<TransactionStatusChangeResponse> getHistory(Long transactionId) {
+        return findChanges(transactionId).stream()
+                .map(TransactionStatusHistoryService::toResponse)
+                .toList();
+    }
+
+    /**
+     * The status a transaction had at the given time, read from the last change
+     * on or before it. Null when the transaction was created later.
+     */
+    public TransactionStatusAtResponse getStatusAt(Long transactionId, LocalDateTime at) {
+        String status = changeRepository
+                .findFirstByTransactionIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(transactionId, at)
+                .map(TransactionStatusChange::getNewStatus)
+                .orElseGet(() -> statusBeforeHistory(transactionId, at));
+        return TransactionStatusAtResponse.builder()
+                .transactionId(transactionId)
+                .at(at)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Total time a transaction spent in a status, including the time so far when
+     * it is still in it.
+     */
+    public TransactionTimeInStatusResponse getTimeInStatus(Long transactionId, String status) {
+        String wanted = requireStatus(status);
+        List<TransactionStatusChange> changes = findChanges(transactionId);
+
+        long millis = 0;
+        int periods = 0;
+        for (TransactionStatusChange change : changes) {
+            if (wanted.equals(change.getPreviousStatus()) && change.getPreviousStatusMillis() != null) {
+                millis += change.getPreviousStatusMillis();
+                periods++;
+            }
+        }
+
+        String currentStatus;
+        LocalDateTime since;
+        if (changes.isEmpty()) {
+            Transaction transaction = findTransaction(transactionId);
+            currentStatus = normalize(transaction.getStatus());
+            since = transaction.getDate();
+        } else {
+            TransactionStatusChange last = changes.get(changes.size() - 1);
+            currentStatus = last.getNewStatus();
+            since = last.getChangedAt();
+        }
+        boolean current = wanted.equals(currentStatus);
+        if (current && since != null) {
+            millis += Math.max(Duration.between(since, LocalDateTime.now()).toMillis(), 0);
+            periods++;
+        }
+
+        return TransactionTimeInStatusResponse.builder()
+                .transactionId(transactionId)
+                .status(wanted)
+                .millis(millis)
+                .periods(periods)
+                .current(current)
+                .build();
+    }
+
+    /**
+     * Number of transactions per status at the given time: the nearest snapshot
+     * before it rolled forward, or else the nearest one after it rolled back.
+     * Without snapshots the live table is rolled back instead.
+     */
+    public TransactionStatusCountsResponse getStatusCounts(LocalDateTime at) {
+        Map<String, Long> counts;
+        long changesApplied;
+        LocalDateTime snapshotTakenAt = snapshotRepository.findLatestTakenAtOnOrBefore(at);
+        if (snapshotTakenAt != null) {
+            counts = loadSnapshot(snapshotTakenAt);
+            changesApplied = applyTransitions(counts, snapshotTakenAt, at, 1);
+        } else {
+            snapshotTakenAt = snapshotRepository.findEarliestTakenAtOnOrAfter(at);
+            if (snapshotTakenAt != null) {
+                counts = loadSnapshot(snapshotTakenAt);
+                changesApplied = applyTransitions(counts, at, snapshotTakenAt, -1);
+            } else {
+                counts = liveCounts();
+                changesApplied = applyTransitions(counts, at, LocalDateTime.now(), -1);
+            }
+        }
+        // Deleted transactions leave no change behind, so counts far from a snapshot can drift below zero
+        counts.values().removeIf(count -> count <= 0);
+
+        return TransactionStatusCountsResponse.builder()
+                .at(at)
+                .counts(counts)
+                .snapshotTakenAt(snapshotTakenAt)
+                .changesApplied(changesApplied)
+                .build();
+    }
+
+    /**
+     * How long transactions stayed in a status, over the transactions that left
+     * it between {@code from} (inclusive) and {@code to} (exclusive).
+     */
+    public TransactionStatusDurationResponse getStatusDurations(String status, LocalDateTime from, LocalDateTime to) {
+        String wanted = requireStatus(status);
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the period must be before its end");
+        }
+        TransactionStatusChangeRepository.DurationView durations = changeRepository.sumTimeInStatus(wanted, from, to);
+        long transitions = durations.getTransitions();
+        long totalMillis = durations.getTotalMillis() != null ? durations.getTotalMillis() : 0;
+        return TransactionStatusDurationResponse.builder()
+                .status(wanted)
+                .from(from)
+                .to(to)
+                .transitions(transitions)
+                .averageMillis(transitions > 0 ? totalMillis / transitions : 0)
+                .maxMillis(durations.getMaxMillis() != null ? durations.getMaxMillis() : 0)
+                .build();
+    }
+
+    @Scheduled(cron = "${transactions.history.snapshot-cron:0 5 * * * *}")
+    public void takeScheduledSnapshot() {
+        if (!historyConfig.isSnapshotsEnabled()) {
+            return;
+        }
+        // Stay behind the clock so changes that are still committing are not skipped
+        LocalDateTime takenAt = LocalDateTime.now().minusNanos(historyConfig.getSnapshotLagMillis() * 1_000_000);
+        int statuses = takeSnapshot(takenAt);
+        if (statuses > 0) {
+            logger.info("Took status snapshot at {} for {} statuses", takenAt, statuses);
+        }
+    }
+
+    /**
+     * Stores the counts per status at the given time, built from the previous
+     * snapshot and the changes since. The first snapshot is built from the
+     * transactions table.
+     *
+     * @return the number of statuses stored, 0 when a later snapshot exists already
+     */
+    public int takeSnapshot(LocalDateTime takenAt) {
+        Integer stored = transactionTemplate.execute(status -> {
+            LocalDateTime previous = snapshotRepository.findLatestTakenAt();
+            if (previous != null && !takenAt.isAfter(previous)) {
+                return 0;
+            }
+            Map<String, Long> counts;
+            if (previous != null) {
+                counts = loadSnapshot(previous);
+                applyTransitions(counts, previous, takenAt, 1);
+            } else {
+                counts = liveCounts();
+                applyTransitions(counts, takenAt, LocalDateTime.now(), -1);
+            }
+            List<TransactionStatusSnapshot> snapshot = counts.entrySet().stream()
+                    .map(entry -> new TransactionStatusSnapshot(takenAt, entry.getKey(), Math.max(entry.getValue(), 0)))
+                    .toList();
+            snapshotRepository.saveAll(snapshot);
+            return snapshot.size();
+        });
+        return stored != null ? stored : 0;
+    }
+
+    private String statusBeforeHistory(Long transactionId, LocalDateTime at) {
+        Optional<TransactionStatusChange> next = changeRepository
+                .findFirstByTransactionIdAndChangedAtAfterOrderByChangedAtAscIdAsc(transactionId, at);
+        if (next.isPresent() && next.get().getPreviousStatus() == null) {
+            return null;  // Created after the requested time
+        }
+        Optional<Transaction> transaction = transactionRepository.findById(transactionId);
+        if (transaction.isEmpty()) {
+            return next.map(TransactionStatusChange::getPreviousStatus)
+                    .orElseThrow(() -> new TransactionNotFoundException(transactionId));
+        }
+        LocalDateTime createdAt = transaction.get().getDate();
+        if (createdAt != null && at.isBefore(createdAt)) {
+            return null;
+        }
+        // A transaction from before the history was kept: its first change knows what it was before
+        return next.map(TransactionStatusChange::getPreviousStatus)
+                .orElseGet(() -> normalize(transaction.get().getStatus()));
+    }
+
+    private List<TransactionStatusChange> findChanges(Long transactionId) {
+        List<TransactionStatusChange> changes = changeRepository.findByTransactionIdOrderByChangedAtAscIdAsc(transactionId);
+        if (changes.isEmpty() && !transactionRepository.existsById(transactionId)) {
+            throw new TransactionNotFoundException(transactionId);
+        }
+        return changes;
+    }
+
+    private Transaction findTransaction(Long transactionId) {
+        return transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException(transactionId));
+    }
+
+    private Map<String, Long> loadSnapshot(LocalDateTime takenAt) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (TransactionStatusSnapshot snapshot : snapshotRepository.findByTakenAt(takenAt)) {
+            counts.put(snapshot.getStatus(), snapshot.getTransactionCount());
+        }
+        return counts;
+    }
+
+    private Map<String, Long> liveCounts() {
+        String table = partitionService.isEnabled()
+                ? "(SELECT status FROM transactions UNION ALL SELECT status FROM "
+                        + TransactionPartitionService.ARCHIVE_TABLE + ") t"
+                : "transactions";
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT UPPER(status), COUNT(*) FROM " + table + " GROUP BY UPPER(status)", rs -> {
+            String status = rs.getString(1);
+            if (status != null) {
+                counts.put(status, rs.getLong(2));
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Applies the changes in {@code (from, to]} to the counts, forward
+     * ({@code direction} 1) or undoing them ({@code direction} -1).
+     *
+     * @return the number of changes applied
+     */
+    private long applyTransitions(Map<String, Long> counts, LocalDateTime from, LocalDateTime to, int direction) {
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        long applied = 0;
+        for (TransactionStatusChangeRepository.TransitionCount transition : changeRepository.countTransitions(from, to)) {
+            long changes = transition.getChanges();
+            if (transition.getPreviousStatus() != null) {
+                counts.merge(transition.getPreviousStatus(), -direction * changes, Long::sum);
+            }
+            counts.merge(transition.getNewStatus(), direction * changes, Long::sum);
+            applied += changes;
+        }
+        return applied;
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+
+    private static String requireStatus(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        return normalize(status);
+    }
+
+    private static String normalize(String status) {
+        return status != null ? status.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static TransactionStatusChangeResponse toResponse(TransactionStatusChange change) {
+        return TransactionStatusChangeResponse.builder()
+                .transactionId(change.getTransactionId())
+                .previousStatus(change.getPreviousStatus())
+                .newStatus(change.getNewStatus())
+                .changedAt(change.getChangedAt())
+                .changedBy(change.getChangedBy())
+                .previousStatusMillis(change.getPreviousStatusMillis())
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.greentrade.greentrade.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.UnreadMessageCounterConfig;
+import com.greentrade.greentrade.dto.message.UnreadCountResponse;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.models.UnreadMessageCounter;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.UnreadMessageCounterRepository;
+
+/**
+ * Keeps a persisted unread counter per user and serves it from a small cache.
+ *
+ * MessageService changes the counter in the same transaction as the message, with
+ * an atomic increment, and only when a message really changes from unread to read
+ * or to deleted. A counter is created on first use from a count of the messages,
+ * under a lock on the user so two first uses cannot both create it. Cached counts
+ * are dropped after every change and expire after cache-ttl-millis, which bounds
+ * how stale a count on another instance can be. A periodic reconcile recounts the
+ * counters in batches and repairs any that drifted.
+ */
+@Service
+public class UnreadMessageCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadMessageCounterService.class);
+
+    private static final String LOCK_COUNTERS_SQL = "SELECT user_id FROM unread_message_counters "
+            + "WHERE user_id > ? ORDER BY user_id LIMIT ? FOR UPDATE";
+    private static final String UNREAD_COUNT_SUBQUERY = "(SELECT COUNT(*) FROM messages m "
+            + "WHERE m.receiver_id = c.user_id AND m.read = FALSE)";
+    private static final String RECONCILE_SQL = "UPDATE unread_message_counters c SET unread_count = "
+            + UNREAD_COUNT_SUBQUERY + " WHERE c.user_id > ? AND c.user_id <= ? AND c.unread_count <> "
+            + UNREAD_COUNT_SUBQUERY;
+
+    private final UnreadMessageCounterRepository counterRepository;
+    private final MessageRepository messageRepository;
+    private final UnreadMessageCounterConfig counterConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier clock;
+    private final Map<Long, CachedCount> cache = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a count read before a change cannot be cached after it
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public UnreadMessageCounterService(
+            UnreadMessageCounterRepository counterRepository,
+            MessageRepository messageRepository,
+            UnreadMessageCounterConfig counterConfig,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this(counterRepository, messageRepository, counterConfig, jdbcTemplate, transactionManager,
+                System::currentTimeMillis);
+    }
+
+    UnreadMessageCounterService(
+            UnreadMessageCounterRepository counterRepository,
+            MessageRepository messageRepository,
+            UnreadMessageCounterConfig counterConfig,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            LongSupplier clock) {
+        this.counterRepository = counterRepository;
+        this.messageRepository = messageRepository;
+        this.counterConfig = counterConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Counts a new unread message. Must run in the transaction that stored it.
+     */
+    public void increment(Long userId) {
+        add(userId, 1);
+    }
+
+    /**
+     * Counts a message that is no longer unread. Must run in the transaction that changed it.
+     */
+    public void decrement(Long userId) {
+        add(userId, -1);
+    }
+
+    /**
+     * Counts messages that are no longer unread. Must run in the transaction that changed them.
+     */
+    public void decrement(Long userId, long count) {
+        if (count > 0) {
+            add(userId, -count);
+        }
+    }
+
+    /**
+     * @throws UserNotFoundException when the user does not exist
+     */
+    public UnreadCountResponse getUnreadCount(Long userId) {
+        long now = clock.getAsLong();
+        CachedCount cached = cache.get(userId);
+        if (cached == null || cached.expiresAt() <= now) {
+            long generation = evictions.get();
+            Long count = counterRepository.findUnreadCount(userId)
+                    .orElseGet(() -> transactionTemplate.execute(status -> createCounter(userId)));
+            cached = new CachedCount(count, now + counterConfig.getCacheTtlMillis());
+            if (evictions.get() == generation) {
+                cacheCount(userId, cached, now);
+            }
+        }
+        return UnreadCountResponse.builder()
+                .userId(userId)
+                .unreadCount(cached.count())
+                .build();
+    }
+
+    @Scheduled(cron = "${messages.unread.reconcile-cron:0 15 * * * *}")
+    public void scheduledReconcile() {
+        if (counterConfig.isReconcileEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recounts all counters and repairs the ones that drifted.
+     *
+     * @return the number of counters that were repaired
+     */
+    public int reconcile() {
+        int batchSize = Math.max(counterConfig.getReconcileBatchSize(), 1);
+        long afterUserId = Long.MIN_VALUE;
+        int repaired = 0;
+        while (true) {
+            long from = afterUserId;
+            long[] batch = transactionTemplate.execute(status -> {
+                // Locking first waits for messages that are still being changed, so the recount sees them
+                List<Long> userIds = jdbcTemplate.queryForList(LOCK_COUNTERS_SQL, Long.class, from, batchSize);
+                if (userIds.isEmpty()) {
+                    return null;
+                }
+                long last = userIds.get(userIds.size() - 1);
+                return new long[] { last, jdbcTemplate.update(RECONCILE_SQL, from, last) };
+            });
+            if (batch == null) {
+                break;
+            }
+            afterUserId = batch[0];
+            repaired += (int) batch[1];
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired {} unread message counters", repaired);
+            evictions.incrementAndGet();
+            cache.clear();
+        }
+        return repaired;
+    }
+
+    private void add(Long userId, long delta) {
+        if (counterRepository.addToCount(userId, delta) == 0) {
+            // The count includes the change already, it was written earlier in this transaction
+            createCounter(userId);
+        }
+        evictAfterCompletion(userId);
+    }
+
+    private long createCounter(Long userId) {
+        counterRepository.lockUser(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        Long existing = counterRepository.findUnreadCount(userId).orElse(null);
+        if (existing != null) {
+            return existing;  // Created while we waited for the lock
+        }
+        long count = messageRepository.countByReceiverIdAndReadIsFalse(userId);
+        counterRepository.save(new UnreadMessageCounter(userId, count));
+        return count;
+    }
+
+    private void cacheCount(Long userId, CachedCount count, long now) {
+        if (cache.size() >= counterConfig.getMaxCachedUsers()) {
+            cache.values().removeIf(cached -> cached.expiresAt() <= now);
+            if (cache.size() >= counterConfig.getMaxCachedUsers()) {
+                return;
+            }
+        }
+        cache.put(userId, count);
+    }
+
+    private void evictAfterCompletion(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId) {
+        evictions.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.greentrade.greentrade.services;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.greentrade.greentrade.dto.webhook.WebhookDeliveryResponse;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionRequest;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionResponse;
+import com.greentrade.greentrade.exception.webhook.WebhookSubscriptionNotFoundException;
+import com.greentrade.greentrade.mappers.WebhookMapper;
+import com.greentrade.greentrade.models.WebhookSubscription;
+import com.greentrade.greentrade.repositories.WebhookDeliveryRepository;
+import com.greentrade.greentrade.repositories.WebhookSubscriptionRepository;
+
+/**
+ * Manages webhook subscriptions. The IDs of the active subscriptions are cached,
+ * because they are needed for every status change; the cache is dropped on every
+ * change made here and reloaded periodically to pick up changes of other
+ * instances.
+ */
+@Service
+public class WebhookSubscriptionService {
+
+    private static final int GENERATED_SECRET_BYTES = 32;
+
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookMapper webhookMapper;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private volatile List<Long> activeSubscriptionIds;
+
+    public WebhookSubscriptionService(
+            WebhookSubscriptionRepository subscriptionRepository,
+            WebhookDeliveryRepository deliveryRepository,
+            WebhookMapper webhookMapper) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.webhookMapper = webhookMapper;
+    }
+
+    @Transactional
+    public WebhookSubscriptionResponse createSubscription(WebhookSubscriptionRequest request, String createdBy) {
+        String secret = request.getSecret() != null && !request.getSecret().isBlank()
+                ? request.getSecret()
+                : generateSecret();
+        WebhookSubscription subscription = subscriptionRepository.save(
+                new WebhookSubscription(request.getUrl(), secret, createdBy, LocalDateTime.now()));
+        invalidateActiveSubscriptions();
+
+        WebhookSubscriptionResponse response = webhookMapper.toResponse(subscription);
+        response.setSecret(secret);
+        return response;
+    }
+
+    public List<WebhookSubscriptionResponse> getSubscriptions() {
+        return subscriptionRepository.findAll().stream()
+                .map(webhookMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stops deliveries to a subscription. Deliveries that are still queued are
+     * marked as failed when the dispatcher reaches them.
+     */
+    @Transactional
+    public void deactivateSubscription(Long id) {
+        WebhookSubscription subscription = subscriptionRepository.findById(id)
+                .orElseThrow(() -> new WebhookSubscriptionNotFoundException(id));
+        subscription.setActive(false);
+        invalidateActiveSubscriptions();
+    }
+
+    public List<WebhookDeliveryResponse> getRecentDeliveries(Long subscriptionId) {
+        if (!subscriptionRepository.existsById(subscriptionId)) {
+            throw new WebhookSubscriptionNotFoundException(subscriptionId);
+        }
+        return deliveryRepository.findTop50BySubscriptionIdOrderByIdDesc(subscriptionId).stream()
+                .map(webhookMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    public List<Long> getActiveSubscriptionIds() {
+        List<Long> ids = activeSubscriptionIds;
+        if (ids == null) {
+            ids = subscriptionRepository.findByActiveTrue().stream()
+                    .map(WebhookSubscription::getId)
+                    .toList();
+            activeSubscriptionIds = ids;
+        }
+        return ids;
+    }
+
+    @Scheduled(fixedDelayString = "${webhooks.subscription-refresh-interval:30000}")
+    public void refreshActiveSubscriptions() {
+        activeSubscriptionIds = null;
+    }
+
+    private void invalidateActiveSubscriptions() {
+        activeSubscriptionIds = null;
+        // Again after commit, in case another thread reloaded the old state in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeSubscriptionIds = null;
+                }
+            });
+        }
+    }
+
+    private String generateSecret() {
+        byte[] bytes = new byte[GENERATED_SECRET_BYTES];
+        secureRandom.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+}
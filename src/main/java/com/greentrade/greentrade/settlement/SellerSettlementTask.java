@@ -0,0 +1,65 @@
+package com.greentrade.greentrade.settlement;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Settles a range of sellers by splitting it in halves, on whole batches, until a
+ * range is one batch, so every batch starts at a multiple of the batch size no
+ * matter how the work was split. Batches commit independently: a batch that fails
+ * is rolled back and counted as failed while the other batches carry on, and its
+ * sellers are still unsettled for the next run.
+ */
+public class SellerSettlementTask extends RecursiveTask<SettlementTotals> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SellerSettlementTask.class);
+
+    private final long[] sellerIds;
+    private final int from;
+    private final int to;
+    private final int batchSize;
+    private final Function<long[], SettlementTotals> batch;
+
+    public SellerSettlementTask(long[] sellerIds, int batchSize, Function<long[], SettlementTotals> batch) {
+        this(sellerIds, 0, sellerIds.length, Math.max(batchSize, 1), batch);
+    }
+
+    private SellerSettlementTask(long[] sellerIds, int from, int to, int batchSize,
+            Function<long[], SettlementTotals> batch) {
+        this.sellerIds = sellerIds;
+        this.from = from;
+        this.to = to;
+        this.batchSize = batchSize;
+        this.batch = batch;
+    }
+
+    @Override
+    protected SettlementTotals compute() {
+        if (to - from <= batchSize) {
+            return settleBatch();
+        }
+        // Half of the batches, rounded down, go left; only the last batch can be short
+        int batches = (to - from + batchSize - 1) / batchSize;
+        int middle = from + (batches / 2) * batchSize;
+        SellerSettlementTask left = new SellerSettlementTask(sellerIds, from, middle, batchSize, batch);
+        left.fork();
+        SettlementTotals right = new SellerSettlementTask(sellerIds, middle, to, batchSize, batch).compute();
+        return right.plus(left.join());
+    }
+
+    private SettlementTotals settleBatch() {
+        if (from == to) {
+            return SettlementTotals.EMPTY;
+        }
+        try {
+            return batch.apply(Arrays.copyOfRange(sellerIds, from, to));
+        } catch (RuntimeException e) {
+            logger.warn("Settling sellers {} to {} failed", sellerIds[from], sellerIds[to - 1], e);
+            return SettlementTotals.failed(to - from);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.greentrade.greentrade.settlement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.SettlementConfig;
+
+/**
+ * Settles one batch of sellers in a single database transaction: streams their
+ * unsettled completed transactions, sums the payouts in cents, inserts one
+ * settlement per seller, marks the transactions with it and adds the batch to
+ * the run's counters. A committed batch is its own checkpoint; a batch that
+ * fails leaves nothing behind.
+ */
+@Component
+public class SettlementBatchProcessor {
+
+    private static final String INSERT_SQL = "INSERT INTO settlements "
+            + "(run_id, seller_id, transaction_count, payout_cents, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    // The date lets PostgreSQL go straight to the right partition
+    private static final String MARK_SQL = "UPDATE transactions SET settlement_id = ? WHERE id = ? AND date = ?";
+
+    private static final String PROGRESS_SQL = "UPDATE settlement_runs SET settled_sellers = settled_sellers + ?, "
+            + "transaction_count = transaction_count + ?, total_payout_cents = total_payout_cents + ? WHERE id = ?";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SettlementBatchProcessor(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            SettlementConfig settlementConfig) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(settlementConfig.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public SettlementTotals settle(Long runId, LocalDateTime cutoff, long[] sellerIds) {
+        return transactionTemplate.execute(status -> settleInTransaction(runId, cutoff, sellerIds));
+    }
+
+    private SettlementTotals settleInTransaction(Long runId, LocalDateTime cutoff, long[] sellerIds) {
+        List<SellerPayout> payouts = new ArrayList<>();
+        SettledRows rows = new SettledRows();
+
+        // The rows stay locked until commit, so a refund cannot change them between summing and marking
+        Object[] args = new Object[sellerIds.length + 1];
+        for (int i = 0; i < sellerIds.length; i++) {
+            args[i] = sellerIds[i];
+        }
+        args[sellerIds.length] = cutoff;
+        cursorJdbcTemplate.query(
+                "SELECT id, seller_id, amount, date FROM transactions "
+                        + "WHERE seller_id IN (" + String.join(", ", Collections.nCopies(sellerIds.length, "?")) + ") "
+                        + "AND UPPER(status) = 'COMPLETED' AND settlement_id IS NULL AND date < ? "
+                        + "ORDER BY seller_id, id FOR UPDATE",
+                (RowCallbackHandler) rs -> {
+                    long sellerId = rs.getLong("seller_id");
+                    if (payouts.isEmpty() || payouts.get(payouts.size() - 1).sellerId != sellerId) {
+                        payouts.add(new SellerPayout(sellerId));
+                    }
+                    SellerPayout payout = payouts.get(payouts.size() - 1);
+                    payout.transactions++;
+                    payout.cents += toCents(rs.getBigDecimal("amount"));
+                    rows.add(rs.getLong("id"), rs.getTimestamp("date"), payouts.size() - 1);
+                },
+                args);
+
+        if (payouts.isEmpty()) {
+            return SettlementTotals.EMPTY;
+        }
+
+        insertSettlements(runId, payouts);
+        markTransactions(payouts, rows);
+
+        long transactions = 0;
+        long cents = 0;
+        for (SellerPayout payout : payouts) {
+            transactions += payout.transactions;
+            cents += payout.cents;
+        }
+        cursorJdbcTemplate.update(PROGRESS_SQL, payouts.size(), transactions, cents, runId);
+        return new SettlementTotals(payouts.size(), 0, transactions, cents);
+    }
+
+    private void insertSettlements(Long runId, List<SellerPayout> payouts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        cursorJdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SellerPayout payout = payouts.get(i);
+                        ps.setLong(1, runId);
+                        ps.setLong(2, payout.sellerId);
+                        ps.setLong(3, payout.transactions);
+                        ps.setLong(4, payout.cents);
+                        ps.setTimestamp(5, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return payouts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < payouts.size(); i++) {
+            payouts.get(i).settlementId = ((Number) keys.get(i).get("id")).longValue();
+        }
+    }
+
+    private void markTransactions(List<SellerPayout> payouts, SettledRows rows) {
+        cursorJdbcTemplate.batchUpdate(MARK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, payouts.get(rows.payoutIndexes[i]).settlementId);
+                ps.setLong(2, rows.ids[i]);
+                ps.setTimestamp(3, rows.dates[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size;
+            }
+        });
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static final class SellerPayout {
+        private final long sellerId;
+        private long transactions;
+        private long cents;
+        private long settlementId;
+
+        private SellerPayout(long sellerId) {
+            this.sellerId = sellerId;
+        }
+    }
+
+    /**
+     * The transactions of the batch as parallel arrays that grow by doubling.
+     */
+    private static final class SettledRows {
+        private long[] ids = new long[256];
+        private Timestamp[] dates = new Timestamp[256];
+        private int[] payoutIndexes = new int[256];
+        private int size;
+
+        private void add(long id, Timestamp date, int payoutIndex) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                dates = Arrays.copyOf(dates, size * 2);
+                payoutIndexes = Arrays.copyOf(payoutIndexes, size * 2);
+            }
+            ids[size] = id;
+            dates[size] = date;
+            payoutIndexes[size] = payoutIndex;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.greentrade.greentrade.settlement;
+
+/**
+ * What one or more settlement batches did. Payouts are kept in cents.
+ */
+public record SettlementTotals(int settledSellers, int failedSellers, long transactions, long payoutCents) {
+
+    public static final SettlementTotals EMPTY = new SettlementTotals(0, 0, 0, 0);
+
+    public static SettlementTotals failed(int sellers) {
+        return new SettlementTotals(0, sellers, 0, 0);
+    }
+
+    public SettlementTotals plus(SettlementTotals other) {
+        return new SettlementTotals(
+                settledSellers + other.settledSellers,
+                failedSellers + other.failedSellers,
+                transactions + other.transactions,
+                payoutCents + other.payoutCents);
+    }
+}
@@ -0,0 +1,72 @@
+package com.greentrade.greentrade.webhook;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.models.WebhookDelivery;
+import com.greentrade.greentrade.repositories.WebhookDeliveryRepository;
+import com.greentrade.greentrade.services.WebhookSubscriptionService;
+
+/**
+ * Queues a delivery per active subscription for every transaction status change.
+ * Runs in the transaction that changes the status, so a delivery exists if and
+ * only if the change is committed.
+ */
+@Component
+public class WebhookDeliveryWriter {
+
+    static final String STATUS_CHANGED = "transaction.status_changed";
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookSubscriptionService subscriptionService;
+    private final ObjectMapper objectMapper;
+
+    public WebhookDeliveryWriter(
+            WebhookDeliveryRepository deliveryRepository,
+            WebhookSubscriptionService subscriptionService,
+            ObjectMapper objectMapper) {
+        this.deliveryRepository = deliveryRepository;
+        this.subscriptionService = subscriptionService;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        List<Long> subscriptionIds = subscriptionService.getActiveSubscriptionIds();
+        if (subscriptionIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("event", STATUS_CHANGED);
+        body.put("transactionId", event.getTransactionId());
+        body.put("buyerId", event.getBuyerId());
+        body.put("productId", event.getProductId());
+        body.put("amount", event.getAmount());
+        body.put("previousStatus", event.getPreviousStatus());
+        body.put("newStatus", event.getNewStatus());
+        body.put("changedAt", event.getChangedAt());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize webhook payload for transaction " + event.getTransactionId(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> deliveries = new ArrayList<>(subscriptionIds.size());
+        for (Long subscriptionId : subscriptionIds) {
+            deliveries.add(new WebhookDelivery(subscriptionId, STATUS_CHANGED, event.getTransactionId(), payload, now));
+        }
+        deliveryRepository.saveAll(deliveries);
+    }
+}
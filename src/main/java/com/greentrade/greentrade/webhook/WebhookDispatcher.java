@@ -0,0 +1,266 @@
+package com.greentrade.greentrade.webhook;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greentrade.greentrade.config.WebhookConfig;
+import com.greentrade.greentrade.models.WebhookDelivery;
+import com.greentrade.greentrade.models.WebhookDeliveryStatus;
+import com.greentrade.greentrade.models.WebhookSubscription;
+import com.greentrade.greentrade.repositories.WebhookDeliveryRepository;
+import com.greentrade.greentrade.repositories.WebhookSubscriptionRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sends queued webhook deliveries in the background.
+ *
+ * Each poll claims due deliveries with SKIP LOCKED and leases them by moving
+ * next_attempt_at forward, so a delivery whose worker dies is picked up again
+ * once the lease runs out. Claimed deliveries are posted by a fixed pool with a
+ * bounded queue; a semaphore per subscription caps how many requests are in
+ * flight to one endpoint, so a slow receiver cannot take all workers. Failed
+ * attempts are retried with exponential backoff until max-attempts is reached.
+ */
+@Component
+public class WebhookDispatcher {
+
+    public static final String EVENT_HEADER = "X-GreenTrade-Event";
+    public static final String DELIVERY_HEADER = "X-GreenTrade-Delivery";
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final WebhookConfig webhookConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+
+    public WebhookDispatcher(
+            WebhookDeliveryRepository deliveryRepository,
+            WebhookSubscriptionRepository subscriptionRepository,
+            WebhookConfig webhookConfig,
+            PlatformTransactionManager transactionManager) {
+        this.deliveryRepository = deliveryRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.webhookConfig = webhookConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(webhookConfig.getConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                webhookConfig.getPoolSize(), webhookConfig.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(webhookConfig.getQueueCapacity(), 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "webhook-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${webhooks.poll-interval:1000}")
+    public void poll() {
+        if (!webhookConfig.isDispatcherEnabled()) {
+            return;
+        }
+        dispatchDue();
+    }
+
+    /**
+     * Claims due deliveries and hands them to the worker pool.
+     *
+     * @return the number of deliveries submitted
+     */
+    public int dispatchDue() {
+        int capacity = Math.min(webhookConfig.getBatchSize(), executor.getQueue().remainingCapacity());
+        if (capacity <= 0) {
+            return 0;
+        }
+
+        List<Attempt> claimed = transactionTemplate.execute(status -> claim(capacity));
+        int submitted = 0;
+        for (Attempt attempt : claimed != null ? claimed : List.<Attempt>of()) {
+            Semaphore permits = permitsFor(attempt.subscriptionId());
+            if (!permits.tryAcquire()) {
+                continue;  // Its lease runs out and the next poll tries again
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        recordOutcome(attempt.deliveryId(), send(attempt));
+                    } finally {
+                        permits.release();
+                    }
+                });
+                submitted++;
+            } catch (RejectedExecutionException e) {
+                permits.release();
+            }
+        }
+        return submitted;
+    }
+
+    @Scheduled(cron = "${webhooks.cleanup-cron:0 45 3 * * *}")
+    public void deleteFinishedDeliveries() {
+        LocalDateTime before = LocalDateTime.now().minusDays(webhookConfig.getRetentionDays());
+        Integer deleted = transactionTemplate.execute(status -> deliveryRepository.deleteFinishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} finished webhook deliveries", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Posts one delivery to its endpoint. Only a 2xx answer counts as delivered.
+     */
+    Outcome send(Attempt attempt) {
+        long timestamp = System.currentTimeMillis() / 1000;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(attempt.url()))
+                    .timeout(Duration.ofMillis(webhookConfig.getRequestTimeoutMillis()))
+                    .header("Content-Type", "application/json")
+                    .header(EVENT_HEADER, attempt.eventType())
+                    .header(DELIVERY_HEADER, Long.toString(attempt.deliveryId()))
+                    .header(WebhookSigner.TIMESTAMP_HEADER, Long.toString(timestamp))
+                    .header(WebhookSigner.SIGNATURE_HEADER, WebhookSigner.sign(attempt.secret(), timestamp, attempt.payload()))
+                    .POST(HttpRequest.BodyPublishers.ofString(attempt.payload()))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            int statusCode = response.statusCode();
+            return new Outcome(statusCode >= 200 && statusCode < 300, statusCode,
+                    statusCode >= 200 && statusCode < 300 ? null : "HTTP " + statusCode);
+        } catch (IOException | RuntimeException e) {
+            // Any other failure is a failed attempt too, so it is retried and eventually given up on
+            return new Outcome(false, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(false, null, "Interrupted");
+        }
+    }
+
+    void recordOutcome(Long deliveryId, Outcome outcome) {
+        transactionTemplate.executeWithoutResult(status -> deliveryRepository.findById(deliveryId).ifPresent(delivery -> {
+            LocalDateTime now = LocalDateTime.now();
+            delivery.setAttempts(delivery.getAttempts() + 1);
+            delivery.setLastStatusCode(outcome.statusCode());
+            if (outcome.delivered()) {
+                delivery.setStatus(WebhookDeliveryStatus.DELIVERED);
+                delivery.setDeliveredAt(now);
+                delivery.setLastError(null);
+                return;
+            }
+            delivery.setLastError(truncate(outcome.error()));
+            if (delivery.getAttempts() >= webhookConfig.getMaxAttempts()) {
+                delivery.setStatus(WebhookDeliveryStatus.FAILED);
+                logger.warn("Giving up on webhook delivery {} after {} attempts: {}",
+                        deliveryId, delivery.getAttempts(), outcome.error());
+            } else {
+                delivery.setNextAttemptAt(now.plusNanos(backoffMillis(delivery.getAttempts(),
+                        webhookConfig.getInitialBackoffMillis(), webhookConfig.getMaxBackoffMillis(),
+                        ThreadLocalRandom.current().nextDouble()) * 1_000_000));
+            }
+        }));
+    }
+
+    /**
+     * Delay before the next attempt: doubles per attempt up to {@code maxMillis},
+     * with up to 20% jitter so deliveries that failed together do not retry together.
+     */
+    static long backoffMillis(int attempts, long initialMillis, long maxMillis, double random) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = Math.min(maxMillis, initialMillis << exponent);
+        return delay - (long) (delay * 0.2 * random);
+    }
+
+    private List<Attempt> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> due = deliveryRepository.lockDue(now, limit);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, WebhookSubscription> subscriptions = subscriptionRepository
+                .findAllById(due.stream().map(WebhookDelivery::getSubscriptionId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(WebhookSubscription::getId, Function.identity()));
+
+        // Stay within the free permits per endpoint; the rest waits for a later poll
+        Map<Long, Integer> claimedPerEndpoint = new HashMap<>();
+        LocalDateTime leaseUntil = now.plusNanos(webhookConfig.getLeaseMillis() * 1_000_000);
+        List<Attempt> attempts = new ArrayList<>(due.size());
+        for (WebhookDelivery delivery : due) {
+            WebhookSubscription subscription = subscriptions.get(delivery.getSubscriptionId());
+            if (subscription == null || !subscription.isActive()) {
+                delivery.setStatus(WebhookDeliveryStatus.FAILED);
+                delivery.setLastError("Subscription is no longer active");
+                continue;
+            }
+            int claimedForEndpoint = claimedPerEndpoint.getOrDefault(subscription.getId(), 0);
+            if (claimedForEndpoint >= permitsFor(subscription.getId()).availablePermits()) {
+                continue;
+            }
+            claimedPerEndpoint.put(subscription.getId(), claimedForEndpoint + 1);
+            delivery.setNextAttemptAt(leaseUntil);
+            attempts.add(new Attempt(delivery.getId(), subscription.getId(), subscription.getUrl(),
+                    subscription.getSecret(), delivery.getEventType(), delivery.getPayload()));
+        }
+        return attempts;
+    }
+
+    private Semaphore permitsFor(Long subscriptionId) {
+        return endpointPermits.computeIfAbsent(subscriptionId,
+                id -> new Semaphore(Math.max(webhookConfig.getMaxConcurrentPerEndpoint(), 1)));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * What a worker needs to send a delivery, copied out of the claiming transaction.
+     */
+    record Attempt(Long deliveryId, Long subscriptionId, String url, String secret, String eventType, String payload) {
+    }
+
+    record Outcome(boolean delivered, Integer statusCode, String error) {
+    }
+}
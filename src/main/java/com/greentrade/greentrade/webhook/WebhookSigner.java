@@ -0,0 +1,36 @@
+package com.greentrade.greentrade.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs webhook bodies. The signature is an HMAC-SHA256 over
+ * {@code "<timestamp>.<body>"} with the secret of the subscription, so a receiver
+ * can check both the origin and the age of a request.
+ */
+public final class WebhookSigner {
+
+    public static final String SIGNATURE_HEADER = "X-GreenTrade-Signature";
+    public static final String TIMESTAMP_HEADER = "X-GreenTrade-Timestamp";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private WebhookSigner() {
+    }
+
+    public static String sign(String secret, long timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] signature = mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + HexFormat.of().formatHex(signature);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Could not sign webhook body", e);
+        }
+    }
+}
@@ -12,11 +12,11 @@ VALUES
 (3, 'Test Buyer', 'buyer@greentrade.nl', '$2a$10$WHMDrzlU95I/ZuUTU2Piie7tFLpi7w8TMzCQQ7Kjb8HyD9qI2YrEG', 'ROLE_BUYER', true, null);
 
 -- Products (seller_id references to the Seller Company user)
-INSERT INTO products (id, name, description, price, sustainability_score, sustainability_certificate, seller_id) 
+INSERT INTO products (id, name, description, price, sustainability_score, sustainability_certificate, stock_quantity, seller_id) 
 VALUES
-(1, 'Sustainable Office Chair', 'Ergonomic chair made from recycled materials', 299.99, 85, 'ISO14001', 2),
-(2, 'Bamboo Desk', 'Desk made from sustainable bamboo', 449.99, 90, 'FSC123', 2),
-(3, 'Eco Lamp', 'Energy-efficient LED lamp from recyclable material', 79.99, 95, 'EnergyStar', 2);
+(1, 'Sustainable Office Chair', 'Ergonomic chair made from recycled materials', 299.99, 85, 'ISO14001', 25, 2),
+(2, 'Bamboo Desk', 'Desk made from sustainable bamboo', 449.99, 90, 'FSC123', 10, 2),
+(3, 'Eco Lamp', 'Energy-efficient LED lamp from recyclable material', 79.99, 95, 'EnergyStar', 100, 2);
 
 -- Reviews
 INSERT INTO reviews (id, product_id, reviewer_id, score, comment, date) 
@@ -31,10 +31,10 @@ VALUES
 (2, 2, 3, 'RE: Question about office chair', 'Yes, the chair is fully adjustable!', '2024-01-15 09:30:00', false);
 
 -- Transactions
-INSERT INTO transactions (id, buyer_id, product_id, amount, date, status) 
+INSERT INTO transactions (id, buyer_id, product_id, seller_id, amount, date, status) 
 VALUES
-(1, 3, 1, 299.99, '2024-01-20 14:00:00', 'COMPLETED'),
-(2, 3, 2, 449.99, '2024-01-21 15:30:00', 'PROCESSING');
+(1, 3, 1, 2, 299.99, '2024-01-20 14:00:00', 'COMPLETED'),
+(2, 3, 2, 2, 449.99, '2024-01-21 15:30:00', 'PROCESSING');
 
 -- Product Verifications
 INSERT INTO product_verifications (id, product_id, status, verification_date, reviewer_notes, reviewer_id, submission_date, sustainability_score) 
@@ -0,0 +1,51 @@
+-- Runs after Hibernate has created the schema (see spring.sql.init.platform) and
+-- holds the PostgreSQL specific DDL that cannot be expressed with JPA mappings.
+--
+-- Turns the transactions table into a table that is range partitioned per month
+-- on "date". Monthly partitions are created and moved to the archive schema by
+-- TransactionPartitionService; rows without a monthly partition land in
+-- transactions_default.
+
+-- The archive is recreated together with the rest of the schema (ddl-auto=create)
+DROP SCHEMA IF EXISTS archive CASCADE;
+CREATE SCHEMA archive;
+
+-- Other tables refer to transactions by id without a foreign key, as the primary
+-- key of the partitioned table has to include "date". No CASCADE on the drop: a
+-- foreign key that Hibernate adds to transactions later makes this script fail
+-- instead of being dropped without notice.
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+CREATE TABLE transactions (LIKE transactions_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE ("date");
+-- A copied id default would still use the sequence of the old table
+ALTER TABLE transactions ALTER COLUMN id DROP DEFAULT;
+DROP TABLE transactions_unpartitioned;
+
+-- Partitioned tables need the partition key in the primary key
+CREATE SEQUENCE transactions_id_seq OWNED BY transactions.id;
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval('transactions_id_seq');
+ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, "date");
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_buyer FOREIGN KEY (buyer_id) REFERENCES users (id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_product FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_seller FOREIGN KEY (seller_id) REFERENCES users (id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_settlement FOREIGN KEY (settlement_id) REFERENCES settlements (id);
+CREATE INDEX ix_transactions_date ON transactions ("date");
+CREATE INDEX ix_transactions_seller_date ON transactions (seller_id, "date");
+CREATE INDEX ix_transactions_order ON transactions (order_id);
+-- Settlement runs only look at completed transactions that have not been paid out
+CREATE INDEX ix_transactions_unsettled ON transactions (seller_id, "date") WHERE UPPER(status) = 'COMPLETED' AND settlement_id IS NULL;
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Detached monthly partitions are attached here, so archived months stay queryable
+CREATE TABLE archive.transactions (LIKE transactions INCLUDING DEFAULTS) PARTITION BY RANGE ("date");
+
+-- The outbox relay only looks at unpublished events that are not parked
+CREATE INDEX ix_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL AND parked_at IS NULL;
+
+-- Full-text search over the subject and content of messages. The 'simple'
+-- configuration does not stem, so Dutch and English text are matched alike.
+ALTER TABLE messages ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(subject, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(content, '')), 'B')) STORED;
+CREATE INDEX ix_messages_search ON messages USING GIN (search_vector);
@@ -0,0 +1,176 @@
+package com.greentrade.greentrade.analytics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionColumnStoreTest {
+
+    private TransactionColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TransactionColumnStore(2);
+        store.append(1L, 10000, LocalDate.of(2024, 1, 5), "COMPLETED", 1L, 2L, 10L);
+        store.append(2L, 2500, LocalDate.of(2024, 1, 20), "PENDING", 3L, 2L, 11L);
+        store.append(3L, 4000, LocalDate.of(2024, 2, 1), "COMPLETED", 1L, 4L, 12L);
+        store.append(4L, 1500, LocalDate.of(2024, 2, 14), "REFUNDED", 3L, 4L, 12L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void query_GroupsBySellerAndMonth() {
+        // Act
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.SELLER, AnalyticsDimension.MONTH),
+                null, null, null, 0));
+
+        // Assert
+        assertEquals(4, result.getScannedRows());
+        assertEquals(4, result.getMatchedRows());
+        assertEquals(2, result.getTotalGroups());
+        AnalyticsResult.Group first = result.getGroups().get(0);
+        assertEquals(List.of(2L, YearMonth.of(2024, 1)), first.getKeys());
+        assertEquals(2, first.getCount());
+        assertEquals(12500, first.getAmountCents());
+        AnalyticsResult.Group second = result.getGroups().get(1);
+        assertEquals(List.of(4L, YearMonth.of(2024, 2)), second.getKeys());
+        assertEquals(5500, second.getAmountCents());
+    }
+
+    @Test
+    void query_FiltersOnStatusAndDateRange() {
+        // Act
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.STATUS),
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 28), Set.of("completed", "PENDING"), 0));
+
+        // Assert
+        assertEquals(2, result.getMatchedRows());
+        assertEquals(List.of("COMPLETED"), result.getGroups().get(0).getKeys());
+        assertEquals(4000, result.getGroups().get(0).getAmountCents());
+        assertEquals(List.of("PENDING"), result.getGroups().get(1).getKeys());
+    }
+
+    @Test
+    void query_FiltersOnBuyerWithoutGrouping() {
+        // Act
+        AnalyticsResult result = store.query(new AnalyticsQuery(List.of(), null, null, null,
+                null, Set.of(3L, 99L), null, 0));
+
+        // Assert
+        assertEquals(1, result.getTotalGroups());
+        assertEquals(2, result.getGroups().get(0).getCount());
+        assertEquals(4000, result.getGroups().get(0).getAmountCents());
+    }
+
+    @Test
+    void query_AppliesLimitAfterSortingByAmount() {
+        // Act
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.PRODUCT), null, null, null, 1));
+
+        // Assert
+        assertEquals(3, result.getTotalGroups());
+        assertEquals(1, result.getGroups().size());
+        assertEquals(List.of(10L), result.getGroups().get(0).getKeys());
+    }
+
+    @Test
+    void append_IgnoresKnownTransaction() {
+        // Act
+        store.append(1L, 99999, LocalDate.of(2024, 1, 5), "COMPLETED", 1L, 2L, 10L);
+
+        // Assert
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void updateStatus_MovesRowToNewStatus() {
+        // Act
+        store.updateStatus(2L, "COMPLETED");
+
+        // Assert
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.STATUS), null, null, Set.of("PENDING"), 0));
+        assertEquals(0, result.getMatchedRows());
+    }
+
+    @Test
+    void remove_LeavesTransactionOutOfAggregates() {
+        // Act
+        store.remove(1L);
+        store.remove(99L);
+
+        // Assert
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.SELLER), null, null, null, 0));
+        assertEquals(3, store.size());
+        assertEquals(3, result.getMatchedRows());
+        assertEquals(List.of(4L), result.getGroups().get(0).getKeys());
+        assertEquals(5500, result.getGroups().get(0).getAmountCents());
+        assertEquals(List.of(2L), result.getGroups().get(1).getKeys());
+        assertEquals(1, result.getGroups().get(1).getCount());
+        assertEquals(2500, result.getGroups().get(1).getAmountCents());
+    }
+
+    @Test
+    void remove_KeepsMovedRowUpdatable() {
+        // Act
+        store.remove(2L);
+        store.updateStatus(4L, "COMPLETED");
+
+        // Assert
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.STATUS), null, null, null, 0));
+        assertEquals(1, result.getTotalGroups());
+        assertEquals(List.of("COMPLETED"), result.getGroups().get(0).getKeys());
+        assertEquals(15500, result.getGroups().get(0).getAmountCents());
+    }
+
+    @Test
+    void replace_AppliesCatchUpToLoadedColumns() {
+        // Arrange
+        TransactionColumnStore.Columns loaded = TransactionColumnStore.newColumns();
+        loaded.append(7L, 100, LocalDate.of(2024, 3, 1), "PENDING", 1L, 2L, 10L);
+
+        // Act
+        store.replace(loaded, columns -> columns.updateStatus(7L, "CANCELLED"));
+
+        // Assert
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.STATUS), null, null, null, 0));
+        assertEquals(1, store.size());
+        assertEquals(List.of("CANCELLED"), result.getGroups().get(0).getKeys());
+    }
+
+    @Test
+    void query_ScansMultipleChunksInParallel() {
+        // Arrange
+        TransactionColumnStore.Columns loaded = TransactionColumnStore.newColumns();
+        int rows = TransactionColumnStore.CHUNK_SIZE * 3 + 17;
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            loaded.append(i, 100, start.plusDays(i % 60), i % 2 == 0 ? "COMPLETED" : "PENDING",
+                    (long) (i % 50), (long) (i % 7), (long) (i % 20));
+        }
+        store.replace(loaded, columns -> { });
+
+        // Act
+        AnalyticsResult result = store.query(query(List.of(AnalyticsDimension.SELLER, AnalyticsDimension.DAY),
+                null, null, Set.of("COMPLETED"), 0));
+
+        // Assert
+        assertEquals(rows, result.getScannedRows());
+        assertEquals((rows + 1) / 2, result.getMatchedRows());
+        assertEquals((rows + 1) / 2 * 100L, result.getGroups().stream().mapToLong(AnalyticsResult.Group::getAmountCents).sum());
+    }
+
+    private static AnalyticsQuery query(List<AnalyticsDimension> groupBy, LocalDate from, LocalDate to,
+            Set<String> statuses, int limit) {
+        return new AnalyticsQuery(groupBy, from, to, statuses, null, null, null, limit);
+    }
+}
@@ -0,0 +1,182 @@
+package com.greentrade.greentrade.audit;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ThenScan_ReplaysVerifiedRecords() throws IOException {
+        // Arrange
+        try (AuditLedger ledger = new AuditLedger(directory, 16)) {
+            ledger.append(AuditEventType.CREATED, 1L, 2L, 3L, 4L, 29999, null, "PENDING");
+            ledger.append(AuditEventType.STATUS_CHANGED, 1L, 2L, 3L, null, 29999, "PENDING", "COMPLETED");
+
+            // Act
+            List<AuditRecord> records = new ArrayList<>();
+            AuditVerification verification = ledger.scan(records::add);
+
+            // Assert
+            assertTrue(verification.isValid());
+            assertEquals(2, verification.getRecords());
+            assertEquals(2, verification.getLastSequence());
+            assertEquals(AuditEventType.CREATED, records.get(0).getType());
+            assertEquals(4L, records.get(0).getSellerId());
+            assertNull(records.get(0).getPreviousStatus());
+            assertEquals(29999, records.get(0).getAmountCents());
+            assertEquals(AuditEventType.STATUS_CHANGED, records.get(1).getType());
+            assertNull(records.get(1).getSellerId());
+            assertEquals("PENDING", records.get(1).getPreviousStatus());
+            assertEquals("COMPLETED", records.get(1).getNewStatus());
+        }
+    }
+
+    @Test
+    void scan_DetectsChangedRecord() throws IOException {
+        // Arrange
+        try (AuditLedger ledger = new AuditLedger(directory, 16)) {
+            for (long id = 1; id <= 5; id++) {
+                ledger.append(AuditEventType.CREATED, id, 2L, 3L, 4L, 1000, null, "PENDING");
+            }
+            ledger.force();
+
+            // Change the amount of record 3 on disk
+            try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+                file.seek(2L * AuditLedger.RECORD_SIZE + 48);
+                file.writeLong(1);
+            }
+
+            // Act
+            List<AuditRecord> records = new ArrayList<>();
+            AuditVerification verification = ledger.scan(records::add);
+
+            // Assert
+            assertFalse(verification.isValid());
+            assertEquals(3L, verification.getBrokenAtSequence());
+            assertEquals(2, records.size());
+        }
+    }
+
+    @Test
+    void append_RollsOverToNewSegments() throws IOException {
+        // Arrange
+        try (AuditLedger ledger = new AuditLedger(directory, 4)) {
+
+            // Act
+            for (long id = 1; id <= 10; id++) {
+                ledger.append(AuditEventType.CREATED, id, 2L, 3L, 4L, id * 100, null, "PENDING");
+            }
+
+            // Assert
+            assertEquals(3, segments().size());
+            AuditVerification verification = ledger.scan(record -> { });
+            assertTrue(verification.isValid());
+            assertEquals(10, verification.getRecords());
+        }
+    }
+
+    @Test
+    void reopen_ContinuesTheChain() throws IOException {
+        // Arrange
+        try (AuditLedger ledger = new AuditLedger(directory, 4)) {
+            for (long id = 1; id <= 6; id++) {
+                ledger.append(AuditEventType.CREATED, id, 2L, 3L, 4L, 100, null, "PENDING");
+            }
+        }
+
+        // Act
+        try (AuditLedger reopened = new AuditLedger(directory, 4)) {
+            long sequence = reopened.append(AuditEventType.STATUS_CHANGED, 6L, 2L, 3L, null, 100, "PENDING", "CANCELLED");
+
+            // Assert
+            assertEquals(7, sequence);
+            AuditVerification verification = reopened.scan(record -> { });
+            assertTrue(verification.isValid());
+            assertEquals(7, verification.getRecords());
+        }
+    }
+
+    @Test
+    void reopen_WipesSlotsThatWereNeverChained() throws IOException {
+        // Arrange
+        try (AuditLedger ledger = new AuditLedger(directory, 8)) {
+            ledger.append(AuditEventType.CREATED, 1L, 2L, 3L, 4L, 100, null, "PENDING");
+            ledger.append(AuditEventType.CREATED, 2L, 2L, 3L, 4L, 100, null, "PENDING");
+        }
+        // A writer that claimed record 3 and died before chaining it
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(2L * AuditLedger.RECORD_SIZE);
+            file.writeLong(3);
+        }
+
+        // Act
+        try (AuditLedger reopened = new AuditLedger(directory, 8)) {
+
+            // Assert
+            assertEquals(2, reopened.getLastSequence());
+            assertEquals(3, reopened.append(AuditEventType.CREATED, 3L, 2L, 3L, 4L, 100, null, "PENDING"));
+            assertTrue(reopened.scan(record -> { }).isValid());
+        }
+    }
+
+    @Test
+    void append_FromManyThreads_KeepsOneValidChain() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (AuditLedger ledger = new AuditLedger(directory, 256)) {
+
+            // Act
+            for (int t = 0; t < threads; t++) {
+                long buyerId = t + 1;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        ledger.append(AuditEventType.CREATED, i + 1, buyerId, 3L, 4L, 100, null, "PENDING");
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // Assert
+            AuditVerification verification = ledger.scan(record -> { });
+            assertTrue(verification.isValid());
+            assertEquals(threads * perThread, verification.getRecords());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
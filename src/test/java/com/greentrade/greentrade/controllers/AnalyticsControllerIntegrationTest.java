@@ -0,0 +1,132 @@
+package com.greentrade.greentrade.controllers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.analytics.AnalyticsDimension;
+import com.greentrade.greentrade.dto.analytics.AnalyticsStoreStatus;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsGroup;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsRequest;
+import com.greentrade.greentrade.dto.analytics.TransactionAnalyticsResponse;
+import com.greentrade.greentrade.services.TransactionAnalyticsService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class AnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransactionAnalyticsService analyticsService;
+
+    private TransactionAnalyticsRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = TransactionAnalyticsRequest.builder()
+            .groupBy(List.of(AnalyticsDimension.SELLER))
+            .from(LocalDate.of(2024, 1, 1))
+            .to(LocalDate.of(2024, 1, 31))
+            .statuses(List.of("COMPLETED"))
+            .build();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenQueryTransactions_thenSuccess() throws Exception {
+        TransactionAnalyticsResponse response = TransactionAnalyticsResponse.builder()
+            .scannedRows(3)
+            .matchedRows(2)
+            .totalGroups(1)
+            .groups(List.of(TransactionAnalyticsGroup.builder()
+                .keys(Map.of("seller", 2L))
+                .count(2)
+                .totalAmount(new BigDecimal("399.98"))
+                .averageAmount(new BigDecimal("199.99"))
+                .build()))
+            .build();
+        when(analyticsService.query(any(TransactionAnalyticsRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/analytics/transactions/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRows").value(2))
+                .andExpect(jsonPath("$.groups[0].keys.seller").value(2))
+                .andExpect(jsonPath("$.groups[0].totalAmount").value(399.98));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenQueryWithTooManyDimensions_thenBadRequest() throws Exception {
+        request.setGroupBy(List.of(AnalyticsDimension.SELLER, AnalyticsDimension.BUYER,
+            AnalyticsDimension.PRODUCT, AnalyticsDimension.MONTH));
+
+        mockMvc.perform(post("/api/analytics/transactions/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenQueryWithInvalidDateRange_thenBadRequest() throws Exception {
+        when(analyticsService.query(any(TransactionAnalyticsRequest.class)))
+            .thenThrow(new IllegalArgumentException("Start date cannot be after end date"));
+
+        mockMvc.perform(post("/api/analytics/transactions/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenSellerQueriesTransactions_thenForbidden() throws Exception {
+        mockMvc.perform(post("/api/analytics/transactions/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenGetStatus_thenSuccess() throws Exception {
+        when(analyticsService.getStatus()).thenReturn(AnalyticsStoreStatus.builder().rows(3).loading(false).build());
+
+        mockMvc.perform(get("/api/analytics/transactions/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(3))
+                .andExpect(jsonPath("$.loading").value(false));
+    }
+}
@@ -0,0 +1,129 @@
+package com.greentrade.greentrade.controllers;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.dto.announcement.AnnouncementCreateRequest;
+import com.greentrade.greentrade.dto.announcement.AnnouncementResponse;
+import com.greentrade.greentrade.exception.announcement.AnnouncementNotFoundException;
+import com.greentrade.greentrade.models.Role;
+import com.greentrade.greentrade.services.AnnouncementService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class AnnouncementControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AnnouncementService announcementService;
+
+    @Test
+    @WithMockUser(username = "admin@greentrade.nl", roles = "ADMIN")
+    void whenCreateAnnouncement_asAdmin_thenCreated() throws Exception {
+        
+        AnnouncementCreateRequest request = AnnouncementCreateRequest.builder()
+            .audience(Role.ROLE_SELLER)
+            .subject("Maintenance")
+            .content("The site is down tonight")
+            .build();
+        when(announcementService.createAnnouncement(any(AnnouncementCreateRequest.class), eq("admin@greentrade.nl")))
+            .thenReturn(AnnouncementResponse.builder()
+                .id(5L)
+                .senderId(1L)
+                .audience(Role.ROLE_SELLER)
+                .subject("Maintenance")
+                .content("The site is down tonight")
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        
+        mockMvc.perform(post("/api/announcements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.audience").value("ROLE_SELLER"));
+    }
+
+    @Test
+    @WithMockUser(username = "seller@greentrade.nl", roles = "SELLER")
+    void whenCreateAnnouncement_asSeller_thenForbidden() throws Exception {
+        
+        AnnouncementCreateRequest request = AnnouncementCreateRequest.builder()
+            .subject("Maintenance")
+            .content("The site is down tonight")
+            .build();
+
+        
+        mockMvc.perform(post("/api/announcements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@greentrade.nl", roles = "ADMIN")
+    void whenGetAnnouncement_thenReturnReadCount() throws Exception {
+        
+        when(announcementService.getAnnouncement(5L))
+            .thenReturn(AnnouncementResponse.builder().id(5L).readCount(1234).build());
+
+        
+        mockMvc.perform(get("/api/announcements/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.readCount").value(1234));
+    }
+
+    @Test
+    @WithMockUser(username = "seller@greentrade.nl", roles = "SELLER")
+    void whenMarkAsRead_thenNoContent() throws Exception {
+        
+        mockMvc.perform(put("/api/announcements/5/mark-read"))
+                .andExpect(status().isNoContent());
+
+        verify(announcementService).markAsRead(5L, "seller@greentrade.nl");
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl", roles = "BUYER")
+    void whenMarkAsRead_forOtherAudience_thenNotFound() throws Exception {
+        
+        doThrow(new AnnouncementNotFoundException(5L))
+            .when(announcementService).markAsRead(5L, "buyer@greentrade.nl");
+
+        
+        mockMvc.perform(put("/api/announcements/5/mark-read"))
+                .andExpect(status().isNotFound());
+    }
+}
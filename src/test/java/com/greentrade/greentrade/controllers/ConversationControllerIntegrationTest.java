@@ -0,0 +1,137 @@
+package com.greentrade.greentrade.controllers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.greentrade.greentrade.dto.conversation.ConversationPage;
+import com.greentrade.greentrade.dto.conversation.ConversationResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.services.ConversationService;
+import com.greentrade.greentrade.services.MessageService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class ConversationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConversationService conversationService;
+
+    @MockBean
+    private MessageService messageService;
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenGetConversations_thenReturnMostRecentFirstWithCursor() throws Exception {
+        
+        ConversationResponse conversation = ConversationResponse.builder()
+            .id(10L)
+            .otherUserId(1L)
+            .lastMessageAt(LocalDateTime.now())
+            .lastMessageId(5L)
+            .lastSenderId(1L)
+            .lastSnippet("Is this product still available?")
+            .unreadCount(2)
+            .build();
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(conversationService.getConversations(2L, null, 1))
+            .thenReturn(ConversationPage.builder().conversations(List.of(conversation)).nextCursor("next").build());
+
+        
+        mockMvc.perform(get("/api/conversations").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MessageController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].lastSnippet").value("Is this product still available?"))
+                .andExpect(jsonPath("$[0].unreadCount").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenGetConversations_withInvalidCursor_thenBadRequest() throws Exception {
+        
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(conversationService.getConversations(2L, "garbage", null))
+            .thenThrow(new IllegalArgumentException("Invalid message cursor: garbage"));
+
+        
+        mockMvc.perform(get("/api/conversations").param("before", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "unknown@greentrade.nl")
+    void whenGetConversations_withUnknownUser_thenForbidden() throws Exception {
+        
+        when(messageService.getUserIdByEmail("unknown@greentrade.nl"))
+            .thenThrow(new UserNotFoundException("unknown@greentrade.nl"));
+
+        
+        mockMvc.perform(get("/api/conversations"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenGetConversationMessages_thenReturnMessages() throws Exception {
+        
+        MessageResponse message = MessageResponse.builder()
+            .id(5L)
+            .senderId(1L)
+            .receiverId(2L)
+            .subject("Product question")
+            .content("Is this product still available?")
+            .timestamp(LocalDateTime.now())
+            .conversationId(10L)
+            .build();
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(messageService.getConversationMessages(10L, 2L, null, null))
+            .thenReturn(MessagePage.builder().messages(List.of(message)).build());
+
+        
+        mockMvc.perform(get("/api/conversations/10/messages"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MessageController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].conversationId").value(10));
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenGetConversationMessages_ofOtherUsers_thenNotFound() throws Exception {
+        
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(messageService.getConversationMessages(eq(99L), eq(2L), isNull(), isNull()))
+            .thenThrow(new ConversationNotFoundException(99L));
+
+        
+        mockMvc.perform(get("/api/conversations/99/messages"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,145 @@
+package com.greentrade.greentrade.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotAllowedException;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotFoundException;
+import com.greentrade.greentrade.exception.file.InvalidFileException;
+import com.greentrade.greentrade.services.MessageAttachmentService;
+import com.greentrade.greentrade.services.MessageAttachmentService.AttachmentDownload;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class MessageAttachmentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MessageAttachmentService attachmentService;
+
+    @Test
+    @WithMockUser(username = "seller@greentrade.nl", roles = "SELLER")
+    void whenAddAttachment_asSender_thenCreated() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile("file", "specs.pdf", "application/pdf", "%PDF-1.7".getBytes());
+        when(attachmentService.addAttachment(eq(3L), any(MultipartFile.class), eq("seller@greentrade.nl")))
+            .thenReturn(attachment(7L, 3L));
+
+
+        mockMvc.perform(multipart("/api/messages/3/attachments").file(file))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/messages/3/attachments/7"))
+                .andExpect(jsonPath("$.fileName").value("specs.pdf"))
+                .andExpect(jsonPath("$.size").value(8));
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl", roles = "BUYER")
+    void whenAddAttachment_asReceiver_thenForbidden() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile("file", "specs.pdf", "application/pdf", "%PDF-1.7".getBytes());
+        when(attachmentService.addAttachment(eq(3L), any(MultipartFile.class), eq("buyer@greentrade.nl")))
+            .thenThrow(new AttachmentNotAllowedException(3L));
+
+
+        mockMvc.perform(multipart("/api/messages/3/attachments").file(file))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "seller@greentrade.nl", roles = "SELLER")
+    void whenAddAttachment_tooLarge_thenBadRequest() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile("file", "specs.pdf", "application/pdf", "%PDF-1.7".getBytes());
+        when(attachmentService.addAttachment(eq(3L), any(MultipartFile.class), eq("seller@greentrade.nl")))
+            .thenThrow(InvalidFileException.tooLarge(10 * 1024 * 1024));
+
+
+        mockMvc.perform(multipart("/api/messages/3/attachments").file(file))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl", roles = "BUYER")
+    void whenGetAttachments_thenMetadataOnly() throws Exception {
+
+        when(attachmentService.getAttachments(3L, "buyer@greentrade.nl")).thenReturn(List.of(attachment(7L, 3L)));
+
+
+        mockMvc.perform(get("/api/messages/3/attachments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].contentType").value("application/pdf"));
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl", roles = "BUYER")
+    void whenDownloadAttachment_thenStreamsContent() throws Exception {
+
+        when(attachmentService.loadAttachment(3L, 7L, "buyer@greentrade.nl"))
+            .thenReturn(new AttachmentDownload(attachment(7L, 3L),
+                new ByteArrayResource("%PDF-1.7".getBytes(StandardCharsets.UTF_8))));
+
+
+        mockMvc.perform(get("/api/messages/3/attachments/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("Content-Disposition", containsString("specs.pdf")))
+                .andExpect(content().string("%PDF-1.7"));
+    }
+
+    @Test
+    @WithMockUser(username = "other@greentrade.nl", roles = "BUYER")
+    void whenDownloadAttachment_notAParticipant_thenNotFound() throws Exception {
+
+        when(attachmentService.loadAttachment(3L, 7L, "other@greentrade.nl"))
+            .thenThrow(AttachmentNotFoundException.messageNotFound(3L));
+
+
+        mockMvc.perform(get("/api/messages/3/attachments/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static MessageAttachmentResponse attachment(Long id, Long messageId) {
+        return MessageAttachmentResponse.builder()
+            .id(id)
+            .messageId(messageId)
+            .fileName("specs.pdf")
+            .contentType("application/pdf")
+            .size(8)
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
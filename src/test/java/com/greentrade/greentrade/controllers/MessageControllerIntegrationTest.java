@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -21,12 +22,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.greentrade.greentrade.dto.message.MessageCreateRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
 import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.dto.message.UnreadCountResponse;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
 import com.greentrade.greentrade.services.MessageService;
 
 @SpringBootTest
@@ -140,8 +148,8 @@ class MessageControllerIntegrationTest {
     @WithMockUser
     void whenGetReceivedMessages_thenSuccess() throws Exception {
         
-        when(messageService.getReceivedMessagesForUser(anyLong()))
-            .thenReturn(Arrays.asList(testMessage));
+        when(messageService.getReceivedMessagesForUser(anyLong(), isNull(), isNull()))
+            .thenReturn(MessagePage.builder().messages(Arrays.asList(testMessage)).build());
 
         
         mockMvc.perform(get("/api/messages/received/{userId}", 2L))
@@ -149,6 +157,32 @@ class MessageControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].receiverId").value(2));
     }
 
+    @Test
+    @WithMockUser
+    void whenGetReceivedMessages_withMorePages_thenNextCursorHeader() throws Exception {
+        
+        when(messageService.getReceivedMessagesForUser(2L, "abc", 1))
+            .thenReturn(MessagePage.builder().messages(Arrays.asList(testMessage)).nextCursor("def").build());
+
+        
+        mockMvc.perform(get("/api/messages/received/{userId}", 2L).param("before", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MessageController.NEXT_CURSOR_HEADER, "def"))
+                .andExpect(jsonPath("$[0].receiverId").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void whenGetReceivedMessages_withInvalidCursor_thenBadRequest() throws Exception {
+        
+        when(messageService.getReceivedMessagesForUser(2L, "broken", null))
+            .thenThrow(new IllegalArgumentException("Invalid message cursor: broken"));
+
+        
+        mockMvc.perform(get("/api/messages/received/{userId}", 2L).param("before", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void whenGetUnreadMessages_thenSuccess() throws Exception {
@@ -162,6 +196,98 @@ class MessageControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].read").value(false));
     }
 
+    @Test
+    @WithMockUser
+    void whenGetUnreadCount_thenSuccess() throws Exception {
+        
+        when(messageService.getUnreadCount(2L))
+            .thenReturn(UnreadCountResponse.builder().userId(2L).unreadCount(3).build());
+
+        
+        mockMvc.perform(get("/api/messages/unread/{userId}/count", 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadCount").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = "receiver@greentrade.nl")
+    void whenOpenStream_thenAsyncStarted() throws Exception {
+        
+        when(messageService.getUserIdByEmail("receiver@greentrade.nl")).thenReturn(2L);
+
+        
+        mockMvc.perform(get("/api/messages/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(username = "unknown@greentrade.nl")
+    void whenOpenStream_withUnknownUser_thenForbidden() throws Exception {
+        
+        when(messageService.getUserIdByEmail("unknown@greentrade.nl"))
+            .thenThrow(new UserNotFoundException("unknown@greentrade.nl"));
+
+        
+        mockMvc.perform(get("/api/messages/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenSearchMessages_thenReturnMatches() throws Exception {
+        
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(messageService.searchMessages(2L, "available", null)).thenReturn(Arrays.asList(testMessage));
+
+        
+        mockMvc.perform(get("/api/messages/search").param("q", "available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].subject").value("Product question"));
+    }
+
+    @Test
+    @WithMockUser(username = "buyer@greentrade.nl")
+    void whenSearchMessages_withBlankQuery_thenBadRequest() throws Exception {
+        
+        when(messageService.getUserIdByEmail("buyer@greentrade.nl")).thenReturn(2L);
+        when(messageService.searchMessages(2L, " ", null))
+            .thenThrow(new IllegalArgumentException("Search query is required"));
+
+        
+        mockMvc.perform(get("/api/messages/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void whenMarkManyAsRead_thenUpdatedCount() throws Exception {
+        
+        MessageMarkReadRequest request = MessageMarkReadRequest.builder().senderId(1L).receiverId(2L).build();
+        when(messageService.markManyAsRead(any(MessageMarkReadRequest.class)))
+            .thenReturn(MessageMarkReadResponse.builder().updated(4).build());
+
+        
+        mockMvc.perform(post("/api/messages/mark-read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(4));
+    }
+
+    @Test
+    @WithMockUser
+    void whenMarkManyAsRead_withoutIdsOrConversation_thenBadRequest() throws Exception {
+        
+        when(messageService.markManyAsRead(any(MessageMarkReadRequest.class)))
+            .thenThrow(new IllegalArgumentException("Message IDs or a sender and receiver are required"));
+
+        
+        mockMvc.perform(post("/api/messages/mark-read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenUnauthorizedAccess_thenForbidden() throws Exception {
         
@@ -173,8 +299,8 @@ class MessageControllerIntegrationTest {
     @WithMockUser
     void whenGetSentMessages_thenSuccess() throws Exception {
         
-        when(messageService.getSentMessagesByUser(anyLong()))
-            .thenReturn(Arrays.asList(testMessage));
+        when(messageService.getSentMessagesByUser(anyLong(), isNull(), isNull()))
+            .thenReturn(MessagePage.builder().messages(Arrays.asList(testMessage)).build());
 
         
         mockMvc.perform(get("/api/messages/sent/{userId}", 1L))
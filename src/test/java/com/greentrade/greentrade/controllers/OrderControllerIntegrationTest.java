@@ -0,0 +1,125 @@
+package com.greentrade.greentrade.controllers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.dto.order.OrderCreateRequest;
+import com.greentrade.greentrade.dto.order.OrderLineRequest;
+import com.greentrade.greentrade.dto.order.OrderResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.exception.order.OrderNotFoundException;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.services.OrderService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class OrderControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderService orderService;
+
+    private OrderCreateRequest createRequest;
+    private OrderResponse orderResponse;
+
+    @BeforeEach
+    void setUp() {
+        createRequest = OrderCreateRequest.builder()
+            .buyerId(1L)
+            .lines(List.of(
+                OrderLineRequest.builder().productId(1L).amount(new BigDecimal("299.99")).build(),
+                OrderLineRequest.builder().productId(2L).amount(new BigDecimal("4.50")).build()))
+            .build();
+
+        orderResponse = OrderResponse.builder()
+            .id(5L)
+            .buyerId(1L)
+            .totalAmount(new BigDecimal("304.49"))
+            .status("PENDING")
+            .createdAt(LocalDateTime.now())
+            .transactions(List.of(
+                TransactionResponse.builder().id(10L).orderId(5L).productId(1L).build(),
+                TransactionResponse.builder().id(11L).orderId(5L).productId(2L).build()))
+            .build();
+    }
+
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenCreateOrder_thenCreated() throws Exception {
+        when(orderService.createOrder(any(OrderCreateRequest.class))).thenReturn(orderResponse);
+
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, endsWith("/api/orders/5")))
+                .andExpect(jsonPath("$.totalAmount").value(304.49))
+                .andExpect(jsonPath("$.transactions.length()").value(2))
+                .andExpect(jsonPath("$.transactions[1].orderId").value(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenCreateOrderWithoutLines_thenBadRequest() throws Exception {
+        createRequest.setLines(List.of());
+
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenCreateOrderOutOfStock_thenConflict() throws Exception {
+        when(orderService.createOrder(any(OrderCreateRequest.class)))
+            .thenThrow(new InsufficientStockException(2L));
+
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser
+    void whenGetUnknownOrder_thenNotFound() throws Exception {
+        when(orderService.getOrder(9L)).thenThrow(new OrderNotFoundException(9L));
+
+        mockMvc.perform(get("/api/orders/9"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,187 @@
+package com.greentrade.greentrade.controllers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.dto.report.ReportJobResponse;
+import com.greentrade.greentrade.dto.report.SellerStatementRequest;
+import com.greentrade.greentrade.exception.report.ReportJobNotFoundException;
+import com.greentrade.greentrade.exception.report.ReportNotAllowedException;
+import com.greentrade.greentrade.exception.report.ReportNotReadyException;
+import com.greentrade.greentrade.exception.report.ReportQueueFullException;
+import com.greentrade.greentrade.models.ReportJobStatus;
+import com.greentrade.greentrade.services.ReportJobService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class ReportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReportJobService reportJobService;
+
+    private ReportJobResponse queuedJob;
+    private SellerStatementRequest request;
+
+    @BeforeEach
+    void setUp() {
+        queuedJob = ReportJobResponse.builder()
+            .id(7L)
+            .type("SELLER_STATEMENT")
+            .status(ReportJobStatus.QUEUED)
+            .sellerId(2L)
+            .periodStart(LocalDate.of(2024, 1, 1))
+            .periodEnd(LocalDate.of(2024, 1, 31))
+            .build();
+
+        request = SellerStatementRequest.builder()
+            .sellerId(2L)
+            .month(YearMonth.of(2024, 1))
+            .build();
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenRequestSellerStatement_thenAccepted() throws Exception {
+        when(reportJobService.submitSellerStatement(any(SellerStatementRequest.class), eq("user")))
+            .thenReturn(queuedJob);
+
+        mockMvc.perform(post("/api/reports/seller-statement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, endsWith("/api/reports/7")))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenRequestSellerStatementWithoutMonth_thenBadRequest() throws Exception {
+        request.setMonth(null);
+
+        mockMvc.perform(post("/api/reports/seller-statement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenReportQueueIsFull_thenServiceUnavailable() throws Exception {
+        when(reportJobService.submitSellerStatement(any(SellerStatementRequest.class), any()))
+            .thenThrow(new ReportQueueFullException());
+
+        mockMvc.perform(post("/api/reports/seller-statement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenBuyerRequestsSellerStatement_thenForbidden() throws Exception {
+        mockMvc.perform(post("/api/reports/seller-statement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenRequestStatementOfAnotherSeller_thenForbidden() throws Exception {
+        when(reportJobService.submitSellerStatement(any(SellerStatementRequest.class), eq("user")))
+            .thenThrow(new ReportNotAllowedException(2L));
+
+        mockMvc.perform(post("/api/reports/seller-statement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser
+    void whenGetReportJob_thenSuccess() throws Exception {
+        queuedJob.setStatus(ReportJobStatus.RUNNING);
+        queuedJob.setProgressPercent(40);
+        when(reportJobService.getJob(7L, "user")).thenReturn(queuedJob);
+
+        mockMvc.perform(get("/api/reports/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.progressPercent").value(40));
+    }
+
+    @Test
+    @WithMockUser
+    void whenDownloadCompletedReport_thenSuccess() throws Exception {
+        when(reportJobService.loadReport(7L, "user")).thenReturn(new ByteArrayResource("# Seller statement\n".getBytes()));
+
+        mockMvc.perform(get("/api/reports/7/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-7.csv\""))
+                .andExpect(content().string("# Seller statement\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void whenDownloadUnfinishedReport_thenConflict() throws Exception {
+        when(reportJobService.loadReport(7L, "user")).thenThrow(new ReportNotReadyException(7L, "RUNNING"));
+
+        mockMvc.perform(get("/api/reports/7/download"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser
+    void whenGetReportJobOfAnotherUser_thenNotFound() throws Exception {
+        when(reportJobService.getJob(7L, "user")).thenThrow(new ReportJobNotFoundException(7L));
+
+        mockMvc.perform(get("/api/reports/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void whenDownloadReportOfAnotherUser_thenNotFound() throws Exception {
+        when(reportJobService.loadReport(7L, "user")).thenThrow(new ReportJobNotFoundException(7L));
+
+        mockMvc.perform(get("/api/reports/7/download"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,88 @@
+package com.greentrade.greentrade.controllers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.greentrade.greentrade.dto.settlement.SettlementRunResponse;
+import com.greentrade.greentrade.exception.settlement.SettlementRunInProgressException;
+import com.greentrade.greentrade.exception.settlement.SettlementRunNotFoundException;
+import com.greentrade.greentrade.models.SettlementRunStatus;
+import com.greentrade.greentrade.services.SettlementService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class SettlementControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SettlementService settlementService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenStartRun_thenAccepted() throws Exception {
+        SettlementRunResponse run = SettlementRunResponse.builder()
+            .id(7L)
+            .status(SettlementRunStatus.RUNNING)
+            .cutoff(LocalDate.now().atStartOfDay())
+            .totalPayout(new BigDecimal("0.00"))
+            .startedAt(LocalDateTime.now())
+            .build();
+        when(settlementService.startRun()).thenReturn(run);
+
+        mockMvc.perform(post("/api/settlements/runs"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, endsWith("/api/settlements/runs/7")))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenStartRunWhileRunning_thenConflict() throws Exception {
+        when(settlementService.startRun()).thenThrow(new SettlementRunInProgressException());
+
+        mockMvc.perform(post("/api/settlements/runs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenStartRunAsSeller_thenForbidden() throws Exception {
+        mockMvc.perform(post("/api/settlements/runs"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenGetUnknownRun_thenNotFound() throws Exception {
+        when(settlementService.getRun(9L)).thenThrow(new SettlementRunNotFoundException(9L));
+
+        mockMvc.perform(get("/api/settlements/runs/9"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,32 +1,55 @@
 package com.greentrade.greentrade.controllers;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusRequest;
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusResponse;
 import com.greentrade.greentrade.dto.transaction.TransactionCreateRequest;
 import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusOutcome;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+import com.greentrade.greentrade.services.TransactionExportService;
 import com.greentrade.greentrade.services.TransactionService;
 
 @SpringBootTest
@@ -47,6 +70,9 @@ class TransactionControllerIntegrationTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     private TransactionResponse testTransaction;
     private TransactionCreateRequest createRequest;
 
@@ -99,6 +125,35 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("PROCESSING"));
     }
 
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenCreateTransactionOutOfStock_thenConflict() throws Exception {
+        
+        when(transactionService.createTransaction(any(TransactionCreateRequest.class)))
+            .thenThrow(new InsufficientStockException(1L));
+
+        
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "BUYER")
+    void whenCreateTransactionTooOften_thenTooManyRequests() throws Exception {
+        
+        when(transactionService.createTransaction(any(TransactionCreateRequest.class)))
+            .thenThrow(new PurchaseVelocityExceededException("buyer", 1L, 42));
+
+        
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "42"));
+    }
+
     @Test
     @WithMockUser
     void whenUpdateTransactionStatus_thenSuccess() throws Exception {
@@ -122,6 +177,61 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    @WithMockUser
+    void whenBulkUpdateTransactionStatus_thenSuccess() throws Exception {
+        
+        TransactionBulkStatusResponse bulkResponse = TransactionBulkStatusResponse.builder()
+            .status("COMPLETED")
+            .requested(2)
+            .updated(1)
+            .results(List.of(
+                TransactionStatusOutcome.builder()
+                    .id(1L)
+                    .outcome(TransactionStatusOutcome.Outcome.UPDATED)
+                    .previousStatus("PROCESSING")
+                    .status("COMPLETED")
+                    .build(),
+                TransactionStatusOutcome.builder()
+                    .id(2L)
+                    .outcome(TransactionStatusOutcome.Outcome.NOT_FOUND)
+                    .build()))
+            .build();
+
+        when(transactionService.bulkUpdateTransactionStatus(anyList(), eq("COMPLETED")))
+            .thenReturn(bulkResponse);
+
+        TransactionBulkStatusRequest request = TransactionBulkStatusRequest.builder()
+            .ids(List.of(1L, 2L))
+            .status("COMPLETED")
+            .build();
+
+        
+        mockMvc.perform(patch("/api/transactions/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser
+    void whenBulkUpdateTransactionStatusWithoutIds_thenBadRequest() throws Exception {
+        
+        TransactionBulkStatusRequest request = TransactionBulkStatusRequest.builder()
+            .ids(List.of())
+            .status("COMPLETED")
+            .build();
+
+        
+        mockMvc.perform(patch("/api/transactions/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "BUYER") 
     void whenGetTransactionsByBuyer_thenSuccess() throws Exception {
@@ -163,6 +273,61 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].status").value("PROCESSING"));
     }
 
+    @Test
+    @WithMockUser
+    void whenExportTransactionsCsv_thenStreamsCsv() throws Exception {
+        
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("transaction_id,date,status\n1,2024-01-20T14:00,COMPLETED\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionExportService).writeCsv(any(), any(), anyBoolean(), any());
+
+        
+        MvcResult result = mockMvc.perform(get("/api/transactions/export.csv")
+                .param("from", "2024-01-01")
+                .param("to", "2024-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                    containsString("transactions-2024-01-01-2024-12-31.csv")))
+                .andExpect(content().string(startsWith("transaction_id,date,status")));
+    }
+
+    @Test
+    @WithMockUser
+    void whenExportTransactionsCsvWithInvalidPeriod_thenBadRequest() throws Exception {
+        
+        doThrow(new IllegalArgumentException("Start date cannot be after end date"))
+            .when(transactionExportService).validatePeriod(any(), any());
+
+        
+        mockMvc.perform(get("/api/transactions/export.csv")
+                .param("from", "2024-12-31")
+                .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void whenGetTransactionMetrics_thenSuccess() throws Exception {
+        
+        mockMvc.perform(get("/api/transactions/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows['1m'].PENDING.count").isNumber())
+                .andExpect(jsonPath("$.windows['24h'].COMPLETED.amount").isNumber());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenGetStatusCountsAsSeller_thenForbidden() throws Exception {
+        mockMvc.perform(get("/api/transactions/status-counts"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void whenUnauthorizedAccess_thenForbidden() throws Exception {
         mockMvc.perform(get("/api/transactions"))
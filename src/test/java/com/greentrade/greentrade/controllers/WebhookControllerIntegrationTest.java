@@ -0,0 +1,110 @@
+package com.greentrade.greentrade.controllers;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionRequest;
+import com.greentrade.greentrade.dto.webhook.WebhookSubscriptionResponse;
+import com.greentrade.greentrade.exception.webhook.WebhookSubscriptionNotFoundException;
+import com.greentrade.greentrade.services.WebhookSubscriptionService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+class WebhookControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private WebhookSubscriptionService subscriptionService;
+
+    private WebhookSubscriptionRequest createRequest;
+
+    @BeforeEach
+    void setUp() {
+        createRequest = WebhookSubscriptionRequest.builder()
+            .url("https://erp.example.com/hooks/greentrade")
+            .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@greentrade.nl", roles = "ADMIN")
+    void whenCreateSubscription_thenCreatedWithSecret() throws Exception {
+        WebhookSubscriptionResponse response = WebhookSubscriptionResponse.builder()
+            .id(3L)
+            .url(createRequest.getUrl())
+            .active(true)
+            .createdBy("admin@greentrade.nl")
+            .createdAt(LocalDateTime.now())
+            .secret("0123456789abcdef0123456789abcdef")
+            .build();
+        when(subscriptionService.createSubscription(any(WebhookSubscriptionRequest.class), eq("admin@greentrade.nl")))
+            .thenReturn(response);
+
+        mockMvc.perform(post("/api/webhooks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, endsWith("/api/webhooks/3")))
+                .andExpect(jsonPath("$.secret").value("0123456789abcdef0123456789abcdef"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenCreateSubscriptionWithInvalidUrl_thenBadRequest() throws Exception {
+        createRequest.setUrl("ftp://erp.example.com/hooks");
+
+        mockMvc.perform(post("/api/webhooks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "SELLER")
+    void whenCreateSubscriptionAsSeller_thenForbidden() throws Exception {
+        mockMvc.perform(post("/api/webhooks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void whenGetDeliveriesOfUnknownSubscription_thenNotFound() throws Exception {
+        when(subscriptionService.getRecentDeliveries(9L)).thenThrow(new WebhookSubscriptionNotFoundException(9L));
+
+        mockMvc.perform(get("/api/webhooks/9/deliveries"))
+                .andExpect(status().isNotFound());
+    }
+}
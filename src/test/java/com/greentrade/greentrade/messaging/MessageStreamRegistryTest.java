@@ -0,0 +1,90 @@
+package com.greentrade.greentrade.messaging;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.greentrade.greentrade.config.MessageStreamConfig;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.events.MessageSentEvent;
+
+class MessageStreamRegistryTest {
+
+    private MessageStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MessageStreamConfig config = new MessageStreamConfig();
+        config.setMaxConnectionsPerUser(2);
+        config.setBufferSize(4);
+        registry = new MessageStreamRegistry(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void connect_moreThanMaxPerUser_closesTheOldest() {
+        // Arrange & Act
+        registry.connect(1L);
+        registry.connect(1L);
+        registry.connect(1L);
+        registry.connect(2L);
+
+        // Assert
+        assertEquals(3, registry.connectionCount());
+    }
+
+    @Test
+    void onMessageSent_withoutConnectionsOfReceiver_isIgnored() {
+        // Arrange
+        registry.connect(1L);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> registry.onMessageSent(new MessageSentEvent(message(2L))));
+        assertEquals(1, registry.connectionCount());
+    }
+
+    @Test
+    void onMessageSent_toConnectedReceiver_keepsConnectionOpen() {
+        // Arrange
+        registry.connect(2L);
+
+        // Act
+        registry.onMessageSent(new MessageSentEvent(message(2L)));
+        registry.sendHeartbeats();
+
+        // Assert
+        assertEquals(1, registry.connectionCount());
+    }
+
+    @Test
+    void shutdown_closesAllConnections() {
+        // Arrange
+        registry.connect(1L);
+        registry.connect(2L);
+
+        // Act
+        registry.shutdown();
+
+        // Assert
+        assertEquals(0, registry.connectionCount());
+    }
+
+    private static MessageResponse message(Long receiverId) {
+        return MessageResponse.builder()
+                .id(10L)
+                .senderId(1L)
+                .receiverId(receiverId)
+                .subject("Product question")
+                .content("Is this still available?")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.greentrade.greentrade.messaging;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.greentrade.greentrade.config.ReadReceiptBufferConfig;
+
+class ReadReceiptBufferTest {
+
+    private ReadReceiptBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        ReadReceiptBufferConfig config = new ReadReceiptBufferConfig();
+        config.setEnabled(true);
+        config.setMaxPending(3);
+        buffer = new ReadReceiptBuffer(config);
+    }
+
+    @Test
+    void add_sameMessageTwice_countsItOnce() {
+        // Act
+        buffer.add(1L, 2L, 10L);
+        buffer.add(1L, 2L, 10L);
+        buffer.add(2L, 2L, null);
+
+        // Assert
+        assertTrue(buffer.isPending(1L));
+        assertEquals(2, buffer.pendingFor(2L));
+        assertEquals(0, buffer.pendingFor(3L));
+        assertEquals(Map.of(10L, 1), buffer.pendingPerConversation(2L));
+    }
+
+    @Test
+    void add_whenFull_refusesNewMarks() {
+        // Arrange
+        buffer.add(1L, 2L, 10L);
+        buffer.add(2L, 2L, 10L);
+        buffer.add(3L, 4L, 11L);
+
+        // Act & Assert
+        assertFalse(buffer.add(4L, 2L, 10L));
+        assertTrue(buffer.add(3L, 4L, 11L));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void flushed_forgetsOnlyTheWrittenMarks() {
+        // Arrange
+        buffer.add(1L, 2L, 10L);
+        buffer.add(2L, 2L, 10L);
+        buffer.add(3L, 4L, 11L);
+        List<Long> batch = buffer.pendingIds(2);
+
+        // Act
+        buffer.flushed(batch);
+
+        // Assert
+        assertEquals(2, batch.size());
+        assertEquals(1, buffer.size());
+        assertFalse(buffer.isPending(batch.get(0)));
+        assertEquals(1, buffer.pendingFor(2L) + buffer.pendingFor(4L));
+    }
+
+    @Test
+    void flushed_lastMarkOfReceiver_leavesNothingPending() {
+        // Arrange
+        buffer.add(1L, 2L, 10L);
+
+        // Act
+        buffer.flushed(List.of(1L));
+
+        // Assert
+        assertFalse(buffer.hasPending());
+        assertEquals(0, buffer.pendingFor(2L));
+        assertTrue(buffer.pendingPerConversation(2L).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.greentrade.greentrade.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.greentrade.greentrade.dto.transaction.TransactionMetricsResponse;
+import com.greentrade.greentrade.metrics.TransactionMetrics.Window;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TransactionMetricsTest {
+
+    private AtomicLong now;
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new TransactionMetrics(meterRegistry, now::get);
+    }
+
+    @Test
+    void record_CountsAndSumsPerStatus() {
+        // Act
+        metrics.record("PENDING", new BigDecimal("299.99"));
+        metrics.record("pending", new BigDecimal("0.01"));
+        metrics.record("COMPLETED", new BigDecimal("10"));
+
+        // Assert
+        assertEquals(2, metrics.count(Window.LAST_MINUTE, "PENDING"));
+        assertEquals(30000, metrics.amountCents(Window.LAST_MINUTE, "PENDING"));
+        assertEquals(1, metrics.count(Window.LAST_DAY, "COMPLETED"));
+        assertEquals(0, metrics.count(Window.LAST_HOUR, "REFUNDED"));
+    }
+
+    @Test
+    void record_UnknownStatus_IsIgnored() {
+        // Act
+        metrics.record("SHIPPED", BigDecimal.ONE);
+
+        // Assert
+        for (String status : TransactionMetrics.STATUSES) {
+            assertEquals(0, metrics.count(Window.LAST_DAY, status));
+        }
+    }
+
+    @Test
+    void count_DropsEventsOutsideTheWindow() {
+        // Arrange
+        metrics.record("PROCESSING", BigDecimal.ONE);
+
+        // Act
+        now.addAndGet(61_000L);
+        metrics.record("PROCESSING", BigDecimal.TEN);
+
+        // Assert
+        assertEquals(1, metrics.count(Window.LAST_MINUTE, "PROCESSING"));
+        assertEquals(1000, metrics.amountCents(Window.LAST_MINUTE, "PROCESSING"));
+        assertEquals(2, metrics.count(Window.LAST_HOUR, "PROCESSING"));
+
+        now.addAndGet(25L * 60 * 60 * 1000);
+        assertEquals(0, metrics.count(Window.LAST_DAY, "PROCESSING"));
+    }
+
+    @Test
+    void snapshot_ContainsAllWindowsAndStatuses() {
+        // Arrange
+        metrics.record("CANCELLED", new BigDecimal("12.50"));
+
+        // Act
+        TransactionMetricsResponse snapshot = metrics.snapshot();
+
+        // Assert
+        assertEquals(3, snapshot.getWindows().size());
+        assertEquals(1, snapshot.getWindows().get("1h").get("CANCELLED").getCount());
+        assertEquals(new BigDecimal("12.50"), snapshot.getWindows().get("1h").get("CANCELLED").getAmount());
+    }
+
+    @Test
+    void gauges_ReflectRecordedVolume() {
+        // Arrange
+        metrics.record("COMPLETED", new BigDecimal("5.25"));
+
+        // Act & Assert
+        assertEquals(1.0, meterRegistry.get("greentrade.transactions.count")
+                .tag("window", "1m").tag("status", "COMPLETED").gauge().value());
+        assertEquals(5.25, meterRegistry.get("greentrade.transactions.amount")
+                .tag("window", "24h").tag("status", "COMPLETED").gauge().value());
+    }
+}
@@ -0,0 +1,132 @@
+package com.greentrade.greentrade.outbox;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.OutboxConfig;
+import com.greentrade.greentrade.models.OutboxEvent;
+import com.greentrade.greentrade.repositories.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxEventSink failingSink;
+
+    private InMemoryOutboxEventSink sink;
+    private OutboxConfig outboxConfig;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryOutboxEventSink();
+        outboxConfig = new OutboxConfig();
+        outboxConfig.setBatchSize(10);
+    }
+
+    @Test
+    void relayBatch_PublishesAndMarksEvents() {
+        // Arrange
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(first, second));
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sink, outboxConfig, transactionManager);
+
+        // Act
+        int published = relay.relayBatch();
+
+        // Assert
+        assertEquals(2, published);
+        assertEquals(List.of(first, second), sink.getEvents());
+        assertNotNull(first.getPublishedAt());
+        assertNotNull(second.getPublishedAt());
+    }
+
+    @Test
+    void relayBatch_SinkFailure_StopsAtFailedEvent() throws IOException {
+        // Arrange
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(first, second));
+        doThrow(new IOException("disk full")).when(failingSink).publish(first);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, failingSink, outboxConfig, transactionManager);
+
+        // Act
+        int published = relay.relayBatch();
+
+        // Assert
+        assertEquals(0, published);
+        assertNull(first.getPublishedAt());
+        assertNull(second.getPublishedAt());
+        assertEquals(1, first.getAttempts());
+        assertEquals("disk full", first.getLastError());
+        assertNotNull(first.getNextAttemptAt());
+        assertNull(first.getParkedAt());
+    }
+
+    @Test
+    void relayBatch_EventBackingOff_HoldsBackTheRest() {
+        // Arrange
+        OutboxEvent first = event(1L);
+        first.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(first, second));
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sink, outboxConfig, transactionManager);
+
+        // Act
+        int published = relay.relayBatch();
+
+        // Assert
+        assertEquals(0, published);
+        assertTrue(sink.getEvents().isEmpty());
+    }
+
+    @Test
+    void relayBatch_LastAttemptFails_ParksEventAndPublishesTheRest() throws IOException {
+        // Arrange
+        outboxConfig.setMaxAttempts(3);
+        OutboxEvent first = event(1L);
+        first.setAttempts(2);
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.lockUnpublished(10)).thenReturn(List.of(first, second));
+        doThrow(new IOException("payload too large")).when(failingSink).publish(first);
+        doNothing().when(failingSink).publish(second);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, failingSink, outboxConfig, transactionManager);
+
+        // Act
+        int published = relay.relayBatch();
+
+        // Assert
+        assertEquals(1, published);
+        assertEquals(3, first.getAttempts());
+        assertNotNull(first.getParkedAt());
+        assertNull(first.getPublishedAt());
+        assertNotNull(second.getPublishedAt());
+    }
+
+    private OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent("Transaction", id, "TransactionCreated", "{}", LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
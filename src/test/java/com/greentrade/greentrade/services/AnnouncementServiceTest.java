@@ -0,0 +1,181 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.greentrade.greentrade.dto.announcement.AnnouncementCreateRequest;
+import com.greentrade.greentrade.dto.announcement.AnnouncementResponse;
+import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.exception.announcement.AnnouncementNotFoundException;
+import com.greentrade.greentrade.mappers.AnnouncementMapper;
+import com.greentrade.greentrade.models.Announcement;
+import com.greentrade.greentrade.models.AnnouncementReadChunk;
+import com.greentrade.greentrade.models.Role;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.AnnouncementReadChunkRepository;
+import com.greentrade.greentrade.repositories.AnnouncementRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AnnouncementServiceTest {
+
+    @Mock
+    private AnnouncementRepository announcementRepository;
+
+    @Mock
+    private AnnouncementReadChunkRepository chunkRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private AnnouncementMapper announcementMapper;
+
+    @InjectMocks
+    private AnnouncementService announcementService;
+
+    private User admin;
+    private User seller;
+    private Announcement announcement;
+
+    @BeforeEach
+    void setUp() {
+        admin = User.builder().id(1L).email("admin@greentrade.nl").role(Role.ROLE_ADMIN).build();
+        seller = User.builder().id(8200L).email("seller@greentrade.nl").role(Role.ROLE_SELLER).build();
+
+        announcement = new Announcement(1L, Role.ROLE_SELLER, "Maintenance", "The site is down tonight",
+                LocalDateTime.of(2024, 6, 1, 12, 0));
+        announcement.setId(5L);
+    }
+
+    @Test
+    void createAnnouncement_SavesOneRow() {
+        // Arrange
+        AnnouncementCreateRequest request = AnnouncementCreateRequest.builder()
+                .audience(Role.ROLE_SELLER)
+                .subject("Maintenance")
+                .content("The site is down tonight")
+                .build();
+        when(userRepository.findByEmail("admin@greentrade.nl")).thenReturn(Optional.of(admin));
+        when(announcementRepository.save(any(Announcement.class))).thenReturn(announcement);
+
+        // Act
+        AnnouncementResponse result = announcementService.createAnnouncement(request, "admin@greentrade.nl");
+
+        // Assert
+        assertEquals(5L, result.getId());
+        assertEquals(Role.ROLE_SELLER, result.getAudience());
+        assertEquals(0, result.getReadCount());
+    }
+
+    @Test
+    void getInboxAnnouncements_ReadsTheBitOfTheUser() {
+        // Arrange
+        Announcement other = new Announcement(1L, null, "Welcome", "Welcome to GreenTrade",
+                LocalDateTime.of(2024, 5, 1, 12, 0));
+        other.setId(4L);
+        when(announcementRepository.findVisibleTo(Role.ROLE_SELLER, Limit.of(10))).thenReturn(List.of(announcement, other));
+        when(chunkRepository.findByAnnouncementIdInAndChunkIndex(List.of(5L, 4L), 1))
+                .thenReturn(List.of(chunk(5L, 1, 8200L - AnnouncementReadChunk.USERS_PER_CHUNK)));
+
+        // Act
+        List<MessageResponse> result = announcementService.getInboxAnnouncements(seller, null, 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).isAnnouncement());
+        assertTrue(result.get(0).isRead());
+        assertEquals(8200L, result.get(0).getReceiverId());
+        assertFalse(result.get(1).isRead());
+    }
+
+    @Test
+    void markAsRead_SetsTheBitOfTheUser() {
+        // Arrange
+        AnnouncementReadChunk chunk = chunk(5L, 1);
+        when(userRepository.findByEmail("seller@greentrade.nl")).thenReturn(Optional.of(seller));
+        when(announcementRepository.findById(5L)).thenReturn(Optional.of(announcement));
+        when(chunkRepository.lockChunk(5L, 1)).thenReturn(Optional.empty(), Optional.of(chunk));
+
+        // Act
+        announcementService.markAsRead(5L, "seller@greentrade.nl");
+
+        // Assert
+        verify(chunkRepository).insertIfAbsent(5L, 1, new byte[0]);
+        verify(chunkRepository).save(chunk);
+        assertTrue(chunk.isRead(8200L));
+        assertEquals(1, chunk.readCount());
+    }
+
+    @Test
+    void markAsRead_AlreadyRead_DoesNotSave() {
+        // Arrange
+        AnnouncementReadChunk chunk = chunk(5L, 1, 8200L - AnnouncementReadChunk.USERS_PER_CHUNK);
+        when(userRepository.findByEmail("seller@greentrade.nl")).thenReturn(Optional.of(seller));
+        when(announcementRepository.findById(5L)).thenReturn(Optional.of(announcement));
+        when(chunkRepository.lockChunk(5L, 1)).thenReturn(Optional.of(chunk));
+
+        // Act
+        announcementService.markAsRead(5L, "seller@greentrade.nl");
+
+        // Assert
+        verify(chunkRepository, never()).save(any(AnnouncementReadChunk.class));
+    }
+
+    @Test
+    void markAsRead_OtherAudience_ThrowsException() {
+        // Arrange
+        User buyer = User.builder().id(3L).email("buyer@greentrade.nl").role(Role.ROLE_BUYER).build();
+        when(userRepository.findByEmail("buyer@greentrade.nl")).thenReturn(Optional.of(buyer));
+        when(announcementRepository.findById(5L)).thenReturn(Optional.of(announcement));
+
+        // Act & Assert
+        assertThrows(AnnouncementNotFoundException.class,
+                () -> announcementService.markAsRead(5L, "buyer@greentrade.nl"));
+        verify(chunkRepository, never()).save(any(AnnouncementReadChunk.class));
+    }
+
+    @Test
+    void getAnnouncement_CountsReadersOverAllChunks() {
+        // Arrange
+        when(announcementRepository.findById(5L)).thenReturn(Optional.of(announcement));
+        when(chunkRepository.findByAnnouncementId(5L)).thenReturn(List.of(chunk(5L, 0, 1L, 2L), chunk(5L, 1, 8L)));
+
+        // Act
+        AnnouncementResponse result = announcementService.getAnnouncement(5L);
+
+        // Assert
+        assertEquals(3, result.getReadCount());
+    }
+
+    private static AnnouncementReadChunk chunk(Long announcementId, int chunkIndex, long... readBits) {
+        BitSet bits = new BitSet();
+        for (long bit : readBits) {
+            bits.set((int) bit);
+        }
+        AnnouncementReadChunk chunk = new AnnouncementReadChunk();
+        chunk.setAnnouncementId(announcementId);
+        chunk.setChunkIndex(chunkIndex);
+        chunk.setBits(bits.toByteArray());
+        return chunk;
+    }
+}
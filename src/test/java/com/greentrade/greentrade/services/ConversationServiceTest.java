@@ -0,0 +1,391 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.greentrade.greentrade.dto.conversation.ConversationPage;
+import com.greentrade.greentrade.dto.conversation.ConversationResponse;
+import com.greentrade.greentrade.dto.message.MessageCursor;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
+import com.greentrade.greentrade.mappers.ConversationMapper;
+import com.greentrade.greentrade.messaging.ReadReceiptBuffer;
+import com.greentrade.greentrade.models.Conversation;
+import com.greentrade.greentrade.models.ConversationParticipant;
+import com.greentrade.greentrade.models.Message;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.ConversationParticipantRepository;
+import com.greentrade.greentrade.repositories.ConversationParticipantRepository.ConversationView;
+import com.greentrade.greentrade.repositories.ConversationRepository;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.MessageView;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ConversationServiceTest {
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private ConversationParticipantRepository participantRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ConversationMapper conversationMapper;
+
+    @Mock
+    private ReadReceiptBuffer readReceipts;
+
+    @InjectMocks
+    private ConversationService conversationService;
+
+    private LocalDateTime now;
+    private Conversation conversation;
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        conversation = new Conversation(1L, 2L, now.minusDays(1));
+        conversation.setId(10L);
+
+        message = new Message(User.builder().id(2L).build(), User.builder().id(1L).build(),
+                "Product question", "Is this product still available?", now);
+        message.setId(5L);
+    }
+
+    @Test
+    void recordMessage_ExistingConversation_UpdatesSummaryAndParticipants() {
+        // Arrange
+        conversation.setLastMessageId(4L);
+        conversation.setLastMessageAt(now.minusHours(1));
+        when(conversationRepository.findIdByParticipants(1L, 2L)).thenReturn(Optional.of(10L));
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(participantRepository.recordMessage(10L, 1L, now, 1)).thenReturn(1);
+        when(participantRepository.recordMessage(10L, 2L, now, 0)).thenReturn(1);
+
+        // Act
+        Long conversationId = conversationService.recordMessage(message);
+
+        // Assert
+        assertEquals(10L, conversationId);
+        assertEquals(10L, message.getConversationId());
+        assertEquals(5L, conversation.getLastMessageId());
+        assertEquals(now, conversation.getLastMessageAt());
+        assertEquals(2L, conversation.getLastSenderId());
+        assertEquals("Is this product still available?", conversation.getLastSnippet());
+        verify(conversationRepository).lockById(10L);
+        verify(conversationRepository, never()).insertIfAbsent(anyLong(), anyLong());
+        verify(participantRepository, never()).save(any(ConversationParticipant.class));
+    }
+
+    @Test
+    void recordMessage_FirstMessage_CreatesConversationAndParticipants() {
+        // Arrange
+        when(conversationRepository.findIdByParticipants(1L, 2L)).thenReturn(Optional.empty(), Optional.of(10L));
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        // Act
+        conversationService.recordMessage(message);
+
+        // Assert
+        verify(conversationRepository).insertIfAbsent(1L, 2L);
+        ArgumentCaptor<ConversationParticipant> participants = ArgumentCaptor.forClass(ConversationParticipant.class);
+        verify(participantRepository, times(2)).save(participants.capture());
+        ConversationParticipant receiver = participants.getAllValues().get(0);
+        ConversationParticipant sender = participants.getAllValues().get(1);
+        assertEquals(1L, receiver.getUserId());
+        assertEquals(2L, receiver.getOtherUserId());
+        assertEquals(1, receiver.getUnreadCount());
+        assertEquals(2L, sender.getUserId());
+        assertEquals(0, sender.getUnreadCount());
+        assertEquals(5L, conversation.getLastMessageId());
+    }
+
+    @Test
+    void recordMessage_OlderThanLastMessage_KeepsSummary() {
+        // Arrange
+        conversation.setLastMessageId(6L);
+        conversation.setLastMessageAt(now.plusSeconds(1));
+        conversation.setLastSnippet("Newer");
+        when(conversationRepository.findIdByParticipants(1L, 2L)).thenReturn(Optional.of(10L));
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(participantRepository.recordMessage(10L, 1L, now, 1)).thenReturn(1);
+        when(participantRepository.recordMessage(10L, 2L, now, 0)).thenReturn(1);
+
+        // Act
+        conversationService.recordMessage(message);
+
+        // Assert
+        assertEquals(6L, conversation.getLastMessageId());
+        assertEquals("Newer", conversation.getLastSnippet());
+    }
+
+    @Test
+    void recordMessage_ToSelf_RecordsOneParticipant() {
+        // Arrange
+        message.setReceiver(User.builder().id(2L).build());
+        Conversation own = new Conversation(2L, 2L, now);
+        own.setId(11L);
+        when(conversationRepository.findIdByParticipants(2L, 2L)).thenReturn(Optional.of(11L));
+        when(conversationRepository.findById(11L)).thenReturn(Optional.of(own));
+        when(participantRepository.recordMessage(11L, 2L, now, 1)).thenReturn(1);
+
+        // Act
+        conversationService.recordMessage(message);
+
+        // Assert
+        verify(participantRepository, never()).recordMessage(11L, 2L, now, 0);
+    }
+
+    @Test
+    void removeUnread_NothingRead_DoesNotUpdate() {
+        // Act
+        conversationService.removeUnread(10L, 1L, 0);
+
+        // Assert
+        verify(participantRepository, never()).subtractUnread(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void messageDeleted_LastMessage_MovesSummaryToPreviousMessage() {
+        // Arrange
+        conversation.setLastMessageId(5L);
+        conversation.setLastMessageAt(now);
+        MessageView previous = messageView(4L, now.minusMinutes(5));
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findInConversation(10L, Limit.of(1))).thenReturn(List.of(previous));
+
+        // Act
+        conversationService.messageDeleted(10L, 5L);
+
+        // Assert
+        assertEquals(4L, conversation.getLastMessageId());
+        assertEquals(now.minusMinutes(5), conversation.getLastMessageAt());
+        assertEquals("Earlier message", conversation.getLastSnippet());
+    }
+
+    @Test
+    void messageDeleted_OlderMessage_KeepsSummary() {
+        // Arrange
+        conversation.setLastMessageId(6L);
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        // Act
+        conversationService.messageDeleted(10L, 5L);
+
+        // Assert
+        verify(messageRepository, never()).findInConversation(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void rebuild_RecountsUnreadAndCreatesMissingParticipants() {
+        // Arrange
+        ConversationParticipant low = new ConversationParticipant(10L, 1L, 2L, now.minusDays(2), 7);
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findInConversation(10L, Limit.of(1))).thenReturn(List.of(messageView(5L, now)));
+        when(messageRepository.countByConversationIdAndReceiverIdAndReadIsFalse(10L, 1L)).thenReturn(3L);
+        when(messageRepository.countByConversationIdAndReceiverIdAndReadIsFalse(10L, 2L)).thenReturn(0L);
+        when(participantRepository.findByConversationIdAndUserId(10L, 1L)).thenReturn(Optional.of(low));
+        when(participantRepository.findByConversationIdAndUserId(10L, 2L)).thenReturn(Optional.empty());
+
+        // Act
+        conversationService.rebuild(10L);
+
+        // Assert
+        verify(participantRepository).lockByConversationId(10L);
+        assertEquals(3, low.getUnreadCount());
+        assertEquals(now, low.getLastMessageAt());
+        ArgumentCaptor<ConversationParticipant> saved = ArgumentCaptor.forClass(ConversationParticipant.class);
+        verify(participantRepository, times(2)).save(saved.capture());
+        ConversationParticipant high = saved.getAllValues().get(1);
+        assertEquals(2L, high.getUserId());
+        assertEquals(1L, high.getOtherUserId());
+        assertEquals(0, high.getUnreadCount());
+    }
+
+    @Test
+    void getConversations_MoreThanOnePage_ReturnsCursorOfLastConversation() {
+        // Arrange
+        ConversationView first = conversationView(12L, now);
+        ConversationView second = conversationView(11L, now.minusHours(1));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participantRepository.findForUser(1L, Limit.of(2))).thenReturn(List.of(first, second));
+        when(conversationMapper.toResponse(first)).thenReturn(ConversationResponse.builder().id(12L).build());
+
+        // Act
+        ConversationPage page = conversationService.getConversations(1L, null, 1);
+
+        // Assert
+        assertEquals(1, page.getConversations().size());
+        assertEquals(new MessageCursor(now, 12L), MessageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getConversations_BufferedReadMarks_LowersUnreadCount() {
+        // Arrange
+        ConversationView view = conversationView(12L, now);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participantRepository.findForUser(1L, Limit.of(MessageService.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(view));
+        when(conversationMapper.toResponse(view)).thenReturn(ConversationResponse.builder().id(12L).unreadCount(3).build());
+        when(readReceipts.pendingPerConversation(1L)).thenReturn(Map.of(12L, 2));
+
+        // Act
+        ConversationPage page = conversationService.getConversations(1L, null, null);
+
+        // Assert
+        assertEquals(1, page.getConversations().get(0).getUnreadCount());
+    }
+
+    @Test
+    void getConversations_WithCursor_ReadsConversationsBeforeIt() {
+        // Arrange
+        String cursor = new MessageCursor(now, 12L).encode();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(participantRepository.findForUserBefore(1L, now, 12L, Limit.of(MessageService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // Act
+        ConversationPage page = conversationService.getConversations(1L, cursor, null);
+
+        // Assert
+        assertEquals(0, page.getConversations().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void requireParticipant_NotAParticipant_ThrowsException() {
+        // Arrange
+        when(participantRepository.existsByConversationIdAndUserId(10L, 3L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ConversationNotFoundException.class, () -> conversationService.requireParticipant(10L, 3L));
+    }
+
+    @Test
+    void snippet_LongContent_IsCutWithoutSplittingCharacters() {
+        // Arrange
+        String content = "a".repeat(Conversation.SNIPPET_LENGTH - 1) + "\uD83C\uDF31 and more";
+
+        // Act
+        String snippet = ConversationService.snippet(content);
+
+        // Assert
+        assertEquals("a".repeat(Conversation.SNIPPET_LENGTH - 1), snippet);
+        assertEquals("Short", ConversationService.snippet("  Short \n"));
+    }
+
+    private static MessageView messageView(Long id, LocalDateTime timestamp) {
+        return new MessageView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getSenderId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getReceiverId() {
+                return 2L;
+            }
+
+            @Override
+            public String getSubject() {
+                return "Product question";
+            }
+
+            @Override
+            public String getContent() {
+                return "Earlier message";
+            }
+
+            @Override
+            public LocalDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public boolean isRead() {
+                return false;
+            }
+
+            @Override
+            public Long getConversationId() {
+                return 10L;
+            }
+
+            @Override
+            public int getAttachmentCount() {
+                return 0;
+            }
+        };
+    }
+
+    private static ConversationView conversationView(Long id, LocalDateTime lastMessageAt) {
+        return new ConversationView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOtherUserId() {
+                return 2L;
+            }
+
+            @Override
+            public LocalDateTime getLastMessageAt() {
+                return lastMessageAt;
+            }
+
+            @Override
+            public long getUnreadCount() {
+                return 0;
+            }
+
+            @Override
+            public Long getLastMessageId() {
+                return 5L;
+            }
+
+            @Override
+            public Long getLastSenderId() {
+                return 1L;
+            }
+
+            @Override
+            public String getLastSnippet() {
+                return "Is this product still available?";
+            }
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.greentrade.greentrade.services;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -220,4 +222,33 @@ class FileStorageServiceTest {
        );
        assertEquals("Bestandsnaam mag niet null zijn", exception.getMessage());
    }
+
+   @Test
+   void storeStream_WithinMaxSize_StoresContent() throws IOException {
+       // Arrange
+       String content = "spec sheet";
+       
+       // Act
+       FileStorageService.StoredFile stored = fileStorageService.storeStream(
+           new ByteArrayInputStream(content.getBytes()), "pdf", 1024);
+       
+       // Assert
+       assertEquals(content.length(), stored.size());
+       assertTrue(stored.fileName().endsWith(".pdf"));
+       assertEquals(content, Files.readString(tempDir.resolve(stored.fileName())));
+   }
+   
+   @Test
+   void storeStream_OverMaxSize_ThrowsAndLeavesNoFile() throws IOException {
+       // Arrange
+       byte[] content = new byte[4096];
+       
+       // Act & Assert
+       assertThrows(InvalidFileException.class, () ->
+           fileStorageService.storeStream(new ByteArrayInputStream(content), "pdf", 1024)
+       );
+       try (Stream<Path> files = Files.list(tempDir)) {
+           assertEquals(0, files.count());
+       }
+   }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.greentrade.greentrade.services;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.MessageAttachmentConfig;
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotAllowedException;
+import com.greentrade.greentrade.exception.attachment.AttachmentNotFoundException;
+import com.greentrade.greentrade.exception.file.InvalidFileException;
+import com.greentrade.greentrade.mappers.MessageAttachmentMapper;
+import com.greentrade.greentrade.models.MessageAttachment;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.MessageAttachmentRepository;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.ParticipantsView;
+import com.greentrade.greentrade.repositories.UserRepository;
+import com.greentrade.greentrade.services.FileStorageService.StoredFile;
+
+@ExtendWith(MockitoExtension.class)
+class MessageAttachmentServiceTest {
+
+    @Mock
+    private MessageAttachmentRepository attachmentRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MessageAttachmentService attachmentService;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        MessageAttachmentConfig config = new MessageAttachmentConfig();
+        config.setMaxPerMessage(2);
+        config.setMaxFileSize(1024);
+        config.setCleanupBatchSize(2);
+        attachmentService = new MessageAttachmentService(attachmentRepository, messageRepository, userRepository,
+                fileStorageService, new MessageAttachmentMapper(), config, transactionManager);
+        file = new MockMultipartFile("file", "specs.pdf", "application/pdf", "%PDF-1.7".getBytes());
+    }
+
+    @Test
+    void addAttachment_Sender_StoresFileAndCountsIt() {
+        // Arrange
+        givenUser("seller@greentrade.nl", 1L);
+        when(messageRepository.findParticipantsById(3L)).thenReturn(Optional.of(participants(1L, 2L, 0)));
+        when(fileStorageService.storeStream(any(InputStream.class), eq("pdf"), eq(1024L)))
+                .thenReturn(new StoredFile("stored.pdf", 8));
+        when(messageRepository.incrementAttachmentCount(3L, 2)).thenReturn(1);
+        when(attachmentRepository.save(any(MessageAttachment.class))).thenAnswer(invocation -> {
+            MessageAttachment attachment = invocation.getArgument(0);
+            attachment.setId(7L);
+            return attachment;
+        });
+
+        // Act
+        MessageAttachmentResponse result = attachmentService.addAttachment(3L, file, "seller@greentrade.nl");
+
+        // Assert
+        assertEquals(7L, result.getId());
+        assertEquals("specs.pdf", result.getFileName());
+        assertEquals("application/pdf", result.getContentType());
+        assertEquals(8, result.getSize());
+    }
+
+    @Test
+    void addAttachment_Receiver_ThrowsNotAllowed() {
+        // Arrange
+        givenUser("buyer@greentrade.nl", 2L);
+        when(messageRepository.findParticipantsById(3L)).thenReturn(Optional.of(participants(1L, 2L, 0)));
+
+        // Act & Assert
+        assertThrows(AttachmentNotAllowedException.class,
+                () -> attachmentService.addAttachment(3L, file, "buyer@greentrade.nl"));
+        verify(fileStorageService, never()).storeStream(any(InputStream.class), anyString(), anyLong());
+    }
+
+    @Test
+    void addAttachment_MaximumReachedWhileUploading_DeletesStoredFile() {
+        // Arrange
+        givenUser("seller@greentrade.nl", 1L);
+        when(messageRepository.findParticipantsById(3L)).thenReturn(Optional.of(participants(1L, 2L, 1)));
+        when(fileStorageService.storeStream(any(InputStream.class), eq("pdf"), eq(1024L)))
+                .thenReturn(new StoredFile("stored.pdf", 8));
+        when(messageRepository.incrementAttachmentCount(3L, 2)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(InvalidFileException.class,
+                () -> attachmentService.addAttachment(3L, file, "seller@greentrade.nl"));
+        verify(fileStorageService).deleteFile("stored.pdf");
+        verify(attachmentRepository, never()).save(any(MessageAttachment.class));
+    }
+
+    @Test
+    void addAttachment_TypeNotAllowed_ThrowsInvalidFile() {
+        // Arrange
+        givenUser("seller@greentrade.nl", 1L);
+        when(messageRepository.findParticipantsById(3L)).thenReturn(Optional.of(participants(1L, 2L, 0)));
+        MockMultipartFile script = new MockMultipartFile("file", "run.sh", "text/x-sh", "echo".getBytes());
+        when(fileStorageService.validateFileType(eq(script), any(String[].class)))
+                .thenThrow(InvalidFileException.invalidType("pdf"));
+
+        // Act & Assert
+        assertThrows(InvalidFileException.class,
+                () -> attachmentService.addAttachment(3L, script, "seller@greentrade.nl"));
+        verify(fileStorageService, never()).storeStream(any(InputStream.class), anyString(), anyLong());
+    }
+
+    @Test
+    void loadAttachment_NotAParticipant_ThrowsNotFound() {
+        // Arrange
+        givenUser("other@greentrade.nl", 9L);
+        when(messageRepository.findParticipantsById(3L)).thenReturn(Optional.of(participants(1L, 2L, 1)));
+
+        // Act & Assert
+        AttachmentNotFoundException thrown = assertThrows(AttachmentNotFoundException.class,
+                () -> attachmentService.loadAttachment(3L, 7L, "other@greentrade.nl"));
+        assertEquals("Message not found with ID: 3", thrown.getMessage());
+        verify(attachmentRepository, never()).findByIdAndMessageId(anyLong(), anyLong());
+    }
+
+    @Test
+    void deleteOrphans_DeletesFilesAndRowsInBatches() {
+        // Arrange
+        MessageAttachment first = orphan("a.pdf");
+        MessageAttachment second = orphan("b.pdf");
+        MessageAttachment third = orphan("c.pdf");
+        when(attachmentRepository.findOrphans(Limit.of(2))).thenReturn(List.of(first, second), List.of(third));
+
+        // Act
+        int deleted = attachmentService.deleteOrphans();
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(fileStorageService).deleteFile("a.pdf");
+        verify(fileStorageService).deleteFile("c.pdf");
+        verify(attachmentRepository).deleteAllInBatch(List.of(first, second));
+        verify(attachmentRepository).deleteAllInBatch(List.of(third));
+    }
+
+    private void givenUser(String email, Long id) {
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(User.builder().id(id).email(email).build()));
+    }
+
+    private static MessageAttachment orphan(String storedName) {
+        MessageAttachment attachment = new MessageAttachment();
+        attachment.setStoredName(storedName);
+        return attachment;
+    }
+
+    private static ParticipantsView participants(Long senderId, Long receiverId, int attachmentCount) {
+        return new ParticipantsView() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getReceiverId() {
+                return receiverId;
+            }
+
+            @Override
+            public int getAttachmentCount() {
+                return attachmentCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.MessageRetentionConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MessageRetentionServiceTest {
+
+    @Mock
+    private ConversationService conversationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private SimpleMeterRegistry meterRegistry;
+    private MessageRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        MessageRetentionConfig config = new MessageRetentionConfig();
+        config.setChunkSize(100);
+        config.setPauseMillis(0);
+        meterRegistry = new SimpleMeterRegistry();
+        retentionService = new MessageRetentionService(config, conversationService, jdbcTemplate,
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void purgeBefore_deletesInIdRangeChunksAndCountsThem() {
+        // Arrange
+        when(jdbcTemplate.queryForMap(anyString(), eq(cutoff)))
+                .thenReturn(range(1L, 250L));
+        when(jdbcTemplate.update(anyString(), eq(1L), eq(101L),
+                eq(cutoff))).thenReturn(80);
+        when(jdbcTemplate.update(anyString(), eq(101L), eq(201L),
+                eq(cutoff))).thenReturn(0);
+        when(jdbcTemplate.update(anyString(), eq(201L), eq(301L),
+                eq(cutoff))).thenReturn(30);
+        when(jdbcTemplate.queryForList(anyString(), eq(1L), eq(101L)))
+                .thenReturn(List.of(Map.of("id", 7L, "last_message_id", 42L)));
+        when(jdbcTemplate.queryForList(anyString(), eq(201L), eq(301L)))
+                .thenReturn(List.of());
+
+        // Act
+        long deleted = retentionService.purgeBefore(cutoff);
+
+        // Assert
+        assertEquals(110, deleted);
+        assertEquals(110, meterRegistry.counter("greentrade.messages.purged").count());
+        assertEquals(3, meterRegistry.counter("greentrade.messages.purge.chunks").count());
+        verify(conversationService).messageDeleted(7L, 42L);
+    }
+
+    @Test
+    void purgeBefore_nothingExpired_deletesNothing() {
+        // Arrange
+        when(jdbcTemplate.queryForMap(anyString(), eq(cutoff)))
+                .thenReturn(range(null, null));
+
+        // Act
+        long deleted = retentionService.purgeBefore(cutoff);
+
+        // Assert
+        assertEquals(0, deleted);
+        verify(conversationService, never()).messageDeleted(anyLong(), anyLong());
+    }
+
+    private static Map<String, Object> range(Long minId, Long maxId) {
+        Map<String, Object> range = new HashMap<>();
+        range.put("min_id", minId);
+        range.put("max_id", maxId);
+        return range;
+    }
+}
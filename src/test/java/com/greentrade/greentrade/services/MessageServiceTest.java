@@ -4,11 +4,13 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,19 +21,36 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.greentrade.greentrade.config.MessageSearchConfig;
+import com.greentrade.greentrade.config.ReadReceiptBufferConfig;
+import com.greentrade.greentrade.dto.message.MessageAttachmentResponse;
 import com.greentrade.greentrade.dto.message.MessageCreateRequest;
+import com.greentrade.greentrade.dto.message.MessageCursor;
+import com.greentrade.greentrade.dto.message.MessageMarkReadRequest;
+import com.greentrade.greentrade.dto.message.MessageMarkReadResponse;
+import com.greentrade.greentrade.dto.message.MessagePage;
 import com.greentrade.greentrade.dto.message.MessageResponse;
+import com.greentrade.greentrade.dto.message.UnreadCountResponse;
+import com.greentrade.greentrade.events.MessageSentEvent;
+import com.greentrade.greentrade.exception.conversation.ConversationNotFoundException;
 import com.greentrade.greentrade.exception.security.UserNotFoundException;
 import com.greentrade.greentrade.mappers.MessageMapper;
+import com.greentrade.greentrade.messaging.ReadReceiptBuffer;
 import com.greentrade.greentrade.models.Message;
 import com.greentrade.greentrade.models.Role;
 import com.greentrade.greentrade.models.User;
 import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.MessageRepository.MessageView;
+import com.greentrade.greentrade.repositories.MessageRepository.UnreadView;
 import com.greentrade.greentrade.repositories.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +65,33 @@ class MessageServiceTest {
     @Mock
     private MessageMapper messageMapper;
 
+    @Mock
+    private UnreadMessageCounterService unreadCounters;
+
+    @Mock
+    private ConversationService conversationService;
+
+    @Mock
+    private AnnouncementService announcementService;
+
+    @Mock
+    private MessageAttachmentService attachmentService;
+
+    @Mock
+    private ReadReceiptBuffer readReceipts;
+
+    @Mock
+    private ReadReceiptBufferConfig readBufferConfig;
+
+    @Mock
+    private MessageSearchConfig searchConfig;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -170,6 +216,27 @@ class MessageServiceTest {
         verify(messageRepository).findById(1L);
     }
 
+    @Test
+    void getMessageById_WithAttachments_AddsTheirMetadata() {
+        // Arrange
+        testMessageResponse.setAttachmentCount(1);
+        MessageAttachmentResponse attachment = MessageAttachmentResponse.builder()
+                .id(7L)
+                .messageId(1L)
+                .fileName("specs.pdf")
+                .build();
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageMapper.toResponse(testMessage)).thenReturn(testMessageResponse);
+        when(attachmentService.getAttachmentsByMessage(List.of(1L))).thenReturn(Map.of(1L, List.of(attachment)));
+
+        // Act
+        Optional<MessageResponse> result = messageService.getMessageById(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(List.of(attachment), result.get().getAttachments());
+    }
+
     @Test
     void getMessageById_NonExistingMessage_ReturnsEmptyOptional() {
         // Arrange
@@ -222,6 +289,9 @@ class MessageServiceTest {
         assertEquals(1L, result.getSenderId());
         assertEquals(2L, result.getReceiverId());
         verify(messageRepository).save(newMessage);
+        verify(unreadCounters).increment(2L);
+        verify(conversationService).recordMessage(newMessage);
+        verify(eventPublisher).publishEvent(any(MessageSentEvent.class));
     }
 
     @Test
@@ -303,6 +373,50 @@ class MessageServiceTest {
         verify(messageRepository).save(any(Message.class));
     }
 
+    @Test
+    void markAsRead_UnreadMessage_DecrementsUnreadCounter() {
+        // Arrange
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.markReadIfUnread(1L)).thenReturn(1);
+        when(messageRepository.save(testMessage)).thenReturn(testMessage);
+
+        // Act
+        messageService.markAsRead(1L);
+
+        // Assert
+        verify(unreadCounters).decrement(2L);
+    }
+
+    @Test
+    void markAsRead_UnreadMessageInConversation_LowersConversationUnreadCount() {
+        // Arrange
+        testMessage.setConversationId(10L);
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.markReadIfUnread(1L)).thenReturn(1);
+        when(messageRepository.save(testMessage)).thenReturn(testMessage);
+
+        // Act
+        messageService.markAsRead(1L);
+
+        // Assert
+        verify(conversationService).removeUnread(10L, 2L, 1L);
+    }
+
+    @Test
+    void markAsRead_AlreadyRead_KeepsUnreadCounter() {
+        // Arrange
+        testMessage.setRead(true);
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(messageRepository.save(testMessage)).thenReturn(testMessage);
+
+        // Act
+        messageService.markAsRead(1L);
+
+        // Assert
+        verify(messageRepository, never()).markReadIfUnread(anyLong());
+        verify(unreadCounters, never()).decrement(anyLong());
+    }
+
     @Test
     void markAsRead_NonExistingMessage_ThrowsException() {
         // Arrange
@@ -317,6 +431,118 @@ class MessageServiceTest {
         verify(messageRepository, never()).save(any(Message.class));
     }
 
+    @Test
+    void markAsRead_ReadBufferEnabled_BuffersMarkWithoutWriting() {
+        // Arrange
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(testMessage));
+        when(readReceipts.isEnabled()).thenReturn(true);
+        when(readReceipts.add(1L, 2L, null)).thenReturn(true);
+        when(messageMapper.toResponse(testMessage)).thenReturn(testMessageResponse);
+
+        // Act
+        MessageResponse result = messageService.markAsRead(1L);
+
+        // Assert
+        assertTrue(result.isRead());
+        assertFalse(testMessage.isRead());
+        verify(messageRepository, never()).markReadIfUnread(anyLong());
+        verify(messageRepository, never()).save(any(Message.class));
+        verify(unreadCounters, never()).decrement(anyLong());
+    }
+
+    @Test
+    void flushReadReceipts_PendingMarks_WritesThemInOneUpdate() {
+        // Arrange
+        when(readBufferConfig.getMaxBatchSize()).thenReturn(1000);
+        when(readReceipts.pendingIds(1000)).thenReturn(List.of(1L, 2L), List.of());
+        when(messageRepository.lockUnreadByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                unreadView(1L, 2L, 10L), unreadView(2L, 2L, 10L)));
+        when(messageRepository.markReadByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        // Act
+        int flushed = messageService.flushReadReceipts();
+
+        // Assert
+        assertEquals(2, flushed);
+        verify(unreadCounters).decrement(2L, 2L);
+        verify(conversationService).removeUnread(10L, 2L, 2L);
+        verify(readReceipts).flushed(List.of(1L, 2L));
+    }
+
+    @Test
+    void flushReadReceipts_UpdateFails_KeepsMarksPending() {
+        // Arrange
+        when(readBufferConfig.getMaxBatchSize()).thenReturn(1000);
+        when(readReceipts.pendingIds(1000)).thenReturn(List.of(1L));
+        when(messageRepository.lockUnreadByIdIn(List.of(1L))).thenThrow(new RuntimeException("Connection lost"));
+
+        // Act
+        int flushed = messageService.flushReadReceipts();
+
+        // Assert
+        assertEquals(0, flushed);
+        verify(readReceipts, never()).flushed(any());
+    }
+
+    @Test
+    void markManyAsRead_Ids_UpdatesUnreadOnesAndDecrementsPerReceiver() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(messageRepository.lockUnreadByIdIn(ids)).thenReturn(List.of(
+                unreadView(1L, 2L, 10L), unreadView(2L, 2L, 10L), unreadView(4L, 5L, null)));
+        when(messageRepository.markReadByIdIn(List.of(1L, 2L, 4L))).thenReturn(3);
+
+        // Act
+        MessageMarkReadResponse result = messageService.markManyAsRead(
+                MessageMarkReadRequest.builder().ids(ids).build());
+
+        // Assert
+        assertEquals(3, result.getUpdated());
+        verify(unreadCounters).decrement(2L, 2L);
+        verify(unreadCounters).decrement(5L, 1L);
+        verify(conversationService).removeUnread(10L, 2L, 2L);
+        verify(conversationService, never()).removeUnread(null, 5L, 1L);
+    }
+
+    @Test
+    void markManyAsRead_AllAlreadyRead_UpdatesNothing() {
+        // Arrange
+        when(messageRepository.lockUnreadByIdIn(List.of(1L))).thenReturn(List.of());
+
+        // Act
+        MessageMarkReadResponse result = messageService.markManyAsRead(
+                MessageMarkReadRequest.builder().ids(List.of(1L)).build());
+
+        // Assert
+        assertEquals(0, result.getUpdated());
+        verify(messageRepository, never()).markReadByIdIn(any());
+    }
+
+    @Test
+    void markManyAsRead_Conversation_DecrementsReceiverByUpdatedCount() {
+        // Arrange
+        when(messageRepository.markConversationRead(1L, 2L)).thenReturn(6);
+
+        // Act
+        MessageMarkReadResponse result = messageService.markManyAsRead(
+                MessageMarkReadRequest.builder().senderId(1L).receiverId(2L).build());
+
+        // Assert
+        assertEquals(6, result.getUpdated());
+        verify(unreadCounters).decrement(2L, 6L);
+        verify(conversationService).removeUnreadFrom(1L, 2L, 6L);
+    }
+
+    @Test
+    void markManyAsRead_NeitherIdsNorConversation_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> messageService.markManyAsRead(MessageMarkReadRequest.builder().senderId(1L).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> messageService.markManyAsRead(MessageMarkReadRequest.builder()
+                        .ids(List.of(1L)).senderId(1L).receiverId(2L).build()));
+    }
+
     @Test
     void deleteMessage_ExistingMessage_DeletesMessage() {
         // Arrange
@@ -330,6 +556,37 @@ class MessageServiceTest {
         verify(messageRepository).deleteById(1L);
     }
 
+    @Test
+    void deleteMessage_UnreadMessage_DecrementsUnreadCounter() {
+        // Arrange
+        when(messageRepository.existsById(1L)).thenReturn(true);
+        when(messageRepository.findReceiverIdById(1L)).thenReturn(2L);
+        when(messageRepository.deleteIfUnread(1L)).thenReturn(1);
+
+        // Act
+        messageService.deleteMessage(1L);
+
+        // Assert
+        verify(unreadCounters).decrement(2L);
+        verify(messageRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void deleteMessage_InConversation_UpdatesConversation() {
+        // Arrange
+        when(messageRepository.existsById(1L)).thenReturn(true);
+        when(messageRepository.findReceiverIdById(1L)).thenReturn(2L);
+        when(messageRepository.findConversationIdById(1L)).thenReturn(10L);
+        when(messageRepository.deleteIfUnread(1L)).thenReturn(1);
+
+        // Act
+        messageService.deleteMessage(1L);
+
+        // Assert
+        verify(conversationService).removeUnread(10L, 2L, 1L);
+        verify(conversationService).messageDeleted(10L, 1L);
+    }
+
     @Test
     void deleteMessage_NonExistingMessage_ThrowsException() {
         // Arrange
@@ -347,20 +604,94 @@ class MessageServiceTest {
     @Test
     void getReceivedMessagesForUser_ReturnsMessages() {
         // Arrange
+        MessageView view = messageView(testMessage);
         when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
-        when(messageRepository.findByReceiver(receiver)).thenReturn(Collections.singletonList(testMessage));
-        when(messageMapper.toResponse(testMessage)).thenReturn(testMessageResponse);
+        when(messageRepository.findReceived(2L, Limit.of(MessageService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Collections.singletonList(view));
+        when(messageMapper.toResponse(view)).thenReturn(testMessageResponse);
 
         // Act
-        List<MessageResponse> result = messageService.getReceivedMessagesForUser(2L);
+        MessagePage result = messageService.getReceivedMessagesForUser(2L, null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Subject", result.get(0).getSubject());
-        assertEquals(1L, result.get(0).getSenderId());
-        assertEquals(2L, result.get(0).getReceiverId());
-        verify(messageRepository).findByReceiver(receiver);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("Test Subject", result.getMessages().get(0).getSubject());
+        assertEquals(1L, result.getMessages().get(0).getSenderId());
+        assertEquals(2L, result.getMessages().get(0).getReceiverId());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getReceivedMessagesForUser_MoreThanOnePage_ReturnsCursorOfLastMessage() {
+        // Arrange
+        LocalDateTime newest = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MessageView first = messageView(3L, newest);
+        MessageView second = messageView(2L, newest.minusMinutes(1));
+        MessageView extra = messageView(1L, newest.minusMinutes(2));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+        when(messageRepository.findReceived(2L, Limit.of(3))).thenReturn(List.of(first, second, extra));
+
+        // Act
+        MessagePage result = messageService.getReceivedMessagesForUser(2L, null, 2);
+
+        // Assert
+        assertEquals(2, result.getMessages().size());
+        assertEquals(new MessageCursor(second.getTimestamp(), 2L), MessageCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getReceivedMessagesForUser_WithAnnouncements_MergesThemNewestFirst() {
+        // Arrange
+        LocalDateTime newest = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MessageView newer = messageView(3L, newest);
+        MessageView older = messageView(2L, newest.minusMinutes(2));
+        MessageResponse announcement = MessageResponse.builder()
+                .id(7L)
+                .timestamp(newest.minusMinutes(1))
+                .announcement(true)
+                .build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+        when(messageRepository.findReceived(2L, Limit.of(3))).thenReturn(List.of(newer, older));
+        when(announcementService.getInboxAnnouncements(receiver, null, 3)).thenReturn(List.of(announcement));
+        when(messageMapper.toResponse(newer)).thenReturn(testMessageResponse);
+
+        // Act
+        MessagePage result = messageService.getReceivedMessagesForUser(2L, null, 2);
+
+        // Assert
+        assertEquals(2, result.getMessages().size());
+        assertEquals(testMessageResponse, result.getMessages().get(0));
+        assertTrue(result.getMessages().get(1).isAnnouncement());
+        assertEquals(new MessageCursor(announcement.getTimestamp(), 7L), MessageCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getReceivedMessagesForUser_WithCursor_ReadsMessagesBeforeIt() {
+        // Arrange
+        MessageCursor cursor = new MessageCursor(LocalDateTime.of(2024, 6, 1, 12, 0), 42L);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+        when(messageRepository.findReceivedBefore(2L, cursor.timestamp(), 42L, Limit.of(11)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        MessagePage result = messageService.getReceivedMessagesForUser(2L, cursor.encode(), 10);
+
+        // Assert
+        assertTrue(result.getMessages().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getReceivedMessagesForUser_InvalidCursorOrLimit_ThrowsException() {
+        // Arrange
+        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> messageService.getReceivedMessagesForUser(2L, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> messageService.getReceivedMessagesForUser(2L, null, MessageService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
@@ -371,43 +702,44 @@ class MessageServiceTest {
         // Act & Assert
         UserNotFoundException thrown = assertThrows(
                 UserNotFoundException.class,
-                () -> messageService.getReceivedMessagesForUser(999L)
+                () -> messageService.getReceivedMessagesForUser(999L, null, null)
         );
         assertEquals("User not found with ID: 999", thrown.getMessage());
-        verify(messageRepository, never()).findByReceiver(any(User.class));
+        verify(messageRepository, never()).findReceived(anyLong(), any(Limit.class));
     }
 
     @Test
     void getSentMessagesByUser_ReturnsMessages() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-        when(messageRepository.findBySender(sender)).thenReturn(Collections.singletonList(testMessage));
-        when(messageMapper.toResponse(testMessage)).thenReturn(testMessageResponse);
+        MessageView view = messageView(testMessage);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(messageRepository.findSent(1L, Limit.of(MessageService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Collections.singletonList(view));
+        when(messageMapper.toResponse(view)).thenReturn(testMessageResponse);
 
         // Act
-        List<MessageResponse> result = messageService.getSentMessagesByUser(1L);
+        MessagePage result = messageService.getSentMessagesByUser(1L, null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Subject", result.get(0).getSubject());
-        assertEquals(1L, result.get(0).getSenderId());
-        assertEquals(2L, result.get(0).getReceiverId());
-        verify(messageRepository).findBySender(sender);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("Test Subject", result.getMessages().get(0).getSubject());
+        assertEquals(1L, result.getMessages().get(0).getSenderId());
+        assertEquals(2L, result.getMessages().get(0).getReceiverId());
     }
 
     @Test
     void getSentMessagesByUser_UserNotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
         UserNotFoundException thrown = assertThrows(
                 UserNotFoundException.class,
-                () -> messageService.getSentMessagesByUser(999L)
+                () -> messageService.getSentMessagesByUser(999L, null, null)
         );
         assertEquals("User not found with ID: 999", thrown.getMessage());
-        verify(messageRepository, never()).findBySender(any(User.class));
+        verify(messageRepository, never()).findSent(anyLong(), any(Limit.class));
     }
 
     @Test
@@ -430,6 +762,101 @@ class MessageServiceTest {
         verify(messageRepository).findByReceiverAndReadIsFalse(receiver);
     }
 
+    @Test
+    void getConversationMessages_Participant_ReturnsMessages() {
+        // Arrange
+        MessageView view = messageView(testMessage);
+        when(messageRepository.findInConversation(10L, Limit.of(MessageService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(view));
+        when(messageMapper.toResponse(view)).thenReturn(testMessageResponse);
+
+        // Act
+        MessagePage result = messageService.getConversationMessages(10L, 2L, null, null);
+
+        // Assert
+        assertEquals(1, result.getMessages().size());
+        assertNull(result.getNextCursor());
+        verify(conversationService).requireParticipant(10L, 2L);
+    }
+
+    @Test
+    void getConversationMessages_NotAParticipant_ThrowsException() {
+        // Arrange
+        doThrow(new ConversationNotFoundException(10L)).when(conversationService).requireParticipant(10L, 3L);
+
+        // Act & Assert
+        assertThrows(ConversationNotFoundException.class,
+                () -> messageService.getConversationMessages(10L, 3L, null, null));
+        verify(messageRepository, never()).findInConversation(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void searchMessages_FullText_SearchesWithQuery() {
+        // Arrange
+        MessageView view = messageView(testMessage);
+        when(searchConfig.getMaxQueryLength()).thenReturn(200);
+        when(searchConfig.isFullTextEnabled()).thenReturn(true);
+        when(messageRepository.searchFullText(2L, "still available", MessageService.DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(view));
+        when(messageMapper.toResponse(view)).thenReturn(testMessageResponse);
+
+        // Act
+        List<MessageResponse> result = messageService.searchMessages(2L, " still available ", null);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(messageRepository, never()).searchContaining(anyLong(), any(), any(Limit.class));
+    }
+
+    @Test
+    void searchMessages_FullTextDisabled_SearchesWithEscapedLikePattern() {
+        // Arrange
+        when(searchConfig.getMaxQueryLength()).thenReturn(200);
+        when(searchConfig.isFullTextEnabled()).thenReturn(false);
+        when(messageRepository.searchContaining(2L, "%100\\% bio\\_fair%", Limit.of(10))).thenReturn(List.of());
+
+        // Act
+        List<MessageResponse> result = messageService.searchMessages(2L, "100% Bio_Fair", 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void searchMessages_BlankOrTooLongQuery_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> messageService.searchMessages(2L, "  ", null));
+        when(searchConfig.getMaxQueryLength()).thenReturn(5);
+        assertThrows(IllegalArgumentException.class, () -> messageService.searchMessages(2L, "too long", null));
+    }
+
+    @Test
+    void getUnreadMessagesForUser_BufferedReadMark_LeavesMessageOut() {
+        // Arrange
+        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+        when(messageRepository.findByReceiverAndReadIsFalse(receiver)).thenReturn(Collections.singletonList(testMessage));
+        when(readReceipts.isPending(1L)).thenReturn(true);
+
+        // Act
+        List<MessageResponse> result = messageService.getUnreadMessagesForUser(2L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getUnreadCount_BufferedReadMarks_SubtractsThem() {
+        // Arrange
+        when(unreadCounters.getUnreadCount(2L)).thenReturn(new UnreadCountResponse(2L, 5));
+        when(readReceipts.pendingFor(2L)).thenReturn(2);
+
+        // Act
+        UnreadCountResponse result = messageService.getUnreadCount(2L);
+
+        // Assert
+        assertEquals(3, result.getUnreadCount());
+    }
+
     @Test
     void getUnreadMessagesForUser_UserNotFound_ThrowsException() {
         // Arrange
@@ -443,4 +870,76 @@ class MessageServiceTest {
         assertEquals("User not found with ID: 999", thrown.getMessage());
         verify(messageRepository, never()).findByReceiverAndReadIsFalse(any(User.class));
     }
+
+    private static MessageView messageView(Message message) {
+        return messageView(message.getId(), message.getTimestamp());
+    }
+
+    private static MessageView messageView(Long id, LocalDateTime timestamp) {
+        return new MessageView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getSenderId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getReceiverId() {
+                return 2L;
+            }
+
+            @Override
+            public String getSubject() {
+                return "Test Subject";
+            }
+
+            @Override
+            public String getContent() {
+                return "Test Content";
+            }
+
+            @Override
+            public LocalDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public boolean isRead() {
+                return false;
+            }
+
+            @Override
+            public Long getConversationId() {
+                return 10L;
+            }
+
+            @Override
+            public int getAttachmentCount() {
+                return 0;
+            }
+        };
+    }
+
+    private static UnreadView unreadView(Long id, Long receiverId, Long conversationId) {
+        return new UnreadView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getReceiverId() {
+                return receiverId;
+            }
+
+            @Override
+            public Long getConversationId() {
+                return conversationId;
+            }
+        };
+    }
 }
\ No newline at end of file
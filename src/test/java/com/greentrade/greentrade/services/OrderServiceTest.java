@@ -0,0 +1,222 @@
+package com.greentrade.greentrade.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isA;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.greentrade.greentrade.dto.order.OrderCreateRequest;
+import com.greentrade.greentrade.dto.order.OrderLineRequest;
+import com.greentrade.greentrade.dto.order.OrderResponse;
+import com.greentrade.greentrade.events.TransactionCreatedEvent;
+import com.greentrade.greentrade.exception.order.OrderNotFoundException;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.exception.product.ProductNotFoundException;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+import com.greentrade.greentrade.mappers.OrderMapper;
+import com.greentrade.greentrade.mappers.TransactionMapper;
+import com.greentrade.greentrade.models.Order;
+import com.greentrade.greentrade.models.Product;
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.OrderRepository;
+import com.greentrade.greentrade.repositories.ProductRepository;
+import com.greentrade.greentrade.repositories.TransactionRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Spy
+    private OrderMapper orderMapper = new OrderMapper();
+
+    @Spy
+    private TransactionMapper transactionMapper = new TransactionMapper();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private PurchaseVelocityLimiter velocityLimiter;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private User buyer;
+    private User seller;
+    private Product tomatoes;
+    private Product panels;
+    private OrderCreateRequest request;
+
+    @BeforeEach
+    void setUp() {
+        buyer = User.builder().id(3L).email("buyer@greentrade.nl").build();
+        seller = User.builder().id(2L).email("seller@greentrade.nl").build();
+        tomatoes = product(1L);
+        panels = product(2L);
+        request = OrderCreateRequest.builder()
+                .buyerId(3L)
+                .lines(List.of(
+                        line(1L, "4.50"),
+                        line(2L, "299.99"),
+                        line(1L, "4.50")))
+                .build();
+    }
+
+    @Test
+    void createOrder_InsertsAllLinesInOneBatch() {
+        // Arrange
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(tomatoes, panels));
+        when(stockReservationService.reserve(tomatoes, 2)).thenReturn(true);
+        when(stockReservationService.reserve(panels, 1)).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(7L);
+            return order;
+        });
+        doAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            for (int i = 0; i < transactions.size(); i++) {
+                transactions.get(i).setId(100L + i);
+            }
+            return null;
+        }).when(transactionRepository).insertAll(anyList());
+
+        // Act
+        OrderResponse response = orderService.createOrder(request);
+
+        // Assert
+        verify(productRepository, times(1)).findAllById(anyCollection());
+        verify(velocityLimiter).checkPurchase(3L, 1L, 2);
+        verify(velocityLimiter).checkPurchase(3L, 2L, 1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(1)).insertAll(inserted.capture());
+        assertEquals(3, inserted.getValue().size());
+        verify(transactionRepository, never()).save(any());
+        verify(eventPublisher, times(3)).publishEvent(isA(TransactionCreatedEvent.class));
+
+        assertEquals(7L, response.getId());
+        assertEquals(new BigDecimal("308.99"), response.getTotalAmount());
+        assertEquals(3, response.getTransactions().size());
+        assertEquals(7L, response.getTransactions().get(0).getOrderId());
+        assertEquals(2L, response.getTransactions().get(1).getSellerId());
+        assertEquals(102L, response.getTransactions().get(2).getId());
+    }
+
+    @Test
+    void createOrder_UnknownProduct_ThrowsProductNotFoundException() {
+        // Arrange
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(tomatoes));
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> orderService.createOrder(request));
+        verify(velocityLimiter).checkPurchase(3L, 2L, 1);
+        verify(velocityLimiter, never()).releasePurchase(any(), any(), anyInt());
+        verify(stockReservationService, never()).reserve(any(), anyInt());
+        verify(orderRepository, never()).save(any());
+        verify(transactionRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void createOrder_OutOfStock_ThrowsInsufficientStockException() {
+        // Arrange
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(tomatoes, panels));
+        when(stockReservationService.reserve(tomatoes, 2)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(request));
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(velocityLimiter, never()).releasePurchase(any(), any(), anyInt());
+    }
+
+    @Test
+    void createOrder_ProductOverLimit_ThrowsBeforeTouchingTheDatabase() {
+        // Arrange
+        doNothing().when(velocityLimiter).checkPurchase(3L, 1L, 2);
+        doThrow(new PurchaseVelocityExceededException("product", 2L, 30))
+                .when(velocityLimiter).checkPurchase(3L, 2L, 1);
+
+        // Act & Assert
+        assertThrows(PurchaseVelocityExceededException.class, () -> orderService.createOrder(request));
+        verify(velocityLimiter, never()).releasePurchase(any(), any(), anyInt());
+        verify(productRepository, never()).findAllById(anyCollection());
+        verify(stockReservationService, never()).reserve(any(), anyInt());
+    }
+
+    @Test
+    void createOrder_WithoutLines_ThrowsIllegalArgumentException() {
+        // Arrange
+        request.setLines(List.of());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(request));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getOrder_NotFound_ThrowsOrderNotFoundException() {
+        // Arrange
+        when(orderRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(OrderNotFoundException.class, () -> orderService.getOrder(9L));
+    }
+
+    private Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setSeller(seller);
+        product.setStockQuantity(10);
+        return product;
+    }
+
+    private static OrderLineRequest line(Long productId, String amount) {
+        return OrderLineRequest.builder()
+                .productId(productId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
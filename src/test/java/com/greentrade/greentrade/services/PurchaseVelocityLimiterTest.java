@@ -0,0 +1,156 @@
+package com.greentrade.greentrade.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.greentrade.greentrade.config.PurchaseVelocityConfig;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+
+class PurchaseVelocityLimiterTest {
+
+    private static final long WINDOW = 60_000L;
+
+    private AtomicLong now;
+    private PurchaseVelocityConfig velocityConfig;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        velocityConfig = new PurchaseVelocityConfig();
+        velocityConfig.setBuyerLimit(4);
+        velocityConfig.setProductLimit(100);
+        velocityConfig.setWindowMillis(WINDOW);
+    }
+
+    @Test
+    void checkPurchase_OverBuyerLimit_ThrowsWithRetryAfter() {
+        // Arrange
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.checkPurchase(1L, 10L + i);
+        }
+
+        // Act
+        now.addAndGet(15_000L);
+        PurchaseVelocityExceededException exception = assertThrows(PurchaseVelocityExceededException.class,
+                () -> limiter.checkPurchase(1L, 20L));
+
+        // Assert
+        assertEquals(45, exception.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> limiter.checkPurchase(2L, 20L));
+    }
+
+    @Test
+    void checkPurchase_WeighsPreviousWindowByOverlap() {
+        // Arrange
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.checkPurchase(1L, 10L);
+        }
+
+        // Act: halfway the next window, half of the previous 4 purchases still count
+        now.addAndGet(WINDOW + WINDOW / 2);
+        limiter.checkPurchase(1L, 10L);
+        limiter.checkPurchase(1L, 10L);
+
+        // Assert
+        assertThrows(PurchaseVelocityExceededException.class, () -> limiter.checkPurchase(1L, 10L));
+    }
+
+    @Test
+    void checkPurchase_OverProductLimit_DoesNotCountAgainstBuyer() {
+        // Arrange
+        velocityConfig.setProductLimit(1);
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        limiter.checkPurchase(1L, 10L);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(PurchaseVelocityExceededException.class, () -> limiter.checkPurchase(2L, 10L));
+        }
+
+        // Assert: buyer 2 still has its full allowance for other products
+        for (int i = 0; i < 4; i++) {
+            long productId = 20L + i;
+            assertDoesNotThrow(() -> limiter.checkPurchase(2L, productId));
+        }
+    }
+
+    @Test
+    void releasePurchase_GivesBackTheAttempt() {
+        // Arrange
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.checkPurchase(1L, 10L);
+        }
+
+        // Act
+        limiter.releasePurchase(1L, 10L);
+
+        // Assert
+        assertDoesNotThrow(() -> limiter.checkPurchase(1L, 10L));
+        assertThrows(PurchaseVelocityExceededException.class, () -> limiter.checkPurchase(1L, 10L));
+    }
+
+    @Test
+    void checkPurchase_ChargesProductPerUnit() {
+        // Arrange
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        limiter.checkPurchase(1L, 10L, 60);
+
+        // Act & Assert: one more purchase of 50 units would take the product over 100
+        assertThrows(PurchaseVelocityExceededException.class, () -> limiter.checkPurchase(2L, 10L, 50));
+        assertThrows(PurchaseVelocityExceededException.class, () -> limiter.checkPurchase(2L, 11L, 500));
+        assertDoesNotThrow(() -> limiter.checkPurchase(2L, 10L, 40));
+    }
+
+    @Test
+    void checkPurchase_Disabled_NeverThrows() {
+        // Arrange
+        velocityConfig.setEnabled(false);
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            limiter.checkPurchase(1L, 10L);
+        }
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    @Test
+    void evictIdleKeys_RemovesKeysIdleForTwoWindows() {
+        // Arrange
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+        limiter.checkPurchase(1L, 10L);
+        now.addAndGet(WINDOW);
+        limiter.checkPurchase(2L, 11L);
+
+        // Act
+        now.addAndGet(WINDOW + 1);
+        limiter.evictIdleKeys();
+
+        // Assert
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    void checkPurchase_BoundsKeysPerShard() {
+        // Arrange
+        velocityConfig.setShards(1);
+        velocityConfig.setMaxKeysPerShard(2);
+        PurchaseVelocityLimiter limiter = new PurchaseVelocityLimiter(velocityConfig, now::get);
+
+        // Act
+        for (long buyerId = 1; buyerId <= 5; buyerId++) {
+            limiter.checkPurchase(buyerId, 10L);
+        }
+
+        // Assert: two buyers and the one product
+        assertEquals(3, limiter.trackedKeys());
+    }
+}
@@ -0,0 +1,175 @@
+package com.greentrade.greentrade.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.ReportConfig;
+import com.greentrade.greentrade.dto.report.ReportJobResponse;
+import com.greentrade.greentrade.dto.report.SellerStatementRequest;
+import com.greentrade.greentrade.exception.report.ReportJobNotFoundException;
+import com.greentrade.greentrade.exception.report.ReportNotAllowedException;
+import com.greentrade.greentrade.exception.report.ReportNotReadyException;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.mappers.ReportJobMapper;
+import com.greentrade.greentrade.models.ReportJob;
+import com.greentrade.greentrade.models.ReportJobStatus;
+import com.greentrade.greentrade.models.Role;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.ReportJobRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SellerStatementService sellerStatementService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportJobService reportJobService;
+    private User admin;
+    private User seller;
+    private User otherSeller;
+
+    @BeforeEach
+    void setUp() {
+        admin = User.builder().id(1L).email("admin@greentrade.nl").role(Role.ROLE_ADMIN).build();
+        seller = User.builder().id(2L).email("seller@greentrade.nl").role(Role.ROLE_SELLER).build();
+        otherSeller = User.builder().id(3L).email("other@greentrade.nl").role(Role.ROLE_SELLER).build();
+        reportJobService = new ReportJobService(reportJobRepository, userRepository, sellerStatementService,
+                fileStorageService, new ReportJobMapper(), new ReportConfig(), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    void submitSellerStatement_UnknownSeller_ThrowsException() {
+        // Arrange
+        SellerStatementRequest request = new SellerStatementRequest(99L, YearMonth.of(2024, 1));
+        when(userRepository.findByEmail("admin@greentrade.nl")).thenReturn(Optional.of(admin));
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> reportJobService.submitSellerStatement(request, "admin@greentrade.nl"));
+        verify(reportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void submitSellerStatement_OtherSeller_ThrowsReportNotAllowed() {
+        // Arrange
+        SellerStatementRequest request = new SellerStatementRequest(2L, YearMonth.of(2024, 1));
+        when(userRepository.findByEmail("other@greentrade.nl")).thenReturn(Optional.of(otherSeller));
+
+        // Act & Assert
+        assertThrows(ReportNotAllowedException.class, () -> reportJobService.submitSellerStatement(request, "other@greentrade.nl"));
+        verify(reportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void runSellerStatement_StoresFileAndCompletesJob() {
+        // Arrange
+        ReportJob job = new ReportJob(ReportJob.SELLER_STATEMENT, 2L,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seller@greentrade.nl");
+        job.setId(5L);
+        when(reportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(reportJobRepository.save(job)).thenReturn(job);
+        when(sellerStatementService.countTransactions(job)).thenReturn(2L);
+        when(fileStorageService.storeGeneratedFile(any(), any())).thenReturn("statement.csv");
+
+        // Act
+        reportJobService.runSellerStatement(5L);
+
+        // Assert
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals("statement.csv", job.getFileName());
+        assertEquals(2L, job.getTotalRows());
+    }
+
+    @Test
+    void loadReport_RunningJob_ThrowsReportNotReady() {
+        // Arrange
+        ReportJob job = new ReportJob(ReportJob.SELLER_STATEMENT, 2L,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seller@greentrade.nl");
+        job.setId(5L);
+        job.setStatus(ReportJobStatus.RUNNING);
+        when(reportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userRepository.findByEmail("seller@greentrade.nl")).thenReturn(Optional.of(seller));
+
+        // Act & Assert
+        assertThrows(ReportNotReadyException.class, () -> reportJobService.loadReport(5L, "seller@greentrade.nl"));
+        verify(fileStorageService, never()).loadFileAsResource(any());
+    }
+
+    @Test
+    void getJob_OtherSeller_ThrowsReportJobNotFound() {
+        // Arrange
+        ReportJob job = new ReportJob(ReportJob.SELLER_STATEMENT, 2L,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seller@greentrade.nl");
+        job.setId(5L);
+        when(reportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userRepository.findByEmail("other@greentrade.nl")).thenReturn(Optional.of(otherSeller));
+
+        // Act & Assert
+        assertThrows(ReportJobNotFoundException.class, () -> reportJobService.getJob(5L, "other@greentrade.nl"));
+    }
+
+    @Test
+    void loadReport_OtherSeller_ThrowsReportJobNotFound() {
+        // Arrange
+        ReportJob job = new ReportJob(ReportJob.SELLER_STATEMENT, 2L,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seller@greentrade.nl");
+        job.setId(5L);
+        job.setStatus(ReportJobStatus.COMPLETED);
+        job.setFileName("statement.csv");
+        when(reportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userRepository.findByEmail("other@greentrade.nl")).thenReturn(Optional.of(otherSeller));
+
+        // Act & Assert
+        assertThrows(ReportJobNotFoundException.class, () -> reportJobService.loadReport(5L, "other@greentrade.nl"));
+        verify(fileStorageService, never()).loadFileAsResource(any());
+    }
+
+    @Test
+    void getJob_Admin_SeesJobOfAnySeller() {
+        // Arrange
+        ReportJob job = new ReportJob(ReportJob.SELLER_STATEMENT, 2L,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "seller@greentrade.nl");
+        job.setId(5L);
+        when(reportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userRepository.findByEmail("admin@greentrade.nl")).thenReturn(Optional.of(admin));
+
+        // Act
+        ReportJobResponse response = reportJobService.getJob(5L, "admin@greentrade.nl");
+
+        // Assert
+        assertEquals(5L, response.getId());
+    }
+}
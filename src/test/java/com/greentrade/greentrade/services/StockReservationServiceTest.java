@@ -0,0 +1,118 @@
+package com.greentrade.greentrade.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.StockReservationConfig;
+import com.greentrade.greentrade.models.Product;
+import com.greentrade.greentrade.repositories.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationConfig reservationConfig;
+    private StockReservationService stockReservationService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        reservationConfig = new StockReservationConfig();
+        reservationConfig.setBlockSize(10);
+        stockReservationService = new StockReservationService(productRepository, reservationConfig, transactionManager);
+
+        product = new Product();
+        product.setId(1L);
+        product.setStockQuantity(50);
+    }
+
+    @Test
+    void reserve_WithoutBuffer_DecrementsStockOnce() {
+        // Arrange
+        when(productRepository.decrementStock(1L, 1)).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(stockReservationService.reserve(product, 1));
+        verify(productRepository).decrementStock(1L, 1);
+    }
+
+    @Test
+    void reserve_WithoutBuffer_InsufficientStock_ReturnsFalse() {
+        // Arrange
+        when(productRepository.decrementStock(1L, 1)).thenReturn(0);
+
+        // Act & Assert
+        assertFalse(stockReservationService.reserve(product, 1));
+    }
+
+    @Test
+    void reserve_UntrackedStock_SkipsDatabase() {
+        // Arrange
+        product.setStockQuantity(null);
+
+        // Act & Assert
+        assertTrue(stockReservationService.reserve(product, 1));
+        verify(productRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void reserve_WithBuffer_ClaimsOneBlockForSeveralPurchases() {
+        // Arrange
+        reservationConfig.setBufferEnabled(true);
+        when(productRepository.decrementStock(1L, 10)).thenReturn(1);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(stockReservationService.reserve(product, 1));
+        }
+
+        // Assert
+        verify(productRepository, times(1)).decrementStock(1L, 10);
+        assertEquals(0, stockReservationService.bufferedUnits(1L));
+    }
+
+    @Test
+    void reserve_WithBuffer_FallsBackToExactQuantityWhenBlockUnavailable() {
+        // Arrange
+        reservationConfig.setBufferEnabled(true);
+        when(productRepository.decrementStock(1L, 10)).thenReturn(0);
+        when(productRepository.decrementStock(1L, 2)).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(stockReservationService.reserve(product, 2));
+        assertEquals(0, stockReservationService.bufferedUnits(1L));
+    }
+
+    @Test
+    void flushAll_ReturnsLeftoverUnitsToDatabase() {
+        // Arrange
+        reservationConfig.setBufferEnabled(true);
+        when(productRepository.decrementStock(1L, 10)).thenReturn(1);
+        stockReservationService.reserve(product, 3);
+
+        // Act
+        stockReservationService.flushAll();
+
+        // Assert
+        verify(productRepository).incrementStock(1L, 7);
+        assertEquals(0, stockReservationService.bufferedUnits(1L));
+    }
+}
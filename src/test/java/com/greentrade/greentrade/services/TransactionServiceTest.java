@@ -0,0 +1,323 @@
+package com.greentrade.greentrade.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.greentrade.greentrade.dto.transaction.TransactionBulkStatusResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionCreateRequest;
+import com.greentrade.greentrade.dto.transaction.TransactionResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusOutcome.Outcome;
+import com.greentrade.greentrade.events.TransactionDeletedEvent;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.exception.product.InsufficientStockException;
+import com.greentrade.greentrade.exception.transaction.PurchaseVelocityExceededException;
+import com.greentrade.greentrade.mappers.TransactionMapper;
+import com.greentrade.greentrade.models.Product;
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.models.User;
+import com.greentrade.greentrade.repositories.ProductRepository;
+import com.greentrade.greentrade.repositories.TransactionRepository;
+import com.greentrade.greentrade.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private PurchaseVelocityLimiter velocityLimiter;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Test
+    void bulkUpdateTransactionStatus_ClassifiesEachTransaction() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L, 3L, 4L);
+        when(transactionRepository.lockStatusesByIdIn(ids)).thenReturn(Arrays.asList(
+                statusView(1L, "PROCESSING"),
+                statusView(2L, "COMPLETED"),
+                statusView(3L, "PENDING")));
+        when(transactionRepository.updateStatusWhereStatusIn(eq(ids), anyCollection(), eq("COMPLETED")))
+                .thenReturn(1);
+
+        // Act
+        TransactionBulkStatusResponse result = transactionService.bulkUpdateTransactionStatus(ids, "completed");
+
+        // Assert
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(4, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(Outcome.UPDATED, result.getResults().get(0).getOutcome());
+        assertEquals("COMPLETED", result.getResults().get(0).getStatus());
+        assertEquals(Outcome.UNCHANGED, result.getResults().get(1).getOutcome());
+        assertEquals(Outcome.INVALID_TRANSITION, result.getResults().get(2).getOutcome());
+        assertEquals("PENDING", result.getResults().get(2).getStatus());
+        assertEquals(Outcome.NOT_FOUND, result.getResults().get(3).getOutcome());
+        verify(transactionRepository).updateStatusWhereStatusIn(ids, List.of("PROCESSING"), "COMPLETED");
+        verify(eventPublisher, times(1)).publishEvent(isA(TransactionStatusChangedEvent.class));
+    }
+
+    @Test
+    void bulkUpdateTransactionStatus_SplitsLargeRequestsIntoChunks() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= TransactionService.BULK_STATUS_CHUNK_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        when(transactionRepository.lockStatusesByIdIn(any())).thenReturn(Collections.emptyList());
+
+        // Act
+        TransactionBulkStatusResponse result = transactionService.bulkUpdateTransactionStatus(ids, "CANCELLED");
+
+        // Assert
+        assertEquals(ids.size(), result.getResults().size());
+        verify(transactionRepository).lockStatusesByIdIn(ids.subList(0, TransactionService.BULK_STATUS_CHUNK_SIZE));
+        verify(transactionRepository).lockStatusesByIdIn(
+                ids.subList(TransactionService.BULK_STATUS_CHUNK_SIZE, ids.size()));
+    }
+
+    @Test
+    void bulkUpdateTransactionStatus_InvalidStatus_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.bulkUpdateTransactionStatus(List.of(1L), "SHIPPED"));
+        verify(transactionRepository, never()).updateStatusWhereStatusIn(any(), any(), any());
+    }
+
+    @Test
+    void bulkUpdateTransactionStatus_StatusWithoutSources_SkipsUpdate() {
+        // Arrange
+        when(transactionRepository.lockStatusesByIdIn(List.of(1L)))
+                .thenReturn(List.of(statusView(1L, "PROCESSING")));
+
+        // Act
+        TransactionBulkStatusResponse result = transactionService.bulkUpdateTransactionStatus(List.of(1L), "PENDING");
+
+        // Assert
+        assertEquals(Outcome.INVALID_TRANSITION, result.getResults().get(0).getOutcome());
+        verify(transactionRepository, never()).updateStatusWhereStatusIn(any(), any(), any());
+    }
+
+    @Test
+    void getTransactionById_LooksInTheArchiveToo() {
+        // Arrange
+        Transaction transaction = new Transaction();
+        TransactionResponse response = TransactionResponse.builder().id(1L).build();
+        when(transactionRepository.findByIdIncludingArchive(1L)).thenReturn(Optional.of(transaction));
+        when(transactionMapper.toResponse(transaction)).thenReturn(response);
+
+        // Act
+        TransactionResponse result = transactionService.getTransactionById(1L);
+
+        // Assert
+        assertSame(response, result);
+        verify(transactionRepository, never()).findById(any());
+    }
+
+    @Test
+    void createTransaction_CopiesSellerFromProduct() {
+        // Arrange
+        User buyer = User.builder().id(3L).email("buyer@greentrade.nl").build();
+        User seller = User.builder().id(2L).email("seller@greentrade.nl").build();
+        Product product = new Product();
+        product.setId(1L);
+        product.setSeller(seller);
+        TransactionCreateRequest request = TransactionCreateRequest.builder()
+                .buyerId(3L)
+                .productId(1L)
+                .amount(new BigDecimal("299.99"))
+                .build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(stockReservationService.reserve(product, 1)).thenReturn(true);
+        when(transactionMapper.createRequestToEntity(request, buyer, product)).thenCallRealMethod();
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        transactionService.createTransaction(request);
+
+        // Assert
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(saved.capture());
+        assertSame(seller, saved.getValue().getSeller());
+    }
+
+    @Test
+    void getTransactionsBySeller_UsesDenormalizedSeller() {
+        // Arrange
+        User seller = User.builder().id(2L).email("seller@greentrade.nl").build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(seller));
+        when(transactionRepository.findBySellerOrderByDateDesc(seller)).thenReturn(Collections.emptyList());
+
+        // Act
+        transactionService.getTransactionsBySeller(2L);
+
+        // Assert
+        verify(transactionRepository).findBySellerOrderByDateDesc(seller);
+    }
+
+    @Test
+    void createTransaction_OutOfStock_ThrowsInsufficientStockException() {
+        // Arrange
+        User buyer = User.builder().id(3L).email("buyer@greentrade.nl").build();
+        Product product = new Product();
+        product.setId(1L);
+        product.setStockQuantity(0);
+        TransactionCreateRequest request = TransactionCreateRequest.builder()
+                .buyerId(3L)
+                .productId(1L)
+                .amount(new BigDecimal("299.99"))
+                .build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(stockReservationService.reserve(product, 1)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> transactionService.createTransaction(request));
+        verify(transactionRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(velocityLimiter, never()).releasePurchase(any(), any());
+    }
+
+    @Test
+    void createTransaction_UnknownProduct_KeepsPurchaseAttemptCharged() {
+        // Arrange
+        User buyer = User.builder().id(3L).email("buyer@greentrade.nl").build();
+        TransactionCreateRequest request = TransactionCreateRequest.builder()
+                .buyerId(3L)
+                .productId(1L)
+                .amount(new BigDecimal("299.99"))
+                .build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> transactionService.createTransaction(request));
+        verify(velocityLimiter, never()).releasePurchase(any(), any());
+        verify(stockReservationService, never()).reserve(any(), eq(1));
+    }
+
+    @Test
+    void createTransaction_SaveFails_ReleasesPurchaseAttempt() {
+        // Arrange
+        User buyer = User.builder().id(3L).email("buyer@greentrade.nl").build();
+        Product product = new Product();
+        product.setId(1L);
+        TransactionCreateRequest request = TransactionCreateRequest.builder()
+                .buyerId(3L)
+                .productId(1L)
+                .amount(new BigDecimal("299.99"))
+                .build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(buyer));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(stockReservationService.reserve(product, 1)).thenReturn(true);
+        when(transactionMapper.createRequestToEntity(request, buyer, product)).thenReturn(new Transaction());
+        when(transactionRepository.save(any(Transaction.class))).thenThrow(new IllegalStateException("database down"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> transactionService.createTransaction(request));
+        verify(velocityLimiter).releasePurchase(3L, 1L);
+    }
+
+    @Test
+    void createTransaction_TooManyPurchases_ThrowsBeforeTouchingTheDatabase() {
+        // Arrange
+        TransactionCreateRequest request = TransactionCreateRequest.builder()
+                .buyerId(3L)
+                .productId(1L)
+                .amount(new BigDecimal("299.99"))
+                .build();
+        doThrow(new PurchaseVelocityExceededException("buyer", 3L, 30))
+                .when(velocityLimiter).checkPurchase(3L, 1L);
+
+        // Act & Assert
+        assertThrows(PurchaseVelocityExceededException.class, () -> transactionService.createTransaction(request));
+        verify(userRepository, never()).findById(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTransaction_PublishesDeletedEvent() {
+        // Arrange
+        when(transactionRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        transactionService.deleteTransaction(1L);
+
+        // Assert
+        verify(transactionRepository).deleteById(1L);
+        ArgumentCaptor<TransactionDeletedEvent> event = ArgumentCaptor.forClass(TransactionDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getTransactionId());
+    }
+
+    private TransactionRepository.StatusView statusView(Long id, String status) {
+        return new TransactionRepository.StatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal("100.00");
+            }
+
+            @Override
+            public Long getBuyerId() {
+                return 3L;
+            }
+
+            @Override
+            public Long getProductId() {
+                return 1L;
+            }
+        };
+    }
+}
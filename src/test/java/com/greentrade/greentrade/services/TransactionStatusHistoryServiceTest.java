@@ -0,0 +1,264 @@
+package com.greentrade.greentrade.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.TransactionHistoryConfig;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusAtResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionStatusCountsResponse;
+import com.greentrade.greentrade.dto.transaction.TransactionTimeInStatusResponse;
+import com.greentrade.greentrade.events.TransactionStatusChangedEvent;
+import com.greentrade.greentrade.exception.transaction.TransactionNotFoundException;
+import com.greentrade.greentrade.models.Transaction;
+import com.greentrade.greentrade.models.TransactionStatusChange;
+import com.greentrade.greentrade.models.TransactionStatusSnapshot;
+import com.greentrade.greentrade.repositories.TransactionRepository;
+import com.greentrade.greentrade.repositories.TransactionStatusChangeRepository;
+import com.greentrade.greentrade.repositories.TransactionStatusSnapshotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionStatusHistoryServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Mock
+    private TransactionStatusChangeRepository changeRepository;
+
+    @Mock
+    private TransactionStatusSnapshotRepository snapshotRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionPartitionService partitionService;
+
+    @Mock
+    private TransactionHistoryConfig historyConfig;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TransactionStatusHistoryService historyService;
+
+    @Test
+    void statusChange_recordsHowLongThePreviousStatusLasted() {
+        // Arrange
+        when(changeRepository.findFirstByTransactionIdOrderByChangedAtDescIdDesc(1L))
+                .thenReturn(Optional.of(change(null, "PENDING", CREATED)));
+
+        // Act
+        historyService.onTransactionStatusChanged(statusChanged("PENDING", "processing", CREATED.plusMinutes(5)));
+
+        // Assert
+        ArgumentCaptor<TransactionStatusChange> saved = ArgumentCaptor.forClass(TransactionStatusChange.class);
+        verify(changeRepository).save(saved.capture());
+        assertEquals("PENDING", saved.getValue().getPreviousStatus());
+        assertEquals("PROCESSING", saved.getValue().getNewStatus());
+        assertEquals(300_000L, saved.getValue().getPreviousStatusMillis());
+        assertEquals(TransactionStatusHistoryService.SYSTEM_ACTOR, saved.getValue().getChangedBy());
+    }
+
+    @Test
+    void statusChange_withoutHistory_measuresFromTheTransactionDate() {
+        // Arrange
+        when(changeRepository.findFirstByTransactionIdOrderByChangedAtDescIdDesc(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction("PENDING")));
+
+        // Act
+        historyService.onTransactionStatusChanged(statusChanged("PENDING", "PROCESSING", CREATED.plusHours(1)));
+
+        // Assert
+        ArgumentCaptor<TransactionStatusChange> saved = ArgumentCaptor.forClass(TransactionStatusChange.class);
+        verify(changeRepository).save(saved.capture());
+        assertEquals(3_600_000L, saved.getValue().getPreviousStatusMillis());
+    }
+
+    @Test
+    void getStatusAt_beforeCreation_returnsNoStatus() {
+        // Arrange
+        LocalDateTime at = CREATED.minusDays(1);
+        when(changeRepository.findFirstByTransactionIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(1L, at))
+                .thenReturn(Optional.empty());
+        when(changeRepository.findFirstByTransactionIdAndChangedAtAfterOrderByChangedAtAscIdAsc(1L, at))
+                .thenReturn(Optional.of(change(null, "PENDING", CREATED)));
+
+        // Act
+        TransactionStatusAtResponse response = historyService.getStatusAt(1L, at);
+
+        // Assert
+        assertNull(response.getStatus());
+    }
+
+    @Test
+    void getStatusAt_betweenChanges_returnsTheLastChangeBefore() {
+        // Arrange
+        LocalDateTime at = CREATED.plusMinutes(10);
+        when(changeRepository.findFirstByTransactionIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(1L, at))
+                .thenReturn(Optional.of(change("PENDING", "PROCESSING", CREATED.plusMinutes(5))));
+
+        // Act
+        TransactionStatusAtResponse response = historyService.getStatusAt(1L, at);
+
+        // Assert
+        assertEquals("PROCESSING", response.getStatus());
+    }
+
+    @Test
+    void getTimeInStatus_addsUpEveryPeriodInTheStatus() {
+        // Arrange
+        when(changeRepository.findByTransactionIdOrderByChangedAtAscIdAsc(1L)).thenReturn(List.of(
+                change(null, "PENDING", CREATED),
+                change("PENDING", "PROCESSING", CREATED.plusMinutes(1), 60_000L),
+                change("PROCESSING", "PENDING", CREATED.plusMinutes(3), 120_000L),
+                change("PENDING", "PROCESSING", CREATED.plusMinutes(4), 60_000L),
+                change("PROCESSING", "COMPLETED", CREATED.plusMinutes(9), 300_000L)));
+
+        // Act
+        TransactionTimeInStatusResponse response = historyService.getTimeInStatus(1L, "processing");
+
+        // Assert
+        assertEquals(420_000L, response.getMillis());
+        assertEquals(2, response.getPeriods());
+        assertFalse(response.isCurrent());
+    }
+
+    @Test
+    void getTimeInStatus_unknownTransaction_throwsNotFound() {
+        // Arrange
+        when(changeRepository.findByTransactionIdOrderByChangedAtAscIdAsc(99L)).thenReturn(List.of());
+        when(transactionRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(TransactionNotFoundException.class, () -> historyService.getTimeInStatus(99L, "PROCESSING"));
+    }
+
+    @Test
+    void getStatusCounts_rollsTheSnapshotBeforeForward() {
+        // Arrange
+        LocalDateTime snapshotAt = CREATED;
+        LocalDateTime at = CREATED.plusMinutes(30);
+        when(snapshotRepository.findLatestTakenAtOnOrBefore(at)).thenReturn(snapshotAt);
+        when(snapshotRepository.findByTakenAt(snapshotAt)).thenReturn(List.of(
+                new TransactionStatusSnapshot(snapshotAt, "PENDING", 10),
+                new TransactionStatusSnapshot(snapshotAt, "PROCESSING", 4)));
+        when(changeRepository.countTransitions(snapshotAt, at)).thenReturn(List.of(
+                transition(null, "PENDING", 3),
+                transition("PENDING", "PROCESSING", 5),
+                transition("PROCESSING", "COMPLETED", 2)));
+
+        // Act
+        TransactionStatusCountsResponse response = historyService.getStatusCounts(at);
+
+        // Assert
+        assertEquals(Map.of("PENDING", 8L, "PROCESSING", 7L, "COMPLETED", 2L), response.getCounts());
+        assertEquals(snapshotAt, response.getSnapshotTakenAt());
+        assertEquals(10, response.getChangesApplied());
+    }
+
+    @Test
+    void getStatusCounts_onlyLaterSnapshot_rollsItBack() {
+        // Arrange
+        LocalDateTime at = CREATED;
+        LocalDateTime snapshotAt = CREATED.plusHours(1);
+        when(snapshotRepository.findLatestTakenAtOnOrBefore(at)).thenReturn(null);
+        when(snapshotRepository.findEarliestTakenAtOnOrAfter(at)).thenReturn(snapshotAt);
+        when(snapshotRepository.findByTakenAt(snapshotAt)).thenReturn(List.of(
+                new TransactionStatusSnapshot(snapshotAt, "PENDING", 2),
+                new TransactionStatusSnapshot(snapshotAt, "PROCESSING", 3)));
+        when(changeRepository.countTransitions(at, snapshotAt)).thenReturn(List.of(
+                transition(null, "PENDING", 2),
+                transition("PENDING", "PROCESSING", 3)));
+
+        // Act
+        TransactionStatusCountsResponse response = historyService.getStatusCounts(at);
+
+        // Assert
+        assertEquals(Map.of("PENDING", 3L), response.getCounts());
+        assertTrue(response.getChangesApplied() > 0);
+    }
+
+    @Test
+    void getStatusDurations_endBeforeStart_throwsIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getStatusDurations("PROCESSING", CREATED, CREATED.minusDays(1)));
+    }
+
+    @Test
+    void takeSnapshot_laterSnapshotExists_storesNothing() {
+        // Arrange
+        when(snapshotRepository.findLatestTakenAt()).thenReturn(CREATED.plusHours(1));
+
+        // Act
+        int stored = historyService.takeSnapshot(CREATED);
+
+        // Assert
+        assertEquals(0, stored);
+        verify(snapshotRepository, never()).saveAll(any());
+    }
+
+    private static TransactionStatusChangedEvent statusChanged(String previousStatus, String newStatus, LocalDateTime changedAt) {
+        return new TransactionStatusChangedEvent(1L, 3L, 4L, new BigDecimal("25.00"), previousStatus, newStatus, changedAt);
+    }
+
+    private static TransactionStatusChange change(String previousStatus, String newStatus, LocalDateTime changedAt) {
+        return change(previousStatus, newStatus, changedAt, null);
+    }
+
+    private static TransactionStatusChange change(String previousStatus, String newStatus, LocalDateTime changedAt,
+            Long previousStatusMillis) {
+        return new TransactionStatusChange(1L, previousStatus, newStatus, changedAt, "admin@greentrade.nl", previousStatusMillis);
+    }
+
+    private static Transaction transaction(String status) {
+        Transaction transaction = new Transaction(null, null, new BigDecimal("25.00"), CREATED, status);
+        transaction.setId(1L);
+        return transaction;
+    }
+
+    private static TransactionStatusChangeRepository.TransitionCount transition(String previousStatus, String newStatus,
+            long changes) {
+        return new TransactionStatusChangeRepository.TransitionCount() {
+            @Override
+            public String getPreviousStatus() {
+                return previousStatus;
+            }
+
+            @Override
+            public String getNewStatus() {
+                return newStatus;
+            }
+
+            @Override
+            public long getChanges() {
+                return changes;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.greentrade.greentrade.services;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.UnreadMessageCounterConfig;
+import com.greentrade.greentrade.exception.security.UserNotFoundException;
+import com.greentrade.greentrade.models.UnreadMessageCounter;
+import com.greentrade.greentrade.repositories.MessageRepository;
+import com.greentrade.greentrade.repositories.UnreadMessageCounterRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadMessageCounterServiceTest {
+
+    @Mock
+    private UnreadMessageCounterRepository counterRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private UnreadMessageCounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        UnreadMessageCounterConfig config = new UnreadMessageCounterConfig();
+        config.setCacheTtlMillis(30_000);
+        counterService = new UnreadMessageCounterService(counterRepository, messageRepository, config,
+                jdbcTemplate, transactionManager, now::get);
+    }
+
+    @Test
+    void getUnreadCount_secondCall_isServedFromCache() {
+        // Arrange
+        when(counterRepository.findUnreadCount(2L)).thenReturn(Optional.of(4L));
+
+        // Act
+        long first = counterService.getUnreadCount(2L).getUnreadCount();
+        long second = counterService.getUnreadCount(2L).getUnreadCount();
+
+        // Assert
+        assertEquals(4L, first);
+        assertEquals(4L, second);
+        verify(counterRepository, times(1)).findUnreadCount(2L);
+    }
+
+    @Test
+    void getUnreadCount_afterChange_readsCounterAgain() {
+        // Arrange
+        when(counterRepository.findUnreadCount(2L)).thenReturn(Optional.of(4L), Optional.of(5L));
+        when(counterRepository.addToCount(2L, 1)).thenReturn(1);
+        counterService.getUnreadCount(2L);
+
+        // Act
+        counterService.increment(2L);
+        long count = counterService.getUnreadCount(2L).getUnreadCount();
+
+        // Assert
+        assertEquals(5L, count);
+        verify(counterRepository, times(2)).findUnreadCount(2L);
+    }
+
+    @Test
+    void getUnreadCount_expiredEntry_readsCounterAgain() {
+        // Arrange
+        when(counterRepository.findUnreadCount(2L)).thenReturn(Optional.of(4L));
+        counterService.getUnreadCount(2L);
+
+        // Act
+        now.addAndGet(30_000);
+        counterService.getUnreadCount(2L);
+
+        // Assert
+        verify(counterRepository, times(2)).findUnreadCount(2L);
+    }
+
+    @Test
+    void increment_withoutCounter_createsItFromTheMessages() {
+        // Arrange
+        when(counterRepository.addToCount(2L, 1)).thenReturn(0);
+        when(counterRepository.lockUser(2L)).thenReturn(Optional.of(2L));
+        when(counterRepository.findUnreadCount(2L)).thenReturn(Optional.empty());
+        when(messageRepository.countByReceiverIdAndReadIsFalse(2L)).thenReturn(7L);
+
+        // Act
+        counterService.increment(2L);
+
+        // Assert
+        ArgumentCaptor<UnreadMessageCounter> saved = ArgumentCaptor.forClass(UnreadMessageCounter.class);
+        verify(counterRepository).save(saved.capture());
+        assertEquals(2L, saved.getValue().getUserId());
+        assertEquals(7L, saved.getValue().getUnreadCount());
+    }
+
+    @Test
+    void increment_counterCreatedConcurrently_doesNotCreateItAgain() {
+        // Arrange
+        when(counterRepository.addToCount(2L, 1)).thenReturn(0);
+        when(counterRepository.lockUser(2L)).thenReturn(Optional.of(2L));
+        when(counterRepository.findUnreadCount(2L)).thenReturn(Optional.of(3L));
+
+        // Act
+        counterService.increment(2L);
+
+        // Assert
+        verify(messageRepository, never()).countByReceiverIdAndReadIsFalse(2L);
+    }
+
+    @Test
+    void getUnreadCount_unknownUser_throwsUserNotFound() {
+        // Arrange
+        when(counterRepository.findUnreadCount(999L)).thenReturn(Optional.empty());
+        when(counterRepository.lockUser(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> counterService.getUnreadCount(999L));
+    }
+}
@@ -0,0 +1,81 @@
+package com.greentrade.greentrade.settlement;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SellerSettlementTaskTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void compute_SettlesEverySellerOnceInBoundedBatches() {
+        // Arrange
+        long[] sellerIds = LongStream.rangeClosed(1, 1000).toArray();
+        Set<Long> settled = ConcurrentHashMap.newKeySet();
+
+        // Act
+        SettlementTotals totals = pool.invoke(new SellerSettlementTask(sellerIds, 64, batch -> {
+            assertTrue(batch.length <= 64);
+            for (long sellerId : batch) {
+                assertTrue(settled.add(sellerId), "seller " + sellerId + " settled twice");
+            }
+            // Two transactions of 12.50 per seller
+            return new SettlementTotals(batch.length, 0, 2L * batch.length, 2500L * batch.length);
+        }));
+
+        // Assert
+        assertEquals(1000, settled.size());
+        assertEquals(1000, totals.settledSellers());
+        assertEquals(0, totals.failedSellers());
+        assertEquals(2000, totals.transactions());
+        assertEquals(2_500_000, totals.payoutCents());
+    }
+
+    @Test
+    void compute_CountsFailedBatchAndContinuesWithTheRest() {
+        // Arrange
+        long[] sellerIds = LongStream.rangeClosed(1, 100).toArray();
+
+        // Act
+        SettlementTotals totals = pool.invoke(new SellerSettlementTask(sellerIds, 10, batch -> {
+            if (batch[0] == 41) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return new SettlementTotals(batch.length, 0, batch.length, 100L * batch.length);
+        }));
+
+        // Assert
+        assertEquals(90, totals.settledSellers());
+        assertEquals(10, totals.failedSellers());
+        assertEquals(9000, totals.payoutCents());
+    }
+
+    @Test
+    void compute_WithoutSellers_ReturnsEmptyTotals() {
+        // Act
+        SettlementTotals totals = pool.invoke(new SellerSettlementTask(new long[0], 10, batch -> {
+            throw new AssertionError("No batch expected");
+        }));
+
+        // Assert
+        assertEquals(SettlementTotals.EMPTY, totals);
+    }
+}
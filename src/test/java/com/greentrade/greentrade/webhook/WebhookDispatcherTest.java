@@ -0,0 +1,268 @@
+package com.greentrade.greentrade.webhook;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.greentrade.greentrade.config.WebhookConfig;
+import com.greentrade.greentrade.models.WebhookDelivery;
+import com.greentrade.greentrade.models.WebhookDeliveryStatus;
+import com.greentrade.greentrade.models.WebhookSubscription;
+import com.greentrade.greentrade.repositories.WebhookDeliveryRepository;
+import com.greentrade.greentrade.repositories.WebhookSubscriptionRepository;
+import com.sun.net.httpserver.HttpServer;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDispatcherTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final String PAYLOAD = "{\"event\":\"transaction.status_changed\",\"transactionId\":1}";
+
+    @Mock
+    private WebhookDeliveryRepository deliveryRepository;
+
+    @Mock
+    private WebhookSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int responseStatus = 204;
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile String receivedBody;
+
+    private WebhookConfig webhookConfig;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Local stand-in for an integrator endpoint
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            requests.incrementAndGet();
+            receivedBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.getRequestHeaders().forEach((name, values) -> receivedHeaders.put(name.toLowerCase(), values.get(0)));
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(responseStatus, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        webhookConfig = new WebhookConfig();
+        webhookConfig.setMaxAttempts(3);
+        dispatcher = new WebhookDispatcher(deliveryRepository, subscriptionRepository, webhookConfig, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        dispatcher.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void send_PostsSignedPayload() {
+        // Act
+        WebhookDispatcher.Outcome outcome = dispatcher.send(attempt(1L));
+
+        // Assert
+        assertTrue(outcome.delivered());
+        assertEquals(204, outcome.statusCode());
+        assertEquals(PAYLOAD, receivedBody);
+        assertEquals("transaction.status_changed", receivedHeaders.get("x-greentrade-event"));
+        assertEquals("1", receivedHeaders.get("x-greentrade-delivery"));
+        long timestamp = Long.parseLong(receivedHeaders.get("x-greentrade-timestamp"));
+        assertEquals(WebhookSigner.sign(SECRET, timestamp, PAYLOAD), receivedHeaders.get("x-greentrade-signature"));
+    }
+
+    @Test
+    void send_ServerError_IsNotDelivered() {
+        // Arrange
+        responseStatus = 503;
+
+        // Act
+        WebhookDispatcher.Outcome outcome = dispatcher.send(attempt(1L));
+
+        // Assert
+        assertFalse(outcome.delivered());
+        assertEquals(503, outcome.statusCode());
+        assertEquals("HTTP 503", outcome.error());
+    }
+
+    @Test
+    void send_UnexpectedException_IsNotDelivered() {
+        // Arrange
+        WebhookDispatcher.Attempt attempt = new WebhookDispatcher.Attempt(1L, 1L, endpoint(), null,
+                "transaction.status_changed", PAYLOAD);
+
+        // Act
+        WebhookDispatcher.Outcome outcome = dispatcher.send(attempt);
+
+        // Assert
+        assertFalse(outcome.delivered());
+        assertTrue(outcome.error().startsWith("NullPointerException"));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void recordOutcome_Failure_SchedulesRetryWithBackoff() {
+        // Arrange
+        WebhookDelivery delivery = delivery(1L);
+        when(deliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        dispatcher.recordOutcome(1L, new WebhookDispatcher.Outcome(false, 500, "HTTP 500"));
+
+        // Assert
+        assertEquals(WebhookDeliveryStatus.PENDING, delivery.getStatus());
+        assertEquals(1, delivery.getAttempts());
+        assertEquals(500, delivery.getLastStatusCode());
+        assertTrue(delivery.getNextAttemptAt().isAfter(before.plusNanos(700_000_000L)));
+    }
+
+    @Test
+    void recordOutcome_LastAttemptFails_MarksDeliveryFailed() {
+        // Arrange
+        WebhookDelivery delivery = delivery(1L);
+        delivery.setAttempts(2);
+        when(deliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+
+        // Act
+        dispatcher.recordOutcome(1L, new WebhookDispatcher.Outcome(false, null, "ConnectException: refused"));
+
+        // Assert
+        assertEquals(WebhookDeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals("ConnectException: refused", delivery.getLastError());
+    }
+
+    @Test
+    void dispatchDue_DeliversAndMarksDelivered() throws InterruptedException {
+        // Arrange
+        WebhookDelivery delivery = delivery(1L);
+        when(deliveryRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(delivery));
+        when(subscriptionRepository.findAllById(any())).thenReturn(List.of(subscription()));
+        when(deliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+
+        // Act
+        int submitted = dispatcher.dispatchDue();
+
+        // Assert
+        assertEquals(1, submitted);
+        awaitStatus(delivery, WebhookDeliveryStatus.DELIVERED);
+        assertNotNull(delivery.getDeliveredAt());
+        assertEquals(1, delivery.getAttempts());
+    }
+
+    @Test
+    void dispatchDue_CapsRequestsInFlightPerEndpoint() {
+        // Arrange
+        webhookConfig.setMaxConcurrentPerEndpoint(1);
+        dispatcher.shutdown();
+        dispatcher = new WebhookDispatcher(deliveryRepository, subscriptionRepository, webhookConfig, transactionManager);
+        release = new CountDownLatch(1);
+        WebhookDelivery first = delivery(1L);
+        WebhookDelivery second = delivery(2L);
+        when(deliveryRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        when(subscriptionRepository.findAllById(any())).thenReturn(List.of(subscription()));
+
+        // Act
+        int submitted = dispatcher.dispatchDue();
+
+        // Assert: the second delivery keeps its due time and waits for the next poll
+        assertEquals(1, submitted);
+        assertTrue(first.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertFalse(second.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void dispatchDue_InactiveSubscription_FailsDelivery() {
+        // Arrange
+        WebhookDelivery delivery = delivery(1L);
+        WebhookSubscription subscription = subscription();
+        subscription.setActive(false);
+        when(deliveryRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(delivery));
+        when(subscriptionRepository.findAllById(any())).thenReturn(List.of(subscription));
+
+        // Act
+        int submitted = dispatcher.dispatchDue();
+
+        // Assert
+        assertEquals(0, submitted);
+        assertEquals(WebhookDeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void backoffMillis_DoublesUpToMaximumWithJitter() {
+        assertEquals(1000, WebhookDispatcher.backoffMillis(1, 1000, 60_000, 0.0));
+        assertEquals(8000, WebhookDispatcher.backoffMillis(4, 1000, 60_000, 0.0));
+        assertEquals(60_000, WebhookDispatcher.backoffMillis(20, 1000, 60_000, 0.0));
+        assertEquals(6400, WebhookDispatcher.backoffMillis(4, 1000, 60_000, 1.0));
+    }
+
+    private void awaitStatus(WebhookDelivery delivery, WebhookDeliveryStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivery.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, delivery.getStatus());
+    }
+
+    private WebhookDispatcher.Attempt attempt(Long deliveryId) {
+        return new WebhookDispatcher.Attempt(deliveryId, 1L, endpoint(), SECRET, "transaction.status_changed", PAYLOAD);
+    }
+
+    private WebhookSubscription subscription() {
+        WebhookSubscription subscription = new WebhookSubscription(endpoint(), SECRET, "admin", LocalDateTime.now());
+        subscription.setId(1L);
+        return subscription;
+    }
+
+    private WebhookDelivery delivery(Long id) {
+        WebhookDelivery delivery = new WebhookDelivery(1L, "transaction.status_changed", 1L, PAYLOAD,
+                LocalDateTime.now().minusSeconds(1));
+        delivery.setId(id);
+        return delivery;
+    }
+
+    private String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+    }
+}